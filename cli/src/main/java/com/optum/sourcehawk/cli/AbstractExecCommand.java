@@ -50,7 +50,7 @@ abstract class AbstractExecCommand implements Callable<Integer> {
         Optional.ofNullable(exec.verbosity).ifPresent(builder::verbosity);
         Optional.ofNullable(exec.tags).ifPresent(builder::tags);
         Optional.ofNullable(exec.outputFormat).ifPresent(builder::outputFormat);
-        if (exec.outputFormat == OutputFormat.JSON || exec.outputFormat == OutputFormat.MARKDOWN) {
+        if (exec.outputFormat == OutputFormat.JSON || exec.outputFormat == OutputFormat.JSONL || exec.outputFormat == OutputFormat.MARKDOWN) {
             builder.verbosity(Verbosity.ZERO);
         }
         return builder.failOnWarnings(exec.failOnWarnings)
@@ -5,9 +5,12 @@ import com.optum.sourcehawk.core.data.Pair;
 import com.optum.sourcehawk.core.data.RemoteRef;
 import com.optum.sourcehawk.core.repository.RepositoryFileReader;
 import com.optum.sourcehawk.core.utils.StringUtils;
+import com.optum.sourcehawk.exec.ExecOptions;
 import lombok.val;
 import picocli.CommandLine;
 
+import java.net.MalformedURLException;
+import java.net.URL;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 
@@ -44,22 +47,40 @@ abstract class AbstractRemoteScanCommand implements Callable<Integer> {
     @Override
     public Integer call() {
         val parentExecOptions = parentCommand.buildExecOptions(); // TODO: NPE ??
-        val execOptionsBuilder = parentExecOptions.toBuilder();
         val configFileProvided = Optional.ofNullable(parentCommand.spec)
                 .map(CommandLine.Model.CommandSpec::commandLine)
                 .map(CommandLine::getParseResult)
                 .filter(AbstractRemoteScanCommand::configFileProvided)
                 .isPresent();
-        val remoteRef = validateAndParseRemoteRef();
-        execOptionsBuilder.remoteRef(remoteRef);
-        val repositoryFileReader = createRepositoryFileReader(remoteRef);
-        execOptionsBuilder.repositoryFileReader(repositoryFileReader);
+        final ExecOptions remoteExecOptions;
+        try {
+            remoteExecOptions = buildExecOptions(parentExecOptions);
+        } catch (final IllegalArgumentException e) {
+            throw new CommandLine.ParameterException(spec.commandLine(), e.getMessage());
+        }
+        val execOptionsBuilder = remoteExecOptions.toBuilder();
         if (StringUtils.equals(SourcehawkConstants.DEFAULT_CONFIG_FILE_NAME, parentExecOptions.getConfigurationFileLocation()) && !configFileProvided) {
-            execOptionsBuilder.configurationFileLocation(repositoryFileReader.getAbsoluteLocation(SourcehawkConstants.DEFAULT_CONFIG_FILE_NAME));
+            execOptionsBuilder.configurationFileLocation(remoteExecOptions.getRepositoryFileReader().getAbsoluteLocation(SourcehawkConstants.DEFAULT_CONFIG_FILE_NAME));
         }
         return parentCommand.call(execOptionsBuilder.build());
     }
 
+    /**
+     * Build the exec options to scan the remote reference, reading the repository files from the remote repository
+     *
+     * @param parentExecOptions the exec options of the parent scan command
+     * @return the exec options
+     * @throws IllegalArgumentException if the remote reference is not valid
+     */
+    ExecOptions buildExecOptions(final ExecOptions parentExecOptions) {
+        val rawRemoteReference = getRawRemoteReference();
+        val remoteRef = RemoteRef.parse(rawRemoteReference.getLeft(), rawRemoteReference.getRight());
+        return parentExecOptions.toBuilder()
+                .remoteRef(remoteRef)
+                .repositoryFileReader(createRepositoryFileReader(remoteRef))
+                .build();
+    }
+
     /**
      * Create the repository file reader based off the remote reference
      *
@@ -76,16 +97,17 @@ abstract class AbstractRemoteScanCommand implements Callable<Integer> {
     protected abstract Pair<String, String> getRawRemoteReference();
 
     /**
-     * Parse the coordinates to github options
+     * Parse the URL of the repository archive
      *
-     * @return the remote reference
+     * @param archiveUrl the archive URL
+     * @return the parsed URL
+     * @throws IllegalArgumentException if the URL is malformed
      */
-    private RemoteRef validateAndParseRemoteRef() {
-        val rawRemoteReference = getRawRemoteReference();
+    static URL parseArchiveUrl(final String archiveUrl) {
         try {
-            return RemoteRef.parse(rawRemoteReference.getLeft(), rawRemoteReference.getRight());
-        } catch (final IllegalArgumentException e) {
-            throw new CommandLine.ParameterException(spec.commandLine(), e.getMessage());
+            return new URL(archiveUrl);
+        } catch (final MalformedURLException e) {
+            throw new IllegalArgumentException(String.format("Invalid archive URL: %s", archiveUrl), e);
         }
     }
 
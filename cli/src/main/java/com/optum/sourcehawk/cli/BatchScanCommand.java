@@ -0,0 +1,268 @@
+package com.optum.sourcehawk.cli;
+
+import com.optum.sourcehawk.core.data.OutputFormat;
+import com.optum.sourcehawk.core.data.Verbosity;
+import com.optum.sourcehawk.core.repository.LocalRepositoryFileReader;
+import com.optum.sourcehawk.core.utils.StringUtils;
+import com.optum.sourcehawk.core.utils.Try;
+import com.optum.sourcehawk.exec.CompiledConfiguration;
+import com.optum.sourcehawk.exec.ConfigurationReader;
+import com.optum.sourcehawk.exec.Console;
+import com.optum.sourcehawk.exec.ExecOptions;
+import com.optum.sourcehawk.exec.scan.ScanExecutor;
+import com.optum.sourcehawk.exec.scan.ScanResultFactory;
+import lombok.val;
+import picocli.CommandLine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * CLI entry point for executing Sourcehawk scan batch command.  The configuration is resolved only once, and then
+ * each repository is scanned on a worker pool, with the result of each repository logged in the output format of the
+ * scan as soon as it completes.  Unless another output format is selected, the result of each repository is logged as
+ * one line of JSON.  Remote references are scanned exactly as the scan command of their provider would scan them.
+ *
+ * @see ScanCommand
+ *
+ * @author Brian Wyka
+ */
+@CommandLine.Command(
+        name = "batch",
+        description = "Runs Sourcehawk scans on many local or remote Github repositories concurrently, outputting the result of each repository",
+        mixinStandardHelpOptions = true,
+        subcommands = CommandLine.HelpCommand.class
+)
+public class BatchScanCommand implements Callable<Integer> {
+
+    /**
+     * The repositories file value which indicates reading from stdin
+     */
+    private static final String STDIN = "-";
+
+    /**
+     * The prefix of lines in the repositories file which are ignored
+     */
+    private static final String COMMENT_PREFIX = "#";
+
+    /**
+     * The command spec
+     */
+    @SuppressWarnings("unused")
+    @CommandLine.Spec
+    private CommandLine.Model.CommandSpec spec;
+
+    /**
+     * Reference to the parent scan command
+     */
+    @SuppressWarnings("unused")
+    @CommandLine.ParentCommand
+    private ScanCommand parentCommand;
+
+    /**
+     * The batch options
+     */
+    @SuppressWarnings("unused")
+    @CommandLine.ArgGroup(exclusive = false)
+    private CommandOptions.Batch batch;
+
+    /**
+     * Bootstrap the command
+     *
+     * @param args the command line args
+     */
+    public static void main(final String... args) {
+        AbstractExecCommand.execute(new BatchScanCommand(), args);
+    }
+
+    /**
+     * Execute the scan of all repositories in the batch
+     *
+     * @return the exit code
+     */
+    @Override
+    public Integer call() {
+        if (batch.jobs < 1) {
+            throw new CommandLine.ParameterException(spec.commandLine(), "Jobs must be greater than zero");
+        }
+        val parentExecOptions = withDefaultOutputFormat(parentCommand.buildExecOptions());
+        final List<String> repositories;
+        try {
+            repositories = readRepositories(batch.repositoriesFile);
+        } catch (final IOException e) {
+            Console.Err.error("Unable to read repositories file: %s", e.getMessage());
+            return CommandLine.ExitCode.USAGE;
+        }
+        val compiledConfigurationOptional = ConfigurationReader.readConfiguration(parentExecOptions.getRepositoryRoot(), parentExecOptions.getConfigurationFileLocation())
+                .map(CompiledConfiguration::compile);
+        if (!compiledConfigurationOptional.isPresent()) {
+            Console.Err.error("Configuration file not found: %s", parentExecOptions.getConfigurationFileLocation());
+            return CommandLine.ExitCode.SOFTWARE;
+        }
+        return scanAll(parentExecOptions, compiledConfigurationOptional.get(), repositories);
+    }
+
+    /**
+     * Scan all the repositories on a worker pool, logging the result of each as soon as it completes
+     *
+     * @param parentExecOptions the exec options of the parent scan command
+     * @param compiledConfiguration the compiled configuration shared by all scans
+     * @param repositories the repositories to scan
+     * @return the exit code
+     */
+    private Integer scanAll(final ExecOptions parentExecOptions, final CompiledConfiguration compiledConfiguration, final List<String> repositories) {
+        val executorService = Executors.newFixedThreadPool(Math.max(1, Math.min(batch.jobs, repositories.size())));
+        try {
+            val scanFutures = new ArrayList<Future<Boolean>>(repositories.size());
+            for (val repository : repositories) {
+                scanFutures.add(executorService.submit(() -> scan(parentExecOptions, compiledConfiguration, repository)));
+            }
+            boolean passed = true;
+            for (val scanFuture : scanFutures) {
+                passed &= scanFuture.get();
+            }
+            return passed ? CommandLine.ExitCode.OK : CommandLine.ExitCode.SOFTWARE;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CommandLine.ExitCode.SOFTWARE;
+        } catch (final ExecutionException e) {
+            Console.Err.error("Error executing batch scan: %s", e.getCause().getMessage());
+            return CommandLine.ExitCode.SOFTWARE;
+        } finally {
+            executorService.shutdownNow();
+            ScanCommand.flushEnforcerResultCache(parentExecOptions);
+        }
+    }
+
+    /**
+     * Scan a single repository and log the result in the output format of the scan
+     *
+     * @param parentExecOptions the exec options of the parent scan command
+     * @param compiledConfiguration the compiled configuration
+     * @param repository the local directory or remote reference of the repository
+     * @return true if the scan passed, false otherwise
+     */
+    private boolean scan(final ExecOptions parentExecOptions, final CompiledConfiguration compiledConfiguration, final String repository) {
+        val scanResult = Try.attemptOrDefault(
+                () -> ScanExecutor.scan(buildExecOptions(parentExecOptions, repository), compiledConfiguration),
+                ScanResultFactory::globalError
+        );
+        ScanCommand.log(repository, scanResult, parentExecOptions);
+        return scanResult.isPassed();
+    }
+
+    /**
+     * Build the exec options for the repository, which is treated as a local directory if one exists, otherwise
+     * as a remote reference of the provider
+     *
+     * @param parentExecOptions the exec options of the parent scan command
+     * @param repository the local directory or remote reference of the repository
+     * @return the exec options
+     */
+    private ExecOptions buildExecOptions(final ExecOptions parentExecOptions, final String repository) {
+        val repositoryRoot = Paths.get(repository);
+        if (Files.isDirectory(repositoryRoot)) {
+            return parentExecOptions.toBuilder()
+                    .repositoryRoot(repositoryRoot)
+                    .repositoryFileReader(LocalRepositoryFileReader.create(repositoryRoot))
+                    .build();
+        }
+        return createRemoteScanCommand(repository).buildExecOptions(parentExecOptions);
+    }
+
+    /**
+     * Create the scan command of the provider for the remote reference, configured with the batch options
+     *
+     * @param remoteReference the remote reference
+     * @return the remote scan command
+     */
+    private AbstractRemoteScanCommand createRemoteScanCommand(final String remoteReference) {
+        if (batch.provider == CommandOptions.Batch.Provider.BITBUCKET) {
+            val bitbucket = new CommandOptions.Bitbucket();
+            bitbucket.token = batch.token;
+            bitbucket.authScheme = batch.authScheme;
+            bitbucket.serverUrl = batch.serverUrl;
+            bitbucket.archive = batch.archive;
+            bitbucket.remoteReference = remoteReference;
+            return new BitbucketScanCommand(bitbucket);
+        }
+        val github = new CommandOptions.Github();
+        github.token = batch.token;
+        github.enterpriseUrl = batch.enterpriseUrl;
+        github.archive = batch.archive;
+        github.remoteReference = remoteReference;
+        return new GithubScanCommand(github);
+    }
+
+    /**
+     * Log the result of each repository as one line of JSON, unless the output format was selected on the command line
+     *
+     * @param parentExecOptions the exec options of the parent scan command
+     * @return the exec options with the default output format of batches applied
+     */
+    private ExecOptions withDefaultOutputFormat(final ExecOptions parentExecOptions) {
+        val outputFormatProvided = Optional.ofNullable(parentCommand.spec)
+                .map(CommandLine.Model.CommandSpec::commandLine)
+                .map(CommandLine::getParseResult)
+                .filter(BatchScanCommand::outputFormatProvided)
+                .isPresent();
+        if (outputFormatProvided) {
+            return parentExecOptions;
+        }
+        return parentExecOptions.toBuilder()
+                .outputFormat(OutputFormat.JSONL)
+                .verbosity(Verbosity.ZERO)
+                .build();
+    }
+
+    /**
+     * Determine if the output format was provided within the command line options
+     *
+     * @param parseResult the command parse result
+     * @return true if the output format was provided, false otherwise
+     */
+    private static boolean outputFormatProvided(final CommandLine.ParseResult parseResult) {
+        return parseResult.hasMatchedOption(CommandOptions.Exec.OPTION_OUTPUT_FORMAT) || parseResult.hasMatchedOption(CommandOptions.Exec.OPTION_OUTPUT_FORMAT_LONG);
+    }
+
+    /**
+     * Read the repositories from the file, ignoring blank lines and comments
+     *
+     * @param repositoriesFile the repositories file, or '-' for stdin
+     * @return the repositories
+     * @throws IOException if any error occurs reading the repositories
+     */
+    private static List<String> readRepositories(final Path repositoriesFile) throws IOException {
+        final InputStream inputStream;
+        if (StringUtils.equals(repositoriesFile.toString(), STDIN)) {
+            inputStream = System.in;
+        } else {
+            inputStream = Files.newInputStream(repositoriesFile);
+        }
+        val repositories = new ArrayList<String>();
+        try (val bufferedReader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = bufferedReader.readLine()) != null) {
+                val repository = line.trim();
+                if (StringUtils.isNotBlankOrEmpty(repository) && !repository.startsWith(COMMENT_PREFIX)) {
+                    repositories.add(repository);
+                }
+            }
+        }
+        return repositories;
+    }
+
+}
@@ -2,8 +2,12 @@ package com.optum.sourcehawk.cli;
 
 import com.optum.sourcehawk.core.data.Pair;
 import com.optum.sourcehawk.core.data.RemoteRef;
+import com.optum.sourcehawk.core.repository.ArchiveRepositoryFileReader;
 import com.optum.sourcehawk.core.repository.RemoteRepositoryFileReader;
 import com.optum.sourcehawk.core.repository.RepositoryFileReader;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
 import lombok.val;
 import picocli.CommandLine;
 
@@ -24,6 +28,8 @@ import java.util.Optional;
         aliases = "bb",
         description = "Runs a Sourcehawk scan on remote Bitbucket source code instead of local file system"
 )
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
 public class BitbucketScanCommand extends AbstractRemoteScanCommand {
 
     private static final String DEFAULT_BASE_URL = "https://bitbucket.org";
@@ -53,12 +59,19 @@ public class BitbucketScanCommand extends AbstractRemoteScanCommand {
                 bitbucketServerUrl, remoteRef.getNamespace(), remoteRef.getRepository(), remoteRef.getRef()))
             .orElseGet(() -> String.format("%s/api/2.0/repositories/%s/%s/src/%s/%%s", DEFAULT_BASE_URL, remoteRef.getNamespace(), remoteRef.getRepository(), remoteRef.getRef()));
         val requestProperties = new HashMap<String, String>();
-        requestProperties.put("Accept", "text/plain");
         if (bitbucket.token != null) {
             val authScheme = Optional.ofNullable(bitbucket.authScheme)
                 .orElse(CommandOptions.Bitbucket.DEFAULT_AUTH_SCHEME);
             requestProperties.put("Authorization", String.format("%s %s", authScheme, bitbucket.token));
         }
+        if (bitbucket.archive) {
+            val archiveUrl = Optional.ofNullable(bitbucket.serverUrl)
+                .map(bitbucketServerUrl -> String.format("%s/rest/api/1.0/projects/%s/repos/%s/archive?at=%s&format=zip",
+                    bitbucketServerUrl, remoteRef.getNamespace(), remoteRef.getRepository(), remoteRef.getRef()))
+                .orElseGet(() -> String.format("%s/%s/%s/get/%s.zip", DEFAULT_BASE_URL, remoteRef.getNamespace(), remoteRef.getRepository(), remoteRef.getRef()));
+            return new ArchiveRepositoryFileReader(parseArchiveUrl(archiveUrl), rawFileUrlTemplate, requestProperties);
+        }
+        requestProperties.put("Accept", "text/plain");
         return new RemoteRepositoryFileReader(rawFileUrlTemplate, requestProperties);
     }
 
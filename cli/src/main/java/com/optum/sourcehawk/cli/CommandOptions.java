@@ -44,12 +44,14 @@ class CommandOptions {
         Verbosity verbosity;
 
         @CommandLine.Option(
-                names = {"-f", "--output-format"},
+                names = {OPTION_OUTPUT_FORMAT, OPTION_OUTPUT_FORMAT_LONG},
                 description = "Output Format, valid values: ${COMPLETION-CANDIDATES}",
                 defaultValue = "TEXT",
                 showDefaultValue = CommandLine.Help.Visibility.ALWAYS
         )
         OutputFormat outputFormat;
+        static final String OPTION_OUTPUT_FORMAT = "-f";
+        static final String OPTION_OUTPUT_FORMAT_LONG = "--output-format";
 
         @CommandLine.Option(
                 names = {"-w", "--fail-on-warnings"},
@@ -128,6 +130,12 @@ class CommandOptions {
         )
         URL enterpriseUrl;
 
+        @CommandLine.Option(
+                names = {"-A", "--archive"},
+                description = "Download the repository as a single archive and scan it locally, which supports glob patterns"
+        )
+        boolean archive;
+
         @CommandLine.Parameters(
                 paramLabel = REMOTE_REFERENCE_LABEL,
                 description = "The Github remote reference - owner/repo@ref combination, i.e - owner/repo, owner/repo@main,  owner/repo@v1.4, or owner/repo@a6de43fa51c",
@@ -168,6 +176,12 @@ class CommandOptions {
         )
         URL serverUrl;
 
+        @CommandLine.Option(
+                names = {"-A", "--archive"},
+                description = "Download the repository as a single archive and scan it locally, which supports glob patterns"
+        )
+        boolean archive;
+
         @CommandLine.Parameters(
                 paramLabel = REMOTE_REFERENCE_LABEL,
                 description = "The Bitbucket remote reference - project/repo@ref combination, "
@@ -179,4 +193,84 @@ class CommandOptions {
 
     }
 
+    /**
+     * Batch options
+     *
+     * @author Brian Wyka
+     */
+    static class Batch {
+
+        @CommandLine.Option(
+                names = {"-j", "--jobs"},
+                paramLabel = "jobs",
+                description = "The maximum number of repositories to scan concurrently",
+                defaultValue = "4",
+                showDefaultValue = CommandLine.Help.Visibility.ALWAYS
+        )
+        int jobs;
+
+        @CommandLine.Option(
+                names = {"-P", "--provider"},
+                description = "The provider of remote references, valid values: ${COMPLETION-CANDIDATES}",
+                defaultValue = "GITHUB",
+                showDefaultValue = CommandLine.Help.Visibility.ALWAYS
+        )
+        Provider provider;
+
+        @CommandLine.Option(
+                names = {"-t", "--token"},
+                paramLabel = "token",
+                description = "The token for authorizing requests of remote references"
+        )
+        String token;
+
+        @CommandLine.Option(
+                names = {"-a", "--auth-scheme"},
+                paramLabel = "auth-scheme",
+                defaultValue = Bitbucket.DEFAULT_AUTH_SCHEME,
+                description = "The Bitbucket authorization scheme to use (either Bearer or Basic).  If Basic, the provided token must be base64 encoded."
+        )
+        String authScheme;
+
+        @CommandLine.Option(
+                names = {"-E", "--enterprise-url"},
+                paramLabel = "github-enterprise-url",
+                description = "The Github enterprise URL to use for remote references instead of public Github, i.e - https://github.example.com"
+        )
+        URL enterpriseUrl;
+
+        @CommandLine.Option(
+                names = {"-S", "--server-url"},
+                paramLabel = "bitbucket-server-url",
+                description = "The Bitbucket server URL to use for remote references instead of public Bitbucket, i.e - https://bitbucket.example.com"
+        )
+        URL serverUrl;
+
+        @CommandLine.Option(
+                names = {"-A", "--archive"},
+                description = "Download each remote reference as a single archive and scan it locally, which supports glob patterns"
+        )
+        boolean archive;
+
+        @CommandLine.Parameters(
+                paramLabel = REPOSITORIES_FILE_LABEL,
+                description = "File with one repository per line, either a local directory or a remote reference of the provider (owner/repo@ref). "
+                        + "Use '-' to supply the repositories from stdin",
+                arity = "1"
+        )
+        Path repositoriesFile;
+        static final String REPOSITORIES_FILE_LABEL = "REPOSITORIES-FILE";
+
+        /**
+         * The providers of remote references
+         *
+         * @author Brian Wyka
+         */
+        enum Provider {
+            GITHUB,
+            BITBUCKET
+        }
+
+    }
+
 }
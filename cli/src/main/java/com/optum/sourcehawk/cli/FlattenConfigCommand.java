@@ -40,6 +40,13 @@ public class FlattenConfigCommand implements Callable<Integer> {
     @CommandLine.Option(names = {"-o", "--output"}, description = "Optional param to directly output flattened configuration to file system")
     private Path outputPath;
 
+    /**
+     * The path on the file system to output the binary configuration snapshot to
+     */
+    @SuppressWarnings("unused")
+    @CommandLine.Option(names = {"-s", "--snapshot"}, description = "Optional param to also output a binary snapshot of the flattened configuration to file system, which can be scanned with in place of the configuration file")
+    private Path snapshotPath;
+
     /**
      * Bootstrap the command
      *
@@ -59,11 +66,25 @@ public class FlattenConfigCommand implements Callable<Integer> {
      */
     public Integer call() {
         val configurationFileLocation = getConfigurationFileLocation();
-        val flattenConfigResult = execute(configurationFileLocation);
+        val sourcehawkConfigurationOptional = FlattenConfigExecutor.resolve(configurationFileLocation);
+        if (!sourcehawkConfigurationOptional.isPresent()) {
+            Console.Err.error("Configuration file %s not found or invalid", configurationFileLocation);
+            return CommandLine.ExitCode.SOFTWARE;
+        }
+        val sourcehawkConfiguration = sourcehawkConfigurationOptional.get();
+        val flattenConfigResult = execute(() -> FlattenConfigExecutor.flatten(configurationFileLocation, sourcehawkConfiguration));
         if (flattenConfigResult.isError()) {
             Console.Err.error(flattenConfigResult.getMessage());
             return CommandLine.ExitCode.SOFTWARE;
         }
+        if (snapshotPath != null) {
+            val snapshotResult = execute(() -> FlattenConfigExecutor.snapshot(configurationFileLocation, sourcehawkConfiguration));
+            if (snapshotResult.isError()) {
+                Console.Err.error(snapshotResult.getMessage());
+                return CommandLine.ExitCode.SOFTWARE;
+            }
+            FlattenConfigResultLogger.logSnapshot(snapshotResult, snapshotPath);
+        }
         FlattenConfigResultLogger.log(flattenConfigResult, outputPath);
         return CommandLine.ExitCode.OK;
     }
@@ -85,12 +106,12 @@ public class FlattenConfigCommand implements Callable<Integer> {
     /**
      * Execute flatten config and return the result
      *
-     * @param configurationFileLocation the configuration file location
+     * @param flattenConfigExecution the flatten config execution
      * @return the flatten config result
      */
-    private static FlattenConfigResult execute(final String configurationFileLocation) {
+    private static FlattenConfigResult execute(final Try.CheckedSupplier<FlattenConfigResult> flattenConfigExecution) {
         return Try.attemptOrDefault(
-                () -> FlattenConfigExecutor.flatten(configurationFileLocation),
+                flattenConfigExecution,
                 e -> FlattenConfigResult.error(Optional.ofNullable(e.getMessage()).orElse("Unknown error"))
         );
     }
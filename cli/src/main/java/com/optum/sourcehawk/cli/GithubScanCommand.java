@@ -2,8 +2,12 @@ package com.optum.sourcehawk.cli;
 
 import com.optum.sourcehawk.core.data.Pair;
 import com.optum.sourcehawk.core.data.RemoteRef;
+import com.optum.sourcehawk.core.repository.ArchiveRepositoryFileReader;
 import com.optum.sourcehawk.core.repository.RemoteRepositoryFileReader;
 import com.optum.sourcehawk.core.repository.RepositoryFileReader;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
 import lombok.val;
 import picocli.CommandLine;
 
@@ -22,9 +26,12 @@ import java.util.Optional;
         aliases = "gh",
         description = "Runs a Sourcehawk scan on remote Github source code instead of local file system"
 )
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
 public class GithubScanCommand extends AbstractRemoteScanCommand {
 
     private static final String DEFAULT_BASE_URL = "raw.githubusercontent.com";
+    private static final String DEFAULT_API_URL = "https://api.github.com";
     private static final String DEFAULT_REF = "main";
     private static final String AUTHORIZATION_TOKEN_PREFIX = "Bearer";
 
@@ -48,14 +55,21 @@ public class GithubScanCommand extends AbstractRemoteScanCommand {
     @Override
     protected RepositoryFileReader createRepositoryFileReader(final RemoteRef remoteRef) {
         val baseUrl = Optional.ofNullable(github.enterpriseUrl)
-            .map(githubEnterpriseUrl -> String.format("%s/raw", github.enterpriseUrl))
+            .map(githubEnterpriseUrl -> String.format("%s/raw", githubEnterpriseUrl))
             .orElse(DEFAULT_BASE_URL);
         val rawFileUrlTemplate  = String.format("%s/%s/%s/%s/%%s", baseUrl, remoteRef.getNamespace(), remoteRef.getRepository(), remoteRef.getRef());
         val requestProperties = new HashMap<String, String>();
-        requestProperties.put("Accept", "text/plain");
         if (github.token != null) {
             requestProperties.put("Authorization", String.format("%s %s", AUTHORIZATION_TOKEN_PREFIX, github.token));
         }
+        if (github.archive) {
+            val apiUrl = Optional.ofNullable(github.enterpriseUrl)
+                .map(githubEnterpriseUrl -> String.format("%s/api/v3", githubEnterpriseUrl))
+                .orElse(DEFAULT_API_URL);
+            val archiveUrl = String.format("%s/repos/%s/%s/tarball/%s", apiUrl, remoteRef.getNamespace(), remoteRef.getRepository(), remoteRef.getRef());
+            return new ArchiveRepositoryFileReader(parseArchiveUrl(archiveUrl), rawFileUrlTemplate, requestProperties);
+        }
+        requestProperties.put("Accept", "text/plain");
         return new RemoteRepositoryFileReader(rawFileUrlTemplate, requestProperties);
     }
 
@@ -1,8 +1,11 @@
 package com.optum.sourcehawk.cli;
 
+import com.optum.sourcehawk.core.data.OutputFormat;
 import com.optum.sourcehawk.core.repository.LocalRepositoryFileReader;
 import com.optum.sourcehawk.core.result.ScanResult;
 import com.optum.sourcehawk.core.utils.Try;
+import com.optum.sourcehawk.exec.Console;
+import com.optum.sourcehawk.exec.EnforcerResultCache;
 import com.optum.sourcehawk.exec.ExecOptions;
 import com.optum.sourcehawk.exec.scan.ScanExecutor;
 import com.optum.sourcehawk.exec.scan.ScanResultFactory;
@@ -21,7 +24,7 @@ import java.util.Optional;
         name = "scan",
         aliases = { "flyover", "survey" },
         description = "Runs a Sourcehawk scan on the source code",
-        subcommands = { GithubScanCommand.class, BitbucketScanCommand.class }
+        subcommands = { GithubScanCommand.class, BitbucketScanCommand.class, BatchScanCommand.class }
 )
 public class ScanCommand extends AbstractExecCommand {
 
@@ -37,6 +40,39 @@ public class ScanCommand extends AbstractExecCommand {
     @CommandLine.ArgGroup(exclusive = false)
     private CommandOptions.FileSystem fileSystem;
 
+    /**
+     * The maximum number of file protocols and enforcers to execute concurrently
+     */
+    @SuppressWarnings("unused")
+    @CommandLine.Option(
+            names = {"-p", "--parallelism"},
+            description = "The maximum number of threads used to execute file protocols concurrently",
+            defaultValue = "1",
+            showDefaultValue = CommandLine.Help.Visibility.ALWAYS
+    )
+    private int parallelism = 1;
+
+    /**
+     * The git revision to only enforce file protocols targeting files changed since
+     */
+    @SuppressWarnings("unused")
+    @CommandLine.Option(
+            names = {"--changed-since"},
+            paramLabel = "REVISION",
+            description = "Only enforce file protocols targeting files changed since the git revision, reusing the results of a previous scan of the revision for all others"
+    )
+    private String changedSince;
+
+    /**
+     * Whether or not to reuse the results of enforcers against identical file content from previous scans
+     */
+    @SuppressWarnings("unused")
+    @CommandLine.Option(
+            names = {"--cache-results"},
+            description = "Cache the result of each enforcer against the file content it was executed against, reusing it for identical content in this and later scans"
+    )
+    private boolean cacheResults;
+
     /**
      * Bootstrap the command
      *
@@ -60,6 +96,25 @@ public class ScanCommand extends AbstractExecCommand {
         return call(execOptionsBuilder.build());
     }
 
+    /**
+     * Build the exec options from the command line options, including scan specific options
+     *
+     * @return the exec options
+     */
+    @Override
+    protected ExecOptions buildExecOptions() {
+        if (parallelism < 1) {
+            throw new CommandLine.ParameterException(spec.commandLine(), "Parallelism must be greater than zero");
+        }
+        val execOptionsBuilder = super.buildExecOptions().toBuilder()
+                .parallelism(parallelism)
+                .changedSince(changedSince);
+        if (cacheResults) {
+            execOptionsBuilder.enforcerResultCache(EnforcerResultCache.fromEnvironment(System.getenv()));
+        }
+        return execOptionsBuilder.build();
+    }
+
     /**
      * Call the command with the provided exec options
      *
@@ -67,7 +122,8 @@ public class ScanCommand extends AbstractExecCommand {
      * @return the exit code
      */
     Integer call(final ExecOptions execOptions) {
-        val scanResult = execute(execOptions);
+        val scanResult = execute(withMessageSink(execOptions));
+        flushEnforcerResultCache(execOptions);
         SCAN_RESULT_LOGGER.log(scanResult, execOptions);
         if (scanResult.isPassed()) {
             return CommandLine.ExitCode.OK;
@@ -75,6 +131,42 @@ public class ScanCommand extends AbstractExecCommand {
         return CommandLine.ExitCode.SOFTWARE;
     }
 
+    /**
+     * Log the scan result of one of the repositories of a batch scan in the output format of the exec options.  Results
+     * are logged one repository at a time, so that the output of concurrent scans is never interleaved.
+     *
+     * @param repository the repository which was scanned
+     * @param scanResult the scan result
+     * @param execOptions the exec options
+     */
+    static synchronized void log(final String repository, final ScanResult scanResult, final ExecOptions execOptions) {
+        SCAN_RESULT_LOGGER.log(repository, scanResult, execOptions);
+    }
+
+    /**
+     * Write the enforcer result cache of the exec options back to the file system, if there is one
+     *
+     * @param execOptions the exec options
+     */
+    static void flushEnforcerResultCache(final ExecOptions execOptions) {
+        Optional.ofNullable(execOptions.getEnforcerResultCache()).ifPresent(EnforcerResultCache::flush);
+    }
+
+    /**
+     * Stream each message as a line of JSON as soon as it is produced when the output format is JSON lines
+     *
+     * @param execOptions the exec options
+     * @return the exec options with the message sink if streaming, otherwise the exec options as is
+     */
+    private static ExecOptions withMessageSink(final ExecOptions execOptions) {
+        if (execOptions.getOutputFormat() != OutputFormat.JSONL) {
+            return execOptions;
+        }
+        return execOptions.toBuilder()
+                .messageSink(messageDescriptor -> Console.Out.log(SCAN_RESULT_LOGGER.formatJsonLine(messageDescriptor)))
+                .build();
+    }
+
     /**
      * Execute the scan and return the result
      *
@@ -10,7 +10,8 @@ import com.optum.sourcehawk.core.constants.SourcehawkConstants;
 import com.optum.sourcehawk.core.protocol.file.FileProtocol;
 import com.optum.sourcehawk.core.utils.CollectionUtils;
 import com.optum.sourcehawk.core.utils.StringUtils;
-import com.optum.sourcehawk.enforcer.file.FileEnforcer;
+import com.optum.sourcehawk.exec.CompiledConfiguration;
+import com.optum.sourcehawk.exec.CompiledConfiguration.CompiledFileEnforcer;
 import com.optum.sourcehawk.exec.ConfigurationReader;
 import com.optum.sourcehawk.exec.Console;
 import lombok.val;
@@ -20,7 +21,6 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
@@ -119,8 +119,9 @@ public class ValidateConfigCommand implements Callable<Integer> {
             return Collections.emptyList();
         }
         return fileProtocols.stream()
-                .flatMap(fileProtocol -> fileProtocol.getEnforcers().stream()
-                        .map(enforcer -> captureEnforcerConversionError(fileProtocol, enforcer)))
+                .map(CompiledConfiguration::compileFileProtocol)
+                .flatMap(compiledFileProtocol -> compiledFileProtocol.getFileEnforcers().stream()
+                        .map(compiledFileEnforcer -> captureEnforcerConversionError(compiledFileProtocol.getFileProtocol(), compiledFileEnforcer)))
                 .filter(Optional::isPresent)
                 .map(Optional::get)
                 .collect(Collectors.toList());
@@ -129,17 +130,15 @@ public class ValidateConfigCommand implements Callable<Integer> {
     /**
      * Capture the enforcer conversion error if any
      *
-     * @param fileProtocol the file protocol
-     * @param enforcer     the enforcer to convert to file enforcer
+     * @param fileProtocol         the file protocol
+     * @param compiledFileEnforcer the compiled file enforcer
      * @return the error if any
      */
-    private static Optional<String> captureEnforcerConversionError(final FileProtocol fileProtocol, final Map<String, Object> enforcer) {
-        try {
-            ConfigurationReader.MAPPER.convertValue(enforcer, FileEnforcer.class);
+    private static Optional<String> captureEnforcerConversionError(final FileProtocol fileProtocol, final CompiledFileEnforcer compiledFileEnforcer) {
+        if (compiledFileEnforcer.isValid()) {
             return Optional.empty();
-        } catch (final Exception e) {
-            return Optional.of(deriveErrorMessage(String.format("in file protocol '%s'", fileProtocol.getName()), e));
         }
+        return Optional.of(deriveErrorMessage(String.format("in file protocol '%s'", fileProtocol.getName()), compiledFileEnforcer.getError()));
     }
 
     /**
@@ -0,0 +1,166 @@
+package com.optum.sourcehawk.cli
+
+import com.optum.sourcehawk.core.data.RemoteRef
+import com.optum.sourcehawk.exec.ExecOptions
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import picocli.CommandLine
+import spock.lang.Unroll
+
+class BatchScanCommandSpec extends CliBaseSpecification {
+
+    @Rule
+    TemporaryFolder temporaryFolder = new TemporaryFolder()
+
+    @Unroll
+    def "main: #helpArg"() {
+        given:
+        String[] args = new String[] { helpArg }
+
+        when:
+        BatchScanCommand.main(args)
+
+        then:
+        SystemExit systemExit = thrown(SystemExit)
+        systemExit.status == 0
+
+        where:
+        helpArg << ["-h", "--help" ]
+    }
+
+    @Unroll
+    def "commandLine.execute - #description"() {
+        given:
+        File repositoriesFile = temporaryFolder.newFile("repos.txt")
+        repositoriesFile.text = repositories.collect { it.replace("{resources}", testResourcesRoot.toString()) }.join(System.lineSeparator())
+        String[] args = ["-c", testResourcesRoot.resolve("sourcehawk-basic.yml").toString(), "batch", "-j", "2", repositoriesFile.absolutePath]
+        CommandLine commandLine = new CommandLine(new ScanCommand())
+
+        when:
+        int exitCode = commandLine.execute(args)
+
+        then:
+        exitCode == expectedExitCode
+
+        where:
+        description                | repositories                                                     | expectedExitCode
+        "all passed"               | ["{resources}/repo", "# comment", "", "{resources}/repo"]        | CommandLine.ExitCode.OK
+        "one failed"               | ["{resources}/repo", "{resources}/repo-updates"]                 | CommandLine.ExitCode.SOFTWARE
+        "invalid remote reference" | ["{resources}/repo", "invalid"]                                  | CommandLine.ExitCode.SOFTWARE
+        "empty"                    | ["# nothing to scan"]                                            | CommandLine.ExitCode.OK
+    }
+
+    @Unroll
+    def "commandLine.execute - output format #outputFormat"() {
+        given:
+        File repositoriesFile = temporaryFolder.newFile("repos.txt")
+        repositoriesFile.text = testResourcesRoot.resolve("repo").toString()
+        String[] args = ["-c", testResourcesRoot.resolve("sourcehawk-basic.yml").toString(), "-f", outputFormat, "batch", repositoriesFile.absolutePath]
+        CommandLine commandLine = new CommandLine(new ScanCommand())
+
+        when:
+        int exitCode = commandLine.execute(args)
+
+        then:
+        exitCode == CommandLine.ExitCode.OK
+
+        where:
+        outputFormat << ["TEXT", "JSON", "JSONL", "MARKDOWN"]
+    }
+
+    def "commandLine.execute - default output format - one JSON object per line"() {
+        given:
+        File repositoriesFile = temporaryFolder.newFile("repos.txt")
+        repositoriesFile.text = [testResourcesRoot.resolve("repo"), testResourcesRoot.resolve("repo-updates")].join(System.lineSeparator())
+        String[] args = ["-c", testResourcesRoot.resolve("sourcehawk-basic.yml").toString(), "batch", repositoriesFile.absolutePath]
+        CommandLine commandLine = new CommandLine(new ScanCommand())
+        PrintStream defaultOut = System.out
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream()
+        System.setOut(new PrintStream(outputStream, true))
+
+        when:
+        commandLine.execute(args)
+
+        then:
+        List<String> lines = outputStream.toString().readLines().findAll { !it.trim().isEmpty() }
+        lines.size() == 2
+        lines.every { it.startsWith('{"repository":') && it.endsWith('}') }
+
+        cleanup:
+        System.setOut(defaultOut)
+    }
+
+    @Unroll
+    def "createRemoteScanCommand - #provider"() {
+        given:
+        BatchScanCommand batchScanCommand = new BatchScanCommand(batch: new CommandOptions.Batch(
+                provider: provider,
+                enterpriseUrl: new URL("https://github.example.com"),
+                serverUrl: new URL("https://bitbucket.example.com")
+        ))
+
+        when:
+        AbstractRemoteScanCommand remoteScanCommand = batchScanCommand.createRemoteScanCommand("project/repo@v1")
+        ExecOptions execOptions = remoteScanCommand.buildExecOptions(ExecOptions.builder().build())
+
+        then:
+        remoteScanCommand.class == expectedClass
+        execOptions.remoteRef == RemoteRef.parse("project/repo@v1", "main")
+        execOptions.repositoryFileReader.getAbsoluteLocation("sourcehawk.yml").startsWith(expectedLocationPrefix)
+
+        where:
+        provider                                  | expectedClass        | expectedLocationPrefix
+        CommandOptions.Batch.Provider.GITHUB      | GithubScanCommand    | "https://github.example.com/raw/project/repo/v1/"
+        CommandOptions.Batch.Provider.BITBUCKET   | BitbucketScanCommand | "https://bitbucket.example.com/rest/api/1.0/projects/project/repos/repo/raw/"
+    }
+
+    def "createRemoteScanCommand - invalid remote reference"() {
+        given:
+        BatchScanCommand batchScanCommand = new BatchScanCommand(batch: new CommandOptions.Batch(provider: CommandOptions.Batch.Provider.BITBUCKET))
+
+        when:
+        batchScanCommand.createRemoteScanCommand("invalid").buildExecOptions(ExecOptions.builder().build())
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "commandLine.execute - repositories file not found"() {
+        given:
+        String[] args = ["batch", "/does/not/exist.txt"]
+        CommandLine commandLine = new CommandLine(new ScanCommand())
+
+        when:
+        int exitCode = commandLine.execute(args)
+
+        then:
+        exitCode == CommandLine.ExitCode.USAGE
+    }
+
+    def "commandLine.execute - configuration file not found"() {
+        given:
+        File repositoriesFile = temporaryFolder.newFile("repos.txt")
+        repositoriesFile.text = testResourcesRoot.resolve("repo").toString()
+        String[] args = ["-c", "does-not-exist.yml", "batch", repositoriesFile.absolutePath]
+        CommandLine commandLine = new CommandLine(new ScanCommand())
+
+        when:
+        int exitCode = commandLine.execute(args)
+
+        then:
+        exitCode == CommandLine.ExitCode.SOFTWARE
+    }
+
+    def "commandLine.execute - invalid jobs"() {
+        given:
+        String[] args = ["batch", "-j", "0", "repos.txt"]
+        CommandLine commandLine = new CommandLine(new ScanCommand())
+
+        when:
+        int exitCode = commandLine.execute(args)
+
+        then:
+        exitCode == CommandLine.ExitCode.USAGE
+    }
+
+}
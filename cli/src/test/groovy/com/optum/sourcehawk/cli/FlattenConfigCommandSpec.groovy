@@ -1,6 +1,7 @@
 package com.optum.sourcehawk.cli
 
 import com.optum.sourcehawk.core.constants.SourcehawkConstants
+import com.optum.sourcehawk.exec.ConfigurationSnapshot
 import spock.lang.Unroll
 
 import java.nio.file.Path
@@ -115,6 +116,27 @@ class FlattenConfigCommandSpec extends CliBaseSpecification {
         new File(repositoryRoot.toString() + "/cli/sourcehawk-flattened.yml").exists()
     }
 
+    def "main: snapshot output file"() {
+        given:
+        File snapshotFile = File.createTempFile("sourcehawk", ".snapshot")
+        snapshotFile.delete()
+        OutputStream stdOut = new ByteArrayOutputStream()
+        System.out = new PrintStream(stdOut)
+        String[] args = ["-s", snapshotFile.toString(), "-c", repositoryRoot.toString() + "/sourcehawk.yml"]
+
+        when:
+        FlattenConfigCommand.main(args)
+
+        then:
+        SystemExit systemExit = thrown(SystemExit)
+        systemExit.status == 0
+        stdOut.toString().trim() == new File(testResourcesRoot.toString() + "/flattened/sourcehawk-flattened-base.yml").text.trim()
+        ConfigurationSnapshot.isSnapshot(snapshotFile.bytes)
+
+        cleanup:
+        snapshotFile.delete()
+    }
+
     def "main: configuration file not found (failed)"() {
         given:
         OutputStream stdErr = new ByteArrayOutputStream()
@@ -58,6 +58,30 @@ class GithubScanSubCommandSpec extends Specification {
         exitCode == 0
     }
 
+    def "commandLine.execute enterprise github - archive (passed)"() {
+        given:
+        CommandLine commandLine = new CommandLine(new ScanCommand())
+        String[] args = ["-c", "target/test-classes/sourcehawk-basic.yml", "github", "-E", enterpriseUrl, "--archive", "owner/repo" ]
+        clientAndServer
+                .when(HttpRequest.request()
+                        .withMethod("GET")
+                        .withPath("/api/v3/repos/owner/repo/tarball/main"),
+                        Times.exactly(1))
+                .respond(HttpResponse.response()
+                        .withStatusCode(200)
+                        .withHeader("Content-Type", "application/x-gzip")
+                        .withBody(IoUtil.getResourceAsStream("/archive/repository.tar.gz").bytes))
+
+        when:
+        int exitCode = commandLine.execute(args)
+
+        then:
+        exitCode == 0
+
+        and:
+        clientAndServer.retrieveRecordedRequests(HttpRequest.request()).length == 1
+    }
+
     def "commandLine.execute enterprise github - custom configuration file (failed)"() {
         given:
         CommandLine commandLine = new CommandLine(new ScanCommand())
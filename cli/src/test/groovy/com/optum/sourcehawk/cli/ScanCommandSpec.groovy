@@ -47,6 +47,10 @@ class ScanCommandSpec extends CliBaseSpecification {
                 [ "--tags", "maven", "--tags", "lombok", repositoryRoot.toString() ] as String[],
                 [ "-f", "JSON", repositoryRoot.toString() ] as String[],
                 [ "--output-format", "JSON", repositoryRoot.toString() ] as String[],
+                [ "-f", "JSONL", repositoryRoot.toString() ] as String[],
+                [ "--output-format", "JSONL", repositoryRoot.toString() ] as String[],
+                [ "-p", "4", repositoryRoot.toString() ] as String[],
+                [ "--parallelism", "4", repositoryRoot.toString() ] as String[],
 //                [ "-w", repositoryRoot.toString() ] as String[],
 //                [ "--fail-on-warnings", repositoryRoot.toString() ] as String[] FIXME
         ]
@@ -104,6 +108,27 @@ class ScanCommandSpec extends CliBaseSpecification {
         exitCode == 2
     }
 
+    @Unroll
+    def "buildExecOptions - enforcer result cache: #args"() {
+        given:
+        ScanCommand scanCommand = new ScanCommand()
+        new CommandLine(scanCommand).parseArgs(args)
+
+        when:
+        ExecOptions execOptions = scanCommand.buildExecOptions()
+
+        then:
+        (execOptions.enforcerResultCache != null) == cached
+
+        and: "each invocation has its own cache"
+        !cached || !scanCommand.buildExecOptions().enforcerResultCache.is(execOptions.enforcerResultCache)
+
+        where:
+        args                                                         | cached
+        [ repositoryRoot.toString() ] as String[]                    | false
+        [ "--cache-results", repositoryRoot.toString() ] as String[] | true
+    }
+
     def "execute - exception"() {
         given:
         ExecOptions execOptions = null
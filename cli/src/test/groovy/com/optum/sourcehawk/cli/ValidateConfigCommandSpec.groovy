@@ -6,6 +6,8 @@ import com.fasterxml.jackson.databind.exc.InvalidTypeIdException
 import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException
 import com.optum.sourcehawk.enforcer.file.FileEnforcer
 import com.optum.sourcehawk.core.protocol.file.FileProtocol
+import com.optum.sourcehawk.exec.CompiledConfiguration
+import com.optum.sourcehawk.exec.CompiledConfiguration.CompiledFileEnforcer
 import org.spockframework.util.IoUtil
 import spock.lang.Unroll
 
@@ -213,7 +215,7 @@ class ValidateConfigCommandSpec extends CliBaseSpecification {
         ]
 
         when:
-        Optional<String> error = ValidateConfigCommand.captureEnforcerConversionError(fileProtocol, enforcer)
+        Optional<String> error = ValidateConfigCommand.captureEnforcerConversionError(fileProtocol, compileFileEnforcer(enforcer))
 
         then:
         !error.isPresent()
@@ -228,7 +230,7 @@ class ValidateConfigCommandSpec extends CliBaseSpecification {
         Map<String, Object> enforcer = [:]
 
         when:
-        Optional<String> error = ValidateConfigCommand.captureEnforcerConversionError(fileProtocol, enforcer)
+        Optional<String> error = ValidateConfigCommand.captureEnforcerConversionError(fileProtocol, compileFileEnforcer(enforcer))
 
         then:
         error.isPresent()
@@ -294,4 +296,13 @@ class ValidateConfigCommandSpec extends CliBaseSpecification {
         errorMessage == e.message
     }
 
+    private static CompiledFileEnforcer compileFileEnforcer(Map<String, Object> enforcer) {
+        FileProtocol fileProtocol = FileProtocol.builder()
+                .name("compiled")
+                .repositoryPath("compiled")
+                .enforcers([enforcer])
+                .build()
+        return CompiledConfiguration.compileFileProtocol(fileProtocol).fileEnforcers[0]
+    }
+
 }
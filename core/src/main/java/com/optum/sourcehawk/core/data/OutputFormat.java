@@ -11,6 +11,7 @@ public enum OutputFormat {
 
     TEXT,
     JSON,
+    JSONL,
     MARKDOWN;
 
     /**
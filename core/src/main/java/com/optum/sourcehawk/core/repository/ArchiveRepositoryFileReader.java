@@ -0,0 +1,579 @@
+package com.optum.sourcehawk.core.repository;
+
+import lombok.NonNull;
+import lombok.val;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * A remote repository file reader which downloads the entire repository as a single archive (gzipped tarball or
+ * zipball) and serves every file from an in-memory index of the archive entries.
+ * <p>
+ * The archive is downloaded the first time any file is accessed.  If all entries share a single top level directory,
+ * as is the case for archives produced by Github and Bitbucket, that directory is treated as the repository root.
+ * Since the full listing of the repository is known, glob patterns are supported.
+ * <p>
+ * The memory held by the archive is bounded.  Entries larger than the maximum entry size are listed but their content
+ * is skipped, reading them is an error.  The archive fails to download if either it or the total content of its
+ * entries exceeds the maximum archive size.
+ *
+ * @author Brian Wyka
+ */
+public final class ArchiveRepositoryFileReader implements RepositoryFileReader {
+
+    /**
+     * Path separator within archives
+     */
+    private static final String SEPARATOR = "/";
+
+    /**
+     * The size of a tar block
+     */
+    private static final int TAR_BLOCK_SIZE = 512;
+
+    /**
+     * Tar header type flags
+     */
+    private static final byte TAR_TYPE_FILE = '0';
+    private static final byte TAR_TYPE_FILE_LEGACY = 0;
+    private static final byte TAR_TYPE_GNU_LONG_NAME = 'L';
+    private static final byte TAR_TYPE_PAX_HEADER = 'x';
+
+    /**
+     * The pax header key which overrides the entry path
+     */
+    private static final String PAX_PATH = "path";
+
+    /**
+     * The size of the buffer used when reading entries
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The default maximum number of bytes of a single entry whose content is held
+     */
+    static final int DEFAULT_MAX_ENTRY_BYTES = 16 * 1024 * 1024;
+
+    /**
+     * The default maximum number of bytes of the archive, and of the total content of its entries
+     */
+    static final long DEFAULT_MAX_ARCHIVE_BYTES = 512L * 1024 * 1024;
+
+    /**
+     * The URL of the repository archive
+     */
+    private final URL archiveUrl;
+
+    /**
+     * The raw file URL template, used only to describe the absolute location of repository files
+     */
+    private final String rawFileUrlTemplate;
+
+    /**
+     * The HTTP client used to download the archive
+     */
+    private final PooledHttpClient httpClient;
+
+    /**
+     * The maximum number of bytes of a single entry whose content is held
+     */
+    private final int maxEntryBytes;
+
+    /**
+     * The maximum number of bytes of the archive, and of the total content of its entries
+     */
+    private final long maxArchiveBytes;
+
+    /**
+     * The content of each file in the archive, keyed by repository file path, lazily populated.  The content of entries
+     * exceeding the maximum entry size is null.
+     */
+    private volatile Map<String, byte[]> entries;
+
+    /**
+     * Constructs an instance of this reader with the provided archive URL
+     *
+     * @param archiveUrl the URL of the repository archive
+     * @param rawFileUrlTemplate the raw file URL template.  Takes one parameter: The path of the file in the repository
+     * @param requestProperties the request properties required for connection
+     */
+    public ArchiveRepositoryFileReader(@NonNull final URL archiveUrl, @NonNull final String rawFileUrlTemplate, @NonNull final Map<String, String> requestProperties) {
+        this(archiveUrl, rawFileUrlTemplate, new PooledHttpClient(requestProperties));
+    }
+
+    /**
+     * Constructs an instance of this reader with the provided archive URL and HTTP client
+     *
+     * @param archiveUrl the URL of the repository archive
+     * @param rawFileUrlTemplate the raw file URL template.  Takes one parameter: The path of the file in the repository
+     * @param httpClient the HTTP client
+     */
+    ArchiveRepositoryFileReader(@NonNull final URL archiveUrl, @NonNull final String rawFileUrlTemplate, @NonNull final PooledHttpClient httpClient) {
+        this(archiveUrl, rawFileUrlTemplate, httpClient, DEFAULT_MAX_ENTRY_BYTES, DEFAULT_MAX_ARCHIVE_BYTES);
+    }
+
+    /**
+     * Constructs an instance of this reader with the provided archive URL, HTTP client and limits
+     *
+     * @param archiveUrl the URL of the repository archive
+     * @param rawFileUrlTemplate the raw file URL template.  Takes one parameter: The path of the file in the repository
+     * @param httpClient the HTTP client
+     * @param maxEntryBytes the maximum number of bytes of a single entry whose content is held
+     * @param maxArchiveBytes the maximum number of bytes of the archive, and of the total content of its entries
+     */
+    ArchiveRepositoryFileReader(@NonNull final URL archiveUrl, @NonNull final String rawFileUrlTemplate, @NonNull final PooledHttpClient httpClient,
+                                final int maxEntryBytes, final long maxArchiveBytes) {
+        if (maxEntryBytes < 0 || maxArchiveBytes < 0) {
+            throw new IllegalArgumentException("Max entry bytes and max archive bytes must not be negative");
+        }
+        this.archiveUrl = archiveUrl;
+        this.rawFileUrlTemplate = rawFileUrlTemplate;
+        this.httpClient = httpClient;
+        this.maxEntryBytes = maxEntryBytes;
+        this.maxArchiveBytes = maxArchiveBytes;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean supportsGlobPatterns() {
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean exists(final String repositoryFilePath) throws IOException {
+        return getEntries().containsKey(normalize(repositoryFilePath));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Optional<InputStream> read(final String repositoryFilePath) throws IOException {
+        return readContent(repositoryFilePath).map(ByteArrayInputStream::new);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Optional<ByteBuffer> readBuffer(final String repositoryFilePath) throws IOException {
+        return readContent(repositoryFilePath).map(content -> ByteBuffer.wrap(content).asReadOnlyBuffer());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Optional<Collection<String>> listRepositoryFilePaths() throws IOException {
+        return Optional.of(getEntries().keySet());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getAbsoluteLocation(final String repositoryFilePath) {
+        return String.format(rawFileUrlTemplate, normalize(repositoryFilePath));
+    }
+
+    /**
+     * Read the content of the archive entry
+     *
+     * @param repositoryFilePath the repository file path
+     * @return the content if the entry exists, otherwise {@link Optional#empty()}
+     * @throws IOException if any error occurs downloading the archive, or the entry exceeds the maximum entry size
+     */
+    private Optional<byte[]> readContent(final String repositoryFilePath) throws IOException {
+        val downloadedEntries = getEntries();
+        val normalizedPath = normalize(repositoryFilePath);
+        if (!downloadedEntries.containsKey(normalizedPath)) {
+            return Optional.empty();
+        }
+        val content = downloadedEntries.get(normalizedPath);
+        if (content == null) {
+            throw new IOException(String.format("Archive entry %s exceeds the maximum size of %d bytes", normalizedPath, maxEntryBytes));
+        }
+        return Optional.of(content);
+    }
+
+    /**
+     * Get the archive entries, downloading the archive if not already done
+     *
+     * @return the archive entries
+     * @throws IOException if any error occurs downloading or extracting the archive
+     */
+    private Map<String, byte[]> getEntries() throws IOException {
+        Map<String, byte[]> downloadedEntries = entries;
+        if (downloadedEntries == null) {
+            synchronized (this) {
+                downloadedEntries = entries;
+                if (downloadedEntries == null) {
+                    downloadedEntries = download();
+                    entries = downloadedEntries;
+                }
+            }
+        }
+        return downloadedEntries;
+    }
+
+    /**
+     * Download and extract the archive
+     *
+     * @return the archive entries
+     * @throws IOException if any error occurs downloading or extracting the archive
+     */
+    private Map<String, byte[]> download() throws IOException {
+        val response = httpClient.get(archiveUrl, maxArchiveBytes);
+        if (!response.isOk()) {
+            throw new IOException(String.format("HTTP Request to %s returned response code %d", archiveUrl, response.getStatusCode()));
+        }
+        return Collections.unmodifiableMap(stripCommonRoot(extract(response.getBody(), new ExtractionBudget(maxEntryBytes, maxArchiveBytes))));
+    }
+
+    /**
+     * Extract the file entries of the archive, detecting the format from its leading bytes
+     *
+     * @param archive the archive content
+     * @param extractionBudget the budget of the entry content which may be held
+     * @return the file contents, keyed by path within the archive, null for entries exceeding the maximum entry size
+     * @throws IOException if the archive format is not supported, any error occurs extracting the archive, or the total
+     *                     content of the entries exceeds the budget
+     */
+    static Map<String, byte[]> extract(final byte[] archive, final ExtractionBudget extractionBudget) throws IOException {
+        if (isZip(archive)) {
+            return extractZip(new ZipInputStream(new ByteArrayInputStream(archive)), extractionBudget);
+        }
+        if (isGzip(archive)) {
+            return extractTar(new GZIPInputStream(new ByteArrayInputStream(archive)), extractionBudget);
+        }
+        throw new IOException("Unsupported archive format, expected a gzipped tarball or zipball");
+    }
+
+    /**
+     * Extract the file entries of a zip archive
+     *
+     * @param zipInputStream the zip archive input stream
+     * @param extractionBudget the budget of the entry content which may be held
+     * @return the file contents, keyed by path within the archive, null for entries exceeding the maximum entry size
+     * @throws IOException if any error occurs extracting the archive, or the total content exceeds the budget
+     */
+    private static Map<String, byte[]> extractZip(final ZipInputStream zipInputStream, final ExtractionBudget extractionBudget) throws IOException {
+        val extractedEntries = new LinkedHashMap<String, byte[]>();
+        try (val closeableZipInputStream = zipInputStream) {
+            ZipEntry zipEntry;
+            while ((zipEntry = closeableZipInputStream.getNextEntry()) != null) {
+                if (!zipEntry.isDirectory()) {
+                    extractedEntries.put(zipEntry.getName(), readAll(closeableZipInputStream, extractionBudget));
+                }
+            }
+        }
+        return extractedEntries;
+    }
+
+    /**
+     * Extract the file entries of a tar archive, supporting ustar, GNU long name and pax path headers
+     *
+     * @param inputStream the tar archive input stream
+     * @param extractionBudget the budget of the entry content which may be held
+     * @return the file contents, keyed by path within the archive, null for entries exceeding the maximum entry size
+     * @throws IOException if any error occurs extracting the archive, or the total content exceeds the budget
+     */
+    private static Map<String, byte[]> extractTar(final InputStream inputStream, final ExtractionBudget extractionBudget) throws IOException {
+        val extractedEntries = new LinkedHashMap<String, byte[]>();
+        try (val dataInputStream = new DataInputStream(inputStream)) {
+            val header = new byte[TAR_BLOCK_SIZE];
+            String overridePath = null;
+            while (true) {
+                try {
+                    dataInputStream.readFully(header);
+                } catch (final EOFException e) {
+                    break;
+                }
+                if (header[0] == 0) {
+                    break;
+                }
+                val size = parseOctal(header, 124, 12);
+                val typeFlag = header[156];
+                val file = typeFlag == TAR_TYPE_FILE || typeFlag == TAR_TYPE_FILE_LEGACY;
+                byte[] content = null;
+                if (extractionBudget.allocate(size, file)) {
+                    content = new byte[(int) size];
+                    dataInputStream.readFully(content);
+                } else {
+                    skipFully(dataInputStream, size);
+                }
+                skipFully(dataInputStream, (TAR_BLOCK_SIZE - (size % TAR_BLOCK_SIZE)) % TAR_BLOCK_SIZE);
+                if (typeFlag == TAR_TYPE_GNU_LONG_NAME) {
+                    overridePath = parseString(content, 0, content.length);
+                } else if (typeFlag == TAR_TYPE_PAX_HEADER) {
+                    overridePath = parsePaxHeaders(content).getOrDefault(PAX_PATH, overridePath);
+                } else {
+                    if (file) {
+                        extractedEntries.put(overridePath != null ? overridePath : parseTarPath(header), content);
+                    }
+                    overridePath = null;
+                }
+            }
+        }
+        return extractedEntries;
+    }
+
+    /**
+     * Parse the path from the tar header, joining the ustar prefix and name
+     *
+     * @param header the tar header
+     * @return the path
+     */
+    private static String parseTarPath(final byte[] header) {
+        val name = parseString(header, 0, 100);
+        val ustar = parseString(header, 257, 5).equals("ustar");
+        val prefix = ustar ? parseString(header, 345, 155) : "";
+        return prefix.isEmpty() ? name : prefix + SEPARATOR + name;
+    }
+
+    /**
+     * Parse the pax extended header records, each of the form "length key=value\n"
+     *
+     * @param content the pax header content
+     * @return the pax headers
+     */
+    private static Map<String, String> parsePaxHeaders(final byte[] content) {
+        val paxHeaders = new HashMap<String, String>();
+        int offset = 0;
+        while (offset < content.length) {
+            int spaceIndex = offset;
+            while (spaceIndex < content.length && content[spaceIndex] != ' ') {
+                spaceIndex++;
+            }
+            if (spaceIndex == content.length) {
+                break;
+            }
+            val length = Integer.parseInt(new String(content, offset, spaceIndex - offset, StandardCharsets.UTF_8));
+            if (length <= 0 || offset + length > content.length) {
+                break;
+            }
+            val record = new String(content, spaceIndex + 1, offset + length - spaceIndex - 2, StandardCharsets.UTF_8);
+            val equalsIndex = record.indexOf('=');
+            if (equalsIndex > 0) {
+                paxHeaders.put(record.substring(0, equalsIndex), record.substring(equalsIndex + 1));
+            }
+            offset += length;
+        }
+        return paxHeaders;
+    }
+
+    /**
+     * Parse a null terminated string from the tar header
+     *
+     * @param bytes the bytes
+     * @param offset the offset of the field
+     * @param length the length of the field
+     * @return the parsed string
+     */
+    private static String parseString(final byte[] bytes, final int offset, final int length) {
+        int end = offset;
+        while (end < offset + length && bytes[end] != 0) {
+            end++;
+        }
+        return new String(bytes, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parse an octal number from the tar header
+     *
+     * @param bytes the bytes
+     * @param offset the offset of the field
+     * @param length the length of the field
+     * @return the parsed number
+     */
+    private static long parseOctal(final byte[] bytes, final int offset, final int length) {
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] >= '0' && bytes[i] <= '7') {
+                value = (value << 3) + (bytes[i] - '0');
+            } else if (value > 0 || (bytes[i] != ' ' && bytes[i] != 0)) {
+                break;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Skip exactly the number of bytes provided
+     *
+     * @param inputStream the input stream
+     * @param bytes the number of bytes to skip
+     * @throws IOException if the end of stream is reached before skipping all bytes
+     */
+    private static void skipFully(final DataInputStream inputStream, final long bytes) throws IOException {
+        long remaining = bytes;
+        while (remaining > 0) {
+            long skipped = inputStream.skip(remaining);
+            if (skipped <= 0) {
+                if (inputStream.read() == -1) {
+                    throw new EOFException("Unexpected end of tar archive");
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+
+    /**
+     * Read the remainder of the input stream without closing it.  If it exceeds the maximum entry size, the remainder is
+     * skipped instead.
+     *
+     * @param inputStream the input stream
+     * @param extractionBudget the budget of the entry content which may be held
+     * @return the bytes read, or null if the remainder exceeds the maximum entry size
+     * @throws IOException if any error occurs reading the input stream, or the total content exceeds the budget
+     */
+    private static byte[] readAll(final InputStream inputStream, final ExtractionBudget extractionBudget) throws IOException {
+        val outputStream = new ByteArrayOutputStream();
+        val buffer = new byte[BUFFER_SIZE];
+        int bytesRead;
+        boolean skipped = false;
+        while ((bytesRead = inputStream.read(buffer)) != -1) {
+            if (!skipped && outputStream.size() + (long) bytesRead > extractionBudget.maxEntryBytes) {
+                outputStream.reset();
+                skipped = true;
+            }
+            if (!skipped) {
+                outputStream.write(buffer, 0, bytesRead);
+            }
+        }
+        if (skipped || !extractionBudget.allocate(outputStream.size(), true)) {
+            return null;
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Strip the top level directory from every entry, if all entries share the same one
+     *
+     * @param extractedEntries the extracted entries
+     * @return the entries keyed by repository file path
+     */
+    static Map<String, byte[]> stripCommonRoot(final Map<String, byte[]> extractedEntries) {
+        String commonRoot = null;
+        for (val path : extractedEntries.keySet()) {
+            val separatorIndex = path.indexOf(SEPARATOR);
+            if (separatorIndex < 1 || (commonRoot != null && !path.startsWith(commonRoot))) {
+                return extractedEntries;
+            }
+            commonRoot = path.substring(0, separatorIndex + 1);
+        }
+        if (commonRoot == null) {
+            return extractedEntries;
+        }
+        val strippedEntries = new LinkedHashMap<String, byte[]>(extractedEntries.size());
+        for (val entry : extractedEntries.entrySet()) {
+            strippedEntries.put(entry.getKey().substring(commonRoot.length()), entry.getValue());
+        }
+        return strippedEntries;
+    }
+
+    /**
+     * Normalize the repository file path to the form used to key the entries
+     *
+     * @param repositoryFilePath the repository file path
+     * @return the normalized repository file path
+     */
+    private static String normalize(final String repositoryFilePath) {
+        String normalizedPath = repositoryFilePath;
+        while (normalizedPath.startsWith("./")) {
+            normalizedPath = normalizedPath.substring(2);
+        }
+        while (normalizedPath.startsWith(SEPARATOR)) {
+            normalizedPath = normalizedPath.substring(1);
+        }
+        return normalizedPath;
+    }
+
+    /**
+     * Determine if the content is a zip archive
+     *
+     * @param archive the archive content
+     * @return true if zip, false otherwise
+     */
+    private static boolean isZip(final byte[] archive) {
+        return archive.length >= 4 && archive[0] == 'P' && archive[1] == 'K' && archive[2] == 3 && archive[3] == 4;
+    }
+
+    /**
+     * The budget of the entry content which may be held while extracting an archive
+     *
+     * @author Brian Wyka
+     */
+    static final class ExtractionBudget {
+
+        /**
+         * The maximum number of bytes of a single entry whose content is held
+         */
+        private final long maxEntryBytes;
+
+        /**
+         * The maximum number of bytes of the total content of all entries
+         */
+        private final long maxTotalBytes;
+
+        /**
+         * The number of bytes of entry content which may still be held
+         */
+        private long remainingBytes;
+
+        /**
+         * Create the extraction budget
+         *
+         * @param maxEntryBytes the maximum number of bytes of a single entry whose content is held
+         * @param maxTotalBytes the maximum number of bytes of the total content of all entries
+         */
+        ExtractionBudget(final long maxEntryBytes, final long maxTotalBytes) {
+            this.maxEntryBytes = maxEntryBytes;
+            this.maxTotalBytes = maxTotalBytes;
+            this.remainingBytes = maxTotalBytes;
+        }
+
+        /**
+         * Allocate the bytes of an entry from the budget
+         *
+         * @param entryBytes the number of bytes of the entry
+         * @param skippable whether or not the entry is a file which is skipped if it exceeds the maximum entry size,
+         *                  as opposed to archive metadata which is always held
+         * @return true if allocated, false if the entry exceeds the maximum entry size and should be skipped
+         * @throws IOException if the total content exceeds the budget
+         */
+        boolean allocate(final long entryBytes, final boolean skippable) throws IOException {
+            if (skippable && entryBytes > maxEntryBytes) {
+                return false;
+            }
+            if (entryBytes > remainingBytes) {
+                throw new IOException(String.format("Archive content exceeds the maximum size of %d bytes", maxTotalBytes));
+            }
+            remainingBytes -= entryBytes;
+            return true;
+        }
+
+    }
+
+    /**
+     * Determine if the content is gzip compressed
+     *
+     * @param archive the archive content
+     * @return true if gzip, false otherwise
+     */
+    private static boolean isGzip(final byte[] archive) {
+        return archive.length >= 2 && (archive[0] & 0xff) == 0x1f && (archive[1] & 0xff) == 0x8b;
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.optum.sourcehawk.core.repository;
+
+import lombok.NonNull;
+import lombok.val;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link InputStream} view of a {@link ByteBuffer}, such as one provided by
+ * {@link RepositoryFileReader#readBuffer(String)}.  Consumers which are able to work on bytes directly may obtain
+ * the remaining content as a buffer with {@link #consumeRemaining()}, without it being copied through a stream.
+ *
+ * @author Brian Wyka
+ */
+public final class ByteBufferInputStream extends InputStream {
+
+    private static final String ERROR_CLOSED = "Stream closed";
+
+    /**
+     * The buffer being read, a private view so that the position is independent of the provided buffer
+     */
+    private final ByteBuffer byteBuffer;
+
+    /**
+     * The marked position
+     */
+    private int markedPosition;
+
+    /**
+     * Whether or not the stream has been closed
+     */
+    private volatile boolean closed;
+
+    /**
+     * Create the input stream over the remaining content of the byte buffer
+     *
+     * @param byteBuffer the byte buffer
+     */
+    public ByteBufferInputStream(@NonNull final ByteBuffer byteBuffer) {
+        this.byteBuffer = byteBuffer.slice();
+    }
+
+    /**
+     * Consume all the remaining content of the stream, as a read only buffer
+     *
+     * @return the remaining content
+     * @throws IOException if the stream has been closed
+     */
+    public ByteBuffer consumeRemaining() throws IOException {
+        ensureOpen();
+        val remaining = byteBuffer.slice().asReadOnlyBuffer();
+        byteBuffer.position(byteBuffer.limit());
+        return remaining;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read() throws IOException {
+        ensureOpen();
+        if (!byteBuffer.hasRemaining()) {
+            return -1;
+        }
+        return byteBuffer.get() & 0xff;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read(@NonNull final byte[] bytes, final int offset, final int length) throws IOException {
+        ensureOpen();
+        if (offset < 0 || length < 0 || length > bytes.length - offset) {
+            throw new IndexOutOfBoundsException();
+        } else if (length == 0) {
+            return 0;
+        } else if (!byteBuffer.hasRemaining()) {
+            return -1;
+        }
+        val bytesRead = Math.min(length, byteBuffer.remaining());
+        byteBuffer.get(bytes, offset, bytesRead);
+        return bytesRead;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long skip(final long count) throws IOException {
+        ensureOpen();
+        if (count <= 0) {
+            return 0;
+        }
+        val bytesSkipped = (int) Math.min(count, byteBuffer.remaining());
+        byteBuffer.position(byteBuffer.position() + bytesSkipped);
+        return bytesSkipped;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int available() throws IOException {
+        ensureOpen();
+        return byteBuffer.remaining();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void mark(final int readLimit) {
+        markedPosition = byteBuffer.position();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void reset() throws IOException {
+        ensureOpen();
+        byteBuffer.position(markedPosition);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    /**
+     * Ensure the stream has not been closed
+     *
+     * @throws IOException if the stream has been closed
+     */
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException(ERROR_CLOSED);
+        }
+    }
+
+}
@@ -0,0 +1,390 @@
+package com.optum.sourcehawk.core.repository;
+
+import lombok.AccessLevel;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A repository file reader which decorates another reader, reading each repository file from the delegate at most once
+ * and serving every subsequent read from the cached content.  Each call to {@link #read(String)} or
+ * {@link #readBuffer(String)} is given its own fresh view of the cached content.
+ * <p>
+ * The cache is bounded by a memory budget, the least recently used files are evicted once the budget is exceeded.  Files
+ * which are not found count towards the budget as well.  Content larger than the maximum entry size is never retained,
+ * it is streamed straight through from the delegate, whether it is held on the heap or in a direct buffer such as a
+ * memory mapped file.
+ * <p>
+ * When loading a file from the delegate fails, its entry is discarded and any reads waiting on the entry load the file
+ * again through a new entry.
+ *
+ * @author Brian Wyka
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CachingRepositoryFileReader implements RepositoryFileReader {
+
+    /**
+     * The default total number of bytes which may be cached
+     */
+    public static final long DEFAULT_MEMORY_BUDGET_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * The default maximum number of bytes of a single file which may be cached
+     */
+    public static final int DEFAULT_MAX_ENTRY_BYTES = 4 * 1024 * 1024;
+
+    /**
+     * The size of the buffer used when copying content
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The approximate number of bytes occupied by a cache entry in addition to its content
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    /**
+     * The reader which is decorated
+     */
+    private final RepositoryFileReader delegate;
+
+    /**
+     * The total number of bytes which may be cached
+     */
+    private final long memoryBudgetBytes;
+
+    /**
+     * The maximum number of bytes of a single file which may be cached
+     */
+    private final int maxEntryBytes;
+
+    /**
+     * The cached contents, keyed by repository file path, in least recently used order
+     */
+    private final Map<String, CachedContent> cachedContents = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The total number of bytes currently cached
+     */
+    private long cachedBytes;
+
+    /**
+     * Create the caching reader with the default memory budget
+     *
+     * @param delegate the reader to decorate
+     * @return the caching repository file reader
+     */
+    public static CachingRepositoryFileReader create(@NonNull final RepositoryFileReader delegate) {
+        return create(delegate, DEFAULT_MEMORY_BUDGET_BYTES, DEFAULT_MAX_ENTRY_BYTES);
+    }
+
+    /**
+     * Create the caching reader with the provided memory budget
+     *
+     * @param delegate the reader to decorate
+     * @param memoryBudgetBytes the total number of bytes which may be cached
+     * @param maxEntryBytes the maximum number of bytes of a single file which may be cached
+     * @return the caching repository file reader
+     */
+    public static CachingRepositoryFileReader create(@NonNull final RepositoryFileReader delegate, final long memoryBudgetBytes, final int maxEntryBytes) {
+        if (memoryBudgetBytes < 0 || maxEntryBytes < 0) {
+            throw new IllegalArgumentException("Memory budget and max entry bytes must not be negative");
+        }
+        return new CachingRepositoryFileReader(delegate, memoryBudgetBytes, Math.toIntExact(Math.min(maxEntryBytes, memoryBudgetBytes)));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean supportsGlobPatterns() {
+        return delegate.supportsGlobPatterns();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean exists(final String repositoryFilePath) throws IOException {
+        val cachedContent = getCachedContentIfPresent(repositoryFilePath);
+        if (cachedContent != null && cachedContent.loaded && cachedContent.content != null) {
+            return true;
+        }
+        return delegate.exists(repositoryFilePath);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Optional<InputStream> read(@NonNull final String repositoryFilePath) throws IOException {
+        CachedContent cachedContent;
+        do {
+            cachedContent = getOrCreateCachedContent(repositoryFilePath);
+            synchronized (cachedContent) {
+                if (!cachedContent.loaded && !cachedContent.failed) {
+                    return load(repositoryFilePath, cachedContent);
+                }
+            }
+        } while (cachedContent.failed);
+        if (cachedContent.content != null) {
+            return Optional.of(new ByteBufferInputStream(cachedContent.content.duplicate()));
+        }
+        if (cachedContent.notFound) {
+            return Optional.empty();
+        }
+        return delegate.read(repositoryFilePath);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The buffer provided by the delegate is cached as a read-only view without being copied, so memory mapped files
+     * stay mapped.  Content which is too large to be cached is served straight from the delegate.
+     */
+    @Override
+    public Optional<ByteBuffer> readBuffer(@NonNull final String repositoryFilePath) throws IOException {
+        CachedContent cachedContent;
+        do {
+            cachedContent = getOrCreateCachedContent(repositoryFilePath);
+            synchronized (cachedContent) {
+                if (!cachedContent.loaded && !cachedContent.failed) {
+                    return loadBuffer(repositoryFilePath, cachedContent);
+                }
+            }
+        } while (cachedContent.failed);
+        if (cachedContent.content != null) {
+            return Optional.of(cachedContent.content.duplicate());
+        }
+        if (cachedContent.notFound) {
+            return Optional.empty();
+        }
+        return delegate.readBuffer(repositoryFilePath);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Buffers are available for files which are already cached, including files which were not found, otherwise the
+     * delegate determines whether a buffer is available.
+     */
+    @Override
+    public boolean isBufferAvailable(@NonNull final String repositoryFilePath) throws IOException {
+        val cachedContent = getCachedContentIfPresent(repositoryFilePath);
+        if (cachedContent != null && cachedContent.loaded && (cachedContent.content != null || cachedContent.notFound)) {
+            return true;
+        }
+        return delegate.isBufferAvailable(repositoryFilePath);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void prefetch(final Collection<String> repositoryFilePaths) throws IOException {
+        delegate.prefetch(repositoryFilePaths);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Optional<Collection<String>> listRepositoryFilePaths() throws IOException {
+        return delegate.listRepositoryFilePaths();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getAbsoluteLocation(final String repositoryFilePath) {
+        return delegate.getAbsoluteLocation(repositoryFilePath);
+    }
+
+    /**
+     * Load the content from the delegate into the cache entry, must be called while holding the entry's lock
+     *
+     * @param repositoryFilePath the repository file path
+     * @param cachedContent the cache entry to populate
+     * @return the input stream for the caller which triggered the load
+     * @throws IOException if any error occurs reading from the delegate
+     */
+    private Optional<InputStream> load(final String repositoryFilePath, final CachedContent cachedContent) throws IOException {
+        final Optional<InputStream> inputStreamOptional;
+        try {
+            inputStreamOptional = delegate.read(repositoryFilePath);
+        } catch (final IOException e) {
+            fail(repositoryFilePath, cachedContent);
+            throw e;
+        }
+        if (!inputStreamOptional.isPresent()) {
+            cachedContent.notFound = true;
+            cachedContent.loaded = true;
+            account(repositoryFilePath, cachedContent);
+            return Optional.empty();
+        }
+        val inputStream = inputStreamOptional.get();
+        val outputStream = new ByteArrayOutputStream(Math.min(BUFFER_SIZE, maxEntryBytes));
+        val buffer = new byte[BUFFER_SIZE];
+        int bytesRead;
+        try {
+            while ((bytesRead = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, bytesRead);
+                if (outputStream.size() > maxEntryBytes) {
+                    cachedContent.loaded = true;
+                    remove(repositoryFilePath, cachedContent);
+                    return Optional.of(new SequenceInputStream(new ByteArrayInputStream(outputStream.toByteArray()), inputStream));
+                }
+            }
+        } catch (final IOException e) {
+            inputStream.close();
+            fail(repositoryFilePath, cachedContent);
+            throw e;
+        }
+        inputStream.close();
+        cachedContent.content = ByteBuffer.wrap(outputStream.toByteArray()).asReadOnlyBuffer();
+        cachedContent.loaded = true;
+        account(repositoryFilePath, cachedContent);
+        return Optional.of(new ByteBufferInputStream(cachedContent.content.duplicate()));
+    }
+
+    /**
+     * Load the content from the delegate buffer into the cache entry, must be called while holding the entry's lock
+     *
+     * @param repositoryFilePath the repository file path
+     * @param cachedContent the cache entry to populate
+     * @return the buffer for the caller which triggered the load
+     * @throws IOException if any error occurs reading from the delegate
+     */
+    private Optional<ByteBuffer> loadBuffer(final String repositoryFilePath, final CachedContent cachedContent) throws IOException {
+        final Optional<ByteBuffer> byteBufferOptional;
+        try {
+            byteBufferOptional = delegate.readBuffer(repositoryFilePath);
+        } catch (final IOException e) {
+            fail(repositoryFilePath, cachedContent);
+            throw e;
+        }
+        if (!byteBufferOptional.isPresent()) {
+            cachedContent.notFound = true;
+            cachedContent.loaded = true;
+            account(repositoryFilePath, cachedContent);
+            return Optional.empty();
+        }
+        val byteBuffer = byteBufferOptional.get();
+        if (byteBuffer.remaining() > maxEntryBytes) {
+            cachedContent.loaded = true;
+            remove(repositoryFilePath, cachedContent);
+            return byteBufferOptional;
+        }
+        cachedContent.content = byteBuffer.slice().asReadOnlyBuffer();
+        cachedContent.loaded = true;
+        account(repositoryFilePath, cachedContent);
+        return Optional.of(cachedContent.content.duplicate());
+    }
+
+    /**
+     * Get the cache entry for the repository file path if one exists
+     *
+     * @param repositoryFilePath the repository file path
+     * @return the cache entry, or null if none exists
+     */
+    private CachedContent getCachedContentIfPresent(final String repositoryFilePath) {
+        synchronized (cachedContents) {
+            return cachedContents.get(repositoryFilePath);
+        }
+    }
+
+    /**
+     * Get the cache entry for the repository file path, creating an unloaded entry if one does not yet exist
+     *
+     * @param repositoryFilePath the repository file path
+     * @return the cache entry
+     */
+    private CachedContent getOrCreateCachedContent(final String repositoryFilePath) {
+        synchronized (cachedContents) {
+            return cachedContents.computeIfAbsent(repositoryFilePath, path -> new CachedContent());
+        }
+    }
+
+    /**
+     * Account for the newly loaded cache entry, evicting the least recently used entries while over the memory budget.
+     * Entries which are no longer cached are not accounted for.
+     *
+     * @param repositoryFilePath the repository file path
+     * @param loadedContent the newly loaded cache entry
+     */
+    private void account(final String repositoryFilePath, final CachedContent loadedContent) {
+        synchronized (cachedContents) {
+            if (cachedContents.get(repositoryFilePath) != loadedContent) {
+                return;
+            }
+            loadedContent.size = ENTRY_OVERHEAD_BYTES + (loadedContent.content == null ? 0 : loadedContent.content.capacity());
+            cachedBytes += loadedContent.size;
+            val cachedContentIterator = cachedContents.values().iterator();
+            while (cachedBytes > memoryBudgetBytes && cachedContentIterator.hasNext()) {
+                val cachedContent = cachedContentIterator.next();
+                if (cachedContent.size > 0 && cachedContent != loadedContent) {
+                    cachedBytes -= cachedContent.size;
+                    cachedContentIterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Mark the cache entry as failed to load and remove it, so that subsequent reads load the file again
+     *
+     * @param repositoryFilePath the repository file path
+     * @param cachedContent the cache entry which failed to load
+     */
+    private void fail(final String repositoryFilePath, final CachedContent cachedContent) {
+        cachedContent.failed = true;
+        remove(repositoryFilePath, cachedContent);
+    }
+
+    /**
+     * Remove the cache entry, so that subsequent reads are served directly from the delegate
+     *
+     * @param repositoryFilePath the repository file path
+     * @param cachedContent the cache entry to remove
+     */
+    private void remove(final String repositoryFilePath, final CachedContent cachedContent) {
+        synchronized (cachedContents) {
+            cachedContents.remove(repositoryFilePath, cachedContent);
+        }
+    }
+
+    /**
+     * The cached content of a single repository file
+     *
+     * @author Brian Wyka
+     */
+    private static final class CachedContent {
+
+        /**
+         * Whether or not the content has been loaded from the delegate
+         */
+        private volatile boolean loaded;
+
+        /**
+         * Whether or not loading the content from the delegate failed, the entry is no longer cached once failed
+         */
+        private volatile boolean failed;
+
+        /**
+         * Whether or not the file was not found by the delegate
+         */
+        private volatile boolean notFound;
+
+        /**
+         * The read-only content of the file, null if not found or too large to be cached
+         */
+        private volatile ByteBuffer content;
+
+        /**
+         * The number of bytes the entry counts towards the memory budget, zero until accounted for
+         */
+        private long size;
+
+    }
+
+}
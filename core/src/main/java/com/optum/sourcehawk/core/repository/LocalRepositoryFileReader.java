@@ -3,13 +3,18 @@ package com.optum.sourcehawk.core.repository;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
+import lombok.val;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Optional;
 
 /**
@@ -20,6 +25,12 @@ import java.util.Optional;
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class LocalRepositoryFileReader implements RepositoryFileReader {
 
+    /**
+     * The size in bytes at which files are memory mapped rather than read onto the heap.  Mapped buffers are never
+     * copied, including when cached by a {@link CachingRepositoryFileReader}.
+     */
+    static final long MAPPING_THRESHOLD_BYTES = 1024L * 1024;
+
     /**
      * The directory in which repository files should be read from
      */
@@ -59,6 +70,47 @@ public class LocalRepositoryFileReader implements RepositoryFileReader {
         return getInputStream(directory.resolve(Paths.get(repositoryFilePath)));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Files of at least {@link #MAPPING_THRESHOLD_BYTES} are memory mapped, smaller files are read into a heap buffer of
+     * exactly their size.
+     */
+    @Override
+    public Optional<ByteBuffer> readBuffer(@NonNull final String repositoryFilePath) throws IOException {
+        val path = directory.resolve(Paths.get(repositoryFilePath));
+        try (val fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            val size = fileChannel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException(String.format("File is too large to be read into a buffer: %s", repositoryFilePath));
+            } else if (size >= MAPPING_THRESHOLD_BYTES) {
+                return Optional.of(fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+            }
+            val byteBuffer = ByteBuffer.allocate((int) size);
+            while (byteBuffer.hasRemaining() && fileChannel.read(byteBuffer) != -1) {
+                // Keep reading until the buffer is full or the end of the file is reached
+            }
+            byteBuffer.flip();
+            return Optional.of(byteBuffer.asReadOnlyBuffer());
+        } catch (final NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Buffers are available for files of at least {@link #MAPPING_THRESHOLD_BYTES}, which are memory mapped.
+     */
+    @Override
+    public boolean isBufferAvailable(@NonNull final String repositoryFilePath) throws IOException {
+        try {
+            return Files.size(directory.resolve(Paths.get(repositoryFilePath))) >= MAPPING_THRESHOLD_BYTES;
+        } catch (final NoSuchFileException e) {
+            return false;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public String getAbsoluteLocation(final String repositoryFilePath) {
@@ -0,0 +1,399 @@
+package com.optum.sourcehawk.core.repository;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A minimal HTTP client for fetching remote repository files.
+ * <p>
+ * Response bodies (including error bodies) are always fully consumed and closed, which allows the underlying
+ * {@link HttpURLConnection} keep-alive cache to reuse connections across requests.  The number of requests in flight
+ * at any one time is bounded, and requests which are rate limited (429) or fail on the server side (5xx) are retried
+ * with exponential backoff, honoring the {@code Retry-After} header when provided.
+ * <p>
+ * Every request has a connect and read timeout, which default to 10 and 30 seconds respectively, and can be
+ * configured with the <code>SOURCEHAWK_HTTP_CONNECT_TIMEOUT_SECONDS</code> and
+ * <code>SOURCEHAWK_HTTP_READ_TIMEOUT_SECONDS</code> environment variables.
+ *
+ * @author Brian Wyka
+ */
+final class PooledHttpClient {
+
+    /**
+     * The default maximum number of requests which may be in flight at once
+     */
+    static final int DEFAULT_MAX_IN_FLIGHT_REQUESTS = 8;
+
+    /**
+     * The default maximum number of attempts for each request
+     */
+    static final int DEFAULT_MAX_ATTEMPTS = 4;
+
+    /**
+     * The default backoff before the first retry, doubled on each subsequent retry
+     */
+    static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 250L;
+
+    /**
+     * The default timeout for establishing a connection
+     */
+    static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 10_000;
+
+    /**
+     * The default timeout for reading from an established connection
+     */
+    static final int DEFAULT_READ_TIMEOUT_MILLIS = 30_000;
+
+    /**
+     * The environment variable which configures the connect timeout in seconds
+     */
+    static final String ENV_CONNECT_TIMEOUT_SECONDS = "SOURCEHAWK_HTTP_CONNECT_TIMEOUT_SECONDS";
+
+    /**
+     * The environment variable which configures the read timeout in seconds
+     */
+    static final String ENV_READ_TIMEOUT_SECONDS = "SOURCEHAWK_HTTP_READ_TIMEOUT_SECONDS";
+
+    /**
+     * The maximum backoff between any two attempts
+     */
+    private static final long MAX_BACKOFF_MILLIS = 10_000L;
+
+    /**
+     * Too many requests response code
+     */
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    /**
+     * The retry after header name
+     */
+    private static final String HEADER_RETRY_AFTER = "Retry-After";
+
+    /**
+     * The size of the buffer used when consuming response bodies
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The request properties sent with every request
+     */
+    private final Map<String, String> requestProperties;
+
+    /**
+     * The permits for requests in flight
+     */
+    private final Semaphore inFlightRequests;
+
+    /**
+     * The maximum number of attempts for each request
+     */
+    private final int maxAttempts;
+
+    /**
+     * The backoff before the first retry
+     */
+    private final long initialBackoffMillis;
+
+    /**
+     * The timeout for establishing a connection
+     */
+    private final int connectTimeoutMillis;
+
+    /**
+     * The timeout for reading from an established connection
+     */
+    private final int readTimeoutMillis;
+
+    /**
+     * Create the client with the default limits, and the timeouts configured by the environment
+     *
+     * @param requestProperties the request properties sent with every request
+     */
+    PooledHttpClient(@NonNull final Map<String, String> requestProperties) {
+        this(requestProperties, DEFAULT_MAX_IN_FLIGHT_REQUESTS, DEFAULT_MAX_ATTEMPTS, DEFAULT_INITIAL_BACKOFF_MILLIS,
+                parseTimeoutMillis(System.getenv(ENV_CONNECT_TIMEOUT_SECONDS), DEFAULT_CONNECT_TIMEOUT_MILLIS),
+                parseTimeoutMillis(System.getenv(ENV_READ_TIMEOUT_SECONDS), DEFAULT_READ_TIMEOUT_MILLIS));
+    }
+
+    /**
+     * Create the client with the provided limits and the default timeouts
+     *
+     * @param requestProperties the request properties sent with every request
+     * @param maxInFlightRequests the maximum number of requests which may be in flight at once
+     * @param maxAttempts the maximum number of attempts for each request
+     * @param initialBackoffMillis the backoff before the first retry, doubled on each subsequent retry
+     */
+    PooledHttpClient(@NonNull final Map<String, String> requestProperties, final int maxInFlightRequests, final int maxAttempts, final long initialBackoffMillis) {
+        this(requestProperties, maxInFlightRequests, maxAttempts, initialBackoffMillis, DEFAULT_CONNECT_TIMEOUT_MILLIS, DEFAULT_READ_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Create the client with the provided limits and timeouts
+     *
+     * @param requestProperties the request properties sent with every request
+     * @param maxInFlightRequests the maximum number of requests which may be in flight at once
+     * @param maxAttempts the maximum number of attempts for each request
+     * @param initialBackoffMillis the backoff before the first retry, doubled on each subsequent retry
+     * @param connectTimeoutMillis the timeout for establishing a connection
+     * @param readTimeoutMillis the timeout for reading from an established connection
+     */
+    PooledHttpClient(@NonNull final Map<String, String> requestProperties, final int maxInFlightRequests, final int maxAttempts, final long initialBackoffMillis,
+                     final int connectTimeoutMillis, final int readTimeoutMillis) {
+        if (maxInFlightRequests < 1 || maxAttempts < 1 || initialBackoffMillis < 0) {
+            throw new IllegalArgumentException("Max in flight requests and max attempts must be positive, and backoff must not be negative");
+        }
+        if (connectTimeoutMillis < 1 || readTimeoutMillis < 1) {
+            throw new IllegalArgumentException("Connect and read timeouts must be positive");
+        }
+        this.requestProperties = Collections.unmodifiableMap(new HashMap<>(requestProperties));
+        this.inFlightRequests = new Semaphore(maxInFlightRequests, true);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.readTimeoutMillis = readTimeoutMillis;
+    }
+
+    /**
+     * Send a HEAD request to the URL
+     *
+     * @param url the URL
+     * @return the response
+     * @throws IOException if any error occurs sending the request
+     */
+    Response head(final URL url) throws IOException {
+        return send("HEAD", url, Long.MAX_VALUE);
+    }
+
+    /**
+     * Send a GET request to the URL, reading the entire response body
+     *
+     * @param url the URL
+     * @return the response
+     * @throws IOException if any error occurs sending the request or reading the response
+     */
+    Response get(final URL url) throws IOException {
+        return send("GET", url, Long.MAX_VALUE);
+    }
+
+    /**
+     * Send a GET request to the URL, reading the entire response body as long as it is within the limit
+     *
+     * @param url the URL
+     * @param maxBodyBytes the maximum number of bytes of the response body
+     * @return the response
+     * @throws IOException if any error occurs sending the request or reading the response, or the body exceeds the limit
+     */
+    Response get(final URL url, final long maxBodyBytes) throws IOException {
+        return send("GET", url, maxBodyBytes);
+    }
+
+    /**
+     * Send the request, retrying with backoff while the response is retryable
+     *
+     * @param method the request method
+     * @param url the URL
+     * @param maxBodyBytes the maximum number of bytes of the response body
+     * @return the final response
+     * @throws IOException if any error occurs sending the request or reading the response
+     */
+    private Response send(final String method, final URL url, final long maxBodyBytes) throws IOException {
+        long backoffMillis = initialBackoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            val response = sendOnce(method, url, maxBodyBytes);
+            if (attempt >= maxAttempts || !isRetryable(response.getStatusCode())) {
+                return response;
+            }
+            val retryAfterMillis = response.getRetryAfterMillis();
+            sleep(Math.min(MAX_BACKOFF_MILLIS, retryAfterMillis >= 0 ? retryAfterMillis : backoffMillis));
+            backoffMillis = Math.min(MAX_BACKOFF_MILLIS, backoffMillis * 2);
+        }
+    }
+
+    /**
+     * Send the request a single time, holding an in flight permit until the response has been consumed
+     *
+     * @param method the request method
+     * @param url the URL
+     * @param maxBodyBytes the maximum number of bytes of the response body
+     * @return the response
+     * @throws IOException if any error occurs sending the request or reading the response
+     */
+    private Response sendOnce(final String method, final URL url, final long maxBodyBytes) throws IOException {
+        acquire();
+        try {
+            val httpUrlConnection = (HttpURLConnection) url.openConnection();
+            httpUrlConnection.setRequestMethod(method);
+            httpUrlConnection.setConnectTimeout(connectTimeoutMillis);
+            httpUrlConnection.setReadTimeout(readTimeoutMillis);
+            requestProperties.forEach(httpUrlConnection::setRequestProperty);
+            val statusCode = httpUrlConnection.getResponseCode();
+            val retryAfterMillis = parseRetryAfterMillis(httpUrlConnection.getHeaderField(HEADER_RETRY_AFTER));
+            final byte[] body;
+            if (statusCode < HttpURLConnection.HTTP_BAD_REQUEST) {
+                body = consume(httpUrlConnection.getInputStream(), maxBodyBytes, url);
+            } else {
+                consume(httpUrlConnection.getErrorStream(), Long.MAX_VALUE, url);
+                body = null;
+            }
+            return new Response(statusCode, body, retryAfterMillis);
+        } finally {
+            inFlightRequests.release();
+        }
+    }
+
+    /**
+     * Acquire an in flight permit
+     *
+     * @throws IOException if interrupted while waiting for a permit
+     */
+    private void acquire() throws IOException {
+        try {
+            inFlightRequests.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to send request");
+        }
+    }
+
+    /**
+     * Sleep for the backoff period
+     *
+     * @param millis the number of milliseconds to sleep
+     * @throws IOException if interrupted while sleeping
+     */
+    private static void sleep(final long millis) throws IOException {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry request");
+        }
+    }
+
+    /**
+     * Determine if the response status code warrants a retry
+     *
+     * @param statusCode the response status code
+     * @return true if retryable, false otherwise
+     */
+    private static boolean isRetryable(final int statusCode) {
+        return statusCode == HTTP_TOO_MANY_REQUESTS || statusCode >= HttpURLConnection.HTTP_INTERNAL_ERROR;
+    }
+
+    /**
+     * Parse the {@code Retry-After} header, only the delay in seconds form is supported
+     *
+     * @param retryAfter the header value
+     * @return the delay in milliseconds, or -1 if not provided or not parseable
+     */
+    private static long parseRetryAfterMillis(final String retryAfter) {
+        if (retryAfter == null) {
+            return -1;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+        } catch (final NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Parse a timeout in seconds
+     *
+     * @param timeoutSeconds the timeout in seconds, may be null
+     * @param defaultTimeoutMillis the timeout to use if not provided or not a positive number of seconds
+     * @return the timeout in milliseconds
+     */
+    static int parseTimeoutMillis(final String timeoutSeconds, final int defaultTimeoutMillis) {
+        if (timeoutSeconds == null) {
+            return defaultTimeoutMillis;
+        }
+        try {
+            val timeoutMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(timeoutSeconds.trim()));
+            if (timeoutMillis < 1 || timeoutMillis > Integer.MAX_VALUE) {
+                return defaultTimeoutMillis;
+            }
+            return (int) timeoutMillis;
+        } catch (final NumberFormatException e) {
+            return defaultTimeoutMillis;
+        }
+    }
+
+    /**
+     * Fully consume and close the input stream so the connection can be reused
+     *
+     * @param inputStream the input stream, may be null
+     * @param maxBytes the maximum number of bytes which may be consumed
+     * @param url the URL the input stream was opened from
+     * @return the consumed bytes
+     * @throws IOException if any error occurs reading the stream, or it exceeds the maximum number of bytes
+     */
+    private static byte[] consume(final InputStream inputStream, final long maxBytes, final URL url) throws IOException {
+        if (inputStream == null) {
+            return new byte[0];
+        }
+        try (val closeableInputStream = inputStream) {
+            val outputStream = new ByteArrayOutputStream();
+            val buffer = new byte[BUFFER_SIZE];
+            int bytesRead;
+            while ((bytesRead = closeableInputStream.read(buffer)) != -1) {
+                if (outputStream.size() + (long) bytesRead > maxBytes) {
+                    throw new IOException(String.format("HTTP Response from %s exceeds the maximum size of %d bytes", url, maxBytes));
+                }
+                outputStream.write(buffer, 0, bytesRead);
+            }
+            return outputStream.toByteArray();
+        }
+    }
+
+    /**
+     * An HTTP response
+     *
+     * @author Brian Wyka
+     */
+    @Value
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    static class Response {
+
+        /**
+         * The response status code
+         */
+        int statusCode;
+
+        /**
+         * The response body, null if the response was an error
+         */
+        byte[] body;
+
+        /**
+         * The delay requested by the server before retrying, -1 if none
+         */
+        long retryAfterMillis;
+
+        /**
+         * Determine if the response was successful
+         *
+         * @return true if the status code was 200, false otherwise
+         */
+        boolean isOk() {
+            return statusCode == HttpURLConnection.HTTP_OK;
+        }
+
+    }
+
+}
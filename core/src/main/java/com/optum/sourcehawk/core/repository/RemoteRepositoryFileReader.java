@@ -1,19 +1,37 @@
 package com.optum.sourcehawk.core.repository;
 
-import java.io.FileNotFoundException;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.util.HashMap;
+import java.nio.ByteBuffer;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.NonNull;
 import lombok.val;
 
 /**
  * A remote repository file reader which treats the repository file paths relative
- * to the raw file URL template provided during construction
+ * to the raw file URL template provided during construction.
+ * <p>
+ * Requests are sent through a {@link PooledHttpClient}, so connections are reused, the number of requests in flight
+ * is bounded and throttled requests are retried.  Files may be prefetched concurrently ahead of being read, the
+ * total number of bytes of prefetched content held at once is bounded by the same memory budget as
+ * {@link CachingRepositoryFileReader}, files beyond the bound are fetched when read instead.
+ * <p>
+ * Reads are a single GET request, the status of which is remembered as the existence of the file, so neither a
+ * subsequent {@link #exists(String)} nor a repeated read of a missing file requires another round trip.
  *
  * @author Brian Wyka
  */
@@ -24,20 +42,51 @@ public final class RemoteRepositoryFileReader implements RepositoryFileReader {
      */
     private static final String SEPARATOR = "/";
 
+    /**
+     * How long idle prefetch threads are kept alive
+     */
+    private static final long PREFETCH_THREAD_KEEP_ALIVE_SECONDS = 5L;
+
+    /**
+     * The default maximum number of bytes of content which may be prefetched and not yet read
+     */
+    static final long DEFAULT_MAX_PREFETCHED_BYTES = CachingRepositoryFileReader.DEFAULT_MEMORY_BUDGET_BYTES;
+
     /**
      * The raw file URL template.  Takes one parameter: The path of the file in the repository
      */
     private final String rawFileUrlTemplate;
 
     /**
-     * The required request properties
+     * The HTTP client used to send all requests
      */
-    private final Map<String, String> requestProperties;
+    private final PooledHttpClient httpClient;
 
     /**
      * Map of URLs to cache existence
      */
-    private final Map<String, Boolean> urlExistenceCache = new HashMap<>();
+    private final Map<String, Boolean> urlExistenceCache = new ConcurrentHashMap<>();
+
+    /**
+     * The maximum number of bytes of content which may be prefetched and not yet read
+     */
+    private final long maxPrefetchedBytes;
+
+    /**
+     * Map of URLs to the content which has been (or is being) prefetched, removed once read.  The content is null if
+     * the file was not found, or was not prefetched because of the bound on prefetched bytes.
+     */
+    private final Map<String, CompletableFuture<byte[]>> prefetchedContents = new ConcurrentHashMap<>();
+
+    /**
+     * The total number of bytes of content which has been prefetched and not yet read
+     */
+    private final AtomicLong prefetchedBytes = new AtomicLong();
+
+    /**
+     * The executor which prefetches content, lazily created
+     */
+    private volatile ExecutorService prefetchExecutorService;
 
     /**
      * Constructs an instance of this reader with the provided base URL
@@ -46,8 +95,30 @@ public final class RemoteRepositoryFileReader implements RepositoryFileReader {
      * @param requestProperties the request properties required for connection
      */
     public RemoteRepositoryFileReader(@NonNull final String rawFileUrlTemplate, @NonNull final Map<String, String> requestProperties) {
+        this(rawFileUrlTemplate, new PooledHttpClient(requestProperties));
+    }
+
+    /**
+     * Constructs an instance of this reader with the provided base URL and HTTP client
+     *
+     * @param rawFileUrlTemplate the raw file URL template
+     * @param httpClient the HTTP client
+     */
+    RemoteRepositoryFileReader(@NonNull final String rawFileUrlTemplate, @NonNull final PooledHttpClient httpClient) {
+        this(rawFileUrlTemplate, httpClient, DEFAULT_MAX_PREFETCHED_BYTES);
+    }
+
+    /**
+     * Constructs an instance of this reader with the provided base URL, HTTP client and bound on prefetched content
+     *
+     * @param rawFileUrlTemplate the raw file URL template
+     * @param httpClient the HTTP client
+     * @param maxPrefetchedBytes the maximum number of bytes of content which may be prefetched and not yet read
+     */
+    RemoteRepositoryFileReader(@NonNull final String rawFileUrlTemplate, @NonNull final PooledHttpClient httpClient, final long maxPrefetchedBytes) {
         this.rawFileUrlTemplate = rawFileUrlTemplate;
-        this.requestProperties = requestProperties;
+        this.httpClient = httpClient;
+        this.maxPrefetchedBytes = maxPrefetchedBytes;
     }
 
     /** {@inheritDoc} */
@@ -66,13 +137,57 @@ public final class RemoteRepositoryFileReader implements RepositoryFileReader {
     /** {@inheritDoc} */
     @Override
     public Optional<InputStream> read(final String repositoryFilePath) throws IOException {
+        return readContent(repositoryFilePath).map(ByteArrayInputStream::new);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Optional<ByteBuffer> readBuffer(final String repositoryFilePath) throws IOException {
+        return readContent(repositoryFilePath).map(content -> ByteBuffer.wrap(content).asReadOnlyBuffer());
+    }
+
+    /**
+     * Read the content of the repository file, either from the prefetched contents or by fetching it
+     *
+     * @param repositoryFilePath the repository file path
+     * @return the content if it exists, otherwise {@link Optional#empty()}
+     * @throws IOException if any error occurs reading the content
+     */
+    private Optional<byte[]> readContent(final String repositoryFilePath) throws IOException {
         val absoluteUrl = new URL(constructAbsoluteLocation(rawFileUrlTemplate, repositoryFilePath));
-        if (exists(repositoryFilePath)) {
-            val httpUrlConnection = (HttpURLConnection) absoluteUrl.openConnection();
-            requestProperties.forEach(httpUrlConnection::setRequestProperty);
-            return getInputStream(httpUrlConnection);
+        val prefetchedContent = prefetchedContents.remove(absoluteUrl.toString());
+        if (prefetchedContent != null) {
+            val content = await(prefetchedContent);
+            if (content != null) {
+                prefetchedBytes.addAndGet(-content.length);
+                return Optional.of(content);
+            }
+        }
+        return fetch(absoluteUrl);
+    }
+
+    /**
+     * Concurrently prefetch the repository files so that subsequent reads are served without a round trip.  Content
+     * which would exceed the bound on prefetched bytes is discarded, and the file is fetched when read instead.
+     *
+     * @param repositoryFilePaths the repository file paths to prefetch
+     * @throws IOException if any of the repository file paths cannot be converted to a URL
+     */
+    @Override
+    public void prefetch(final Collection<String> repositoryFilePaths) throws IOException {
+        for (val repositoryFilePath : repositoryFilePaths) {
+            if (prefetchedBytes.get() >= maxPrefetchedBytes) {
+                return;
+            }
+            val absoluteUrl = new URL(constructAbsoluteLocation(rawFileUrlTemplate, repositoryFilePath));
+            prefetchedContents.computeIfAbsent(absoluteUrl.toString(), url -> CompletableFuture.supplyAsync(() -> {
+                try {
+                    return prefetchContent(absoluteUrl);
+                } catch (final IOException e) {
+                    throw new PrefetchException(e);
+                }
+            }, getPrefetchExecutorService()));
         }
-        return Optional.empty();
     }
 
     /** {@inheritDoc} */
@@ -82,18 +197,105 @@ public final class RemoteRepositoryFileReader implements RepositoryFileReader {
     }
 
     /**
-     * Get the input stream from the {@link HttpURLConnection}
+     * Prefetch the content of the repository file, unless holding it would exceed the bound on prefetched bytes
      *
-     * @param httpUrlConnection the HTTP URL connection
-     * @return the input stream if present
-     * @throws IOException if any error occurs opening the input stream
+     * @param absoluteUrl the absolute URL of the repository file
+     * @return the content if the file exists and is within the bound, otherwise null
+     * @throws IOException if any error occurs fetching the content
      */
-    private static Optional<InputStream> getInputStream(final HttpURLConnection httpUrlConnection) throws IOException {
-        try {
-            return Optional.of(httpUrlConnection.getInputStream());
-        } catch (final FileNotFoundException ignored) {
+    private byte[] prefetchContent(final URL absoluteUrl) throws IOException {
+        if (prefetchedBytes.get() >= maxPrefetchedBytes) {
+            return null;
+        }
+        val content = fetch(absoluteUrl).orElse(null);
+        if (content == null || prefetchedBytes.addAndGet(content.length) <= maxPrefetchedBytes) {
+            return content;
+        }
+        prefetchedBytes.addAndGet(-content.length);
+        return null;
+    }
+
+    /**
+     * Fetch the content of the repository file if it exists with a single GET request, the response status of which
+     * is also recorded as the existence of the file.  Files already known not to exist are not requested again.  As with
+     * {@link #exists(String)}, files which are not authorized (401) or forbidden (403) are treated as not found.
+     *
+     * @param absoluteUrl the absolute URL of the repository file
+     * @return the content if the file exists, otherwise {@link Optional#empty()}
+     * @throws IOException if any error occurs fetching the content
+     */
+    private Optional<byte[]> fetch(final URL absoluteUrl) throws IOException {
+        val absoluteUrlString = absoluteUrl.toString();
+        if (Boolean.FALSE.equals(urlExistenceCache.get(absoluteUrlString))) {
+            return Optional.empty();
+        }
+        val response = httpClient.get(absoluteUrl);
+        if (response.isOk()) {
+            urlExistenceCache.put(absoluteUrlString, Boolean.TRUE);
+            return Optional.of(response.getBody());
+        }
+        if (isNotFound(response.getStatusCode())) {
+            urlExistenceCache.put(absoluteUrlString, Boolean.FALSE);
             return Optional.empty();
         }
+        throw new IOException(String.format("HTTP Request to %s returned response code %d", absoluteUrl, response.getStatusCode()));
+    }
+
+    /**
+     * Determine if the response status code means the file should be treated as not found
+     *
+     * @param statusCode the response status code
+     * @return true if not found, unauthorized, or forbidden, false otherwise
+     */
+    private static boolean isNotFound(final int statusCode) {
+        return statusCode == HttpURLConnection.HTTP_NOT_FOUND
+                || statusCode == HttpURLConnection.HTTP_UNAUTHORIZED
+                || statusCode == HttpURLConnection.HTTP_FORBIDDEN;
+    }
+
+    /**
+     * Wait for the prefetched content to be available
+     *
+     * @param prefetchedContent the prefetched content
+     * @return the content if prefetched, otherwise null
+     * @throws IOException if any error occurred prefetching the content
+     */
+    private static byte[] await(final CompletableFuture<byte[]> prefetchedContent) throws IOException {
+        try {
+            return prefetchedContent.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for prefetched content");
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof PrefetchException) {
+                throw ((PrefetchException) e.getCause()).getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Get the executor service which prefetches content, creating it if necessary.  The threads are daemon threads
+     * which are discarded once idle, so the executor never needs to be shutdown.
+     *
+     * @return the prefetch executor service
+     */
+    private ExecutorService getPrefetchExecutorService() {
+        if (prefetchExecutorService == null) {
+            synchronized (this) {
+                if (prefetchExecutorService == null) {
+                    val threadPoolExecutor = new ThreadPoolExecutor(PooledHttpClient.DEFAULT_MAX_IN_FLIGHT_REQUESTS, PooledHttpClient.DEFAULT_MAX_IN_FLIGHT_REQUESTS,
+                            PREFETCH_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                                val thread = new Thread(runnable, "sourcehawk-prefetch");
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+                    threadPoolExecutor.allowCoreThreadTimeOut(true);
+                    prefetchExecutorService = threadPoolExecutor;
+                }
+            }
+        }
+        return prefetchExecutorService;
     }
 
     /**
@@ -104,10 +306,7 @@ public final class RemoteRepositoryFileReader implements RepositoryFileReader {
      * @throws IOException if any error occurs opening connection to URL or retrieving response code
      */
     private boolean urlExists(final URL url) throws IOException {
-        val httpUrlConnection = (HttpURLConnection) url.openConnection();
-        httpUrlConnection.setRequestMethod("HEAD");
-        requestProperties.forEach(httpUrlConnection::setRequestProperty);
-        val httpResponseCode = httpUrlConnection.getResponseCode();
+        val httpResponseCode = httpClient.head(url).getStatusCode();
         if (httpResponseCode != HttpURLConnection.HTTP_OK) {
             System.err.println("HTTP Request to " + url + " returned response code " + httpResponseCode); // FIXME
         }
@@ -128,4 +327,30 @@ public final class RemoteRepositoryFileReader implements RepositoryFileReader {
         return String.format(rawFileUrlTemplate, repositoryFilePath);
     }
 
+    /**
+     * Carries an {@link IOException} out of an asynchronous prefetch
+     *
+     * @author Brian Wyka
+     */
+    private static final class PrefetchException extends RuntimeException {
+
+        private static final long serialVersionUID = 4402476420254367384L;
+
+        /**
+         * Create the prefetch exception
+         *
+         * @param cause the I/O error which occurred
+         */
+        private PrefetchException(final IOException cause) {
+            super(cause);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+
+    }
+
 }
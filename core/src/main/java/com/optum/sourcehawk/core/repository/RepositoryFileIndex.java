@@ -0,0 +1,140 @@
+package com.optum.sourcehawk.core.repository;
+
+import com.optum.sourcehawk.core.utils.FileUtils;
+import com.optum.sourcehawk.core.utils.StringUtils;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * An index of all the files within a repository.  The file tree is walked at most once, the first time a glob
+ * pattern is looked up, and every subsequent glob pattern is matched against that single in-memory listing.
+ * <p>
+ * When created for a repository file reader which lists its own files, such as an
+ * {@link ArchiveRepositoryFileReader}, the listing is obtained from the reader instead of the local file system.
+ * <p>
+ * Instances are thread safe, so a single index can be shared by all protocols of a parallel scan.
+ *
+ * @author Brian Wyka
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RepositoryFileIndex {
+
+    /**
+     * The root of the repository which is indexed
+     */
+    private final Path root;
+
+    /**
+     * The reader which may provide the listing of files, null if the file system is always walked
+     */
+    private final RepositoryFileReader repositoryFileReader;
+
+    /**
+     * The compiled path matchers, keyed by glob pattern
+     */
+    private final Map<String, PathMatcher> pathMatchers = new ConcurrentHashMap<>();
+
+    /**
+     * The listing of all files within the repository, lazily populated
+     */
+    private volatile Collection<Path> filePaths;
+
+    /**
+     * Create the index for the repository root.  The file tree is not walked until it is first needed.
+     *
+     * @param root the root of the repository
+     * @return the repository file index
+     */
+    public static RepositoryFileIndex create(@NonNull final Path root) {
+        return new RepositoryFileIndex(root, null);
+    }
+
+    /**
+     * Create the index for the repository root, using the listing of the repository file reader if it provides one.
+     * Neither the file tree is walked nor the reader listed until first needed.
+     *
+     * @param root the root of the repository
+     * @param repositoryFileReader the repository file reader
+     * @return the repository file index
+     */
+    public static RepositoryFileIndex create(@NonNull final Path root, @NonNull final RepositoryFileReader repositoryFileReader) {
+        return new RepositoryFileIndex(root, repositoryFileReader);
+    }
+
+    /**
+     * Find file paths by a glob pattern, with the same semantics as {@link FileUtils#find(String, String)}.
+     * <p>
+     * Glob patterns are matched against the index, paths which are not glob patterns are checked for existence directly.
+     *
+     * @param pathOrPattern the path or glob pattern, i.e **&#47;path/**&#47;*.txt
+     * @return the paths which match the pattern, or an empty stream if no matches found
+     * @throws IOException if any error occurs walking the file tree to build the index
+     */
+    public Stream<Path> find(final String pathOrPattern) throws IOException {
+        if (StringUtils.isBlankOrEmpty(pathOrPattern)) {
+            return Stream.empty();
+        }
+        if (FileUtils.isGlobPattern(pathOrPattern)) {
+            val pathMatcher = pathMatchers.computeIfAbsent(pathOrPattern, pattern -> FileSystems.getDefault().getPathMatcher(String.format("glob:%s", pattern)));
+            return getFilePaths().stream()
+                    .filter(pathMatcher::matches);
+        }
+        if (repositoryFileReader != null && repositoryFileReader.listRepositoryFilePaths().isPresent()) {
+            return repositoryFileReader.exists(pathOrPattern) ? Stream.of(root.resolve(pathOrPattern)) : Stream.empty();
+        }
+        return Stream.of(root.resolve(pathOrPattern)).filter(Files::exists);
+    }
+
+    /**
+     * Get the listing of all files within the repository, walking the file tree if not already done
+     *
+     * @return the file paths
+     * @throws IOException if any error occurs walking the file tree
+     */
+    private Collection<Path> getFilePaths() throws IOException {
+        Collection<Path> listedFilePaths = filePaths;
+        if (listedFilePaths == null) {
+            synchronized (this) {
+                listedFilePaths = filePaths;
+                if (listedFilePaths == null) {
+                    listedFilePaths = listFiles();
+                    filePaths = listedFilePaths;
+                }
+            }
+        }
+        return listedFilePaths;
+    }
+
+    /**
+     * List all files within the repository, from the repository file reader if it provides a listing, otherwise by
+     * walking the file tree
+     *
+     * @return the file paths
+     * @throws IOException if any error occurs listing the files
+     */
+    private Collection<Path> listFiles() throws IOException {
+        if (repositoryFileReader != null) {
+            val repositoryFilePathsOptional = repositoryFileReader.listRepositoryFilePaths();
+            if (repositoryFilePathsOptional.isPresent()) {
+                return repositoryFilePathsOptional.get().stream()
+                        .map(root::resolve)
+                        .collect(Collectors.toList());
+            }
+        }
+        return FileUtils.listFiles(root.toString());
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.optum.sourcehawk.core.repository;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.val;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * An {@link InputStream} of a repository file, as provided by {@link RepositoryFileReader#read(String)}, which supports
+ * {@link #mark(int)} and {@link #reset()} without buffering the content.  Instead, a reset opens the file again through
+ * the repository file reader and skips to the marked position.  Consumers which read the file partially, and may then
+ * need to read it from the start, can do so without the whole file being held in memory.
+ *
+ * @author Brian Wyka
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RepositoryFileInputStream extends InputStream {
+
+    private static final String ERROR_REOPEN = "Repository file could not be opened again: %s";
+
+    /**
+     * The reader which the file is read with
+     */
+    private final RepositoryFileReader repositoryFileReader;
+
+    /**
+     * The repository file path
+     */
+    private final String repositoryFilePath;
+
+    /**
+     * The input stream currently being read
+     */
+    private InputStream inputStream;
+
+    /**
+     * The number of bytes read or skipped since the file was opened
+     */
+    private long position;
+
+    /**
+     * The marked position
+     */
+    private long markedPosition;
+
+    /**
+     * Open the repository file with the reader
+     *
+     * @param repositoryFileReader the repository file reader
+     * @param repositoryFilePath the repository file path
+     * @return the input stream if the file exists, otherwise {@link Optional#empty()}
+     * @throws IOException if any error occurs opening the file
+     */
+    public static Optional<InputStream> open(@NonNull final RepositoryFileReader repositoryFileReader, @NonNull final String repositoryFilePath) throws IOException {
+        return repositoryFileReader.read(repositoryFilePath)
+                .map(inputStream -> new RepositoryFileInputStream(repositoryFileReader, repositoryFilePath, inputStream, 0, 0));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read() throws IOException {
+        val value = inputStream.read();
+        if (value != -1) {
+            position++;
+        }
+        return value;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read(@NonNull final byte[] bytes, final int offset, final int length) throws IOException {
+        val bytesRead = inputStream.read(bytes, offset, length);
+        if (bytesRead > 0) {
+            position += bytesRead;
+        }
+        return bytesRead;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long skip(final long count) throws IOException {
+        val bytesSkipped = inputStream.skip(count);
+        position += bytesSkipped;
+        return bytesSkipped;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int available() throws IOException {
+        return inputStream.available();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The read limit is ignored, as nothing is buffered.
+     */
+    @Override
+    public synchronized void mark(final int readLimit) {
+        markedPosition = position;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The file is opened again, and read up to the marked position.
+     */
+    @Override
+    public synchronized void reset() throws IOException {
+        inputStream.close();
+        inputStream = repositoryFileReader.read(repositoryFilePath)
+                .orElseThrow(() -> new IOException(String.format(ERROR_REOPEN, repositoryFilePath)));
+        position = 0;
+        while (position < markedPosition) {
+            if (skip(markedPosition - position) == 0 && read() == -1) {
+                throw new IOException(String.format(ERROR_REOPEN, repositoryFilePath));
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+
+}
@@ -1,7 +1,12 @@
 package com.optum.sourcehawk.core.repository;
 
+import com.optum.sourcehawk.core.utils.ContentUtils;
+import lombok.val;
+
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collection;
 import java.util.Optional;
 
 /**
@@ -38,6 +43,60 @@ public interface RepositoryFileReader {
      */
     Optional<InputStream> read(final String repositoryFilePath) throws IOException;
 
+    /**
+     * Read the entire content of a file from the given repository file path into a read only {@link ByteBuffer}.  By
+     * default, the content is copied from {@link #read(String)}, readers which already hold the content, or are able
+     * to map it, should override this to avoid the copy.
+     *
+     * @param repositoryFilePath the repository file path
+     * @return the {@link ByteBuffer} of the content if it exists, {@link Optional#empty()} otherwise
+     * @throws IOException if any error occurs reading the file
+     */
+    default Optional<ByteBuffer> readBuffer(final String repositoryFilePath) throws IOException {
+        val inputStreamOptional = read(repositoryFilePath);
+        if (!inputStreamOptional.isPresent()) {
+            return Optional.empty();
+        }
+        try (val inputStream = inputStreamOptional.get()) {
+            return Optional.of(ByteBuffer.wrap(ContentUtils.consume(inputStream)).asReadOnlyBuffer());
+        }
+    }
+
+    /**
+     * Determine if {@link #readBuffer(String)} is able to provide the content of the file without reading the whole file
+     * onto the heap, such as when the file is memory mapped or its content is already cached.  Otherwise, the file is
+     * better streamed with {@link #read(String)}.  By default, buffers are not available.
+     *
+     * @param repositoryFilePath the repository file path
+     * @return true if a buffer is available, false otherwise
+     * @throws IOException if any error occurs determining if a buffer is available
+     */
+    default boolean isBufferAvailable(final String repositoryFilePath) throws IOException {
+        return false;
+    }
+
+    /**
+     * Hint that the files at the given paths are about to be read, so that readers with high latency may fetch them
+     * ahead of time.  By default, this does nothing.
+     *
+     * @param repositoryFilePaths the repository file paths which will be read
+     * @throws IOException if any error occurs initiating the prefetch
+     */
+    default void prefetch(final Collection<String> repositoryFilePaths) throws IOException {
+        // Nothing to prefetch by default
+    }
+
+    /**
+     * List the paths of all files within the repository, relative to the repository root.  Only readers which support
+     * glob patterns, but are not backed by the local file system, need to provide a listing.
+     *
+     * @return the repository file paths if listed by the reader, {@link Optional#empty()} otherwise
+     * @throws IOException if any error occurs listing the repository files
+     */
+    default Optional<Collection<String>> listRepositoryFilePaths() throws IOException {
+        return Optional.empty();
+    }
+
     /**
      * Get a string representation of the absolute location of {@code repositoryFilePath}
      *
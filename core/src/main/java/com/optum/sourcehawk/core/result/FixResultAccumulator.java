@@ -0,0 +1,133 @@
+package com.optum.sourcehawk.core.result;
+
+import lombok.NoArgsConstructor;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread safe, mutable accumulator of {@link FixResult}s.  Accumulating a result appends its messages and adds to
+ * its counters in place, rather than copying every collection as {@link FixResult#reduce(FixResult, FixResult)} does.
+ * The accumulated result is only materialized into an immutable {@link FixResult} once {@link #freeze()} is called.
+ * <p>
+ * The frozen result is equivalent to reducing all accumulated results, in the order accumulated, starting from an
+ * empty {@link FixResult}.  As such, a result repeating any formatted message already accumulated is ignored, and the
+ * error flag of the frozen result is never set, errors are reported by the error count instead.
+ *
+ * @author Brian Wyka
+ */
+@NoArgsConstructor(staticName = "create")
+public final class FixResultAccumulator {
+
+    /**
+     * Whether or not any accumulated result applied fixes
+     */
+    private final AtomicBoolean fixesApplied = new AtomicBoolean();
+
+    /**
+     * Whether or not any accumulated result had no resolver
+     */
+    private final AtomicBoolean noResolver = new AtomicBoolean();
+
+    /**
+     * The number of fixes
+     */
+    private final LongAdder fixCount = new LongAdder();
+
+    /**
+     * The number of errors
+     */
+    private final LongAdder errorCount = new LongAdder();
+
+    /**
+     * The messages, keyed by repository file path
+     */
+    private final Map<String, Queue<FixResult.MessageDescriptor>> messages = new ConcurrentHashMap<>();
+
+    /**
+     * The distinct formatted messages, guarded by its own lock
+     */
+    private final Set<String> formattedMessages = new HashSet<>();
+
+    /**
+     * Accumulate the fix result
+     *
+     * @param fixResult the fix result to accumulate, ignored if null
+     * @return this accumulator, for chaining
+     */
+    public FixResultAccumulator accumulate(final FixResult fixResult) {
+        if (fixResult == null || !addFormattedMessages(fixResult.getFormattedMessages())) {
+            return this;
+        }
+        if (fixResult.isFixesApplied()) {
+            fixesApplied.set(true);
+        }
+        if (fixResult.isNoResolver()) {
+            noResolver.set(true);
+        }
+        fixCount.add(fixResult.getFixCount());
+        errorCount.add(fixResult.getErrorCount());
+        for (val entry : fixResult.getMessages().entrySet()) {
+            messages.computeIfAbsent(entry.getKey(), repositoryPath -> new ConcurrentLinkedQueue<>())
+                    .addAll(entry.getValue());
+        }
+        return this;
+    }
+
+    /**
+     * Freeze the accumulated results into an immutable fix result
+     *
+     * @return the fix result
+     */
+    public FixResult freeze() {
+        final Map<String, Collection<FixResult.MessageDescriptor>> frozenMessages = new HashMap<>(messages.size() * 4 / 3 + 1);
+        for (val entry : messages.entrySet()) {
+            frozenMessages.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+        final Set<String> frozenFormattedMessages;
+        synchronized (formattedMessages) {
+            frozenFormattedMessages = new HashSet<>(formattedMessages);
+        }
+        return FixResult.builder()
+                .fixesApplied(fixesApplied.get())
+                .noResolver(noResolver.get())
+                .fixCount(fixCount.intValue())
+                .errorCount(errorCount.intValue())
+                .messages(frozenMessages)
+                .formattedMessages(frozenFormattedMessages)
+                .build();
+    }
+
+    /**
+     * Add the formatted messages, only if they are all distinct from each other and from those already accumulated
+     *
+     * @param newFormattedMessages the formatted messages to add
+     * @return true if added, false if any were duplicates
+     */
+    private boolean addFormattedMessages(final Collection<String> newFormattedMessages) {
+        val distinctFormattedMessages = new HashSet<String>(newFormattedMessages);
+        synchronized (formattedMessages) {
+            if (distinctFormattedMessages.size() < newFormattedMessages.size()) {
+                return false;
+            }
+            for (val formattedMessage : distinctFormattedMessages) {
+                if (formattedMessages.contains(formattedMessage)) {
+                    return false;
+                }
+            }
+            formattedMessages.addAll(distinctFormattedMessages);
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.optum.sourcehawk.core.result;
+
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread safe, mutable accumulator of {@link ScanResult}s.  Accumulating a result appends its messages and adds to
+ * its counters in place, rather than copying every collection as {@link ScanResult#reduce(ScanResult, ScanResult)} does.
+ * The accumulated result is only materialized into an immutable {@link ScanResult} once {@link #freeze()} is called.
+ * <p>
+ * The frozen result is equivalent to reducing all accumulated results, in the order accumulated, starting from
+ * {@link ScanResult#passed()}.
+ *
+ * @author Brian Wyka
+ */
+@NoArgsConstructor(staticName = "create")
+public final class ScanResultAccumulator {
+
+    /**
+     * Whether or not every accumulated result passed
+     */
+    private final AtomicBoolean passed = new AtomicBoolean(true);
+
+    /**
+     * The number of errors
+     */
+    private final LongAdder errorCount = new LongAdder();
+
+    /**
+     * The number of warnings
+     */
+    private final LongAdder warningCount = new LongAdder();
+
+    /**
+     * The messages, keyed by repository file path
+     */
+    private final Map<String, Queue<ScanResult.MessageDescriptor>> messages = new ConcurrentHashMap<>();
+
+    /**
+     * The distinct formatted messages
+     */
+    private final Set<String> formattedMessages = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Accumulate the scan result
+     *
+     * @param scanResult the scan result to accumulate
+     * @return this accumulator, for chaining
+     */
+    public ScanResultAccumulator accumulate(@NonNull final ScanResult scanResult) {
+        if (!scanResult.isPassed()) {
+            passed.set(false);
+        }
+        errorCount.add(scanResult.getErrorCount());
+        warningCount.add(scanResult.getWarningCount());
+        for (val entry : scanResult.getMessages().entrySet()) {
+            messages.computeIfAbsent(entry.getKey(), repositoryPath -> new ConcurrentLinkedQueue<>())
+                    .addAll(entry.getValue());
+        }
+        formattedMessages.addAll(scanResult.getFormattedMessages());
+        return this;
+    }
+
+    /**
+     * Freeze the accumulated results into an immutable scan result
+     *
+     * @return the scan result
+     */
+    public ScanResult freeze() {
+        final Map<String, Collection<ScanResult.MessageDescriptor>> frozenMessages = new HashMap<>(messages.size() * 4 / 3 + 1);
+        for (val entry : messages.entrySet()) {
+            frozenMessages.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+        return ScanResult.builder()
+                .passed(passed.get())
+                .errorCount(errorCount.intValue())
+                .warningCount(warningCount.intValue())
+                .messages(frozenMessages)
+                .formattedMessages(new HashSet<>(formattedMessages))
+                .build();
+    }
+
+}
@@ -0,0 +1,154 @@
+package com.optum.sourcehawk.core.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.val;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Content Utilities
+ *
+ * @author Brian Wyka
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ContentUtils {
+
+    /**
+     * The extension of temporary files, which are written before being moved into place
+     */
+    public static final String TEMPORARY_EXTENSION = ".tmp";
+
+    private static final String ALGORITHM = "SHA-256";
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Create a SHA-256 message digest
+     *
+     * @return the message digest
+     * @throws IOException if the digest algorithm is not available
+     */
+    public static MessageDigest sha256() throws IOException {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Compute the hex encoded SHA-256 digest of the bytes
+     *
+     * @param bytes the bytes
+     * @return the hex encoded digest
+     * @throws IOException if the digest algorithm is not available
+     */
+    public static String sha256Hex(@NonNull final byte[] bytes) throws IOException {
+        return toHex(sha256().digest(bytes));
+    }
+
+    /**
+     * Compute the hex encoded SHA-256 digest of the remaining content of the buffer, without changing its position
+     *
+     * @param buffer the buffer
+     * @return the hex encoded digest
+     * @throws IOException if the digest algorithm is not available
+     */
+    public static String sha256Hex(@NonNull final ByteBuffer buffer) throws IOException {
+        val messageDigest = sha256();
+        messageDigest.update(buffer.duplicate());
+        return toHex(messageDigest.digest());
+    }
+
+    /**
+     * Hex encode the digest
+     *
+     * @param digest the digest
+     * @return the hex encoded digest
+     */
+    public static String toHex(@NonNull final byte[] digest) {
+        val hexStringBuilder = new StringBuilder(digest.length * 2);
+        for (val digestByte : digest) {
+            val hex = Integer.toHexString(0xff & digestByte);
+            if (hex.length() == 1) {
+                hexStringBuilder.append('0');
+            }
+            hexStringBuilder.append(hex);
+        }
+        return hexStringBuilder.toString();
+    }
+
+    /**
+     * Fully consume the input stream.  The input stream is not closed.
+     *
+     * @param inputStream the input stream
+     * @return the bytes consumed
+     * @throws IOException if any error occurs reading the input stream
+     */
+    public static byte[] consume(@NonNull final InputStream inputStream) throws IOException {
+        val outputStream = new ByteArrayOutputStream();
+        val buffer = new byte[BUFFER_SIZE];
+        int bytesRead;
+        while ((bytesRead = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, bytesRead);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Write the file atomically, so concurrent readers never see a partially written file.  The content is first
+     * written to a temporary file in the same directory, which is then moved into place, replacing any existing file.
+     *
+     * @param path the path of the file
+     * @param contentWriter the writer of the content of the file
+     * @throws IOException if the file could not be written
+     */
+    public static void writeAtomically(@NonNull final Path path, @NonNull final ContentWriter contentWriter) throws IOException {
+        val directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        val temporaryPath = Files.createTempFile(directory, path.getFileName().toString(), TEMPORARY_EXTENSION);
+        try {
+            try (val outputStream = new BufferedOutputStream(Files.newOutputStream(temporaryPath))) {
+                contentWriter.write(outputStream);
+            }
+            try {
+                Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+    /**
+     * The writer of the content of a file
+     *
+     * @author Brian Wyka
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+
+        /**
+         * Write the content to the output stream
+         *
+         * @param outputStream the output stream, which should not be closed
+         * @throws IOException if any error occurs writing
+         */
+        void write(OutputStream outputStream) throws IOException;
+
+    }
+
+}
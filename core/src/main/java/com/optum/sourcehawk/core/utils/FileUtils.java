@@ -14,6 +14,9 @@ import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -67,6 +70,49 @@ public final class FileUtils {
         return Stream.of(Paths.get(root).resolve(pathOrPattern)).filter(Files::exists);
     }
 
+    /**
+     * Determine if any of the relative paths would be found by {@link #find(String, String)} with the path or glob
+     * pattern, were they to exist.  The file tree is not walked.
+     *
+     * @param root the start location paths are resolved against
+     * @param pathOrPattern the path or glob pattern, i.e **&#47;path/**&#47;*.txt
+     * @param relativePaths the paths relative to the root
+     * @return true if any of the relative paths match, false otherwise
+     */
+    public static boolean anyMatch(final String root, final String pathOrPattern, final Collection<String> relativePaths) {
+        if (StringUtils.isBlankOrEmpty(root) || StringUtils.isBlankOrEmpty(pathOrPattern) || relativePaths.isEmpty()) {
+            return false;
+        }
+        val rootPath = Paths.get(root);
+        if (isGlobPattern(pathOrPattern)) {
+            val pathMatcher = FileSystems.getDefault().getPathMatcher(String.format("glob:%s", pathOrPattern));
+            return relativePaths.stream()
+                    .map(rootPath::resolve)
+                    .anyMatch(pathMatcher::matches);
+        }
+        val path = rootPath.resolve(pathOrPattern).normalize();
+        return relativePaths.stream()
+                .map(rootPath::resolve)
+                .map(Path::normalize)
+                .anyMatch(path::equals);
+    }
+
+    /**
+     * List all of the files (not directories) within the root by walking the file tree exactly once
+     *
+     * @param root the start location to walk
+     * @return the collection of all file paths, resolved against the root
+     * @throws IOException if any error occurs walking the file tree
+     */
+    public static Collection<Path> listFiles(final String root) throws IOException {
+        if (StringUtils.isBlankOrEmpty(root)) {
+            return Collections.emptyList();
+        }
+        val filePaths = Stream.<Path>builder();
+        Files.walkFileTree(Paths.get(root), new PathMatcherFileVisitor(path -> true, filePaths));
+        return filePaths.build().collect(Collectors.toList());
+    }
+
     /**
      * Determine if the provided pattern is a glob pattern
      *
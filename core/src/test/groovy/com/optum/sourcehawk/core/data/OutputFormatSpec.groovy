@@ -12,7 +12,7 @@ class OutputFormatSpec extends Specification {
         OutputFormat.parse(name)
 
         where:
-        name << ['text', 'TEXT', 'json', 'JSON', 'markdown', 'MARKDOWN']
+        name << ['text', 'TEXT', 'json', 'JSON', 'jsonl', 'JSONL', 'markdown', 'MARKDOWN']
     }
 
     @Unroll
@@ -0,0 +1,278 @@
+package com.optum.sourcehawk.core.repository
+
+import org.mockserver.configuration.ConfigurationProperties
+import org.mockserver.integration.ClientAndServer
+import org.mockserver.matchers.Times
+import org.mockserver.model.HttpRequest
+import org.mockserver.model.HttpResponse
+import org.spockframework.util.IoUtil
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
+class ArchiveRepositoryFileReaderSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    ClientAndServer clientAndServer
+
+    @Shared
+    String baseUrl
+
+    def setupSpec() {
+        clientAndServer = ClientAndServer.startClientAndServer("http://127.0.0.1", 8124)
+        ConfigurationProperties.logLevel("WARN")
+        baseUrl = "${clientAndServer.remoteAddress.hostString}:${clientAndServer.port}"
+    }
+
+    def setup() {
+        clientAndServer.reset()
+    }
+
+    @Unroll
+    def "read - #archive"() {
+        given:
+        RepositoryFileReader reader = createReader(archive)
+
+        when:
+        Optional<InputStream> inputStreamOptional = reader.read(repositoryFilePath)
+
+        then:
+        inputStreamOptional.isPresent()
+        inputStreamOptional.get().text == "# Repository\n"
+
+        where:
+        archive              | repositoryFilePath
+        "repository.tar.gz"  | "README.md"
+        "repository.zip"     | "README.md"
+        "repository.tar.gz"  | "/README.md"
+        "repository.zip"     | "./README.md"
+    }
+
+    @Unroll
+    def "read - long path (#archive)"() {
+        given:
+        RepositoryFileReader reader = createReader(archive)
+        String repositoryFilePath = "deeply/" + ("nested/" * 15) + "file.txt"
+
+        when:
+        Optional<InputStream> inputStreamOptional = reader.read(repositoryFilePath)
+
+        then:
+        inputStreamOptional.isPresent()
+        inputStreamOptional.get().text == "long\n"
+
+        where:
+        archive << ["repository.tar.gz", "repository.zip"]
+    }
+
+    def "read - not found"() {
+        given:
+        RepositoryFileReader reader = createReader("repository.tar.gz")
+
+        when:
+        Optional<InputStream> inputStreamOptional = reader.read("does-not-exist.txt")
+
+        then:
+        !inputStreamOptional.isPresent()
+    }
+
+    def "exists"() {
+        given:
+        RepositoryFileReader reader = createReader("repository.zip")
+
+        expect:
+        reader.exists("lombok.config")
+        reader.exists("docs/one.md")
+        !reader.exists("docs")
+        !reader.exists("does-not-exist.txt")
+    }
+
+    def "archive downloaded only once"() {
+        given:
+        RepositoryFileReader reader = createReader("repository.tar.gz")
+
+        when:
+        reader.read("README.md")
+        reader.read("docs/one.md")
+        reader.exists("docs/two.md")
+        reader.listRepositoryFilePaths()
+
+        then:
+        clientAndServer.retrieveRecordedRequests(HttpRequest.request()
+                .withPath("/archive/repository.tar.gz")).length == 1
+    }
+
+    def "listRepositoryFilePaths"() {
+        given:
+        RepositoryFileReader reader = createReader("repository.tar.gz")
+
+        when:
+        Optional<Collection<String>> repositoryFilePathsOptional = reader.listRepositoryFilePaths()
+
+        then:
+        repositoryFilePathsOptional.isPresent()
+        repositoryFilePathsOptional.get().size() == 5
+        repositoryFilePathsOptional.get().containsAll(["README.md", "lombok.config", "docs/one.md", "docs/two.md"])
+    }
+
+    def "supportsGlobPatterns - used by repository file index"() {
+        given:
+        RepositoryFileReader reader = createReader("repository.zip")
+        Path repositoryRoot = Paths.get(".")
+        RepositoryFileIndex repositoryFileIndex = RepositoryFileIndex.create(repositoryRoot, reader)
+
+        when:
+        Collection<Path> paths = repositoryFileIndex.find("**/docs/*.md").collect()
+
+        then:
+        reader.supportsGlobPatterns()
+        paths as Set == [repositoryRoot.resolve("docs/one.md"), repositoryRoot.resolve("docs/two.md")] as Set
+
+        and:
+        repositoryFileIndex.find("README.md").count() == 1
+        repositoryFileIndex.find("does-not-exist.txt").count() == 0
+    }
+
+    def "read - archive not found"() {
+        given:
+        RepositoryFileReader reader = new ArchiveRepositoryFileReader(new URL("$baseUrl/archive/missing.zip"), "$baseUrl/raw/%s", Collections.emptyMap())
+
+        when:
+        reader.read("README.md")
+
+        then:
+        thrown(IOException)
+    }
+
+    def "read - unsupported archive format"() {
+        given:
+        RepositoryFileReader reader = new ArchiveRepositoryFileReader(new URL("$baseUrl/archive/repository.rar"), "$baseUrl/raw/%s", Collections.emptyMap())
+        clientAndServer
+                .when(HttpRequest.request()
+                        .withMethod("GET")
+                        .withPath("/archive/repository.rar"),
+                        Times.exactly(1))
+                .respond(HttpResponse.response().withStatusCode(200).withBody("not an archive".bytes))
+
+        when:
+        reader.read("README.md")
+
+        then:
+        thrown(IOException)
+    }
+
+    @Unroll
+    def "read - entry exceeds maximum entry size (#archive)"() {
+        given:
+        RepositoryFileReader reader = createReader(archive, 10, ArchiveRepositoryFileReader.DEFAULT_MAX_ARCHIVE_BYTES)
+
+        when:
+        reader.read("README.md")
+
+        then:
+        IOException e = thrown(IOException)
+        e.message == "Archive entry README.md exceeds the maximum size of 10 bytes"
+
+        and:
+        reader.exists("README.md")
+        reader.read("docs/one.md").get().text == "one\n"
+
+        where:
+        archive << ["repository.tar.gz", "repository.zip"]
+    }
+
+    @Unroll
+    def "read - archive exceeds maximum archive size (#archive)"() {
+        given:
+        RepositoryFileReader reader = createReader(archive, ArchiveRepositoryFileReader.DEFAULT_MAX_ENTRY_BYTES, 100L)
+
+        when:
+        reader.read("README.md")
+
+        then:
+        thrown(IOException)
+
+        where:
+        archive << ["repository.tar.gz", "repository.zip"]
+    }
+
+    def "read - archive content exceeds maximum archive size"() {
+        given:
+        ByteArrayOutputStream archive = new ByteArrayOutputStream()
+        new ZipOutputStream(archive).withCloseable { ZipOutputStream zipOutputStream ->
+            zipOutputStream.putNextEntry(new ZipEntry("owner-repo-abc123/large.txt"))
+            zipOutputStream.write(new byte[100_000])
+            zipOutputStream.closeEntry()
+        }
+        clientAndServer
+                .when(HttpRequest.request()
+                        .withMethod("GET")
+                        .withPath("/archive/compressed.zip"))
+                .respond(HttpResponse.response()
+                        .withStatusCode(200)
+                        .withBody(archive.toByteArray()))
+        RepositoryFileReader reader = new ArchiveRepositoryFileReader(new URL("$baseUrl/archive/compressed.zip"), "$baseUrl/raw/%s",
+                new PooledHttpClient(Collections.emptyMap()), 200_000, 10_000L)
+
+        when:
+        reader.read("large.txt")
+
+        then:
+        IOException e = thrown(IOException)
+        e.message == "Archive content exceeds the maximum size of 10000 bytes"
+    }
+
+    def "getAbsoluteLocation"() {
+        given:
+        RepositoryFileReader reader = new ArchiveRepositoryFileReader(new URL("$baseUrl/archive/repository.zip"), "$baseUrl/raw/%s", Collections.emptyMap())
+
+        expect:
+        reader.getAbsoluteLocation("README.md") == "$baseUrl/raw/README.md"
+        reader.getAbsoluteLocation("/path/to/file.txt") == "$baseUrl/raw/path/to/file.txt"
+    }
+
+    def "constructor - null parameter"() {
+        when:
+        new ArchiveRepositoryFileReader(null, "abc", Collections.emptyMap())
+
+        then:
+        thrown(NullPointerException)
+
+        when:
+        new ArchiveRepositoryFileReader(new URL(baseUrl), null, Collections.emptyMap())
+
+        then:
+        thrown(NullPointerException)
+
+        when:
+        new ArchiveRepositoryFileReader(new URL(baseUrl), "abc", (Map) null)
+
+        then:
+        thrown(NullPointerException)
+    }
+
+    private RepositoryFileReader createReader(final String archive, final int maxEntryBytes, final long maxArchiveBytes) {
+        createReader(archive)
+        return new ArchiveRepositoryFileReader(new URL("$baseUrl/archive/$archive"), "$baseUrl/raw/%s", new PooledHttpClient(Collections.emptyMap()),
+                maxEntryBytes, maxArchiveBytes)
+    }
+
+    private RepositoryFileReader createReader(final String archive) {
+        clientAndServer
+                .when(HttpRequest.request()
+                        .withMethod("GET")
+                        .withPath("/archive/$archive"))
+                .respond(HttpResponse.response()
+                        .withStatusCode(200)
+                        .withBody(IoUtil.getResourceAsStream("/archive/$archive").bytes))
+        return new ArchiveRepositoryFileReader(new URL("$baseUrl/archive/$archive"), "$baseUrl/raw/%s", Collections.emptyMap())
+    }
+
+}
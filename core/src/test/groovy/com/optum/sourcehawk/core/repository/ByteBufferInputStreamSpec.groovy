@@ -0,0 +1,97 @@
+package com.optum.sourcehawk.core.repository
+
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+
+class ByteBufferInputStreamSpec extends Specification {
+
+    def "constructor - NPE"() {
+        when:
+        new ByteBufferInputStream(null)
+
+        then:
+        thrown(NullPointerException)
+    }
+
+    def "read"() {
+        given:
+        ByteBuffer byteBuffer = ByteBuffer.wrap("content".bytes)
+        InputStream inputStream = new ByteBufferInputStream(byteBuffer)
+        byte[] bytes = new byte[8]
+
+        expect:
+        inputStream.available() == 7
+        inputStream.read() == ('c' as char) as int
+        inputStream.skip(2) == 2
+        inputStream.read(bytes, 0, bytes.length) == 4
+        new String(bytes, 0, 4) == "tent"
+        inputStream.read() == -1
+
+        and: "the provided buffer is untouched"
+        byteBuffer.position() == 0
+    }
+
+    def "read - starts at buffer position"() {
+        given:
+        ByteBuffer byteBuffer = ByteBuffer.wrap("content".bytes)
+        byteBuffer.position(3)
+
+        expect:
+        new ByteBufferInputStream(byteBuffer).text == "tent"
+    }
+
+    def "mark / reset"() {
+        given:
+        InputStream inputStream = new ByteBufferInputStream(ByteBuffer.wrap("content".bytes))
+
+        when:
+        inputStream.read()
+        inputStream.mark(10)
+        inputStream.read(new byte[3])
+        inputStream.reset()
+
+        then:
+        inputStream.markSupported()
+        inputStream.text == "ontent"
+    }
+
+    def "consumeRemaining"() {
+        given:
+        ByteBufferInputStream inputStream = new ByteBufferInputStream(ByteBuffer.wrap("content".bytes))
+        inputStream.skip(3)
+
+        when:
+        ByteBuffer remaining = inputStream.consumeRemaining()
+
+        then:
+        remaining.readOnly
+        remaining.remaining() == 4
+        inputStream.read() == -1
+    }
+
+    def "closed"() {
+        given:
+        ByteBufferInputStream inputStream = new ByteBufferInputStream(ByteBuffer.wrap("content".bytes))
+        inputStream.close()
+
+        when:
+        inputStream.available()
+
+        then:
+        thrown(IOException)
+
+        when:
+        inputStream.read()
+
+        then:
+        thrown(IOException)
+
+        when:
+        inputStream.consumeRemaining()
+
+        then:
+        thrown(IOException)
+    }
+
+}
@@ -0,0 +1,310 @@
+package com.optum.sourcehawk.core.repository
+
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+import java.util.concurrent.CountDownLatch
+
+class CachingRepositoryFileReaderSpec extends Specification {
+
+    def "create - NPE"() {
+        when:
+        CachingRepositoryFileReader.create(null)
+
+        then:
+        thrown(NullPointerException)
+    }
+
+    def "create - negative budget"() {
+        when:
+        CachingRepositoryFileReader.create(Mock(RepositoryFileReader), -1L, 10)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "supportsGlobPatterns / getAbsoluteLocation - delegated"() {
+        given:
+        RepositoryFileReader delegate = Mock()
+        CachingRepositoryFileReader repositoryFileReader = CachingRepositoryFileReader.create(delegate)
+
+        when:
+        boolean supportsGlobPatterns = repositoryFileReader.supportsGlobPatterns()
+        String absoluteLocation = repositoryFileReader.getAbsoluteLocation("file.txt")
+
+        then:
+        1 * delegate.supportsGlobPatterns() >> true
+        1 * delegate.getAbsoluteLocation("file.txt") >> "/repo/file.txt"
+
+        and:
+        supportsGlobPatterns
+        absoluteLocation == "/repo/file.txt"
+    }
+
+    def "read - file read from delegate only once"() {
+        given:
+        RepositoryFileReader delegate = Mock()
+        CachingRepositoryFileReader repositoryFileReader = CachingRepositoryFileReader.create(delegate)
+
+        when:
+        String first = repositoryFileReader.read("file.txt").get().text
+        String second = repositoryFileReader.read("file.txt").get().text
+        boolean exists = repositoryFileReader.exists("file.txt")
+
+        then:
+        1 * delegate.read("file.txt") >> Optional.of(new ByteArrayInputStream("content".bytes))
+        0 * delegate.exists(_)
+
+        and:
+        first == "content"
+        second == "content"
+        exists
+    }
+
+    def "read - file not found cached"() {
+        given:
+        RepositoryFileReader delegate = Mock()
+        CachingRepositoryFileReader repositoryFileReader = CachingRepositoryFileReader.create(delegate)
+
+        when:
+        Optional<InputStream> first = repositoryFileReader.read("missing.txt")
+        Optional<InputStream> second = repositoryFileReader.read("missing.txt")
+
+        then:
+        1 * delegate.read("missing.txt") >> Optional.empty()
+
+        and:
+        !first.isPresent()
+        !second.isPresent()
+    }
+
+    def "read - file not found evicted when over budget"() {
+        given:
+        RepositoryFileReader delegate = Mock()
+        CachingRepositoryFileReader repositoryFileReader = CachingRepositoryFileReader.create(delegate, 100L, 10)
+
+        when:
+        repositoryFileReader.read("one.txt")
+        repositoryFileReader.read("two.txt")
+        repositoryFileReader.read("one.txt")
+
+        then:
+        2 * delegate.read("one.txt") >> Optional.empty()
+        1 * delegate.read("two.txt") >> Optional.empty()
+    }
+
+    def "read - large file streamed through and not cached"() {
+        given:
+        RepositoryFileReader delegate = Mock()
+        CachingRepositoryFileReader repositoryFileReader = CachingRepositoryFileReader.create(delegate, 1024L, 4)
+
+        when:
+        String first = repositoryFileReader.read("large.txt").get().text
+        String second = repositoryFileReader.read("large.txt").get().text
+
+        then:
+        2 * delegate.read("large.txt") >> { Optional.of(new ByteArrayInputStream(("x" * 20000).bytes)) }
+
+        and:
+        first == "x" * 20000
+        second == "x" * 20000
+    }
+
+    def "read - least recently used file evicted when over budget"() {
+        given:
+        RepositoryFileReader delegate = Mock()
+        CachingRepositoryFileReader repositoryFileReader = CachingRepositoryFileReader.create(delegate, 10L, 10)
+
+        when:
+        repositoryFileReader.read("one.txt").get().text
+        repositoryFileReader.read("two.txt").get().text
+        repositoryFileReader.read("two.txt").get().text
+        repositoryFileReader.read("one.txt").get().text
+
+        then:
+        2 * delegate.read("one.txt") >> { Optional.of(new ByteArrayInputStream("123456".bytes)) }
+        1 * delegate.read("two.txt") >> { Optional.of(new ByteArrayInputStream("654321".bytes)) }
+    }
+
+    def "read - delegate error not cached"() {
+        given:
+        RepositoryFileReader delegate = Mock()
+        CachingRepositoryFileReader repositoryFileReader = CachingRepositoryFileReader.create(delegate)
+
+        when:
+        repositoryFileReader.read("file.txt")
+
+        then:
+        1 * delegate.read("file.txt") >> { throw new IOException("BOOM") }
+        thrown(IOException)
+
+        when:
+        String content = repositoryFileReader.read("file.txt").get().text
+
+        then:
+        1 * delegate.read("file.txt") >> Optional.of(new ByteArrayInputStream("content".bytes))
+        content == "content"
+    }
+
+    def "read - delegate error while another read waits - file loaded again and accounted once"() {
+        given:
+        RepositoryFileReader delegate = Mock()
+        CachingRepositoryFileReader repositoryFileReader = CachingRepositoryFileReader.create(delegate)
+        CountDownLatch loading = new CountDownLatch(1)
+        CountDownLatch waiting = new CountDownLatch(1)
+        String waitingContent = null
+
+        when:
+        Thread failingRead = Thread.start {
+            try {
+                repositoryFileReader.read("file.txt")
+            } catch (IOException ignored) {
+                // expected
+            }
+        }
+        loading.await()
+        Thread waitingRead = Thread.start {
+            waiting.countDown()
+            waitingContent = repositoryFileReader.read("file.txt").get().text
+        }
+        waiting.await()
+        failingRead.join()
+        waitingRead.join()
+
+        then:
+        2 * delegate.read("file.txt") >> {
+            loading.countDown()
+            Thread.sleep(100)
+            throw new IOException("BOOM")
+        } >> Optional.of(new ByteArrayInputStream("content".bytes))
+
+        and:
+        waitingContent == "content"
+        repositoryFileReader.cachedBytes == 64 + "content".length()
+        repositoryFileReader.read("file.txt").get().text == "content"
+    }
+
+    def "isBufferAvailable - cached files or delegated"() {
+        given:
+        RepositoryFileReader delegate = Mock()
+        CachingRepositoryFileReader repositoryFileReader = CachingRepositoryFileReader.create(delegate)
+
+        when:
+        repositoryFileReader.read("file.txt")
+        repositoryFileReader.read("missing.txt")
+        boolean cached = repositoryFileReader.isBufferAvailable("file.txt")
+        boolean notFound = repositoryFileReader.isBufferAvailable("missing.txt")
+        boolean uncached = repositoryFileReader.isBufferAvailable("other.txt")
+
+        then:
+        1 * delegate.read("file.txt") >> Optional.of(new ByteArrayInputStream("content".bytes))
+        1 * delegate.read("missing.txt") >> Optional.empty()
+        1 * delegate.isBufferAvailable("other.txt") >> false
+        0 * delegate.isBufferAvailable(_)
+
+        and:
+        cached
+        notFound
+        !uncached
+    }
+
+    def "readBuffer - file read from delegate only once"() {
+        given:
+        RepositoryFileReader delegate = Mock()
+        CachingRepositoryFileReader repositoryFileReader = CachingRepositoryFileReader.create(delegate)
+
+        when:
+        ByteBuffer first = repositoryFileReader.readBuffer("file.txt").get()
+        String second = repositoryFileReader.read("file.txt").get().text
+        ByteBuffer third = repositoryFileReader.readBuffer("file.txt").get()
+
+        then:
+        1 * delegate.readBuffer("file.txt") >> Optional.of(ByteBuffer.wrap("content".bytes))
+        0 * delegate.read(_)
+
+        and:
+        new ByteBufferInputStream(first).text == "content"
+        second == "content"
+        new ByteBufferInputStream(third).text == "content"
+        third.readOnly
+    }
+
+    def "readBuffer - file not found cached"() {
+        given:
+        RepositoryFileReader delegate = Mock()
+        CachingRepositoryFileReader repositoryFileReader = CachingRepositoryFileReader.create(delegate)
+
+        when:
+        Optional<ByteBuffer> first = repositoryFileReader.readBuffer("missing.txt")
+        Optional<InputStream> second = repositoryFileReader.read("missing.txt")
+
+        then:
+        1 * delegate.readBuffer("missing.txt") >> Optional.empty()
+        0 * delegate.read(_)
+
+        and:
+        !first.isPresent()
+        !second.isPresent()
+    }
+
+    def "readBuffer - large file served from delegate and not cached"() {
+        given:
+        RepositoryFileReader delegate = Mock()
+        CachingRepositoryFileReader repositoryFileReader = CachingRepositoryFileReader.create(delegate, 1024L, 4)
+        ByteBuffer large = ByteBuffer.wrap(("x" * 20000).bytes)
+
+        when:
+        ByteBuffer first = repositoryFileReader.readBuffer("large.txt").get()
+        ByteBuffer second = repositoryFileReader.readBuffer("large.txt").get()
+
+        then:
+        2 * delegate.readBuffer("large.txt") >> Optional.of(large)
+
+        and:
+        first.is(large)
+        second.is(large)
+    }
+
+    def "readBuffer - direct buffer cached without copying"() {
+        given:
+        RepositoryFileReader delegate = Mock()
+        CachingRepositoryFileReader repositoryFileReader = CachingRepositoryFileReader.create(delegate, 1024L * 1024, 32 * 1024)
+        ByteBuffer direct = ByteBuffer.allocateDirect(20000)
+
+        when:
+        ByteBuffer first = repositoryFileReader.readBuffer("direct.txt").get()
+        String second = repositoryFileReader.read("direct.txt").get().text
+        ByteBuffer third = repositoryFileReader.readBuffer("direct.txt").get()
+
+        then:
+        1 * delegate.readBuffer("direct.txt") >> Optional.of(direct)
+        0 * delegate.read(_)
+
+        and:
+        first.direct
+        first.remaining() == 20000
+        second.length() == 20000
+        third.direct
+        third.readOnly
+    }
+
+    def "readBuffer - large direct buffer served from delegate and not cached"() {
+        given:
+        RepositoryFileReader delegate = Mock()
+        CachingRepositoryFileReader repositoryFileReader = CachingRepositoryFileReader.create(delegate, 1024L * 1024, 4)
+        ByteBuffer large = ByteBuffer.allocateDirect(20000)
+
+        when:
+        ByteBuffer first = repositoryFileReader.readBuffer("large.txt").get()
+        ByteBuffer second = repositoryFileReader.readBuffer("large.txt").get()
+
+        then:
+        2 * delegate.readBuffer("large.txt") >> Optional.of(large)
+
+        and:
+        first.is(large)
+        second.is(large)
+        repositoryFileReader.cachedBytes == 0
+    }
+
+}
@@ -3,6 +3,8 @@ package com.optum.sourcehawk.core.repository
 import org.spockframework.util.IoUtil
 import spock.lang.Specification
 
+import java.nio.ByteBuffer
+import java.nio.MappedByteBuffer
 import java.nio.file.Path
 import java.nio.file.Paths
 
@@ -104,4 +106,65 @@ class LocalRepositoryFileReaderSpec extends Specification {
         thrown(NullPointerException)
     }
 
+    def "readBuffer - small file read onto heap"() {
+        given:
+        URL resource = IoUtil.getResource('/file.txt')
+        File fileResource = new File(resource.toURI())
+        Path repositoryRoot = Paths.get(fileResource.getParentFile().getAbsolutePath())
+        RepositoryFileReader repositoryFileReader = LocalRepositoryFileReader.create(repositoryRoot)
+
+        when:
+        Optional<ByteBuffer> byteBufferOptional = repositoryFileReader.readBuffer('file.txt')
+
+        then:
+        byteBufferOptional.isPresent()
+        !byteBufferOptional.get().direct
+        byteBufferOptional.get().readOnly
+        new ByteBufferInputStream(byteBufferOptional.get()).text == fileResource.text
+    }
+
+    def "readBuffer - large file memory mapped"() {
+        given:
+        Path repositoryRoot = File.createTempDir().toPath()
+        String content = "0123456789abcdef" * LocalRepositoryFileReader.MAPPING_THRESHOLD_BYTES.intdiv(16)
+        repositoryRoot.resolve("large.txt").toFile().text = content
+        RepositoryFileReader repositoryFileReader = LocalRepositoryFileReader.create(repositoryRoot)
+
+        when:
+        Optional<ByteBuffer> byteBufferOptional = repositoryFileReader.readBuffer('large.txt')
+
+        then:
+        byteBufferOptional.isPresent()
+        byteBufferOptional.get() instanceof MappedByteBuffer
+        byteBufferOptional.get().remaining() == content.length()
+        new ByteBufferInputStream(byteBufferOptional.get()).text == content
+
+        cleanup:
+        repositoryRoot.toFile().deleteDir()
+    }
+
+    def "isBufferAvailable - only for files which are memory mapped"() {
+        given:
+        Path repositoryRoot = File.createTempDir().toPath()
+        repositoryRoot.resolve("small.txt").toFile().text = "small"
+        repositoryRoot.resolve("large.txt").toFile().text = "0123456789abcdef" * LocalRepositoryFileReader.MAPPING_THRESHOLD_BYTES.intdiv(16)
+        RepositoryFileReader repositoryFileReader = LocalRepositoryFileReader.create(repositoryRoot)
+
+        expect:
+        !repositoryFileReader.isBufferAvailable("small.txt")
+        repositoryFileReader.isBufferAvailable("large.txt")
+        !repositoryFileReader.isBufferAvailable("missing.txt")
+
+        cleanup:
+        repositoryRoot.toFile().deleteDir()
+    }
+
+    def "readBuffer - file not found"() {
+        given:
+        RepositoryFileReader repositoryFileReader = LocalRepositoryFileReader.create(Paths.get("/"))
+
+        expect:
+        repositoryFileReader.readBuffer('nope/nope.txt') == Optional.empty()
+    }
+
 }
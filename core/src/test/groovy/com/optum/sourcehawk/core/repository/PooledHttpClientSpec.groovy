@@ -0,0 +1,61 @@
+package com.optum.sourcehawk.core.repository
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class PooledHttpClientSpec extends Specification {
+
+    def "constructor - null request properties"() {
+        when:
+        new PooledHttpClient(null)
+
+        then:
+        thrown(NullPointerException)
+    }
+
+    @Unroll
+    def "constructor - invalid limits (#maxInFlightRequests, #maxAttempts, #initialBackoffMillis)"() {
+        when:
+        new PooledHttpClient(Collections.emptyMap(), maxInFlightRequests, maxAttempts, initialBackoffMillis)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        maxInFlightRequests | maxAttempts | initialBackoffMillis
+        0                   | 1           | 0L
+        1                   | 0           | 0L
+        1                   | 1           | -1L
+    }
+
+    @Unroll
+    def "constructor - invalid timeouts (#connectTimeoutMillis, #readTimeoutMillis)"() {
+        when:
+        new PooledHttpClient(Collections.emptyMap(), 1, 1, 0L, connectTimeoutMillis, readTimeoutMillis)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        connectTimeoutMillis | readTimeoutMillis
+        0                    | 1
+        1                    | 0
+    }
+
+    @Unroll
+    def "parseTimeoutMillis - #timeoutSeconds"() {
+        expect:
+        PooledHttpClient.parseTimeoutMillis(timeoutSeconds, 1000) == expected
+
+        where:
+        timeoutSeconds | expected
+        null           | 1000
+        "5"            | 5000
+        " 2 "          | 2000
+        "0"            | 1000
+        "-1"           | 1000
+        "abc"          | 1000
+        "9999999999"   | 1000
+    }
+
+}
@@ -4,11 +4,13 @@ package com.optum.sourcehawk.core.repository
 import org.mockserver.configuration.ConfigurationProperties
 import org.mockserver.integration.ClientAndServer
 import org.mockserver.matchers.Times
+import org.mockserver.model.Delay
 import org.mockserver.model.HttpRequest
 import org.mockserver.model.HttpResponse
 import spock.lang.AutoCleanup
 import spock.lang.Shared
 import spock.lang.Specification
+import spock.lang.Unroll
 
 class RemoteRepositoryFileReaderSpec extends Specification {
 
@@ -122,6 +124,217 @@ class RemoteRepositoryFileReaderSpec extends Specification {
         !inputStreamOptional.isPresent()
     }
 
+    def "read - single request, existence remembered"() {
+        given:
+        String rawFileUrlTemplate = "$baseUrl/single/project/repo/main/%s"
+        RepositoryFileReader reader = new RemoteRepositoryFileReader(rawFileUrlTemplate, Collections.emptyMap())
+        clientAndServer
+                .when(HttpRequest.request()
+                        .withMethod("GET")
+                        .withPath("/single/project/repo/main/README.md"),
+                        Times.exactly(1))
+                .respond(HttpResponse.response().withStatusCode(200).withBody("# Title".bytes))
+
+        when:
+        Optional<InputStream> inputStreamOptional = reader.read("README.md")
+        boolean exists = reader.exists("README.md")
+
+        then:
+        inputStreamOptional.isPresent()
+        inputStreamOptional.get().text == "# Title"
+        exists
+
+        and:
+        clientAndServer.retrieveRecordedRequests(HttpRequest.request()
+                .withPath("/single/project/repo/main/README.md")).length == 1
+    }
+
+    def "read - not found remembered"() {
+        given:
+        String rawFileUrlTemplate = "$baseUrl/single-missing/project/repo/main/%s"
+        RepositoryFileReader reader = new RemoteRepositoryFileReader(rawFileUrlTemplate, Collections.emptyMap())
+        clientAndServer
+                .when(HttpRequest.request()
+                        .withMethod("GET")
+                        .withPath("/single-missing/project/repo/main/README.md"),
+                        Times.exactly(1))
+                .respond(HttpResponse.notFoundResponse())
+
+        when:
+        Optional<InputStream> firstInputStreamOptional = reader.read("README.md")
+        Optional<InputStream> secondInputStreamOptional = reader.read("/README.md")
+        boolean exists = reader.exists("README.md")
+
+        then:
+        !firstInputStreamOptional.isPresent()
+        !secondInputStreamOptional.isPresent()
+        !exists
+
+        and:
+        clientAndServer.retrieveRecordedRequests(HttpRequest.request()
+                .withPath("/single-missing/project/repo/main/README.md")).length == 1
+    }
+
+    @Unroll
+    def "read - #statusCode treated as not found"() {
+        given:
+        String rawFileUrlTemplate = "$baseUrl/denied-$statusCode/project/repo/main/%s"
+        RepositoryFileReader reader = new RemoteRepositoryFileReader(rawFileUrlTemplate, Collections.emptyMap())
+        clientAndServer
+                .when(HttpRequest.request()
+                        .withMethod("GET")
+                        .withPath("/denied-$statusCode/project/repo/main/README.md".toString()),
+                        Times.exactly(1))
+                .respond(HttpResponse.response().withStatusCode(statusCode))
+
+        when:
+        Optional<InputStream> inputStreamOptional = reader.read("README.md")
+        boolean exists = reader.exists("README.md")
+
+        then:
+        !inputStreamOptional.isPresent()
+        !exists
+
+        where:
+        statusCode << [401, 403]
+    }
+
+    def "read - retried when rate limited or server error"() {
+        given:
+        String rawFileUrlTemplate = "$baseUrl/retry/project/repo/main/%s"
+        RepositoryFileReader reader = new RemoteRepositoryFileReader(rawFileUrlTemplate, new PooledHttpClient(Collections.emptyMap(), 2, 3, 1L))
+        clientAndServer
+                .when(HttpRequest.request()
+                        .withMethod("GET")
+                        .withPath("/retry/project/repo/main/README.md"),
+                        Times.exactly(1))
+                .respond(HttpResponse.response().withStatusCode(429).withHeader("Retry-After", "0"))
+        clientAndServer
+                .when(HttpRequest.request()
+                        .withMethod("GET")
+                        .withPath("/retry/project/repo/main/README.md"),
+                        Times.exactly(1))
+                .respond(HttpResponse.response().withStatusCode(503))
+        clientAndServer
+                .when(HttpRequest.request()
+                        .withMethod("GET")
+                        .withPath("/retry/project/repo/main/README.md"),
+                        Times.exactly(1))
+                .respond(HttpResponse.response().withStatusCode(200).withBody("# Title".bytes))
+
+        when:
+        Optional<InputStream> inputStreamOptional = reader.read("README.md")
+
+        then:
+        inputStreamOptional.isPresent()
+        inputStreamOptional.get().text == "# Title"
+    }
+
+    def "read - server error after all attempts"() {
+        given:
+        String rawFileUrlTemplate = "$baseUrl/error/project/repo/main/%s"
+        RepositoryFileReader reader = new RemoteRepositoryFileReader(rawFileUrlTemplate, new PooledHttpClient(Collections.emptyMap(), 2, 2, 1L))
+        clientAndServer
+                .when(HttpRequest.request()
+                        .withMethod("GET")
+                        .withPath("/error/project/repo/main/README.md"),
+                        Times.exactly(2))
+                .respond(HttpResponse.response().withStatusCode(500))
+
+        when:
+        reader.read("README.md")
+
+        then:
+        thrown(IOException)
+    }
+
+    def "prefetch - read served from prefetched content"() {
+        given:
+        String rawFileUrlTemplate = "$baseUrl/prefetch/project/repo/main/%s"
+        RepositoryFileReader reader = new RemoteRepositoryFileReader(rawFileUrlTemplate, Collections.emptyMap())
+        clientAndServer
+                .when(HttpRequest.request()
+                        .withMethod("GET")
+                        .withPath("/prefetch/project/repo/main/.*"))
+                .respond(HttpResponse.response().withStatusCode(200).withBody("content".bytes))
+        Collection<String> repositoryFilePaths = (1..20).collect { "file${it}.txt".toString() }
+
+        when:
+        reader.prefetch(repositoryFilePaths)
+        Collection<String> contents = repositoryFilePaths.collect { reader.read(it).get().text }
+
+        then:
+        contents.every { it == "content" }
+
+        and:
+        clientAndServer.retrieveRecordedRequests(HttpRequest.request()
+                .withMethod("GET")
+                .withPath("/prefetch/project/repo/main/.*")).length == 20
+    }
+
+    def "prefetch - not found"() {
+        given:
+        String rawFileUrlTemplate = "$baseUrl/prefetch-missing/project/repo/main/%s"
+        RepositoryFileReader reader = new RemoteRepositoryFileReader(rawFileUrlTemplate, Collections.emptyMap())
+        clientAndServer
+                .when(HttpRequest.request()
+                        .withMethod("GET")
+                        .withPath("/prefetch-missing/project/repo/main/README.md"),
+                        Times.exactly(1))
+                .respond(HttpResponse.notFoundResponse())
+
+        when:
+        reader.prefetch(["README.md"])
+        Optional<InputStream> inputStreamOptional = reader.read("README.md")
+
+        then:
+        !inputStreamOptional.isPresent()
+    }
+
+    def "prefetch - bounded"() {
+        given:
+        String rawFileUrlTemplate = "$baseUrl/prefetch-bounded/project/repo/main/%s"
+        RemoteRepositoryFileReader reader = new RemoteRepositoryFileReader(rawFileUrlTemplate, new PooledHttpClient(Collections.emptyMap()), 5 * "content".length())
+        clientAndServer
+                .when(HttpRequest.request()
+                        .withMethod("GET")
+                        .withPath("/prefetch-bounded/project/repo/main/.*"))
+                .respond(HttpResponse.response().withStatusCode(200).withBody("content".bytes))
+        Collection<String> repositoryFilePaths = (1..20).collect { "file${it}.txt".toString() }
+
+        when:
+        reader.prefetch(repositoryFilePaths)
+        reader.prefetchedContents.values()*.join()
+
+        then:
+        reader.prefetchedBytes.get() > 0
+        reader.prefetchedBytes.get() <= 5 * "content".length()
+
+        when:
+        Collection<String> contents = repositoryFilePaths.collect { reader.read(it).get().text }
+
+        then:
+        contents.every { it == "content" }
+        reader.prefetchedBytes.get() == 0
+    }
+
+    def "read - timed out"() {
+        given:
+        String rawFileUrlTemplate = "$baseUrl/slow/project/repo/main/%s"
+        RepositoryFileReader reader = new RemoteRepositoryFileReader(rawFileUrlTemplate, new PooledHttpClient(Collections.emptyMap(), 1, 1, 0L, 1000, 100))
+        clientAndServer
+                .when(HttpRequest.request()
+                        .withMethod("GET")
+                        .withPath("/slow/project/repo/main/README.md"))
+                .respond(HttpResponse.response().withStatusCode(200).withBody("# Title".bytes).withDelay(Delay.seconds(2)))
+
+        when:
+        reader.read("README.md")
+
+        then:
+        thrown(SocketTimeoutException)
+    }
+
     def "getAbsoluteLocation"() {
         given:
         String rawFileUrlTemplate = "$baseUrl/raw/project/repo/main/%s"
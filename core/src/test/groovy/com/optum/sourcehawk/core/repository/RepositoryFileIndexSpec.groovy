@@ -0,0 +1,69 @@
+package com.optum.sourcehawk.core.repository
+
+import com.optum.sourcehawk.core.utils.FileUtils
+import org.spockframework.util.IoUtil
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.file.Path
+import java.nio.file.Paths
+
+class RepositoryFileIndexSpec extends Specification {
+
+    @Shared
+    Path repositoryRoot = Paths.get(IoUtil.getResource("/marker").toURI())
+            .getParent()
+
+    def "create - NPE"() {
+        when:
+        RepositoryFileIndex.create(null)
+
+        then:
+        thrown(NullPointerException)
+    }
+
+    @Unroll
+    def "find - matches FileUtils.find (#pathOrPattern)"() {
+        given:
+        RepositoryFileIndex repositoryFileIndex = RepositoryFileIndex.create(repositoryRoot)
+
+        when:
+        Collection<Path> paths = repositoryFileIndex.find(pathOrPattern).collect()
+
+        then:
+        paths.size() == expectedCount
+        paths as Set == FileUtils.find(repositoryRoot.toString(), pathOrPattern).collect() as Set
+
+        where:
+        pathOrPattern        | expectedCount
+        "**/glob/*.md"       | 2
+        "**/glob/file?.md"   | 1
+        "**/Dockerfile"      | 2
+        "**/*.java"          | 0
+        "file.txt"           | 1
+        "glob/directory"     | 1
+        "does-not-exist.txt" | 0
+        ""                   | 0
+    }
+
+    def "find - multiple patterns share the same listing"() {
+        given:
+        Path copyRoot = File.createTempDir().toPath()
+        copyRoot.resolve("one.md").toFile().text = "one"
+        RepositoryFileIndex repositoryFileIndex = RepositoryFileIndex.create(copyRoot)
+
+        when:
+        Collection<Path> firstPaths = repositoryFileIndex.find("**/*.md").collect()
+        copyRoot.resolve("two.md").toFile().text = "two"
+        Collection<Path> secondPaths = repositoryFileIndex.find("**.md").collect()
+
+        then:
+        firstPaths.size() == 1
+        secondPaths.size() == 1
+
+        cleanup:
+        copyRoot.toFile().deleteDir()
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.optum.sourcehawk.core.repository
+
+import spock.lang.Specification
+
+class RepositoryFileInputStreamSpec extends Specification {
+
+    def "open - NPE"() {
+        when:
+        RepositoryFileInputStream.open(null, "file.txt")
+
+        then:
+        thrown(NullPointerException)
+    }
+
+    def "open - file not found"() {
+        given:
+        RepositoryFileReader repositoryFileReader = Mock()
+
+        when:
+        Optional<InputStream> inputStreamOptional = RepositoryFileInputStream.open(repositoryFileReader, "missing.txt")
+
+        then:
+        1 * repositoryFileReader.read("missing.txt") >> Optional.empty()
+
+        and:
+        !inputStreamOptional.isPresent()
+    }
+
+    def "read"() {
+        given:
+        RepositoryFileReader repositoryFileReader = Mock()
+        byte[] bytes = new byte[8]
+
+        when:
+        InputStream inputStream = RepositoryFileInputStream.open(repositoryFileReader, "file.txt").get()
+
+        then:
+        1 * repositoryFileReader.read("file.txt") >> Optional.of(new ByteArrayInputStream("content".bytes))
+
+        and:
+        inputStream.markSupported()
+        inputStream.available() == 7
+        inputStream.read() == ('c' as char) as int
+        inputStream.skip(2) == 2
+        inputStream.read(bytes, 0, bytes.length) == 4
+        new String(bytes, 0, 4) == "tent"
+        inputStream.read() == -1
+    }
+
+    def "mark / reset - file opened again"() {
+        given:
+        RepositoryFileReader repositoryFileReader = Mock()
+
+        when:
+        InputStream inputStream = RepositoryFileInputStream.open(repositoryFileReader, "file.txt").get()
+        inputStream.mark(Integer.MAX_VALUE)
+        inputStream.read(new byte[4], 0, 4)
+        inputStream.reset()
+        String content = inputStream.text
+
+        then:
+        2 * repositoryFileReader.read("file.txt") >> { Optional.of(new ByteArrayInputStream("content".bytes)) }
+
+        and:
+        content == "content"
+    }
+
+    def "mark / reset - skips to marked position"() {
+        given:
+        RepositoryFileReader repositoryFileReader = Mock()
+
+        when:
+        InputStream inputStream = RepositoryFileInputStream.open(repositoryFileReader, "file.txt").get()
+        inputStream.skip(3)
+        inputStream.mark(0)
+        inputStream.read()
+        inputStream.reset()
+        String content = inputStream.text
+
+        then:
+        2 * repositoryFileReader.read("file.txt") >> { Optional.of(new ByteArrayInputStream("content".bytes)) }
+
+        and:
+        content == "tent"
+    }
+
+    def "reset - file no longer found"() {
+        given:
+        RepositoryFileReader repositoryFileReader = Mock()
+        repositoryFileReader.read("file.txt") >>> [Optional.of(new ByteArrayInputStream("content".bytes)), Optional.empty()]
+        InputStream inputStream = RepositoryFileInputStream.open(repositoryFileReader, "file.txt").get()
+
+        when:
+        inputStream.mark(0)
+        inputStream.reset()
+
+        then:
+        thrown(IOException)
+    }
+
+}
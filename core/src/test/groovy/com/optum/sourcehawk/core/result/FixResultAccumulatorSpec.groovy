@@ -0,0 +1,61 @@
+package com.optum.sourcehawk.core.result
+
+import spock.lang.Specification
+
+class FixResultAccumulatorSpec extends Specification {
+
+    def "freeze - empty"() {
+        when:
+        FixResult fixResult = FixResultAccumulator.create().freeze()
+
+        then:
+        !fixResult.fixesApplied
+        !fixResult.noResolver
+        !fixResult.error
+        fixResult.fixCount == 0
+        fixResult.errorCount == 0
+        fixResult.messages.isEmpty()
+        fixResult.formattedMessages.isEmpty()
+    }
+
+    def "freeze - equivalent to reduce"() {
+        given:
+        Collection<FixResult> fixResults = [
+                fixResult("file.txt", "one", true, false),
+                null,
+                fixResult("file.txt", "two", false, true),
+                fixResult("other.txt", "three", true, false),
+                fixResult("file.txt", "one", true, false)
+        ]
+        FixResultAccumulator fixResultAccumulator = FixResultAccumulator.create()
+
+        when:
+        fixResults.each { fixResultAccumulator.accumulate(it) }
+        FixResult accumulated = fixResultAccumulator.freeze()
+        FixResult reduced = fixResults.inject(FixResult.builder().build(), FixResult.&reduce)
+
+        then:
+        accumulated.fixesApplied == reduced.fixesApplied
+        accumulated.noResolver == reduced.noResolver
+        accumulated.error == reduced.error
+        accumulated.fixCount == reduced.fixCount
+        accumulated.fixCount == 2
+        accumulated.errorCount == reduced.errorCount
+        accumulated.formattedMessages as Set == reduced.formattedMessages as Set
+        accumulated.messages.keySet() == reduced.messages.keySet()
+        accumulated.messages.every { key, value -> value as List == reduced.messages[key] as List }
+    }
+
+    private static FixResult fixResult(String repositoryPath, String message, boolean fixesApplied, boolean noResolver) {
+        FixResult.MessageDescriptor messageDescriptor = new FixResult.MessageDescriptor(repositoryPath, message)
+        return FixResult.builder()
+                .fixesApplied(fixesApplied)
+                .noResolver(noResolver)
+                .fixCount(fixesApplied ? 1 : 0)
+                .errorCount(noResolver ? 1 : 0)
+                .messages([(repositoryPath): [messageDescriptor]])
+                .formattedMessages([messageDescriptor.toString()])
+                .build()
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.optum.sourcehawk.core.result
+
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+class ScanResultAccumulatorSpec extends Specification {
+
+    def "freeze - empty"() {
+        when:
+        ScanResult scanResult = ScanResultAccumulator.create().freeze()
+
+        then:
+        scanResult.passed
+        scanResult.errorCount == 0
+        scanResult.warningCount == 0
+        scanResult.messages.isEmpty()
+        scanResult.formattedMessages.isEmpty()
+    }
+
+    def "freeze - equivalent to reduce"() {
+        given:
+        Collection<ScanResult> scanResults = [
+                ScanResult.passed(),
+                scanResult("file.txt", "ERROR", "one"),
+                scanResult("file.txt", "WARNING", "two"),
+                scanResult("other.txt", "ERROR", "three"),
+                scanResult("file.txt", "ERROR", "one")
+        ]
+        ScanResultAccumulator scanResultAccumulator = ScanResultAccumulator.create()
+
+        when:
+        scanResults.each { scanResultAccumulator.accumulate(it) }
+        ScanResult accumulated = scanResultAccumulator.freeze()
+        ScanResult reduced = scanResults.inject(ScanResult.passed(), ScanResult.&reduce)
+
+        then:
+        accumulated.passed == reduced.passed
+        !accumulated.passed
+        accumulated.errorCount == reduced.errorCount
+        accumulated.errorCount == 3
+        accumulated.warningCount == reduced.warningCount
+        accumulated.formattedMessages as Set == reduced.formattedMessages as Set
+        accumulated.messages.keySet() == reduced.messages.keySet()
+        accumulated.messages.every { key, value -> value as List == reduced.messages[key] as List }
+    }
+
+    def "accumulate - NPE"() {
+        when:
+        ScanResultAccumulator.create().accumulate(null)
+
+        then:
+        thrown(NullPointerException)
+    }
+
+    def "accumulate - concurrently"() {
+        given:
+        ScanResultAccumulator scanResultAccumulator = ScanResultAccumulator.create()
+        def executorService = Executors.newFixedThreadPool(8)
+
+        when:
+        executorService.invokeAll((1..1000).collect { int index ->
+            { -> scanResultAccumulator.accumulate(scanResult("file${index % 10}.txt", index % 2 ? "ERROR" : "WARNING", "message $index")) } as Callable
+        }).each { it.get() }
+        ScanResult accumulated = scanResultAccumulator.freeze()
+
+        then:
+        accumulated.errorCount == 500
+        accumulated.warningCount == 500
+        accumulated.formattedMessages.size() == 1000
+        accumulated.messages.size() == 10
+        accumulated.messages.values().sum { it.size() } == 1000
+
+        cleanup:
+        executorService.shutdownNow()
+    }
+
+    private static ScanResult scanResult(String repositoryPath, String severity, String message) {
+        ScanResult.MessageDescriptor messageDescriptor = new ScanResult.MessageDescriptor(severity, repositoryPath, message)
+        return ScanResult.builder()
+                .passed(severity != "ERROR")
+                .errorCount(severity == "ERROR" ? 1 : 0)
+                .warningCount(severity == "WARNING" ? 1 : 0)
+                .messages([(repositoryPath): [messageDescriptor]])
+                .formattedMessages([messageDescriptor.toString()])
+                .build()
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.optum.sourcehawk.core.utils
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+
+class ContentUtilsSpec extends Specification {
+
+    private static final String EMPTY_SHA256 = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855"
+    private static final String ABC_SHA256 = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad"
+
+    @TempDir
+    Path tempDir
+
+    def "private constructor"() {
+        expect:
+        new ContentUtils()
+    }
+
+    def "sha256Hex - bytes"() {
+        expect:
+        ContentUtils.sha256Hex(new byte[0]) == EMPTY_SHA256
+        ContentUtils.sha256Hex("abc".getBytes(StandardCharsets.UTF_8)) == ABC_SHA256
+    }
+
+    def "sha256Hex - buffer position unchanged"() {
+        given:
+        ByteBuffer buffer = ByteBuffer.wrap("xabc".getBytes(StandardCharsets.UTF_8))
+        buffer.position(1)
+
+        when:
+        String hex = ContentUtils.sha256Hex(buffer)
+
+        then:
+        hex == ABC_SHA256
+        buffer.position() == 1
+    }
+
+    def "toHex - leading zeros retained"() {
+        expect:
+        ContentUtils.toHex([0x00, 0x0f, 0xff] as byte[]) == "000fff"
+    }
+
+    def "consume"() {
+        given:
+        byte[] content = new byte[20000]
+        new Random(1).nextBytes(content)
+
+        expect:
+        ContentUtils.consume(new ByteArrayInputStream(content)) == content
+    }
+
+    def "writeAtomically - file created and replaced"() {
+        given:
+        Path path = tempDir.resolve("dir").resolve("file.bin")
+
+        when:
+        ContentUtils.writeAtomically(path, { outputStream -> outputStream.write("one".bytes) } as ContentUtils.ContentWriter)
+        ContentUtils.writeAtomically(path, { outputStream -> outputStream.write("two".bytes) } as ContentUtils.ContentWriter)
+
+        then:
+        new String(Files.readAllBytes(path)) == "two"
+        Files.list(path.getParent()).count() == 1
+    }
+
+    def "writeAtomically - failure leaves existing file and no temporary file"() {
+        given:
+        Path path = tempDir.resolve("file.bin")
+        Files.write(path, "existing".bytes)
+
+        when:
+        ContentUtils.writeAtomically(path, { outputStream ->
+            outputStream.write("partial".bytes)
+            throw new IOException("BOOM")
+        } as ContentUtils.ContentWriter)
+
+        then:
+        thrown(IOException)
+        new String(Files.readAllBytes(path)) == "existing"
+        Files.list(tempDir).count() == 1
+    }
+
+    def "sha256Hex - null"() {
+        when:
+        ContentUtils.sha256Hex((byte[]) null)
+
+        then:
+        thrown(NullPointerException)
+    }
+
+}
@@ -50,6 +50,21 @@ class FileUtilsSpec extends Specification {
         relativePath == "path/to/dir"
     }
 
+    def "listFiles"() {
+        when:
+        Collection<Path> paths = FileUtils.listFiles(testResourcesRoot.toAbsolutePath().toString())
+
+        then:
+        paths
+        paths.every { it.toFile().isFile() }
+        paths.any { it.endsWith("glob/nested/dir/Dockerfile") }
+    }
+
+    def "listFiles - blank root"() {
+        expect:
+        FileUtils.listFiles("").isEmpty()
+    }
+
     def "find - glob pattern (found - results)"() {
         when:
         Collection<Path> paths = FileUtils.find(testResourcesRoot.toAbsolutePath().toString(), "**/glob/*.md").collect()
@@ -115,6 +130,28 @@ class FileUtilsSpec extends Specification {
         !FileUtils.find(testResourcesRoot.toAbsolutePath().toString(), null).collect()
     }
 
+    @Unroll
+    def "anyMatch - #pathOrPattern"() {
+        expect:
+        FileUtils.anyMatch(testResourcesRoot.toAbsolutePath().toString(), pathOrPattern, ["README.md", "glob/nested/dir/Dockerfile", "glob/file3.md"]) == expected
+
+        where:
+        pathOrPattern      | expected
+        "**/glob/*.md"     | true
+        "**/Dockerfile"    | true
+        "glob/file3.md"    | true
+        "./README.md"      | true
+        "**/glob/*.txt"    | false
+        "glob/file.md"     | false
+    }
+
+    def "anyMatch - no paths or blank arguments"() {
+        expect:
+        !FileUtils.anyMatch(testResourcesRoot.toAbsolutePath().toString(), "**/*.md", [])
+        !FileUtils.anyMatch("", "**/*.md", ["README.md"])
+        !FileUtils.anyMatch(testResourcesRoot.toAbsolutePath().toString(), null, ["README.md"])
+    }
+
     def "isGlobPattern - true"() {
         expect:
         FileUtils.isGlobPattern("**/*.md")
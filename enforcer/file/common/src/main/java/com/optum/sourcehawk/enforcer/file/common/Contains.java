@@ -6,7 +6,6 @@ import com.optum.sourcehawk.enforcer.file.AbstractFileEnforcer;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.NonNull;
-import lombok.val;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -21,7 +20,7 @@ import java.io.InputStream;
 @AllArgsConstructor(staticName = "substring")
 public class Contains extends AbstractFileEnforcer {
 
-    private static final String MESSAGE_TEMPLATE = "File does not contain the sub string [%s]";
+    static final String MESSAGE_TEMPLATE = "File does not contain the sub string [%s]";
 
     /**
      * The substring that is expected to be found in the file
@@ -32,8 +31,7 @@ public class Contains extends AbstractFileEnforcer {
     /** {@inheritDoc} */
     @Override
     public EnforcerResult enforceInternal(@NonNull final InputStream actualFileInputStream) throws IOException {
-        val actualFileContent = toString(actualFileInputStream);
-        if (!actualFileContent.contains(expectedSubstring)) {
+        if (!contains(actualFileInputStream, expectedSubstring)) {
             return EnforcerResult.failed(String.format(MESSAGE_TEMPLATE, expectedSubstring));
         }
         return EnforcerResult.passed();
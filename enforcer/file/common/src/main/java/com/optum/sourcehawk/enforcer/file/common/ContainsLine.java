@@ -24,7 +24,7 @@ import java.io.InputStreamReader;
 @AllArgsConstructor(staticName = "contains")
 public class ContainsLine extends AbstractFileEnforcer {
 
-    private static final String MESSAGE_TEMPLATE = "File does not contain the line [%s]";
+    static final String MESSAGE_TEMPLATE = "File does not contain the line [%s]";
 
     /**
      * The line that is expected to be found in the file
@@ -30,7 +30,7 @@ import java.util.function.Predicate;
 @AllArgsConstructor(staticName = "containsAt")
 public class ContainsLineAt extends AbstractFileEnforcer implements FileResolver {
 
-    private static final String MESSAGE_TEMPLATE = "File does not contain the line [%s] at line number [%d]";
+    static final String MESSAGE_TEMPLATE = "File does not contain the line [%s] at line number [%d]";
     private static final String UPDATE_MESSAGE_TEMPLATE = "File line number [%d] has been updated to value [%s]";
 
     /**
@@ -24,7 +24,7 @@ import java.util.regex.Pattern;
 @AllArgsConstructor(staticName = "containsMatch")
 public class ContainsLineMatching extends AbstractFileEnforcer {
 
-    private static final String MESSAGE_TEMPLATE = "File does not contain line matching pattern [%s]";
+    static final String MESSAGE_TEMPLATE = "File does not contain line matching pattern [%s]";
 
     /**
      * The pattern for which a line should match in the file
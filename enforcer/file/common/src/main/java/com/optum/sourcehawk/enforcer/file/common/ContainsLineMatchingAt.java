@@ -21,7 +21,7 @@ import java.util.regex.Pattern;
 @AllArgsConstructor(staticName = "containsMatchAt")
 public class ContainsLineMatchingAt extends AbstractFileEnforcer {
 
-    private static final String MESSAGE_TEMPLATE = "File does not contain line matching pattern [%s] at line number [%d]";
+    static final String MESSAGE_TEMPLATE = "File does not contain line matching pattern [%s] at line number [%d]";
 
     /**
      * The pattern that the line is expected to match in the file
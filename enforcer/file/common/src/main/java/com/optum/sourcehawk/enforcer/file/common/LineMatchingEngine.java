@@ -0,0 +1,495 @@
+package com.optum.sourcehawk.enforcer.file.common;
+
+import com.optum.sourcehawk.core.utils.StringUtils;
+import com.optum.sourcehawk.enforcer.EnforcerResult;
+import com.optum.sourcehawk.enforcer.file.FileEnforcer;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * An engine which evaluates many line oriented enforcers aimed at the same file together, in a single pass over
+ * the file content, rather than each enforcer reading the whole file on its own.
+ * <p>
+ * The supported enforcers are {@link Contains}, {@link ContainsLine}, {@link ContainsLineAt},
+ * {@link ContainsLineMatching} and {@link ContainsLineMatchingAt}.  Substrings are searched for all at once with an
+ * Aho-Corasick automaton, entire lines are looked up by hash, and line patterns are pre-filtered with a single
+ * combined pattern where they can be safely combined.  Reading stops as soon as the outcome of every enforcer is
+ * decided.  Each enforcer produces exactly the same result as it would when enforced on its own.
+ *
+ * @author Brian Wyka
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class LineMatchingEngine {
+
+    /**
+     * The size of the buffer used when reading file content
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The message of every enforcer when the file content can not be read
+     */
+    private static final String ERROR_INPUT_STREAM = "Failed to read file with error [%s]";
+
+    /**
+     * Patterns which can not be safely wrapped within a combined pattern, such as those with back references, quoting,
+     * or comments, which may capture or consume beyond their own group
+     */
+    private static final Pattern NOT_COMBINABLE_PATTERN = Pattern.compile("\\\\[1-9]|\\\\k<|\\\\Q|\\(\\?[a-zA-Z-]*x");
+
+    /**
+     * The enforcers, in the order provided
+     */
+    private final List<FileEnforcer> fileEnforcers;
+
+    /**
+     * The automaton matching all expected substrings, null if there are none
+     */
+    private final SubstringAutomaton substringAutomaton;
+
+    /**
+     * The indexes of enforcers expecting an entire line, keyed by the line
+     */
+    private final Map<String, List<Integer>> expectedLines;
+
+    /**
+     * The indexes of enforcers expecting any line to match their pattern
+     */
+    private final List<Integer> expectedLinePatterns;
+
+    /**
+     * The pattern matching any line which could match one of the expected line patterns, null if not combinable
+     */
+    private final Pattern combinedLinePattern;
+
+    /**
+     * The indexes of enforcers expecting a specific line number, keyed by the line number
+     */
+    private final Map<Integer, List<Integer>> expectedLineNumbers;
+
+    /**
+     * The indexes of enforcers which pass no matter the content
+     */
+    private final List<Integer> alwaysPassed;
+
+    /**
+     * Determine whether or not the file enforcer can be evaluated by the engine
+     *
+     * @param fileEnforcer the file enforcer
+     * @return true if supported, false otherwise
+     */
+    public static boolean supports(final FileEnforcer fileEnforcer) {
+        if (fileEnforcer instanceof Contains) {
+            return ((Contains) fileEnforcer).expectedSubstring != null;
+        } else if (fileEnforcer instanceof ContainsLine) {
+            return ((ContainsLine) fileEnforcer).expectedLine != null;
+        } else if (fileEnforcer instanceof ContainsLineAt) {
+            return ((ContainsLineAt) fileEnforcer).expectedLine != null;
+        } else if (fileEnforcer instanceof ContainsLineMatching) {
+            return ((ContainsLineMatching) fileEnforcer).expectedLinePattern != null;
+        } else if (fileEnforcer instanceof ContainsLineMatchingAt) {
+            return ((ContainsLineMatchingAt) fileEnforcer).expectedLinePattern != null;
+        }
+        return false;
+    }
+
+    /**
+     * Compile the engine for the file enforcers
+     *
+     * @param fileEnforcers the file enforcers, each of which must be {@link #supports(FileEnforcer) supported}
+     * @return the line matching engine
+     */
+    public static LineMatchingEngine compile(@NonNull final List<? extends FileEnforcer> fileEnforcers) {
+        val expectedSubstrings = new HashMap<String, List<Integer>>();
+        val expectedLines = new HashMap<String, List<Integer>>();
+        val expectedLinePatterns = new ArrayList<Integer>();
+        val expectedLineNumbers = new HashMap<Integer, List<Integer>>();
+        val alwaysPassed = new ArrayList<Integer>();
+        for (int index = 0; index < fileEnforcers.size(); index++) {
+            val fileEnforcer = fileEnforcers.get(index);
+            if (!supports(fileEnforcer)) {
+                throw new IllegalArgumentException("File enforcer not supported by line matching engine: " + fileEnforcer);
+            }
+            if (fileEnforcer instanceof Contains) {
+                val expectedSubstring = ((Contains) fileEnforcer).expectedSubstring;
+                if (expectedSubstring.isEmpty()) {
+                    alwaysPassed.add(index);
+                } else {
+                    expectedSubstrings.computeIfAbsent(expectedSubstring, substring -> new ArrayList<>()).add(index);
+                }
+            } else if (fileEnforcer instanceof ContainsLine) {
+                val expectedLine = StringUtils.removeNewLines(((ContainsLine) fileEnforcer).expectedLine);
+                expectedLines.computeIfAbsent(expectedLine, line -> new ArrayList<>()).add(index);
+            } else if (fileEnforcer instanceof ContainsLineMatching) {
+                expectedLinePatterns.add(index);
+            } else {
+                val expectedLineNumber = fileEnforcer instanceof ContainsLineAt
+                        ? ((ContainsLineAt) fileEnforcer).expectedLineNumber : ((ContainsLineMatchingAt) fileEnforcer).expectedLineNumber;
+                expectedLineNumbers.computeIfAbsent(Math.max(1, expectedLineNumber), lineNumber -> new ArrayList<>()).add(index);
+            }
+        }
+        val substringAutomaton = expectedSubstrings.isEmpty() ? null : SubstringAutomaton.build(expectedSubstrings);
+        return new LineMatchingEngine(new ArrayList<>(fileEnforcers), substringAutomaton, expectedLines, expectedLinePatterns,
+                combineLinePatterns(fileEnforcers, expectedLinePatterns), expectedLineNumbers, alwaysPassed);
+    }
+
+    /**
+     * Enforce all the enforcers against the file content in a single pass.  If the content can not be read at all,
+     * every enforcer fails with the read error.
+     *
+     * @param actualFileInputStream the actual file input stream
+     * @return the enforcer results, in the same order as the enforcers the engine was compiled with
+     * @throws IOException if any error occurs reading the input stream
+     */
+    public List<EnforcerResult> enforce(@NonNull final InputStream actualFileInputStream) throws IOException {
+        try {
+            actualFileInputStream.available();
+        } catch (final IOException e) {
+            return new ArrayList<>(Collections.nCopies(fileEnforcers.size(), EnforcerResult.failed(String.format(ERROR_INPUT_STREAM, e))));
+        }
+        try (val reader = new InputStreamReader(actualFileInputStream, Charset.defaultCharset())) {
+            return new Evaluation().evaluate(reader);
+        }
+    }
+
+    /**
+     * Combine the expected line patterns into a single pattern which matches a line if any of them do, so that most
+     * lines can be rejected with a single match.  Patterns which can not be safely combined disable the combination.
+     *
+     * @param fileEnforcers the file enforcers
+     * @param expectedLinePatterns the indexes of the enforcers expecting any line to match their pattern
+     * @return the combined pattern, or null if there are fewer than two patterns or they can not be combined
+     */
+    private static Pattern combineLinePatterns(final List<? extends FileEnforcer> fileEnforcers, final List<Integer> expectedLinePatterns) {
+        if (expectedLinePatterns.size() < 2) {
+            return null;
+        }
+        val combinedLinePattern = new StringBuilder();
+        for (val index : expectedLinePatterns) {
+            val expectedLinePattern = ((ContainsLineMatching) fileEnforcers.get(index)).expectedLinePattern;
+            if (expectedLinePattern.flags() != 0 || NOT_COMBINABLE_PATTERN.matcher(expectedLinePattern.pattern()).find()) {
+                return null;
+            }
+            if (combinedLinePattern.length() > 0) {
+                combinedLinePattern.append('|');
+            }
+            combinedLinePattern.append("(?:").append(expectedLinePattern.pattern()).append(')');
+        }
+        try {
+            return Pattern.compile(combinedLinePattern.toString());
+        } catch (final PatternSyntaxException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The state of a single evaluation of the engine against file content
+     *
+     * @author Brian Wyka
+     */
+    private final class Evaluation {
+
+        /**
+         * Whether each enforcer has passed, failed, or is still undecided (null)
+         */
+        private final Boolean[] outcomes = new Boolean[fileEnforcers.size()];
+
+        /**
+         * The number of enforcers which are still undecided
+         */
+        private int undecided = fileEnforcers.size();
+
+        /**
+         * The number of substring matching enforcers which are still undecided
+         */
+        private int undecidedSubstrings;
+
+        /**
+         * The entire lines still expected
+         */
+        private final Map<String, List<Integer>> remainingExpectedLines = new HashMap<>(expectedLines);
+
+        /**
+         * The line pattern enforcers still undecided
+         */
+        private final Collection<Integer> remainingExpectedLinePatterns = new ArrayList<>(expectedLinePatterns);
+
+        /**
+         * The line number enforcers still undecided
+         */
+        private final Map<Integer, List<Integer>> remainingExpectedLineNumbers = new HashMap<>(expectedLineNumbers);
+
+        /**
+         * The current line
+         */
+        private final StringBuilder line = new StringBuilder();
+
+        /**
+         * The current line number
+         */
+        private int lineNumber;
+
+        /**
+         * Evaluate the enforcers against the content
+         *
+         * @param reader the content reader
+         * @return the enforcer results
+         * @throws IOException if any error occurs reading the content
+         */
+        private List<EnforcerResult> evaluate(final Reader reader) throws IOException {
+            alwaysPassed.forEach(index -> decide(index, true));
+            undecidedSubstrings = substringAutomaton == null ? 0 : substringAutomaton.size;
+            val buffer = new char[BUFFER_SIZE];
+            val lineOriented = undecided > undecidedSubstrings;
+            int substringState = 0;
+            boolean carriageReturn = false;
+            int charactersRead;
+            while (undecided > 0 && (charactersRead = reader.read(buffer)) != -1) {
+                for (int position = 0; position < charactersRead && undecided > 0; position++) {
+                    val character = buffer[position];
+                    if (undecidedSubstrings > 0) {
+                        substringState = substringAutomaton.next(substringState, character);
+                        for (val index : substringAutomaton.outputs[substringState]) {
+                            if (decide(index, true)) {
+                                undecidedSubstrings--;
+                            }
+                        }
+                    }
+                    if (lineOriented) {
+                        if (character == '\n' && carriageReturn) {
+                            carriageReturn = false;
+                        } else if (character == '\n' || character == '\r') {
+                            carriageReturn = character == '\r';
+                            evaluateLine(line.toString());
+                            line.setLength(0);
+                        } else {
+                            carriageReturn = false;
+                            line.append(character);
+                        }
+                    }
+                }
+            }
+            if (undecided > 0 && line.length() > 0) {
+                evaluateLine(line.toString());
+            }
+            for (val lineNumberIndexes : remainingExpectedLineNumbers.values()) {
+                for (val index : lineNumberIndexes) {
+                    decide(index, matchesLineAt(index, null));
+                }
+            }
+            for (int index = 0; index < outcomes.length; index++) {
+                if (outcomes[index] == null) {
+                    decide(index, false);
+                }
+            }
+            return toEnforcerResults();
+        }
+
+        /**
+         * Evaluate the line based enforcers against the next line
+         *
+         * @param actualLine the line
+         */
+        private void evaluateLine(final String actualLine) {
+            lineNumber++;
+            val expectedLineIndexes = remainingExpectedLines.remove(actualLine);
+            if (expectedLineIndexes != null) {
+                expectedLineIndexes.forEach(index -> decide(index, true));
+            }
+            if (!remainingExpectedLinePatterns.isEmpty() && (combinedLinePattern == null || combinedLinePattern.matcher(actualLine).matches())) {
+                val remainingExpectedLinePatternIterator = remainingExpectedLinePatterns.iterator();
+                while (remainingExpectedLinePatternIterator.hasNext()) {
+                    val index = remainingExpectedLinePatternIterator.next();
+                    if (((ContainsLineMatching) fileEnforcers.get(index)).expectedLinePattern.matcher(actualLine).matches()) {
+                        decide(index, true);
+                        remainingExpectedLinePatternIterator.remove();
+                    }
+                }
+            }
+            val lineNumberIndexes = remainingExpectedLineNumbers.remove(lineNumber);
+            if (lineNumberIndexes != null) {
+                lineNumberIndexes.forEach(index -> decide(index, matchesLineAt(index, actualLine)));
+            }
+        }
+
+        /**
+         * Determine whether or not the line matches the expectation of the line number enforcer
+         *
+         * @param index the index of the line number enforcer
+         * @param actualLine the actual line, null if the file has fewer lines
+         * @return true if matched, false otherwise
+         */
+        private boolean matchesLineAt(final int index, final String actualLine) {
+            val fileEnforcer = fileEnforcers.get(index);
+            if (fileEnforcer instanceof ContainsLineAt) {
+                return StringUtils.equals(StringUtils.removeNewLines(((ContainsLineAt) fileEnforcer).expectedLine), actualLine);
+            }
+            return actualLine != null && ((ContainsLineMatchingAt) fileEnforcer).expectedLinePattern.matcher(actualLine).matches();
+        }
+
+        /**
+         * Decide the outcome of the enforcer, if not already decided
+         *
+         * @param index the index of the enforcer
+         * @param passed whether or not the enforcer passed
+         * @return true if newly decided, false if already decided
+         */
+        private boolean decide(final int index, final boolean passed) {
+            if (outcomes[index] != null) {
+                return false;
+            }
+            outcomes[index] = passed;
+            undecided--;
+            return true;
+        }
+
+        /**
+         * Convert the outcomes to enforcer results
+         *
+         * @return the enforcer results
+         */
+        private List<EnforcerResult> toEnforcerResults() {
+            val enforcerResults = new ArrayList<EnforcerResult>(outcomes.length);
+            for (int index = 0; index < outcomes.length; index++) {
+                enforcerResults.add(outcomes[index] ? EnforcerResult.passed() : failed(fileEnforcers.get(index)));
+            }
+            return enforcerResults;
+        }
+
+    }
+
+    /**
+     * Create the failed result of the enforcer, with the same message as the enforcer would produce on its own
+     *
+     * @param fileEnforcer the file enforcer
+     * @return the failed enforcer result
+     */
+    private static EnforcerResult failed(final FileEnforcer fileEnforcer) {
+        if (fileEnforcer instanceof Contains) {
+            return EnforcerResult.failed(String.format(Contains.MESSAGE_TEMPLATE, ((Contains) fileEnforcer).expectedSubstring));
+        } else if (fileEnforcer instanceof ContainsLine) {
+            return EnforcerResult.failed(String.format(ContainsLine.MESSAGE_TEMPLATE, ((ContainsLine) fileEnforcer).expectedLine));
+        } else if (fileEnforcer instanceof ContainsLineAt) {
+            val containsLineAt = (ContainsLineAt) fileEnforcer;
+            return EnforcerResult.failed(String.format(ContainsLineAt.MESSAGE_TEMPLATE, containsLineAt.expectedLine, containsLineAt.expectedLineNumber));
+        } else if (fileEnforcer instanceof ContainsLineMatching) {
+            return EnforcerResult.failed(String.format(ContainsLineMatching.MESSAGE_TEMPLATE, ((ContainsLineMatching) fileEnforcer).expectedLinePattern.pattern()));
+        }
+        val containsLineMatchingAt = (ContainsLineMatchingAt) fileEnforcer;
+        return EnforcerResult.failed(String.format(ContainsLineMatchingAt.MESSAGE_TEMPLATE,
+                containsLineMatchingAt.expectedLinePattern.pattern(), containsLineMatchingAt.expectedLineNumber));
+    }
+
+    /**
+     * An Aho-Corasick automaton which finds all of the expected substrings in a single pass over the content
+     *
+     * @author Brian Wyka
+     */
+    private static final class SubstringAutomaton {
+
+        /**
+         * The transitions of each state, keyed by character
+         */
+        private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+
+        /**
+         * The failure state of each state, the state of the longest proper suffix which is also a prefix
+         */
+        private int[] failures;
+
+        /**
+         * The indexes of enforcers whose substring ends at each state, including those reachable by failure
+         */
+        private int[][] outputs;
+
+        /**
+         * The number of enforcers expecting a substring
+         */
+        private int size;
+
+        /**
+         * Build the automaton for the expected substrings
+         *
+         * @param expectedSubstrings the indexes of enforcers, keyed by expected substring
+         * @return the substring automaton
+         */
+        private static SubstringAutomaton build(final Map<String, List<Integer>> expectedSubstrings) {
+            val substringAutomaton = new SubstringAutomaton();
+            val transitions = substringAutomaton.transitions;
+            transitions.add(new HashMap<>());
+            val stateOutputs = new ArrayList<List<Integer>>();
+            stateOutputs.add(new ArrayList<>());
+            for (val expectedSubstring : expectedSubstrings.entrySet()) {
+                int state = 0;
+                for (val character : expectedSubstring.getKey().toCharArray()) {
+                    Integer nextState = transitions.get(state).get(character);
+                    if (nextState == null) {
+                        nextState = transitions.size();
+                        transitions.get(state).put(character, nextState);
+                        transitions.add(new HashMap<>());
+                        stateOutputs.add(new ArrayList<>());
+                    }
+                    state = nextState;
+                }
+                stateOutputs.get(state).addAll(expectedSubstring.getValue());
+                substringAutomaton.size += expectedSubstring.getValue().size();
+            }
+            val failures = new int[transitions.size()];
+            val queue = new ArrayDeque<Integer>(transitions.get(0).values());
+            while (!queue.isEmpty()) {
+                val state = queue.poll();
+                for (val transition : transitions.get(state).entrySet()) {
+                    val nextState = transition.getValue();
+                    int failure = failures[state];
+                    while (failure > 0 && !transitions.get(failure).containsKey(transition.getKey())) {
+                        failure = failures[failure];
+                    }
+                    val failureNextState = transitions.get(failure).get(transition.getKey());
+                    failures[nextState] = state != 0 && failureNextState != null ? failureNextState : 0;
+                    stateOutputs.get(nextState).addAll(stateOutputs.get(failures[nextState]));
+                    queue.add(nextState);
+                }
+            }
+            substringAutomaton.failures = failures;
+            substringAutomaton.outputs = stateOutputs.stream()
+                    .map(indexes -> indexes.stream().mapToInt(Integer::intValue).toArray())
+                    .toArray(int[][]::new);
+            return substringAutomaton;
+        }
+
+        /**
+         * Advance the automaton by the character
+         *
+         * @param state the current state
+         * @param character the character
+         * @return the next state
+         */
+        private int next(final int state, final char character) {
+            int currentState = state;
+            Integer nextState;
+            while ((nextState = transitions.get(currentState).get(character)) == null && currentState != 0) {
+                currentState = failures[currentState];
+            }
+            return nextState == null ? 0 : nextState;
+        }
+
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.optum.sourcehawk.enforcer.file.common;
 
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.optum.sourcehawk.core.utils.ContentUtils;
 import com.optum.sourcehawk.enforcer.EnforcerResult;
 import com.optum.sourcehawk.enforcer.file.AbstractFileEnforcer;
 import lombok.AllArgsConstructor;
@@ -10,9 +11,6 @@ import lombok.val;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 
 /**
  * An enforcer which is responsible for enforcing that SHA-256 checksum of a file's contents match
@@ -24,7 +22,6 @@ import java.security.NoSuchAlgorithmException;
 @AllArgsConstructor(staticName = "equals")
 public class Sha256ChecksumEquals extends AbstractFileEnforcer {
 
-    private static final String ALGORITHM = "SHA-256";
     private static final String DEFAULT_MESSAGE = "The SHA-256 checksum of the file does not match";
 
     /**
@@ -35,31 +32,11 @@ public class Sha256ChecksumEquals extends AbstractFileEnforcer {
     /** {@inheritDoc} */
     @Override
     public EnforcerResult enforceInternal(@NonNull final InputStream actualFileInputStream) throws IOException {
-        val actualChecksum = checksum(actualFileInputStream);
+        val actualChecksum = ContentUtils.toHex(digest(actualFileInputStream, ContentUtils.sha256()));
         if (expectedChecksum.equals(actualChecksum)) {
             return EnforcerResult.passed();
         }
         return EnforcerResult.failed(DEFAULT_MESSAGE);
     }
 
-    private static String checksum(final InputStream inputStream) throws IOException {
-        final MessageDigest digest;
-        try {
-            digest = MessageDigest.getInstance(ALGORITHM);
-        } catch (final NoSuchAlgorithmException e) {
-            throw new IOException(e);
-        }
-        val fileContents = toString(inputStream);
-        val encodedHashBytes = digest.digest(fileContents.getBytes(StandardCharsets.UTF_8));
-        val hexStringBuilder = new StringBuilder();
-        for (val encodedHashByte : encodedHashBytes) {
-            val hex = Integer.toHexString(0xff & encodedHashByte);
-            if (hex.length() == 1) {
-                hexStringBuilder.append('0');
-            }
-            hexStringBuilder.append(hex);
-        }
-        return hexStringBuilder.toString();
-    }
-
 }
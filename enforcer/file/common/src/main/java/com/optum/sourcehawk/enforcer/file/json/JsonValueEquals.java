@@ -23,6 +23,8 @@ import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -39,6 +41,7 @@ import java.util.stream.Collectors;
 public class JsonValueEquals extends AbstractFileEnforcer implements FileResolver {
 
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     private static final String READ_ERROR_TEMPLATE = "Reading or parsing file resulted in error [%s]";
     private static final String QUERY_ERROR_TEMPLATE = "Execution of pointer expression [%s] yielded error [%s]";
     private static final String MISSING_MESSAGE_TEMPLATE = "Execution of pointer expression [%s] yielded no result";
@@ -64,15 +67,40 @@ public class JsonValueEquals extends AbstractFileEnforcer implements FileResolve
         return JsonValueEquals.equals(Collections.singletonMap(jsonPointerExpression, expectedValue));
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The pointers are evaluated while streaming the file, so the tree of the whole file is never built
+     */
     @Override
     public EnforcerResult enforceInternal(@NonNull final InputStream actualFileInputStream) {
-        final JsonNode jsonNode;
+        val messages = new HashSet<String>();
+        val jsonPointers = new HashMap<String, JsonPointer>();
+        for (val jsonPointerExpression : expectations.keySet()) {
+            try {
+                jsonPointers.put(jsonPointerExpression, JsonPointer.compile(jsonPointerExpression));
+            } catch (final Exception e) {
+                messages.add(String.format(QUERY_ERROR_TEMPLATE, jsonPointerExpression, e.getMessage()));
+            }
+        }
+        final Map<String, JsonNode> actualJsonNodes;
         try {
-            jsonNode = OBJECT_MAPPER.readTree(actualFileInputStream);
+            actualJsonNodes = StreamingJsonPointerEvaluator.evaluate(OBJECT_MAPPER, actualFileInputStream, jsonPointers);
         } catch (final IOException e) {
             return EnforcerResult.failed(String.format(READ_ERROR_TEMPLATE, e.getMessage()));
         }
+        actualJsonNodes.forEach((jsonPointerExpression, actualJsonNode) -> compare(actualJsonNode, jsonPointerExpression, expectations.get(jsonPointerExpression))
+                .ifPresent(messages::add));
+        return EnforcerResult.create(messages);
+    }
+
+    /**
+     * Enforce the expectations on an already parsed JSON tree
+     *
+     * @param jsonNode the root JSON node
+     * @return the enforcer result
+     */
+    public EnforcerResult enforceTree(@NonNull final JsonNode jsonNode) {
         val messages = expectations.entrySet()
                 .stream()
                 .map(entry -> enforce(jsonNode, entry.getKey(), entry.getValue()))
@@ -92,7 +120,22 @@ public class JsonValueEquals extends AbstractFileEnforcer implements FileResolve
      */
     private static Optional<String> enforce(final JsonNode jsonNode, final String jsonPointerExpression, final Object expectedValue) {
         try {
-            val actualJsonNode = jsonNode.at(JsonPointer.compile(jsonPointerExpression));
+            return compare(jsonNode.at(JsonPointer.compile(jsonPointerExpression)), jsonPointerExpression, expectedValue);
+        } catch (final Exception e) {
+            return Optional.of(String.format(QUERY_ERROR_TEMPLATE, jsonPointerExpression, e.getMessage()));
+        }
+    }
+
+    /**
+     * Compare the node a json pointer expression resolved to with the expected value
+     *
+     * @param actualJsonNode the node the JSON pointer expression resolved to
+     * @param jsonPointerExpression the JSON pointer expression
+     * @param expectedValue the expected value
+     * @return The message to be added, otherwise {@link Optional#empty()}
+     */
+    private static Optional<String> compare(final JsonNode actualJsonNode, final String jsonPointerExpression, final Object expectedValue) {
+        try {
             if (actualJsonNode == null || actualJsonNode.isMissingNode()) {
                 return Optional.of(String.format(MISSING_MESSAGE_TEMPLATE, jsonPointerExpression));
             }
@@ -114,15 +157,25 @@ public class JsonValueEquals extends AbstractFileEnforcer implements FileResolve
         } catch (final IOException e) {
             return ResolverResult.error(String.format(READ_ERROR_TEMPLATE, e.getMessage()));
         }
-        val resolverResult = expectations.entrySet().stream()
-                .map(entry -> resolve(rootJsonNode, entry.getKey(), entry.getValue()))
-                .reduce(ResolverResult.builder().error(true).build(), ResolverResult::reduce);
+        val resolverResult = resolveTree(rootJsonNode);
         if (resolverResult.isUpdatesApplied()) {
             outputFileWriter.write(rootJsonNode.toPrettyString());
         }
         return resolverResult;
     }
 
+    /**
+     * Resolve the expectations on a JSON tree, updating the tree in place
+     *
+     * @param rootJsonNode the root JSON node, which must not be shared
+     * @return the resolver result
+     */
+    public ResolverResult resolveTree(@NonNull final JsonNode rootJsonNode) {
+        return expectations.entrySet().stream()
+                .map(entry -> resolve(rootJsonNode, entry.getKey(), entry.getValue()))
+                .reduce(ResolverResult.builder().error(true).build(), ResolverResult::reduce);
+    }
+
     /**
      * Resolve an individual json path query with the expected value
      *
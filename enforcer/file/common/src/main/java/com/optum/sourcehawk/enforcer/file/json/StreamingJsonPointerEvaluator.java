@@ -0,0 +1,174 @@
+package com.optum.sourcehawk.enforcer.file.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates JSON pointers in a single pass over the tokens of a JSON document, without building the tree of the whole
+ * document.  Only the values the pointers resolve to are materialized, and the tokens of every other value are
+ * skipped.  Reading stops as soon as every pointer has been resolved, or found to be missing.
+ * <p>
+ * Each pointer resolves to the same node {@link JsonNode#at(JsonPointer)} would resolve it to on the tree, except
+ * when an object declares the same field more than once, in which case the first declaration is used rather than the
+ * last one.
+ *
+ * @author Brian Wyka
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class StreamingJsonPointerEvaluator {
+
+    /**
+     * The parser of the document
+     */
+    private final JsonParser jsonParser;
+
+    /**
+     * The mapper which materializes resolved values
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The resolved value of each pointer, keyed by expression
+     */
+    private final Map<String, JsonNode> values = new HashMap<>();
+
+    /**
+     * Evaluate the pointers against the JSON document
+     *
+     * @param objectMapper the object mapper to read the document with
+     * @param jsonInputStream the JSON input stream
+     * @param jsonPointers the JSON pointers, keyed by expression
+     * @return the node each pointer resolves to, keyed by expression, a {@link MissingNode} if it does not resolve
+     * @throws IOException if any error occurs reading or parsing the JSON
+     */
+    static Map<String, JsonNode> evaluate(final ObjectMapper objectMapper, final InputStream jsonInputStream,
+            final Map<String, JsonPointer> jsonPointers) throws IOException {
+        try (val jsonParser = objectMapper.getFactory().createParser(jsonInputStream)) {
+            val evaluator = new StreamingJsonPointerEvaluator(jsonParser, objectMapper);
+            if (!jsonPointers.isEmpty() && jsonParser.nextToken() != null) {
+                evaluator.evaluateValue(new ArrayList<>(jsonPointers.entrySet()), jsonPointers.size());
+            }
+            jsonPointers.keySet().forEach(expression -> evaluator.values.putIfAbsent(expression, MissingNode.getInstance()));
+            return evaluator.values;
+        }
+    }
+
+    /**
+     * Evaluate the pointers, relative to the value at the current token
+     *
+     * @param jsonPointers the pointers relative to the current value, keyed by expression
+     * @param undecided the number of pointers of the whole document which are not yet resolved
+     * @return the number of pointers which remain unresolved, once this value has been evaluated
+     * @throws IOException if any error occurs reading or parsing the JSON
+     */
+    private int evaluateValue(final List<Map.Entry<String, JsonPointer>> jsonPointers, final int undecided) throws IOException {
+        if (jsonPointers.stream().anyMatch(entry -> entry.getValue().matches())) {
+            return materializeValue(jsonPointers, undecided);
+        }
+        int remaining = undecided;
+        val token = jsonParser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            while (remaining > 0 && jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+                val fieldName = jsonParser.getCurrentName();
+                jsonParser.nextToken();
+                val matching = extractMatching(jsonPointers, jsonPointer -> jsonPointer.matchesProperty(fieldName));
+                if (matching.isEmpty()) {
+                    jsonParser.skipChildren();
+                } else {
+                    remaining = evaluateValue(matching, remaining);
+                }
+            }
+        } else if (token == JsonToken.START_ARRAY) {
+            int index = 0;
+            while (remaining > 0 && jsonParser.nextToken() != JsonToken.END_ARRAY) {
+                val elementIndex = index++;
+                val matching = extractMatching(jsonPointers, jsonPointer -> jsonPointer.matchesElement(elementIndex));
+                if (matching.isEmpty()) {
+                    jsonParser.skipChildren();
+                } else {
+                    remaining = evaluateValue(matching, remaining);
+                }
+            }
+        }
+        for (val entry : jsonPointers) { // Any left here do not resolve within this value
+            values.put(entry.getKey(), MissingNode.getInstance());
+        }
+        return remaining - jsonPointers.size();
+    }
+
+    /**
+     * Materialize the value at the current token, and resolve the pointers against it
+     *
+     * @param jsonPointers the pointers relative to the current value, keyed by expression
+     * @param undecided the number of pointers of the whole document which are not yet resolved
+     * @return the number of pointers which remain unresolved
+     * @throws IOException if any error occurs reading or parsing the JSON
+     */
+    private int materializeValue(final List<Map.Entry<String, JsonPointer>> jsonPointers, final int undecided) throws IOException {
+        final JsonNode jsonNode;
+        if (jsonParser.currentToken() == JsonToken.VALUE_NULL) {
+            jsonNode = NullNode.getInstance();
+        } else {
+            jsonNode = objectMapper.readTree(jsonParser);
+        }
+        for (val entry : jsonPointers) {
+            values.put(entry.getKey(), jsonNode.at(entry.getValue()));
+        }
+        return undecided - jsonPointers.size();
+    }
+
+    /**
+     * Remove the pointers which match the next segment, returning them relative to that segment.  Once a segment has
+     * been evaluated its pointers are decided, so later declarations of the same field are ignored.
+     *
+     * @param jsonPointers the pointers relative to the current value, keyed by expression
+     * @param matcher whether or not the pointer matches the next segment
+     * @return the matching pointers, relative to the next segment
+     */
+    private static List<Map.Entry<String, JsonPointer>> extractMatching(final List<Map.Entry<String, JsonPointer>> jsonPointers,
+            final SegmentMatcher matcher) {
+        val matching = new ArrayList<Map.Entry<String, JsonPointer>>();
+        val iterator = jsonPointers.iterator();
+        while (iterator.hasNext()) {
+            val entry = iterator.next();
+            if (matcher.matches(entry.getValue())) {
+                matching.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue().tail()));
+                iterator.remove();
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Matches the next segment of a pointer
+     */
+    @FunctionalInterface
+    private interface SegmentMatcher {
+
+        /**
+         * Determine whether or not the next segment of the pointer matches
+         *
+         * @param jsonPointer the pointer
+         * @return true if the segment matches, false otherwise
+         */
+        boolean matches(JsonPointer jsonPointer);
+
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.optum.sourcehawk.enforcer.file.xml;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * A simple absolute XPath query, a path of unprefixed element names from the document root optionally followed by
+ * {@code text()} or an unprefixed attribute, such as {@code /project/parent/version/text()} or
+ * {@code /bicycles/bicycle/@id}.  Simple queries can be evaluated while streaming the document, see
+ * {@link StreamingXPathEvaluator}.
+ *
+ * @author Brian Wyka
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+class SimpleXPath {
+
+    private static final String NAME = "[A-Za-z_][A-Za-z0-9_.\\-]*";
+    private static final Pattern SIMPLE_XPATH_PATTERN = Pattern.compile("(?:/" + NAME + ")+(?:/text\\(\\)|/@" + NAME + ")?");
+    private static final String TEXT_STEP = "text()";
+    private static final String ATTRIBUTE_PREFIX = "@";
+    private static final String XMLNS = "xmlns";
+
+    /**
+     * The names of the elements from the document root
+     */
+    List<String> elementNames;
+
+    /**
+     * What the query selects from the last element
+     */
+    Target target;
+
+    /**
+     * The name of the selected attribute, when the target is {@link Target#ATTRIBUTE}
+     */
+    String attributeName;
+
+    /**
+     * Parse the XPath query if it is simple
+     *
+     * @param xPathQuery the XPath query
+     * @return the simple XPath if the query is simple, otherwise {@link Optional#empty()}
+     */
+    static Optional<SimpleXPath> parse(final String xPathQuery) {
+        if (xPathQuery == null || !SIMPLE_XPATH_PATTERN.matcher(xPathQuery).matches()) {
+            return Optional.empty();
+        }
+        val steps = xPathQuery.substring(1).split("/");
+        val lastStep = steps[steps.length - 1];
+        if (lastStep.equals(TEXT_STEP)) {
+            return Optional.of(new SimpleXPath(elementNames(steps, steps.length - 1), Target.TEXT, null));
+        }
+        if (lastStep.startsWith(ATTRIBUTE_PREFIX)) {
+            val attributeName = lastStep.substring(ATTRIBUTE_PREFIX.length());
+            if (attributeName.equals(XMLNS)) {
+                return Optional.empty();
+            }
+            return Optional.of(new SimpleXPath(elementNames(steps, steps.length - 1), Target.ATTRIBUTE, attributeName));
+        }
+        return Optional.of(new SimpleXPath(elementNames(steps, steps.length), Target.ELEMENT, null));
+    }
+
+    /**
+     * Determine whether or not the path of the current element is the element path of this query
+     *
+     * @param elementPath the names of the elements from the document root to the current element
+     * @return true if the paths are equal, false otherwise
+     */
+    boolean matches(final List<String> elementPath) {
+        return elementNames.equals(elementPath);
+    }
+
+    /**
+     * Collect the leading element names of the steps
+     *
+     * @param steps the steps of the query
+     * @param count the number of element steps
+     * @return the element names
+     */
+    private static List<String> elementNames(final String[] steps, final int count) {
+        val elementNames = new ArrayList<String>(count);
+        for (int index = 0; index < count; index++) {
+            elementNames.add(steps[index]);
+        }
+        return Collections.unmodifiableList(elementNames);
+    }
+
+    /**
+     * What a simple XPath query selects from the last element of its path
+     */
+    enum Target {
+
+        /**
+         * The element itself, which has no value
+         */
+        ELEMENT,
+
+        /**
+         * The first text node of the element
+         */
+        TEXT,
+
+        /**
+         * An attribute of the element
+         */
+        ATTRIBUTE
+
+    }
+
+}
@@ -0,0 +1,215 @@
+package com.optum.sourcehawk.enforcer.file.xml;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.val;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Evaluates {@link SimpleXPath} queries in a single streaming pass over the document with StAX, so that no DOM has to
+ * be built.  The values are exactly those which evaluating the queries against the DOM would yield.  Whenever that
+ * cannot be guaranteed, such as when the document declares a DTD, contains CDATA sections or prefixed elements, or is
+ * not well formed, no values are produced so the caller can evaluate the queries against the DOM instead.
+ *
+ * @author Brian Wyka
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class StreamingXPathEvaluator {
+
+    private static final String REPORT_CDATA_EVENT_PROPERTY = "http://java.sun.com/xml/stream/properties/report-cdata-event";
+
+    /**
+     * The input factory, confined to each thread as factories are not guaranteed to be thread safe
+     */
+    private static final ThreadLocal<XMLInputFactory> XML_INPUT_FACTORY = ThreadLocal.withInitial(StreamingXPathEvaluator::createXmlInputFactory);
+
+    /**
+     * Evaluate the queries against the document
+     *
+     * @param xmlInputStream the XML input stream
+     * @param simpleXPaths the simple XPath queries, keyed by query
+     * @return the value of each query, null if the query yields no value, or {@link Optional#empty()} if the document
+     *         must be evaluated as a DOM instead
+     */
+    static Optional<Map<String, String>> evaluate(final InputStream xmlInputStream, final Map<String, SimpleXPath> simpleXPaths) {
+        try {
+            val xmlStreamReader = XML_INPUT_FACTORY.get().createXMLStreamReader(xmlInputStream);
+            try {
+                return evaluate(xmlStreamReader, simpleXPaths);
+            } finally {
+                xmlStreamReader.close();
+            }
+        } catch (final XMLStreamException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Evaluate the queries while reading the entire document, so that it is checked to be well formed just as it would
+     * be when parsed into a DOM
+     *
+     * @param xmlStreamReader the XML stream reader
+     * @param simpleXPaths the simple XPath queries, keyed by query
+     * @return the value of each query, or {@link Optional#empty()} if the document must be evaluated as a DOM instead
+     * @throws XMLStreamException if the document is not well formed
+     */
+    private static Optional<Map<String, String>> evaluate(final XMLStreamReader xmlStreamReader, final Map<String, SimpleXPath> simpleXPaths) throws XMLStreamException {
+        val values = new HashMap<String, String>();
+        val pending = new HashMap<String, SimpleXPath>();
+        simpleXPaths.forEach((query, simpleXPath) -> {
+            if (simpleXPath.getTarget() == SimpleXPath.Target.ELEMENT) {
+                values.put(query, null); // Elements have no node value
+            } else {
+                pending.put(query, simpleXPath);
+            }
+        });
+        val elementPath = new ArrayList<String>();
+        val text = new StringBuilder();
+        boolean collectingText = false;
+        while (xmlStreamReader.hasNext()) {
+            val event = xmlStreamReader.next();
+            if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.SPACE) {
+                if (collectingText) {
+                    text.append(xmlStreamReader.getTextCharacters(), xmlStreamReader.getTextStart(), xmlStreamReader.getTextLength());
+                }
+                continue;
+            }
+            if (text.length() > 0) { // Any other event ends the text node
+                resolveText(pending, values, elementPath, text.toString());
+                text.setLength(0);
+            }
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    if (!isEmpty(xmlStreamReader.getPrefix())) {
+                        return Optional.empty();
+                    }
+                    elementPath.add(xmlStreamReader.getLocalName());
+                    if (!resolveAttributes(xmlStreamReader, pending, values, elementPath)) {
+                        return Optional.empty();
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    elementPath.remove(elementPath.size() - 1);
+                    break;
+                case XMLStreamConstants.DTD:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.ENTITY_REFERENCE:
+                    return Optional.empty();
+                default:
+                    break;
+            }
+            collectingText = isTextSelected(pending, elementPath);
+        }
+        pending.keySet().forEach(query -> values.put(query, null));
+        return Optional.of(values);
+    }
+
+    /**
+     * Resolve the pending text queries which select the text node just read
+     *
+     * @param pending the pending queries
+     * @param values the values of the resolved queries
+     * @param elementPath the path of the element containing the text node
+     * @param text the text node
+     */
+    private static void resolveText(final Map<String, SimpleXPath> pending, final Map<String, String> values, final List<String> elementPath,
+            final String text) {
+        pending.entrySet().removeIf(entry -> {
+            if (entry.getValue().getTarget() == SimpleXPath.Target.TEXT && entry.getValue().matches(elementPath)) {
+                values.put(entry.getKey(), text);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Resolve the pending attribute queries which select an attribute of the element just started
+     *
+     * @param xmlStreamReader the XML stream reader, positioned at the start of the element
+     * @param pending the pending queries
+     * @param values the values of the resolved queries
+     * @param elementPath the path of the element
+     * @return true if the attributes could be resolved, false if the document must be evaluated as a DOM instead
+     */
+    private static boolean resolveAttributes(final XMLStreamReader xmlStreamReader, final Map<String, SimpleXPath> pending,
+            final Map<String, String> values, final List<String> elementPath) {
+        val attributeQueries = new HashMap<String, SimpleXPath>();
+        pending.forEach((query, simpleXPath) -> {
+            if (simpleXPath.getTarget() == SimpleXPath.Target.ATTRIBUTE && simpleXPath.matches(elementPath)) {
+                attributeQueries.put(query, simpleXPath);
+            }
+        });
+        if (attributeQueries.isEmpty()) {
+            return true;
+        }
+        val attributeValues = new HashMap<String, String>();
+        for (int index = 0; index < xmlStreamReader.getAttributeCount(); index++) {
+            if (!isEmpty(xmlStreamReader.getAttributePrefix(index))) {
+                return false;
+            }
+            attributeValues.put(xmlStreamReader.getAttributeLocalName(index), xmlStreamReader.getAttributeValue(index));
+        }
+        attributeQueries.forEach((query, simpleXPath) -> {
+            if (attributeValues.containsKey(simpleXPath.getAttributeName())) {
+                values.put(query, attributeValues.get(simpleXPath.getAttributeName()));
+                pending.remove(query);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Determine whether or not any of the pending queries select the text nodes of the element
+     *
+     * @param pending the pending queries
+     * @param elementPath the path of the element
+     * @return true if text nodes of the element are selected, false otherwise
+     */
+    private static boolean isTextSelected(final Map<String, SimpleXPath> pending, final List<String> elementPath) {
+        for (val simpleXPath : pending.values()) {
+            if (simpleXPath.getTarget() == SimpleXPath.Target.TEXT && simpleXPath.matches(elementPath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determine whether or not the prefix is empty
+     *
+     * @param prefix the prefix, which may be null
+     * @return true if there is no prefix, false otherwise
+     */
+    private static boolean isEmpty(final String prefix) {
+        return prefix == null || prefix.isEmpty();
+    }
+
+    /**
+     * Create the input factory, which neither resolves external entities nor processes DTDs, and reports CDATA
+     * sections as such
+     *
+     * @return the input factory
+     */
+    private static XMLInputFactory createXmlInputFactory() {
+        val xmlInputFactory = XMLInputFactory.newInstance();
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        if (xmlInputFactory.isPropertySupported(REPORT_CDATA_EVENT_PROPERTY)) { // Otherwise reported as characters
+            xmlInputFactory.setProperty(REPORT_CDATA_EVENT_PROPERTY, true);
+        }
+        return xmlInputFactory;
+    }
+
+}
@@ -3,23 +3,33 @@ package com.optum.sourcehawk.enforcer.file.xml;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.optum.sourcehawk.enforcer.EnforcerResult;
 import com.optum.sourcehawk.enforcer.file.AbstractFileEnforcer;
+import com.optum.sourcehawk.enforcer.file.ParsedDocuments;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.NonNull;
 import lombok.val;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
 
 import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -39,6 +49,31 @@ public class XPathEquals extends AbstractFileEnforcer {
     private static final String MISSING_MESSAGE_TEMPLATE = "Execution of query [%s] yielded no result";
     private static final String NOT_EQUAL_MESSAGE_TEMPLATE = "Execution of query [%s] yielded result [%s] which is not equal to [%s]";
 
+    /**
+     * The XML document format, shared by all enforcers which evaluate the file as XML
+     */
+    static final ParsedDocuments.Format<Document> XML_DOCUMENT = ParsedDocuments.Format.of("xml", XPathEquals::parseDocument);
+
+    /**
+     * The simple form of each XPath query, if it has one
+     */
+    private static final Map<String, Optional<SimpleXPath>> SIMPLE_XPATHS = new ConcurrentHashMap<>();
+
+    /**
+     * The document builder of each thread, document builders are not thread safe but can be reused
+     */
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER = new ThreadLocal<>();
+
+    /**
+     * The XPath of each thread, XPath objects are not thread safe but can be reused
+     */
+    private static final ThreadLocal<XPath> XPATH = ThreadLocal.withInitial(() -> XPathFactory.newInstance().newXPath());
+
+    /**
+     * The compiled expressions of each thread, keyed by query, compiled expressions are not thread safe either
+     */
+    private static final ThreadLocal<Map<String, XPathExpression>> COMPILED_EXPRESSIONS = ThreadLocal.withInitial(HashMap::new);
+
     /**
      * Key: The XPath query to retrieve the value
      * @see XPathEquals
@@ -60,28 +95,109 @@ public class XPathEquals extends AbstractFileEnforcer {
 
     /** {@inheritDoc} */
     @Override
-    @SuppressWarnings("squid:S2755") // https://community.sonarsource.com/t/java-rule-squid-s2755-false-positive/10554
-    public EnforcerResult enforceInternal(@NonNull final InputStream actualFileInputStream) {
+    public EnforcerResult enforceInternal(@NonNull final InputStream actualFileInputStream) throws IOException {
+        return enforceInternal(actualFileInputStream, ParsedDocuments.create());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Simple queries are evaluated while streaming the document, if the input stream supports being reset, such as a
+     * {@link com.optum.sourcehawk.core.repository.RepositoryFileInputStream} which is reset without buffering the
+     * document.  Otherwise, or if the streaming evaluation cannot be relied upon, the queries are evaluated against the
+     * DOM.
+     */
+    @Override
+    public EnforcerResult enforceInternal(@NonNull final InputStream actualFileInputStream, @NonNull final ParsedDocuments parsedDocuments) throws IOException {
+        val simpleXPathsOptional = getSimpleXPaths();
+        if (simpleXPathsOptional.isPresent() && actualFileInputStream.markSupported()) {
+            actualFileInputStream.mark(Integer.MAX_VALUE);
+            val valuesOptional = StreamingXPathEvaluator.evaluate(actualFileInputStream, simpleXPathsOptional.get());
+            if (valuesOptional.isPresent()) {
+                val values = valuesOptional.get();
+                return EnforcerResult.create(expectations.entrySet()
+                        .stream()
+                        .map(entry -> compare(entry.getKey(), values.get(entry.getKey()), entry.getValue()))
+                        .filter(Optional::isPresent)
+                        .map(Optional::get)
+                        .collect(Collectors.toSet()));
+            }
+            actualFileInputStream.reset(); // The streaming evaluation could not be relied upon, evaluate the DOM instead
+        }
         final Document xmlDocument;
         final XPath xPath;
         try {
-            val documentBuilderFactory = DocumentBuilderFactory.newInstance();
-            documentBuilderFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-            val documentBuilder = documentBuilderFactory.newDocumentBuilder();
-            xmlDocument = documentBuilder.parse(actualFileInputStream);
-            xPath = XPathFactory.newInstance().newXPath();
+            xmlDocument = parsedDocuments.parse(XML_DOCUMENT, actualFileInputStream);
+            xPath = XPATH.get();
         } catch (final Exception e) {
             return EnforcerResult.failed(String.format(XPATH_SETUP_ERROR, e.getMessage()));
         }
-        val messages = expectations.entrySet()
-                .stream()
-                .map(entry -> enforce(xmlDocument, xPath, entry.getKey(), entry.getValue()))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .collect(Collectors.toSet());
+        final Set<String> messages;
+        synchronized (xmlDocument) { // DOM implementations are not thread safe, even for reads
+            messages = expectations.entrySet()
+                    .stream()
+                    .map(entry -> enforce(xmlDocument, xPath, entry.getKey(), entry.getValue()))
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .collect(Collectors.toSet());
+        }
         return EnforcerResult.create(messages);
     }
 
+    /**
+     * Get the simple form of each XPath query, which can be evaluated while streaming the document
+     *
+     * @return the simple XPath queries if all the queries are simple, otherwise {@link Optional#empty()}
+     */
+    private Optional<Map<String, SimpleXPath>> getSimpleXPaths() {
+        val simpleXPaths = new HashMap<String, SimpleXPath>();
+        for (val xPathQuery : expectations.keySet()) {
+            if (xPathQuery == null) {
+                return Optional.empty();
+            }
+            val simpleXPathOptional = SIMPLE_XPATHS.computeIfAbsent(xPathQuery, SimpleXPath::parse);
+            if (!simpleXPathOptional.isPresent()) {
+                return Optional.empty();
+            }
+            simpleXPaths.put(xPathQuery, simpleXPathOptional.get());
+        }
+        return Optional.of(simpleXPaths);
+    }
+
+    /**
+     * Parse the XML document with the document builder of the current thread
+     *
+     * @param xmlInputStream the XML input stream
+     * @return the XML document
+     * @throws IOException if any error occurs reading or parsing the XML
+     */
+    private static Document parseDocument(final InputStream xmlInputStream) throws IOException {
+        try {
+            DocumentBuilder documentBuilder = DOCUMENT_BUILDER.get();
+            if (documentBuilder == null) {
+                documentBuilder = createDocumentBuilder();
+                DOCUMENT_BUILDER.set(documentBuilder);
+            }
+            documentBuilder.reset();
+            return documentBuilder.parse(xmlInputStream);
+        } catch (final ParserConfigurationException | SAXException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Create a document builder with secure processing enabled
+     *
+     * @return the document builder
+     * @throws ParserConfigurationException if the document builder cannot be created
+     */
+    @SuppressWarnings("squid:S2755") // https://community.sonarsource.com/t/java-rule-squid-s2755-false-positive/10554
+    private static DocumentBuilder createDocumentBuilder() throws ParserConfigurationException {
+        val documentBuilderFactory = DocumentBuilderFactory.newInstance();
+        documentBuilderFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        return documentBuilderFactory.newDocumentBuilder();
+    }
+
     /**
      * Enforce individual XPath queries
      *
@@ -93,18 +209,47 @@ public class XPathEquals extends AbstractFileEnforcer {
      */
     private static Optional<String> enforce(final Document xmlDocument, final XPath xPath, final String xPathQuery, final String expectedValue) {
         try {
-            val node = (Node) xPath.compile(xPathQuery).evaluate(xmlDocument, XPathConstants.NODE);
-            if (node == null || node.getNodeValue() == null) {
-                return Optional.of(String.format(MISSING_MESSAGE_TEMPLATE, xPathQuery));
-            }
-            val actualValue = node.getNodeValue();
-            if (Objects.equals(expectedValue, actualValue)) {
-                return Optional.empty();
-            }
-            return Optional.of(String.format(NOT_EQUAL_MESSAGE_TEMPLATE, xPathQuery, actualValue, expectedValue));
+            val node = (Node) compile(xPath, xPathQuery).evaluate(xmlDocument, XPathConstants.NODE);
+            return compare(xPathQuery, node == null ? null : node.getNodeValue(), expectedValue);
         } catch (final Exception e) {
             return Optional.of(String.format(QUERY_ERROR_TEMPLATE, xPathQuery, e.getMessage()));
         }
     }
 
+    /**
+     * Compile the XPath query, or reuse the expression previously compiled by the current thread
+     *
+     * @param xPath the xPath of the current thread
+     * @param xPathQuery the xPath query
+     * @return the compiled expression
+     * @throws XPathExpressionException if the query cannot be compiled
+     */
+    private static XPathExpression compile(final XPath xPath, final String xPathQuery) throws XPathExpressionException {
+        val compiledExpressions = COMPILED_EXPRESSIONS.get();
+        XPathExpression xPathExpression = compiledExpressions.get(xPathQuery);
+        if (xPathExpression == null) {
+            xPathExpression = xPath.compile(xPathQuery);
+            compiledExpressions.put(xPathQuery, xPathExpression);
+        }
+        return xPathExpression;
+    }
+
+    /**
+     * Compare the value the query yielded with the expected value
+     *
+     * @param xPathQuery the xPath query
+     * @param actualValue the value the query yielded, null if none
+     * @param expectedValue the expected value
+     * @return The message to be added, otherwise {@link Optional#empty()}
+     */
+    private static Optional<String> compare(final String xPathQuery, final String actualValue, final String expectedValue) {
+        if (actualValue == null) {
+            return Optional.of(String.format(MISSING_MESSAGE_TEMPLATE, xPathQuery));
+        }
+        if (Objects.equals(expectedValue, actualValue)) {
+            return Optional.empty();
+        }
+        return Optional.of(String.format(NOT_EQUAL_MESSAGE_TEMPLATE, xPathQuery, actualValue, expectedValue));
+    }
+
 }
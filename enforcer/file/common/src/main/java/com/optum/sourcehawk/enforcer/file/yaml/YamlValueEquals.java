@@ -1,41 +1,50 @@
 package com.optum.sourcehawk.enforcer.file.yaml;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
-import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
 import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
 import com.optum.sourcehawk.enforcer.EnforcerResult;
+import com.optum.sourcehawk.enforcer.ResolverResult;
 import com.optum.sourcehawk.enforcer.file.AbstractFileEnforcer;
+import com.optum.sourcehawk.enforcer.file.FileResolver;
+import com.optum.sourcehawk.enforcer.file.ParsedDocuments;
 import com.optum.sourcehawk.enforcer.file.json.JsonValueEquals;
-import com.optum.sourcehawk.enforcer.file.xml.XPathEquals;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.NonNull;
 import lombok.val;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.Charset;
+import java.io.Writer;
 import java.util.Collections;
 import java.util.Map;
 
 /**
  * An enforcer which is responsible for enforcing that a yaml file has a specific property with an expected value.  Under
- * the hood, this is delegating to {@link JsonValueEquals} after converting the yaml to json
+ * the hood, the yaml is read into a JSON tree which the pointer expressions are evaluated against by {@link JsonValueEquals}
  *
  * @see JsonValueEquals
  *
  * @author Brian Wyka
  */
 @Builder(builderClassName = "Builder")
-@JsonDeserialize(builder = XPathEquals.Builder.class)
+@JsonDeserialize(builder = YamlValueEquals.Builder.class)
 @AllArgsConstructor(staticName = "equals")
-public class YamlValueEquals extends AbstractFileEnforcer {
+public class YamlValueEquals extends AbstractFileEnforcer implements FileResolver {
 
-    private static final ObjectMapper YAML_MAPPER = YAMLMapper.builder().build();
-    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder().build();
+    private static final ObjectMapper YAML_MAPPER = YAMLMapper.builder()
+            .disable(YAMLGenerator.Feature.WRITE_DOC_START_MARKER)
+            .build();
+    private static final String READ_ERROR_TEMPLATE = "Reading or parsing file resulted in error [%s]";
+
+    /**
+     * The YAML tree format, shared by all enforcers which evaluate the file as YAML
+     */
+    static final ParsedDocuments.Format<JsonNode> YAML_TREE = ParsedDocuments.Format.of("yaml", YamlValueEquals::readTree);
 
     /**
      * Key: The Yaml Pointer expression to retrieve the value
@@ -58,11 +67,45 @@ public class YamlValueEquals extends AbstractFileEnforcer {
     /** {@inheritDoc} */
     @Override
     public EnforcerResult enforceInternal(@NonNull final InputStream actualFileInputStream) throws IOException {
-        val yamlMap = YAML_MAPPER.readValue(actualFileInputStream, new TypeReference<Map<String, Object>>() {});
-        val json = OBJECT_MAPPER.writeValueAsString(yamlMap);
-        try (val jsonInputStream = new ByteArrayInputStream(json.getBytes(Charset.defaultCharset()))) {
-            return JsonValueEquals.equals(expectations).enforce(jsonInputStream);
+        return enforceInternal(actualFileInputStream, ParsedDocuments.create());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public EnforcerResult enforceInternal(@NonNull final InputStream actualFileInputStream, @NonNull final ParsedDocuments parsedDocuments) throws IOException {
+        val yamlNode = parsedDocuments.parse(YAML_TREE, actualFileInputStream);
+        return JsonValueEquals.equals(expectations).enforceTree(yamlNode);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ResolverResult resolve(@NonNull final InputStream actualFileInputStream, @NonNull final Writer outputFileWriter) throws IOException {
+        final JsonNode rootYamlNode;
+        try {
+            rootYamlNode = readTree(actualFileInputStream);
+        } catch (final IOException e) {
+            return ResolverResult.error(String.format(READ_ERROR_TEMPLATE, e.getMessage()));
+        }
+        val resolverResult = JsonValueEquals.equals(expectations).resolveTree(rootYamlNode);
+        if (resolverResult.isUpdatesApplied()) {
+            outputFileWriter.write(YAML_MAPPER.writeValueAsString(rootYamlNode));
+        }
+        return resolverResult;
+    }
+
+    /**
+     * Read the yaml into a JSON tree
+     *
+     * @param yamlInputStream the yaml input stream
+     * @return the root node, a missing node if the yaml is empty
+     * @throws IOException if any error occurs reading the yaml
+     */
+    private static JsonNode readTree(final InputStream yamlInputStream) throws IOException {
+        val rootYamlNode = YAML_MAPPER.readTree(yamlInputStream);
+        if (rootYamlNode == null) {
+            return MissingNode.getInstance();
         }
+        return rootYamlNode;
     }
 
 }
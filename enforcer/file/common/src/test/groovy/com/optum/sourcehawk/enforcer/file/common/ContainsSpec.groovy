@@ -64,4 +64,18 @@ class ContainsSpec extends Specification {
         ]
     }
 
+    def "enforce - large input, substring across buffer boundary (passed)"() {
+        given:
+        Contains contains = Contains.substring("I should include")
+        InputStream fileInputStream = new ByteArrayInputStream((("x" * 8185) + "I should include" + ("y" * 100_000)).bytes)
+
+        when:
+        EnforcerResult result = contains.enforce(fileInputStream)
+
+        then:
+        result
+        result.passed
+        !result.messages
+    }
+
 }
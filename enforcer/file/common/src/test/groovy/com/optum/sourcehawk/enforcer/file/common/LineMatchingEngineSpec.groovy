@@ -0,0 +1,134 @@
+package com.optum.sourcehawk.enforcer.file.common
+
+import com.optum.sourcehawk.enforcer.EnforcerResult
+import com.optum.sourcehawk.enforcer.file.FileEnforcer
+import org.spockframework.util.IoUtil
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.regex.Pattern
+
+class LineMatchingEngineSpec extends Specification {
+
+    @Unroll
+    def "supports - #fileEnforcer.class.simpleName"() {
+        expect:
+        LineMatchingEngine.supports(fileEnforcer) == expected
+
+        where:
+        fileEnforcer                                                    || expected
+        Contains.substring("abc")                                       || true
+        ContainsLine.contains("abc")                                    || true
+        ContainsLineAt.containsAt("abc", 1)                             || true
+        ContainsLineMatching.containsMatch(Pattern.compile("abc"))      || true
+        ContainsLineMatchingAt.containsMatchAt(Pattern.compile("a"), 1) || true
+        ContainsLine.contains(null)                                     || false
+        ContentEquals.string("abc")                                     || false
+    }
+
+    def "compile - unsupported enforcer"() {
+        when:
+        LineMatchingEngine.compile([ContentEquals.string("abc")])
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "enforce - same results as enforcers on their own"() {
+        given:
+        List<FileEnforcer> fileEnforcers = [
+                Contains.substring("character"),
+                Contains.substring("really weird string"),
+                Contains.substring("new lines.\n\n^ Here"),
+                Contains.substring(""),
+                ContainsLine.contains("and I have some new lines."),
+                ContainsLine.contains("I am not a text file"),
+                ContainsLineAt.containsAt("I am a text file", 1),
+                ContainsLineAt.containsAt("I am a text file", 2),
+                ContainsLineAt.containsAt("I am a text file", 1000),
+                ContainsLineMatching.containsMatch(Pattern.compile("^\\^ Here .*\$")),
+                ContainsLineMatching.containsMatch(Pattern.compile("Perhaps (.*) \\1")),
+                ContainsLineMatching.containsMatch(Pattern.compile("nope")),
+                ContainsLineMatchingAt.containsMatchAt(Pattern.compile("and .*"), 3),
+                ContainsLineMatchingAt.containsMatchAt(Pattern.compile("and .*"), 4)
+        ]
+
+        when:
+        List<EnforcerResult> enforcerResults = LineMatchingEngine.compile(fileEnforcers).enforce(IoUtil.getResourceAsStream("/file.txt"))
+
+        then:
+        enforcerResults == fileEnforcers.collect { it.enforce(IoUtil.getResourceAsStream("/file.txt")) }
+        enforcerResults*.passed == [true, false, true, true, true, false, true, false, false, true, false, false, true, false]
+    }
+
+    def "enforce - carriage returns and missing trailing new line"() {
+        given:
+        List<FileEnforcer> fileEnforcers = [
+                ContainsLineAt.containsAt("two", 2),
+                ContainsLineAt.containsAt("", 3),
+                ContainsLineAt.containsAt("four", 4),
+                ContainsLine.contains("four\n"),
+                Contains.substring("\r\n")
+        ]
+
+        when:
+        List<EnforcerResult> enforcerResults = LineMatchingEngine.compile(fileEnforcers).enforce(new ByteArrayInputStream("one\r\ntwo\r\rfour".bytes))
+
+        then:
+        enforcerResults*.passed == [true, true, true, true, true]
+    }
+
+    def "enforce - combined line patterns"() {
+        given:
+        List<FileEnforcer> fileEnforcers = [
+                ContainsLineMatching.containsMatch(Pattern.compile("(?i)HELLO")),
+                ContainsLineMatching.containsMatch(Pattern.compile("a+")),
+                ContainsLineMatching.containsMatch(Pattern.compile("a+b"))
+        ]
+
+        when:
+        List<EnforcerResult> enforcerResults = LineMatchingEngine.compile(fileEnforcers).enforce(new ByteArrayInputStream("hello\naab".bytes))
+
+        then:
+        enforcerResults*.passed == [true, false, true]
+        enforcerResults[1].messages == ["File does not contain line matching pattern [a+]"] as Set
+    }
+
+    def "enforce - overlapping substrings"() {
+        given:
+        List<FileEnforcer> fileEnforcers = [
+                Contains.substring("she"),
+                Contains.substring("he"),
+                Contains.substring("hers"),
+                Contains.substring("his")
+        ]
+
+        when:
+        List<EnforcerResult> enforcerResults = LineMatchingEngine.compile(fileEnforcers).enforce(new ByteArrayInputStream("ushers".bytes))
+
+        then:
+        enforcerResults*.passed == [true, true, true, false]
+    }
+
+    def "enforce - error InputStream"() {
+        given:
+        InputStream inputStream = IoUtil.getResourceAsStream('/file.txt')
+        inputStream.close()
+
+        when:
+        List<EnforcerResult> enforcerResults = LineMatchingEngine.compile([Contains.substring("a"), ContainsLine.contains("b")]).enforce(inputStream)
+
+        then:
+        enforcerResults.size() == 2
+        enforcerResults.every { !it.passed && it.messages[0] == "Failed to read file with error [java.io.IOException: Stream closed]" }
+    }
+
+    def "enforce - null input stream"() {
+        when:
+        LineMatchingEngine.compile([Contains.substring("a")]).enforce(null)
+
+        then:
+        thrown(NullPointerException)
+    }
+
+}
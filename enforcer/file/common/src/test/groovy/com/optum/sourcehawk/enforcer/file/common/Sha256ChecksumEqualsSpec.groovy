@@ -5,6 +5,8 @@ import com.optum.sourcehawk.enforcer.EnforcerResult
 import org.spockframework.util.IoUtil
 import spock.lang.Specification
 
+import java.security.MessageDigest
+
 class Sha256ChecksumEqualsSpec extends Specification {
 
     def "equals"() {
@@ -51,4 +53,19 @@ class Sha256ChecksumEqualsSpec extends Specification {
         enforcerResult.messages[0] == 'The SHA-256 checksum of the file does not match'
     }
 
+    def "enforce - large input (passed)"() {
+        given:
+        byte[] content = ("0123456789abcdef" * 65_536).bytes
+        String expectedChecksum = MessageDigest.getInstance("SHA-256").digest(content).encodeHex().toString()
+        Sha256ChecksumEquals sha256ChecksumEquals = Sha256ChecksumEquals.equals(expectedChecksum)
+
+        when:
+        EnforcerResult enforcerResult = sha256ChecksumEquals.enforce(new ByteArrayInputStream(content))
+
+        then:
+        enforcerResult
+        enforcerResult.passed
+        !enforcerResult.messages
+    }
+
 }
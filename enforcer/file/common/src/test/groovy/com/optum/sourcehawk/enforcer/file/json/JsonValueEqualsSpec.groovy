@@ -398,4 +398,35 @@ class JsonValueEqualsSpec extends Specification {
         BigDecimal | BigDecimal.ZERO
     }
 
+    def "enforce - pointer to container"() {
+        given:
+        JsonValueEquals jsonPathEquals = JsonValueEquals.equals('/size', 'large')
+        InputStream fileInputStream = IoUtil.getResourceAsStream('/bicycle.json')
+
+        when:
+        EnforcerResult result = jsonPathEquals.enforce(fileInputStream)
+
+        then:
+        result
+        !result.passed
+        result.messages == ["Execution of pointer expression [/size] yielded result [] which is not equal to [large]"] as Set
+    }
+
+    def "enforce - valid and invalid pointer expressions"() {
+        given:
+        JsonValueEquals jsonPathEquals = JsonValueEquals.equals(['/make': 'Raleigh', '*': 'road', '/size/units': 'in'])
+        InputStream fileInputStream = IoUtil.getResourceAsStream('/bicycle.json')
+
+        when:
+        EnforcerResult result = jsonPathEquals.enforce(fileInputStream)
+
+        then:
+        result
+        !result.passed
+        result.messages.size() == 2
+        result.messages.any { it.startsWith("Execution of pointer expression [*] yielded error") }
+        result.messages.contains("Execution of pointer expression [/size/units] yielded result [cm] which is not equal to [in]")
+    }
+
 }
+
@@ -0,0 +1,56 @@
+package com.optum.sourcehawk.enforcer.file.json
+
+import com.fasterxml.jackson.core.JsonParseException
+import com.fasterxml.jackson.core.JsonPointer
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.spockframework.util.IoUtil
+import spock.lang.Specification
+
+class StreamingJsonPointerEvaluatorSpec extends Specification {
+
+    static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+
+    def "evaluate - same nodes as tree"() {
+        given:
+        List<String> expressions = ['', '/make', '/size', '/size/value', '/size/units/x', '/components', '/components/5',
+                                    '/components/6', '/components/-', '/class', '/index/0']
+        Map<String, JsonPointer> jsonPointers = expressions.collectEntries { [(it): JsonPointer.compile(it)] }
+        JsonNode tree = OBJECT_MAPPER.readTree(IoUtil.getResourceAsStream('/bicycle.json'))
+
+        when:
+        Map<String, JsonNode> actualJsonNodes = StreamingJsonPointerEvaluator.evaluate(OBJECT_MAPPER, IoUtil.getResourceAsStream('/bicycle.json'), jsonPointers)
+
+        then:
+        actualJsonNodes.keySet() == expressions as Set
+        expressions.every { actualJsonNodes[it] == tree.at(it) }
+        actualJsonNodes['/make'].textValue() == 'Raleigh'
+        actualJsonNodes['/class'].missingNode
+    }
+
+    def "evaluate - stops reading once all pointers are resolved"() {
+        given:
+        InputStream jsonInputStream = new ByteArrayInputStream('{"lockfileVersion": 2, "packages": {"": :'.bytes)
+
+        when:
+        Map<String, JsonNode> actualJsonNodes = StreamingJsonPointerEvaluator.evaluate(OBJECT_MAPPER, jsonInputStream, ['/lockfileVersion': JsonPointer.compile('/lockfileVersion')])
+
+        then:
+        actualJsonNodes['/lockfileVersion'].intValue() == 2
+    }
+
+    def "evaluate - null and empty"() {
+        expect:
+        StreamingJsonPointerEvaluator.evaluate(OBJECT_MAPPER, new ByteArrayInputStream('{"a": null}'.bytes), ['/a': JsonPointer.compile('/a')])['/a'].isNull()
+        StreamingJsonPointerEvaluator.evaluate(OBJECT_MAPPER, new ByteArrayInputStream(new byte[0]), ['/a': JsonPointer.compile('/a')])['/a'].missingNode
+    }
+
+    def "evaluate - parse error"() {
+        when:
+        StreamingJsonPointerEvaluator.evaluate(OBJECT_MAPPER, IoUtil.getResourceAsStream('/bicycle-bad.json'), ['/size/value': JsonPointer.compile('/size/value')])
+
+        then:
+        thrown(JsonParseException)
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.optum.sourcehawk.enforcer.file.xml
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class SimpleXPathSpec extends Specification {
+
+    @Unroll
+    def "parse - #query (simple)"() {
+        when:
+        Optional<SimpleXPath> simpleXPath = SimpleXPath.parse(query)
+
+        then:
+        simpleXPath.isPresent()
+        simpleXPath.get().elementNames == elementNames
+        simpleXPath.get().target == target
+        simpleXPath.get().attributeName == attributeName
+
+        where:
+        query                           || elementNames                 | target                       | attributeName
+        '/project'                      || ['project']                  | SimpleXPath.Target.ELEMENT   | null
+        '/project/parent/version/text()' || ['project', 'parent', 'version'] | SimpleXPath.Target.TEXT | null
+        '/bicycles/bicycle/@id'         || ['bicycles', 'bicycle']      | SimpleXPath.Target.ATTRIBUTE | 'id'
+        '/a-b/c.d/_e'                   || ['a-b', 'c.d', '_e']         | SimpleXPath.Target.ELEMENT   | null
+    }
+
+    @Unroll
+    def "parse - #query (not simple)"() {
+        expect:
+        !SimpleXPath.parse(query).isPresent()
+
+        where:
+        query << [null, '', '/', '//project', 'project/version', '/project[1]', '/project/*', '/x:project',
+                  '/project/@xmlns', '/project/text()/version', '/project/..', '/project/@*']
+    }
+
+    def "matches"() {
+        given:
+        SimpleXPath simpleXPath = SimpleXPath.parse('/project/version/text()').get()
+
+        expect:
+        simpleXPath.matches(['project', 'version'])
+        !simpleXPath.matches(['project'])
+        !simpleXPath.matches(['project', 'parent', 'version'])
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.optum.sourcehawk.enforcer.file.xml
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class StreamingXPathEvaluatorSpec extends Specification {
+
+    def "evaluate - first value in document order"() {
+        given:
+        String xml = '<a><b><c/></b><b id="2">\n  <!--comment-->text<c>nested</c>more</b></a>'
+        Map<String, SimpleXPath> simpleXPaths = [
+                '/a/b/text()': SimpleXPath.parse('/a/b/text()').get(),
+                '/a/b/@id'   : SimpleXPath.parse('/a/b/@id').get(),
+                '/a/b/c/text()': SimpleXPath.parse('/a/b/c/text()').get(),
+                '/a/b'       : SimpleXPath.parse('/a/b').get(),
+                '/a/d/text()': SimpleXPath.parse('/a/d/text()').get()
+        ]
+
+        when:
+        Optional<Map<String, String>> values = StreamingXPathEvaluator.evaluate(new ByteArrayInputStream(xml.bytes), simpleXPaths)
+
+        then:
+        values.isPresent()
+        values.get() == [
+                '/a/b/text()': '\n  ',
+                '/a/b/@id'   : '2',
+                '/a/b/c/text()': 'nested',
+                '/a/b'       : null,
+                '/a/d/text()': null
+        ]
+    }
+
+    @Unroll
+    def "evaluate - must be evaluated as DOM - #scenario"() {
+        given:
+        Map<String, SimpleXPath> simpleXPaths = ['/a/b/text()': SimpleXPath.parse('/a/b/text()').get()]
+
+        expect:
+        !StreamingXPathEvaluator.evaluate(new ByteArrayInputStream(xml.bytes), simpleXPaths).isPresent()
+
+        where:
+        scenario             | xml
+        "CDATA"              | '<a><b><![CDATA[value]]></b></a>'
+        "DTD"                | '<!DOCTYPE a><a><b>value</b></a>'
+        "prefixed element"   | '<x:a xmlns:x="urn:x"><b>value</b></x:a>'
+        "not well formed"    | '<a><b>value</b></a><c>'
+    }
+
+}
@@ -1,7 +1,10 @@
 package com.optum.sourcehawk.enforcer.file.xml
 
 
+import com.optum.sourcehawk.core.repository.RepositoryFileInputStream
+import com.optum.sourcehawk.core.repository.RepositoryFileReader
 import com.optum.sourcehawk.enforcer.EnforcerResult
+import com.optum.sourcehawk.enforcer.file.ParsedDocuments
 import org.spockframework.util.IoUtil
 import spock.lang.Specification
 import spock.lang.Unroll
@@ -142,4 +145,104 @@ class XPathEqualsSpec extends Specification {
         null | 'road'
     }
 
+    def "enforce - parsed document shared across enforcers"() {
+        given:
+        ParsedDocuments parsedDocuments = ParsedDocuments.create()
+
+        when:
+        EnforcerResult first = XPathEquals.equals('//bicycles/bicycle[@id="1"]/make/text()', 'Raleigh')
+                .enforce(IoUtil.getResourceAsStream('/bicycle.xml'), parsedDocuments)
+        EnforcerResult second = XPathEquals.equals('//bicycles/bicycle[1]/model/text()', 'Competition GS')
+                .enforce(new ByteArrayInputStream(new byte[0]), parsedDocuments)
+
+        then:
+        first.passed
+        second.passed
+    }
+
+    @Unroll
+    def "enforce - simple #query = #expectedValue (streamed)"() {
+        given:
+        XPathEquals xPathEquals = XPathEquals.equals(query, expectedValue)
+        InputStream fileInputStream = IoUtil.getResourceAsStream('/bicycle.xml')
+
+        when:
+        EnforcerResult result = xPathEquals.enforce(fileInputStream)
+
+        then:
+        result
+        result.passed == (message == null)
+        result.messages == (message ? [message] : []) as Set
+
+        where:
+        query                                                  | expectedValue || message
+        '/bicycles/bicycle/make/text()'                        | 'Raleigh'     || null
+        '/bicycles/bicycle/@id'                                | '1'           || null
+        '/bicycles/bicycle/components/component/@group'        | 'cockpit'     || null
+        '/bicycles/bicycle/components/component/text()'        | 'fork'        || "Execution of query [/bicycles/bicycle/components/component/text()] yielded result [handlebars] which is not equal to [fork]"
+        '/bicycles/bicycle/wheels/text()'                      | '700c'        || "Execution of query [/bicycles/bicycle/wheels/text()] yielded no result"
+        '/bicycles/bicycle/make'                               | 'Raleigh'     || "Execution of query [/bicycles/bicycle/make] yielded no result"
+    }
+
+    def "enforce - simple query (failed - invalid XML)"() {
+        given:
+        XPathEquals xPathEquals = XPathEquals.equals('/bicycles/bicycle/make/text()', 'Raleigh')
+        InputStream fileInputStream = IoUtil.getResourceAsStream('/not.xml')
+
+        when:
+        EnforcerResult result = xPathEquals.enforce(fileInputStream)
+
+        then:
+        result
+        !result.passed
+        result.messages.size() == 1
+        result.messages[0].startsWith("XPath initialization resulted in error")
+    }
+
+    @Unroll
+    def "enforce - simple query evaluated as DOM - #scenario"() {
+        given:
+        XPathEquals xPathEquals = XPathEquals.equals('/bicycle/make/text()', 'Raleigh')
+        InputStream fileInputStream = new SequenceInputStream(new ByteArrayInputStream(xml.bytes), new ByteArrayInputStream(new byte[0]))
+
+        when:
+        EnforcerResult result = xPathEquals.enforce(fileInputStream)
+
+        then:
+        !fileInputStream.markSupported()
+        result
+        result.passed == passed
+
+        where:
+        scenario   | xml                                                                        || passed
+        "CDATA"    | '<bicycle><make><![CDATA[Raleigh]]></make></bicycle>'                      || true
+        "DTD"      | '<!DOCTYPE bicycle [<!ENTITY r "Raleigh">]><bicycle><make>&r;</make></bicycle>' || true
+        "prefixed" | '<b:bicycle xmlns:b="urn:bicycle"><make>Schwinn</make></b:bicycle>'         || false
+    }
+
+    @Unroll
+    def "enforce - simple query evaluated as DOM after file opened again - #scenario"() {
+        given:
+        XPathEquals xPathEquals = XPathEquals.equals('/bicycle/make/text()', 'Raleigh')
+        RepositoryFileReader repositoryFileReader = Mock()
+
+        when:
+        EnforcerResult result = RepositoryFileInputStream.open(repositoryFileReader, "bicycle.xml").get().withCloseable {
+            xPathEquals.enforce(it)
+        }
+
+        then:
+        2 * repositoryFileReader.read("bicycle.xml") >> { Optional.of(new ByteArrayInputStream(xml.bytes)) }
+
+        and:
+        result
+        result.passed == passed
+
+        where:
+        scenario   | xml                                                                        || passed
+        "CDATA"    | '<bicycle><make><![CDATA[Raleigh]]></make></bicycle>'                      || true
+        "DTD"      | '<!DOCTYPE bicycle [<!ENTITY r "Raleigh">]><bicycle><make>&r;</make></bicycle>' || true
+        "prefixed" | '<b:bicycle xmlns:b="urn:bicycle"><make>Schwinn</make></b:bicycle>'         || false
+    }
+
 }
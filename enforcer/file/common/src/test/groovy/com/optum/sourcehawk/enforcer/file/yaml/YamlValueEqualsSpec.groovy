@@ -1,7 +1,10 @@
 package com.optum.sourcehawk.enforcer.file.yaml
 
 
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper
 import com.optum.sourcehawk.enforcer.EnforcerResult
+import com.optum.sourcehawk.enforcer.ResolverResult
+import com.optum.sourcehawk.enforcer.file.ParsedDocuments
 import org.spockframework.util.IoUtil
 import spock.lang.Specification
 import spock.lang.Unroll
@@ -123,5 +126,105 @@ class YamlValueEqualsSpec extends Specification {
         where:
         pointerExpression << ['.', '$']
     }
-    
+
+    def "enforce - parsed tree shared across enforcers"() {
+        given:
+        ParsedDocuments parsedDocuments = ParsedDocuments.create()
+
+        when:
+        EnforcerResult first = YamlValueEquals.equals('/make', 'Raleigh').enforce(IoUtil.getResourceAsStream('/bicycle.yml'), parsedDocuments)
+        EnforcerResult second = YamlValueEquals.equals('/size/units', 'cm').enforce(new ByteArrayInputStream(new byte[0]), parsedDocuments)
+
+        then:
+        first.passed
+        second.passed
+    }
+
+    def "enforce - not a yaml mapping"() {
+        given:
+        YamlValueEquals yamlPathEquals = YamlValueEquals.equals('/make', 'Raleigh')
+        InputStream fileInputStream = IoUtil.getResourceAsStream('/invalid.yml')
+
+        when:
+        EnforcerResult result = yamlPathEquals.enforce(fileInputStream)
+
+        then:
+        result
+        !result.passed
+        result.messages[0] == "Execution of pointer expression [/make] yielded no result"
+    }
+
+    @Unroll
+    def "resolve - no updates required"() {
+        given:
+        YamlValueEquals yamlPathEquals = YamlValueEquals.equals(pointerExpression, expectedValue)
+        InputStream fileInputStream = IoUtil.getResourceAsStream('/bicycle.yml')
+        StringWriter stringWriter = new StringWriter()
+
+        when:
+        ResolverResult result = yamlPathEquals.resolve(fileInputStream, stringWriter)
+
+        then:
+        result
+        !result.updatesApplied
+        result.fixCount == 0
+        !result.error
+        !result.messages
+
+        and:
+        !stringWriter.toString()
+
+        where:
+        pointerExpression | expectedValue
+        '/make'           | 'Raleigh'
+        '/size/value'     | 60
+        '/components/0'   | 'handlebars'
+    }
+
+    @Unroll
+    def "resolve - updates applied"() {
+        given:
+        YamlValueEquals yamlPathEquals = YamlValueEquals.equals(pointerExpression, expectedValue)
+        InputStream fileInputStream = IoUtil.getResourceAsStream('/bicycle.yml')
+        StringWriter stringWriter = new StringWriter()
+
+        when:
+        ResolverResult result = yamlPathEquals.resolve(fileInputStream, stringWriter)
+
+        then:
+        result
+        result.updatesApplied
+        result.fixCount == 1
+        !result.error
+        result.messages == [message] as Set
+
+        and:
+        Map yaml = new YAMLMapper().readValue(stringWriter.toString(), Map)
+        yaml.make == make
+        yaml.size.value == sizeValue
+        !stringWriter.toString().startsWith("---")
+
+        where:
+        pointerExpression | expectedValue || make      | sizeValue | message
+        '/make'           | 'Cinelli'     || 'Cinelli' | 60        | "Pointer expression [/make] has been updated with value [Cinelli]"
+        '/size/value'     | 61            || 'Raleigh' | 61        | "Pointer expression [/size/value] has been updated with value [61]"
+        '/brand'          | 'Raleigh'     || 'Raleigh' | 60        | "Pointer expression [/brand] which was missing, has been set with value [Raleigh]"
+    }
+
+    def "resolve - parse error"() {
+        given:
+        YamlValueEquals yamlPathEquals = YamlValueEquals.equals('/make', 'Cinelli')
+        InputStream fileInputStream = new ByteArrayInputStream("make: [Raleigh".bytes)
+        StringWriter stringWriter = new StringWriter()
+
+        when:
+        ResolverResult result = yamlPathEquals.resolve(fileInputStream, stringWriter)
+
+        then:
+        result
+        result.error
+        result.messages[0].startsWith("Reading or parsing file resulted in error")
+        !stringWriter.toString()
+    }
+
 }
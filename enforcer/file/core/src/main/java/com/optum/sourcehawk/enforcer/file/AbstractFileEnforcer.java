@@ -1,5 +1,6 @@
 package com.optum.sourcehawk.enforcer.file;
 
+import com.optum.sourcehawk.core.repository.ByteBufferInputStream;
 import com.optum.sourcehawk.enforcer.EnforcerResult;
 import lombok.NonNull;
 import lombok.val;
@@ -9,6 +10,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.Charset;
+import java.security.MessageDigest;
 
 /**
  * Abstract enforcer which makes sure that the provided input stream
@@ -20,15 +22,26 @@ public abstract class AbstractFileEnforcer implements FileEnforcer {
 
     private static final String ERROR_INPUT_STREAM = "Failed to read file with error [%s]";
 
+    /**
+     * The size of the buffer used when streaming file content
+     */
+    private static final int BUFFER_SIZE = 8192;
+
     /** {@inheritDoc} */
     @Override
     public EnforcerResult enforce(@NonNull final InputStream actualFileInputStream) throws IOException {
+        return enforce(actualFileInputStream, ParsedDocuments.create());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public EnforcerResult enforce(@NonNull final InputStream actualFileInputStream, @NonNull final ParsedDocuments parsedDocuments) throws IOException {
         try {
             actualFileInputStream.available();
         } catch (final IOException e) {
             return EnforcerResult.failed(String.format(ERROR_INPUT_STREAM, e));
         }
-        return enforceInternal(actualFileInputStream);
+        return enforceInternal(actualFileInputStream, parsedDocuments);
     }
 
     /**
@@ -40,6 +53,19 @@ public abstract class AbstractFileEnforcer implements FileEnforcer {
      */
     protected abstract EnforcerResult enforceInternal(@NonNull final InputStream actualFileInputStream) throws IOException;
 
+    /**
+     * Method which may be overridden by implementations which parse the file, to share the parsed documents with
+     * other enforcers of the same file
+     *
+     * @param actualFileInputStream the actual file input stream
+     * @param parsedDocuments the documents parsed from the file
+     * @return the enforcer result
+     * @throws IOException if any error occurs processing the input stream
+     */
+    protected EnforcerResult enforceInternal(@NonNull final InputStream actualFileInputStream, @NonNull final ParsedDocuments parsedDocuments) throws IOException {
+        return enforceInternal(actualFileInputStream);
+    }
+
     /**
      * Convert the input stream to a string
      *
@@ -50,12 +76,121 @@ public abstract class AbstractFileEnforcer implements FileEnforcer {
     protected static String toString(final InputStream inputStream) throws IOException {
         val stringBuilder = new StringBuilder();
         try (val reader = new BufferedReader(new InputStreamReader(inputStream, Charset.defaultCharset()))) {
-            int character = 0;
-            while ((character = reader.read()) != -1) {
-                stringBuilder.append((char) character);
+            val buffer = new char[BUFFER_SIZE];
+            int charactersRead;
+            while ((charactersRead = reader.read(buffer)) != -1) {
+                stringBuilder.append(buffer, 0, charactersRead);
             }
         }
         return stringBuilder.toString();
     }
 
+    /**
+     * Determine whether or not the input stream contains the substring.  The content is streamed through a fixed size
+     * buffer and searched incrementally, so the whole file is never held in memory.
+     * <p>
+     * The substring is encoded with the default charset, the same charset {@link #toString(InputStream)} decodes with,
+     * and matched against the raw bytes using the Knuth-Morris-Pratt algorithm, which carries the partial match state
+     * across buffer boundaries.  The content of a {@link ByteBufferInputStream} is searched directly within its buffer.
+     *
+     * @param inputStream the input stream
+     * @param substring the substring to search for
+     * @return true if the substring is found, false otherwise
+     * @throws IOException if any error occurs reading input stream
+     */
+    protected static boolean contains(final InputStream inputStream, @NonNull final String substring) throws IOException {
+        try (val closeableInputStream = inputStream) {
+            val pattern = substring.getBytes(Charset.defaultCharset());
+            if (pattern.length == 0) {
+                return true;
+            }
+            val failure = computeFailureFunction(pattern);
+            int matched = 0;
+            if (closeableInputStream instanceof ByteBufferInputStream) {
+                val byteBuffer = ((ByteBufferInputStream) closeableInputStream).consumeRemaining();
+                for (int index = byteBuffer.position(); index < byteBuffer.limit(); index++) {
+                    matched = advance(pattern, failure, matched, byteBuffer.get(index));
+                    if (matched == pattern.length) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            val buffer = new byte[BUFFER_SIZE];
+            int bytesRead;
+            while ((bytesRead = closeableInputStream.read(buffer)) != -1) {
+                for (int index = 0; index < bytesRead; index++) {
+                    matched = advance(pattern, failure, matched, buffer[index]);
+                    if (matched == pattern.length) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Digest the raw bytes of the input stream, streaming them through a fixed size buffer.  The content of a
+     * {@link ByteBufferInputStream} is digested directly from its buffer instead.
+     *
+     * @param inputStream the input stream
+     * @param messageDigest the message digest to update
+     * @return the digest bytes
+     * @throws IOException if any error occurs reading input stream
+     */
+    protected static byte[] digest(final InputStream inputStream, @NonNull final MessageDigest messageDigest) throws IOException {
+        try (val closeableInputStream = inputStream) {
+            if (closeableInputStream instanceof ByteBufferInputStream) {
+                messageDigest.update(((ByteBufferInputStream) closeableInputStream).consumeRemaining());
+                return messageDigest.digest();
+            }
+            val buffer = new byte[BUFFER_SIZE];
+            int bytesRead;
+            while ((bytesRead = closeableInputStream.read(buffer)) != -1) {
+                messageDigest.update(buffer, 0, bytesRead);
+            }
+        }
+        return messageDigest.digest();
+    }
+
+    /**
+     * Advance the Knuth-Morris-Pratt match state by the next byte of content
+     *
+     * @param pattern the pattern
+     * @param failure the failure function of the pattern
+     * @param matched the number of pattern bytes matched so far
+     * @param next the next byte of content
+     * @return the number of pattern bytes matched including the next byte
+     */
+    private static int advance(final byte[] pattern, final int[] failure, final int matched, final byte next) {
+        int advanced = matched;
+        while (advanced > 0 && next != pattern[advanced]) {
+            advanced = failure[advanced - 1];
+        }
+        return next == pattern[advanced] ? advanced + 1 : advanced;
+    }
+
+    /**
+     * Compute the Knuth-Morris-Pratt failure function of the pattern, the length of the longest proper prefix of
+     * each pattern prefix which is also a suffix of it
+     *
+     * @param pattern the pattern
+     * @return the failure function
+     */
+    private static int[] computeFailureFunction(final byte[] pattern) {
+        val failure = new int[pattern.length];
+        int matched = 0;
+        for (int index = 1; index < pattern.length; index++) {
+            while (matched > 0 && pattern[index] != pattern[matched]) {
+                matched = failure[matched - 1];
+            }
+            if (pattern[index] == pattern[matched]) {
+                matched++;
+            }
+            failure[index] = matched;
+        }
+        return failure;
+    }
+
 }
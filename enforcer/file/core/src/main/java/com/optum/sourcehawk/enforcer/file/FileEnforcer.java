@@ -3,7 +3,10 @@ package com.optum.sourcehawk.enforcer.file;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.optum.sourcehawk.enforcer.Enforcer;
 import com.optum.sourcehawk.enforcer.EnforcerConstants;
+import com.optum.sourcehawk.enforcer.EnforcerResult;
+import lombok.NonNull;
 
+import java.io.IOException;
 import java.io.InputStream;
 
 /**
@@ -15,4 +18,19 @@ import java.io.InputStream;
         use = JsonTypeInfo.Id.MINIMAL_CLASS,
         property = EnforcerConstants.DESERIALIZATION_TYPE_KEY
 )
-public interface FileEnforcer extends Enforcer<InputStream> { }
+public interface FileEnforcer extends Enforcer<InputStream> {
+
+    /**
+     * Enforce the file, sharing any documents parsed from it with other enforcers of the same file.  Enforcers which
+     * do not parse the file simply enforce it on its own.
+     *
+     * @param actualFileInputStream the actual file input stream
+     * @param parsedDocuments the documents parsed from the file
+     * @return the enforcer result
+     * @throws IOException if any error occurs processing the input stream
+     */
+    default EnforcerResult enforce(@NonNull final InputStream actualFileInputStream, @NonNull final ParsedDocuments parsedDocuments) throws IOException {
+        return enforce(actualFileInputStream);
+    }
+
+}
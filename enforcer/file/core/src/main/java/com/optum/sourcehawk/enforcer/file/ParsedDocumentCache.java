@@ -0,0 +1,119 @@
+package com.optum.sourcehawk.enforcer.file;
+
+import com.optum.sourcehawk.core.repository.CachingRepositoryFileReader;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of {@link ParsedDocuments}, keyed by repository file path.  A single cache should be shared by all enforcers
+ * of a scan, so that each repository file is parsed at most once per format while it remains cached.
+ * <p>
+ * The cache is bounded by a memory budget, which is approximated by the size of the content of each file.  The least
+ * recently used files are evicted once the budget is exceeded, files larger than the budget are never cached.
+ *
+ * @author Brian Wyka
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ParsedDocumentCache {
+
+    /**
+     * The approximate number of bytes occupied by a cache entry in addition to the file content
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    /**
+     * The total number of bytes of file content which may be cached
+     */
+    private final long memoryBudgetBytes;
+
+    /**
+     * The parsed documents, keyed by repository file path, in least recently used order
+     */
+    private final Map<String, CachedDocuments> cachedDocuments = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The total number of bytes currently cached
+     */
+    private long cachedBytes;
+
+    /**
+     * Create the cache with the same default memory budget as {@link CachingRepositoryFileReader}
+     *
+     * @return the parsed document cache
+     */
+    public static ParsedDocumentCache create() {
+        return create(CachingRepositoryFileReader.DEFAULT_MEMORY_BUDGET_BYTES);
+    }
+
+    /**
+     * Create the cache with the provided memory budget
+     *
+     * @param memoryBudgetBytes the total number of bytes of file content which may be cached
+     * @return the parsed document cache
+     */
+    public static ParsedDocumentCache create(final long memoryBudgetBytes) {
+        if (memoryBudgetBytes < 0) {
+            throw new IllegalArgumentException("Memory budget must not be negative");
+        }
+        return new ParsedDocumentCache(memoryBudgetBytes);
+    }
+
+    /**
+     * Get the parsed documents of the repository file, evicting the least recently used files while over the memory
+     * budget
+     *
+     * @param repositoryFilePath the repository file path
+     * @param contentBytes the size of the file content in bytes
+     * @return the parsed documents
+     */
+    public ParsedDocuments get(@NonNull final String repositoryFilePath, final long contentBytes) {
+        val size = ENTRY_OVERHEAD_BYTES + contentBytes;
+        if (size > memoryBudgetBytes) {
+            return ParsedDocuments.create();
+        }
+        synchronized (cachedDocuments) {
+            val cached = cachedDocuments.get(repositoryFilePath);
+            if (cached != null) {
+                return cached.parsedDocuments;
+            }
+            val loaded = new CachedDocuments(ParsedDocuments.create(), size);
+            cachedDocuments.put(repositoryFilePath, loaded);
+            cachedBytes += size;
+            val cachedDocumentsIterator = cachedDocuments.values().iterator();
+            while (cachedBytes > memoryBudgetBytes && cachedDocumentsIterator.hasNext()) {
+                val evicted = cachedDocumentsIterator.next();
+                if (evicted != loaded) {
+                    cachedBytes -= evicted.size;
+                    cachedDocumentsIterator.remove();
+                }
+            }
+            return loaded.parsedDocuments;
+        }
+    }
+
+    /**
+     * The parsed documents of a single repository file
+     *
+     * @author Brian Wyka
+     */
+    @RequiredArgsConstructor
+    private static final class CachedDocuments {
+
+        /**
+         * The parsed documents of the file
+         */
+        private final ParsedDocuments parsedDocuments;
+
+        /**
+         * The number of bytes the entry counts towards the memory budget
+         */
+        private final long size;
+
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.optum.sourcehawk.enforcer.file;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The parsed documents of a single file, keyed by {@link Format}.  The file is parsed at most once per format, no matter
+ * how many enforcers require it in that format, and the parsed document is shared by all of them.  Enforcers must
+ * therefore treat parsed documents as read only.
+ * <p>
+ * Parse failures are remembered as well, so every enforcer observes the same failure.
+ *
+ * @author Brian Wyka
+ */
+@NoArgsConstructor(staticName = "create")
+public final class ParsedDocuments {
+
+    /**
+     * The parsed documents, keyed by format
+     */
+    private final Map<Format<?>, ParsedDocument> parsedDocuments = new ConcurrentHashMap<>();
+
+    /**
+     * Parse the file in the format, unless it has already been parsed in that format, in which case the input stream
+     * is left untouched and the previously parsed document is returned
+     *
+     * @param format the format to parse
+     * @param inputStream the input stream of the file
+     * @param <T> the type of the parsed document
+     * @return the parsed document
+     * @throws IOException if any error occurs parsing the file, now or previously
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T parse(@NonNull final Format<T> format, @NonNull final InputStream inputStream) throws IOException {
+        val parsedDocument = parsedDocuments.computeIfAbsent(format, key -> new ParsedDocument());
+        synchronized (parsedDocument) {
+            if (!parsedDocument.parsed) {
+                try {
+                    parsedDocument.document = format.parser.parse(inputStream);
+                } catch (final IOException e) {
+                    parsedDocument.failure = e;
+                }
+                parsedDocument.parsed = true;
+            }
+        }
+        if (parsedDocument.failure != null) {
+            throw parsedDocument.failure;
+        }
+        return (T) parsedDocument.document;
+    }
+
+    /**
+     * A format in which files can be parsed.  Formats are compared by identity, so each should be declared once as a
+     * constant and shared by all enforcers which require it.
+     *
+     * @param <T> the type of the parsed document
+     * @author Brian Wyka
+     */
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Format<T> {
+
+        /**
+         * The name of the format
+         */
+        private final String name;
+
+        /**
+         * The parser of the format
+         */
+        private final Parser<T> parser;
+
+        /**
+         * Create the format
+         *
+         * @param name the name of the format
+         * @param parser the parser of the format
+         * @param <T> the type of the parsed document
+         * @return the format
+         */
+        public static <T> Format<T> of(@NonNull final String name, @NonNull final Parser<T> parser) {
+            return new Format<>(name, parser);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            return name;
+        }
+
+    }
+
+    /**
+     * A parser of files into documents
+     *
+     * @param <T> the type of the parsed document
+     * @author Brian Wyka
+     */
+    @FunctionalInterface
+    public interface Parser<T> {
+
+        /**
+         * Parse the file
+         *
+         * @param inputStream the input stream of the file
+         * @return the parsed document
+         * @throws IOException if any error occurs parsing the file
+         */
+        T parse(InputStream inputStream) throws IOException;
+
+    }
+
+    /**
+     * The outcome of parsing a file in a single format
+     *
+     * @author Brian Wyka
+     */
+    private static final class ParsedDocument {
+
+        /**
+         * Whether or not the file has been parsed
+         */
+        private boolean parsed;
+
+        /**
+         * The parsed document, if successful
+         */
+        private Object document;
+
+        /**
+         * The failure, if unsuccessful
+         */
+        private IOException failure;
+
+    }
+
+}
@@ -1,10 +1,15 @@
 package com.optum.sourcehawk.enforcer.file
 
+import com.optum.sourcehawk.core.repository.ByteBufferInputStream
 import com.optum.sourcehawk.enforcer.EnforcerResult
 import com.optum.sourcehawk.enforcer.file.AbstractFileEnforcer
 import lombok.NonNull
 import org.spockframework.util.IoUtil
 import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.ByteBuffer
+import java.security.MessageDigest
 
 class AbstractFileEnforcerSpec extends Specification {
 
@@ -58,6 +63,70 @@ class AbstractFileEnforcerSpec extends Specification {
         abstractEnforcer.toString(inputStream) == inputStream2.text
     }
 
+    @Unroll
+    def "contains - #substring"() {
+        expect:
+        abstractEnforcer.contains(new ByteArrayInputStream(content.bytes), substring) == expected
+
+        where:
+        content    | substring || expected
+        "abcabd"   | "abd"     || true
+        "aaab"     | "aab"     || true
+        "abcab"    | "abd"     || false
+        "abc"      | ""        || true
+        ""         | "a"       || false
+        "ab"       | "abc"     || false
+    }
+
+    def "contains - across buffer boundary"() {
+        given:
+        String content = ("a" * 8190) + "needle" + ("b" * 8192)
+
+        expect:
+        abstractEnforcer.contains(new ByteArrayInputStream(content.bytes), "needle")
+        abstractEnforcer.contains(new ByteArrayInputStream(content.bytes), "a" * 8190 + "n")
+        !abstractEnforcer.contains(new ByteArrayInputStream(content.bytes), "needles")
+    }
+
+    def "digest - inputStream"() {
+        given:
+        byte[] content = ("0123456789" * 2000).bytes
+
+        expect:
+        abstractEnforcer.digest(new ByteArrayInputStream(content), MessageDigest.getInstance("SHA-256")) == MessageDigest.getInstance("SHA-256").digest(content)
+    }
+
+    def "contains - byte buffer input stream"() {
+        given:
+        ByteBuffer byteBuffer = ByteBuffer.wrap((("a" * 8190) + "needle").bytes)
+
+        expect:
+        abstractEnforcer.contains(new ByteBufferInputStream(byteBuffer), "needle")
+        !abstractEnforcer.contains(new ByteBufferInputStream(byteBuffer), "needles")
+    }
+
+    def "digest - byte buffer input stream"() {
+        given:
+        byte[] content = ("0123456789" * 2000).bytes
+        ByteBufferInputStream inputStream = new ByteBufferInputStream(ByteBuffer.allocateDirect(content.length).put(content).flip() as ByteBuffer)
+
+        expect:
+        abstractEnforcer.digest(inputStream, MessageDigest.getInstance("SHA-256")) == MessageDigest.getInstance("SHA-256").digest(content)
+    }
+
+    def "enforce - closed byte buffer input stream"() {
+        given:
+        InputStream inputStream = new ByteBufferInputStream(ByteBuffer.wrap("content".bytes))
+        inputStream.close()
+
+        when:
+        EnforcerResult result = abstractEnforcer.enforce(inputStream)
+
+        then:
+        !result.passed
+        result.messages[0] == "Failed to read file with error [java.io.IOException: Stream closed]"
+    }
+
     private static class NoopFileEnforcer extends AbstractFileEnforcer {
         @Override
         protected EnforcerResult enforceInternal(final @NonNull InputStream actualFileInputStream) throws IOException {
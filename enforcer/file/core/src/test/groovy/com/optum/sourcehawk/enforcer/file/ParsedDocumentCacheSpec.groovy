@@ -0,0 +1,65 @@
+package com.optum.sourcehawk.enforcer.file
+
+import spock.lang.Specification
+
+class ParsedDocumentCacheSpec extends Specification {
+
+    def "get - same parsed documents per repository file path"() {
+        given:
+        ParsedDocumentCache parsedDocumentCache = ParsedDocumentCache.create()
+
+        when:
+        ParsedDocuments pom = parsedDocumentCache.get("pom.xml", 100)
+
+        then:
+        pom
+        parsedDocumentCache.get("pom.xml", 100).is(pom)
+        !parsedDocumentCache.get("module/pom.xml", 100).is(pom)
+    }
+
+    def "get - least recently used file evicted when over budget"() {
+        given:
+        ParsedDocumentCache parsedDocumentCache = ParsedDocumentCache.create(400)
+
+        when:
+        ParsedDocuments one = parsedDocumentCache.get("one.xml", 100)
+        ParsedDocuments two = parsedDocumentCache.get("two.xml", 100)
+        parsedDocumentCache.get("one.xml", 100)
+        parsedDocumentCache.get("three.xml", 100)
+
+        then:
+        parsedDocumentCache.get("one.xml", 100).is(one)
+        !parsedDocumentCache.get("two.xml", 100).is(two)
+        parsedDocumentCache.cachedBytes <= 400
+    }
+
+    def "get - file larger than budget not cached"() {
+        given:
+        ParsedDocumentCache parsedDocumentCache = ParsedDocumentCache.create(1024)
+
+        when:
+        ParsedDocuments large = parsedDocumentCache.get("large.xml", 20000)
+
+        then:
+        large
+        !parsedDocumentCache.get("large.xml", 20000).is(large)
+        parsedDocumentCache.cachedBytes == 0
+    }
+
+    def "create - negative budget"() {
+        when:
+        ParsedDocumentCache.create(-1L)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "get - null repository file path"() {
+        when:
+        ParsedDocumentCache.create().get(null, 0)
+
+        then:
+        thrown(NullPointerException)
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.optum.sourcehawk.enforcer.file
+
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class ParsedDocumentsSpec extends Specification {
+
+    def "parse - parsed once per format"() {
+        given:
+        ParsedDocuments parsedDocuments = ParsedDocuments.create()
+        int parseCount = 0
+        ParsedDocuments.Format<String> format = ParsedDocuments.Format.of("text", { InputStream inputStream ->
+            parseCount++
+            new String(inputStream.bytes, StandardCharsets.UTF_8)
+        } as ParsedDocuments.Parser<String>)
+
+        when:
+        String first = parsedDocuments.parse(format, new ByteArrayInputStream("content".bytes))
+        String second = parsedDocuments.parse(format, new ByteArrayInputStream(new byte[0]))
+
+        then:
+        first == "content"
+        second.is(first)
+        parseCount == 1
+    }
+
+    def "parse - formats parsed independently"() {
+        given:
+        ParsedDocuments parsedDocuments = ParsedDocuments.create()
+        ParsedDocuments.Format<String> upper = ParsedDocuments.Format.of("upper", { InputStream inputStream ->
+            new String(inputStream.bytes, StandardCharsets.UTF_8).toUpperCase()
+        } as ParsedDocuments.Parser<String>)
+        ParsedDocuments.Format<Integer> length = ParsedDocuments.Format.of("length", { InputStream inputStream ->
+            inputStream.bytes.length
+        } as ParsedDocuments.Parser<Integer>)
+
+        expect:
+        parsedDocuments.parse(upper, new ByteArrayInputStream("content".bytes)) == "CONTENT"
+        parsedDocuments.parse(length, new ByteArrayInputStream("content".bytes)) == 7
+        upper.toString() == "upper"
+    }
+
+    def "parse - failure remembered"() {
+        given:
+        ParsedDocuments parsedDocuments = ParsedDocuments.create()
+        int parseCount = 0
+        ParsedDocuments.Format<String> format = ParsedDocuments.Format.of("failing", { InputStream inputStream ->
+            parseCount++
+            throw new IOException("Unexpected end of file")
+        } as ParsedDocuments.Parser<String>)
+
+        when:
+        parsedDocuments.parse(format, new ByteArrayInputStream("content".bytes))
+
+        then:
+        IOException firstException = thrown(IOException)
+        firstException.message == "Unexpected end of file"
+
+        when:
+        parsedDocuments.parse(format, new ByteArrayInputStream("content".bytes))
+
+        then:
+        IOException secondException = thrown(IOException)
+        secondException.message == "Unexpected end of file"
+        parseCount == 1
+    }
+
+    def "parse - null arguments"() {
+        given:
+        ParsedDocuments parsedDocuments = ParsedDocuments.create()
+
+        when:
+        parsedDocuments.parse(null, new ByteArrayInputStream(new byte[0]))
+
+        then:
+        thrown(NullPointerException)
+    }
+
+}
@@ -26,6 +26,19 @@ abstract class AbstractDockerfileFromTokenEnforcer extends AbstractDockerfileTok
         return Optional.of(tokenValue -> !DockerfileParser.FROM_SCRATCH.equals(tokenValue));
     }
 
+    /**
+     * Enforce the FROM token of each build stage, as parsed once into the Dockerfile document.  Stages built from
+     * scratch or from a previous build stage are not enforced.
+     *
+     * @param dockerfileDocument the Dockerfile document
+     * @return the enforcer result
+     */
+    @Override
+    protected EnforcerResult enforceDocument(final Dockerfile.Document dockerfileDocument) {
+        return enforceTokenValues(dockerfileDocument.getFromTokens(), getToken(), this::enforceFromToken,
+                fromToken -> !fromToken.isStageReference() && !DockerfileParser.FROM_SCRATCH.equals(fromToken.getRawValue()));
+    }
+
     /**
      * Enforce the FROM image is as expected
      *
@@ -3,11 +3,14 @@ package com.optum.sourcehawk.enforcer.file.docker;
 import com.optum.sourcehawk.core.utils.CollectionUtils;
 import com.optum.sourcehawk.enforcer.EnforcerResult;
 import com.optum.sourcehawk.enforcer.file.AbstractFileEnforcer;
+import com.optum.sourcehawk.enforcer.file.ParsedDocuments;
+import com.optum.sourcehawk.enforcer.file.docker.utils.Dockerfile;
 import com.optum.sourcehawk.enforcer.file.docker.utils.DockerfileParser;
 import lombok.NonNull;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -24,25 +27,42 @@ abstract class AbstractDockerfileTokenEnforcer extends AbstractFileEnforcer {
     /** {@inheritDoc} */
     @Override
     protected EnforcerResult enforceInternal(@NonNull final InputStream actualFileInputStream) throws IOException {
-        return enforceToken(actualFileInputStream, getToken(), this::enforceToken, getTokenValueFilter().orElseGet(() -> s -> true));
+        return enforceInternal(actualFileInputStream, ParsedDocuments.create());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected EnforcerResult enforceInternal(@NonNull final InputStream actualFileInputStream, @NonNull final ParsedDocuments parsedDocuments) throws IOException {
+        return enforceDocument(DockerfileParser.parse(actualFileInputStream, parsedDocuments));
     }
 
     /**
-     * Enforce a token value is as expected
+     * Enforce the Dockerfile document is as expected
      *
-     * @param fileInputStream the file input stream
+     * @param dockerfileDocument the Dockerfile document
+     * @return the enforcer result
+     */
+    protected EnforcerResult enforceDocument(final Dockerfile.Document dockerfileDocument) {
+        return enforceTokenValues(dockerfileDocument.getInstructionArguments(getToken()), getToken(), this::enforceToken,
+                getTokenValueFilter().orElseGet(() -> s -> true));
+    }
+
+    /**
+     * Enforce the values of a token are as expected
+     *
+     * @param tokenValues the values of the token
      * @param token the token
      * @param tokenValueEnforcer the token value enforcer
-     * @param tokenValueFilter the token value filter (nullable)
-     * @return the enforcer result, otherwise {@link Optional#empty()} if none found
-     * @throws IOException if any error occurs parsing Dockerfile
+     * @param tokenValueFilter the token value filter
+     * @param <T> the type of token value
+     * @return the enforcer result
      */
-    protected EnforcerResult enforceToken(final InputStream fileInputStream, final String token,
-                                          final Function<String, EnforcerResult> tokenValueEnforcer,
-                                          final Predicate<String> tokenValueFilter) throws IOException {
-        return Optional.of(DockerfileParser.collectTokenValues(fileInputStream, token))
+    protected <T> EnforcerResult enforceTokenValues(final Collection<T> tokenValues, final String token,
+                                                    final Function<T, EnforcerResult> tokenValueEnforcer,
+                                                    final Predicate<T> tokenValueFilter) {
+        return Optional.of(tokenValues)
                 .filter(CollectionUtils::isNotEmpty)
-                .map(tokenValues -> tokenValues.stream()
+                .map(values -> values.stream()
                         .filter(tokenValueFilter)
                         .map(tokenValueEnforcer)
                         .reduce(EnforcerResult.passed(), EnforcerResult::reduce))
@@ -6,6 +6,10 @@ import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.Value;
 
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
 /**
  * Dockerfile representations
  *
@@ -50,6 +54,16 @@ public final class Dockerfile {
          */
         String tag;
 
+        /**
+         * The name given to the build stage with <code>AS</code> (optional)
+         */
+        String stageName;
+
+        /**
+         * Whether or not the image refers to a previous build stage by name, rather than to an image
+         */
+        boolean stageReference;
+
         /** {@inheritDoc} */
         @Override
         public String toString() {
@@ -58,4 +72,69 @@ public final class Dockerfile {
 
     }
 
+    /**
+     * Representation of an instruction in a Dockerfile, with any line continuations joined
+     *
+     * @author Brian Wyka
+     */
+    @Value
+    @Builder
+    public static class Instruction {
+
+        /**
+         * The instruction keyword, in upper case
+         */
+        @NonNull
+        String keyword;
+
+        /**
+         * The arguments following the keyword
+         */
+        @NonNull
+        String arguments;
+
+        /**
+         * The line number the instruction starts on
+         */
+        int lineNumber;
+
+    }
+
+    /**
+     * Representation of an entire Dockerfile, tokenized once so that it can be evaluated by any number of enforcers
+     *
+     * @author Brian Wyka
+     */
+    @Value
+    @Builder
+    public static class Document {
+
+        /**
+         * The instructions, in order of declaration
+         */
+        @NonNull
+        List<Instruction> instructions;
+
+        /**
+         * The FROM token of each build stage, in order of declaration, with any global ARG references substituted
+         */
+        @NonNull
+        List<FromToken> fromTokens;
+
+        /**
+         * Get the arguments of each instruction with the keyword
+         *
+         * @param keyword the instruction keyword, in any case
+         * @return the arguments of the matching instructions, in order of declaration
+         */
+        public List<String> getInstructionArguments(final String keyword) {
+            final String upperCaseKeyword = keyword.trim().toUpperCase(Locale.ROOT);
+            return instructions.stream()
+                    .filter(instruction -> instruction.getKeyword().equals(upperCaseKeyword))
+                    .map(Instruction::getArguments)
+                    .collect(Collectors.toList());
+        }
+
+    }
+
 }
@@ -1,7 +1,9 @@
 package com.optum.sourcehawk.enforcer.file.docker.utils;
 
+import com.optum.sourcehawk.enforcer.file.ParsedDocuments;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import lombok.NonNull;
 import lombok.val;
 
 import java.io.BufferedReader;
@@ -10,6 +12,14 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 /**
  * A parser for Dockerfiles
@@ -22,6 +32,22 @@ public class DockerfileParser {
     public static final String FROM_TOKEN = "FROM ";
     public static final String FROM_SCRATCH = "scratch";
 
+    private static final String FROM = "FROM";
+    private static final String ARG = "ARG";
+    private static final String STAGE_NAME_SEPARATOR = "AS";
+    private static final String FLAG_PREFIX = "--";
+    private static final String COMMENT_PREFIX = "#";
+    private static final String ESCAPE_DIRECTIVE = "escape";
+    private static final char DEFAULT_ESCAPE_CHARACTER = '\\';
+    private static final char ALTERNATE_ESCAPE_CHARACTER = '`';
+    private static final Pattern PARSER_DIRECTIVE_PATTERN = Pattern.compile("^\\s*#\\s*([a-zA-Z][a-zA-Z0-9]*)\\s*=\\s*(.+?)\\s*$");
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+
+    /**
+     * The Dockerfile document format, shared by all enforcers which evaluate the Dockerfile
+     */
+    private static final ParsedDocuments.Format<Dockerfile.Document> DOCUMENT = ParsedDocuments.Format.of("dockerfile", DockerfileParser::parse);
+
     /**
      * Collect the values of all lines for the given token
      *
@@ -31,16 +57,76 @@ public class DockerfileParser {
      * @throws IOException if any error occurs during file parsing
      */
     public static Collection<String> collectTokenValues(final InputStream fileInputStream, final String token) throws IOException {
+        return parse(fileInputStream).getInstructionArguments(token);
+    }
+
+    /**
+     * Parse the Dockerfile into a document, unless it has already been parsed into the parsed documents, in which
+     * case the previously parsed document is shared
+     *
+     * @param fileInputStream the file input stream
+     * @param parsedDocuments the documents parsed from the Dockerfile
+     * @return the Dockerfile document
+     * @throws IOException if any error occurs during file parsing
+     */
+    public static Dockerfile.Document parse(final InputStream fileInputStream, @NonNull final ParsedDocuments parsedDocuments) throws IOException {
+        return parsedDocuments.parse(DOCUMENT, fileInputStream);
+    }
+
+    /**
+     * Parse the Dockerfile into a document in a single pass.  Parser directives, comments, and line continuations are
+     * handled as Docker handles them, and the FROM token of each build stage is parsed.
+     *
+     * @param fileInputStream the file input stream
+     * @return the Dockerfile document
+     * @throws IOException if any error occurs during file parsing
+     */
+    public static Dockerfile.Document parse(final InputStream fileInputStream) throws IOException {
+        val instructions = new ArrayList<Dockerfile.Instruction>();
         try (val dockerfileReader = new BufferedReader(new InputStreamReader(fileInputStream))) {
+            char escapeCharacter = DEFAULT_ESCAPE_CHARACTER;
+            boolean parserDirectivesAllowed = true;
+            StringBuilder instruction = null;
+            int instructionLineNumber = 0;
+            int lineNumber = 0;
             String line;
-            val tokenValues = new ArrayList<String>();
             while ((line = dockerfileReader.readLine()) != null) {
-                if (line.startsWith(token)) {
-                    tokenValues.add(line.substring(token.length()));
+                lineNumber++;
+                if (parserDirectivesAllowed) {
+                    val parserDirectiveMatcher = PARSER_DIRECTIVE_PATTERN.matcher(line);
+                    if (parserDirectiveMatcher.matches()) {
+                        if (ESCAPE_DIRECTIVE.equalsIgnoreCase(parserDirectiveMatcher.group(1)) && parserDirectiveMatcher.group(2).length() == 1) {
+                            escapeCharacter = parserDirectiveMatcher.group(2).charAt(0) == ALTERNATE_ESCAPE_CHARACTER ? ALTERNATE_ESCAPE_CHARACTER : DEFAULT_ESCAPE_CHARACTER;
+                        }
+                        continue;
+                    }
+                    parserDirectivesAllowed = false;
                 }
+                val trimmedLine = line.trim();
+                if (trimmedLine.isEmpty() || trimmedLine.startsWith(COMMENT_PREFIX)) {
+                    continue; // Comments and empty lines are ignored, even within line continuations
+                }
+                if (instruction == null) {
+                    instruction = new StringBuilder();
+                    instructionLineNumber = lineNumber;
+                }
+                val content = stripTrailing(line);
+                if (content.charAt(content.length() - 1) == escapeCharacter) {
+                    instruction.append(content, 0, content.length() - 1);
+                    continue;
+                }
+                instruction.append(content);
+                instructions.add(buildInstruction(instruction.toString(), instructionLineNumber));
+                instruction = null;
+            }
+            if (instruction != null) {
+                instructions.add(buildInstruction(instruction.toString(), instructionLineNumber));
             }
-            return tokenValues;
         }
+        return Dockerfile.Document.builder()
+                .instructions(instructions)
+                .fromTokens(parseFromTokens(instructions))
+                .build();
     }
 
     /**
@@ -57,6 +143,16 @@ public class DockerfileParser {
      * @return the from token object
      */
     public static Dockerfile.FromToken parseFromToken(final String fromToken) {
+        return fromTokenBuilder(fromToken).build();
+    }
+
+    /**
+     * Create the builder of the from token, with the registry host, image, and tag parsed
+     *
+     * @param fromToken the from token string
+     * @return the from token builder
+     */
+    private static Dockerfile.FromToken.FromTokenBuilder fromTokenBuilder(final String fromToken) {
         val builder = Dockerfile.FromToken.builder().rawValue(fromToken);
         val firstForwardSlashIndex = fromToken.indexOf('/');
         int startIndex = 0;
@@ -75,7 +171,219 @@ public class DockerfileParser {
             builder.image(imagePieces[0]);
             builder.tag(image.substring(image.indexOf(':') + 1));
         }
-        return builder.build();
+        return builder;
+    }
+
+    /**
+     * Parse the FROM token of each build stage.  Flags such as <code>--platform</code> are skipped, stage names given
+     * with <code>AS</code> are recorded, and references to the ARGs declared before the first FROM are substituted with
+     * their default values.
+     *
+     * @param instructions the instructions
+     * @return the FROM tokens
+     */
+    private static List<Dockerfile.FromToken> parseFromTokens(final List<Dockerfile.Instruction> instructions) {
+        val fromTokens = new ArrayList<Dockerfile.FromToken>();
+        val globalArgs = new HashMap<String, String>();
+        val stageNames = new HashSet<String>();
+        for (val instruction : instructions) {
+            if (ARG.equals(instruction.getKeyword()) && fromTokens.isEmpty()) {
+                declareArgs(instruction.getArguments(), globalArgs);
+            } else if (FROM.equals(instruction.getKeyword())) {
+                parseFromToken(instruction.getArguments(), globalArgs, stageNames).ifPresent(fromTokens::add);
+            }
+        }
+        return fromTokens;
+    }
+
+    /**
+     * Parse the FROM token of a build stage
+     *
+     * @param fromArguments the arguments of the FROM instruction
+     * @param globalArgs the default values of the ARGs declared before the first FROM
+     * @param stageNames the lower case names of the previous build stages
+     * @return the FROM token, or {@link Optional#empty()} if no image is declared
+     */
+    private static Optional<Dockerfile.FromToken> parseFromToken(final String fromArguments, final Map<String, String> globalArgs,
+                                                                 final Set<String> stageNames) {
+        val arguments = new ArrayList<String>();
+        for (val argument : WHITESPACE_PATTERN.split(fromArguments)) {
+            if (!argument.isEmpty() && !(arguments.isEmpty() && argument.startsWith(FLAG_PREFIX))) {
+                arguments.add(argument);
+            }
+        }
+        if (arguments.isEmpty()) {
+            return Optional.empty();
+        }
+        val image = substituteArgs(arguments.get(0), globalArgs);
+        val builder = fromTokenBuilder(image)
+                .stageReference(stageNames.contains(image.toLowerCase(Locale.ROOT)));
+        if (arguments.size() > 2 && STAGE_NAME_SEPARATOR.equalsIgnoreCase(arguments.get(1))) {
+            builder.stageName(arguments.get(2));
+            stageNames.add(arguments.get(2).toLowerCase(Locale.ROOT));
+        }
+        return Optional.of(builder.build());
+    }
+
+    /**
+     * Declare the ARGs of an ARG instruction, such as <code>ARG VERSION=1.0.0 VARIANT</code>
+     *
+     * @param argArguments the arguments of the ARG instruction
+     * @param args the default values of the ARGs declared so far, which ARGs without a default value are removed from
+     */
+    private static void declareArgs(final String argArguments, final Map<String, String> args) {
+        for (val declaration : splitQuoted(argArguments)) {
+            val separatorIndex = declaration.indexOf('=');
+            if (separatorIndex < 0) {
+                args.remove(declaration);
+            } else {
+                args.put(declaration.substring(0, separatorIndex), substituteArgs(unquote(declaration.substring(separatorIndex + 1)), args));
+            }
+        }
+    }
+
+    /**
+     * Substitute references to ARGs, in the forms <code>$NAME</code>, <code>${NAME}</code>, <code>${NAME:-word}</code>
+     * and <code>${NAME:+word}</code>.  References to ARGs without a default value are left as written, as their values
+     * are only known at build time.
+     *
+     * @param value the value containing references
+     * @param args the default values of the declared ARGs
+     * @return the value with references substituted
+     */
+    private static String substituteArgs(final String value, final Map<String, String> args) {
+        if (value.indexOf('$') < 0) {
+            return value;
+        }
+        val substituted = new StringBuilder(value.length());
+        int index = 0;
+        while (index < value.length()) {
+            val character = value.charAt(index);
+            if (character != '$' || index + 1 == value.length()) {
+                substituted.append(character);
+                index++;
+                continue;
+            }
+            if (value.charAt(index + 1) == '{') {
+                val closingIndex = value.indexOf('}', index + 2);
+                if (closingIndex < 0) {
+                    substituted.append(value, index, value.length());
+                    break;
+                }
+                val expression = value.substring(index + 2, closingIndex);
+                val modifierIndex = expression.indexOf(':');
+                val name = modifierIndex < 0 ? expression : expression.substring(0, modifierIndex);
+                val argValue = args.get(name);
+                if (modifierIndex >= 0 && expression.length() > modifierIndex + 1 && expression.charAt(modifierIndex + 1) == '-') {
+                    substituted.append(argValue == null || argValue.isEmpty() ? expression.substring(modifierIndex + 2) : argValue);
+                } else if (modifierIndex >= 0 && expression.length() > modifierIndex + 1 && expression.charAt(modifierIndex + 1) == '+') {
+                    substituted.append(argValue == null || argValue.isEmpty() ? "" : expression.substring(modifierIndex + 2));
+                } else {
+                    substituted.append(argValue == null ? value.substring(index, closingIndex + 1) : argValue);
+                }
+                index = closingIndex + 1;
+            } else {
+                int nameEndIndex = index + 1;
+                while (nameEndIndex < value.length() && isNameCharacter(value.charAt(nameEndIndex), nameEndIndex == index + 1)) {
+                    nameEndIndex++;
+                }
+                val argValue = args.get(value.substring(index + 1, nameEndIndex));
+                substituted.append(argValue == null ? value.substring(index, nameEndIndex) : argValue);
+                index = Math.max(nameEndIndex, index + 1);
+            }
+        }
+        return substituted.toString();
+    }
+
+    /**
+     * Build the instruction from its logical line
+     *
+     * @param logicalLine the line, with any line continuations joined
+     * @param lineNumber the line number the instruction starts on
+     * @return the instruction
+     */
+    private static Dockerfile.Instruction buildInstruction(final String logicalLine, final int lineNumber) {
+        val trimmedLine = logicalLine.trim();
+        int keywordEndIndex = 0;
+        while (keywordEndIndex < trimmedLine.length() && !Character.isWhitespace(trimmedLine.charAt(keywordEndIndex))) {
+            keywordEndIndex++;
+        }
+        return Dockerfile.Instruction.builder()
+                .keyword(trimmedLine.substring(0, keywordEndIndex).toUpperCase(Locale.ROOT))
+                .arguments(trimmedLine.substring(keywordEndIndex).trim())
+                .lineNumber(lineNumber)
+                .build();
+    }
+
+    /**
+     * Split the arguments on whitespace, except for whitespace within quotes
+     *
+     * @param arguments the arguments
+     * @return the split arguments
+     */
+    private static List<String> splitQuoted(final String arguments) {
+        val split = new ArrayList<String>();
+        val current = new StringBuilder();
+        char quote = 0;
+        for (int index = 0; index < arguments.length(); index++) {
+            val character = arguments.charAt(index);
+            if (quote == 0 && Character.isWhitespace(character)) {
+                if (current.length() > 0) {
+                    split.add(current.toString());
+                    current.setLength(0);
+                }
+                continue;
+            }
+            if (quote == 0 && (character == '"' || character == '\'')) {
+                quote = character;
+            } else if (character == quote) {
+                quote = 0;
+            }
+            current.append(character);
+        }
+        if (current.length() > 0) {
+            split.add(current.toString());
+        }
+        return split;
+    }
+
+    /**
+     * Remove the quotes surrounding the value, if any
+     *
+     * @param value the value
+     * @return the unquoted value
+     */
+    private static String unquote(final String value) {
+        if (value.length() > 1 && (value.charAt(0) == '"' || value.charAt(0) == '\'') && value.charAt(value.length() - 1) == value.charAt(0)) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    /**
+     * Determine whether or not the character may be part of an ARG name
+     *
+     * @param character the character
+     * @param first whether or not the character is the first of the name
+     * @return true if part of the name, false otherwise
+     */
+    private static boolean isNameCharacter(final char character, final boolean first) {
+        return character == '_' || (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z')
+                || (!first && character >= '0' && character <= '9');
+    }
+
+    /**
+     * Strip the trailing whitespace of the line
+     *
+     * @param line the line
+     * @return the stripped line
+     */
+    private static String stripTrailing(final String line) {
+        int endIndex = line.length();
+        while (endIndex > 0 && Character.isWhitespace(line.charAt(endIndex - 1))) {
+            endIndex--;
+        }
+        return line.substring(0, endIndex);
     }
 
 }
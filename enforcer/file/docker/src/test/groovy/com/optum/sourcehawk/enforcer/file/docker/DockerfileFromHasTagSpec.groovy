@@ -115,6 +115,22 @@ class DockerfileFromHasTagSpec extends Specification {
         result.messages[0] == "Dockerfile FROM [nginx] is missing tag"
     }
 
+    def "enforce (failed - multi-stage - stage references ignored)"() {
+        given:
+        DockerfileFromHasTag dockerfileFromHasTag = DockerfileFromHasTag.allowLatest(false)
+        InputStream fileInputStream = IoUtil.getResourceAsStream('/Dockerfile-multiStage')
+
+        when:
+        EnforcerResult result = dockerfileFromHasTag.enforce(fileInputStream)
+
+        then:
+        result
+        !result.passed
+        result.messages
+        result.messages.size() == 1
+        result.messages[0] == "Dockerfile FROM [docker.io/nginx] is missing tag"
+    }
+
     def "enforce (failed - allowLatest = false, latest tag found)"() {
         given:
         DockerfileFromHasTag dockerfileFromHasTag = DockerfileFromHasTag.allowLatest(false)
@@ -1,5 +1,6 @@
 package com.optum.sourcehawk.enforcer.file.docker.utils
 
+import com.optum.sourcehawk.enforcer.file.ParsedDocuments
 import org.spockframework.util.IoUtil
 import spock.lang.Specification
 
@@ -49,6 +50,76 @@ class DockerfileParserSpec extends Specification {
         tokenValues[2] == "nginx"
     }
 
+    def "parse - multi-stage"() {
+        given:
+        InputStream dockerfileInputStream = IoUtil.getResourceAsStream("/Dockerfile-multiStage")
+
+        when:
+        Dockerfile.Document document = DockerfileParser.parse(dockerfileInputStream)
+
+        then:
+        document.instructions*.keyword == ["ARG", "ARG", "FROM", "WORKDIR", "RUN", "FROM", "RUN", "FROM", "COPY"]
+        document.getInstructionArguments("run")[0] == "npm ci     && npm run build"
+        document.instructions[4].lineNumber == 7
+        document.fromTokens.size() == 3
+        document.fromTokens[0].rawValue == "node:14.15.1"
+        document.fromTokens[0].image == "node"
+        document.fromTokens[0].tag == "14.15.1"
+        document.fromTokens[0].stageName == "build"
+        !document.fromTokens[0].stageReference
+        document.fromTokens[1].rawValue == "build"
+        document.fromTokens[1].stageName == "test"
+        document.fromTokens[1].stageReference
+        document.fromTokens[2].rawValue == "docker.io/nginx"
+        document.fromTokens[2].registryHost == "docker.io"
+        document.fromTokens[2].image == "nginx"
+        !document.fromTokens[2].stageName
+    }
+
+    def "parse - escape directive"() {
+        given:
+        String dockerfile = '''# escape=`
+FROM mcr.microsoft.com/windows/servercore:ltsc2019
+RUN dir c:\\ `
+    && echo done
+'''
+
+        when:
+        Dockerfile.Document document = DockerfileParser.parse(new ByteArrayInputStream(dockerfile.bytes))
+
+        then:
+        document.getInstructionArguments("RUN") == ["dir c:\\     && echo done"]
+        document.fromTokens[0].registryHost == "mcr.microsoft.com"
+        document.fromTokens[0].tag == "ltsc2019"
+    }
+
+    def "parse - arguments without defaults left as written"() {
+        given:
+        String dockerfile = '''ARG VARIANT
+FROM nginx:${VARIANT}
+ARG LATE=1.0
+FROM node:$LATE
+'''
+
+        when:
+        Dockerfile.Document document = DockerfileParser.parse(new ByteArrayInputStream(dockerfile.bytes))
+
+        then:
+        document.fromTokens*.rawValue == ['nginx:${VARIANT}', 'node:$LATE']
+    }
+
+    def "parse - parsed once per document"() {
+        given:
+        ParsedDocuments parsedDocuments = ParsedDocuments.create()
+        InputStream dockerfileInputStream = IoUtil.getResourceAsStream("/Dockerfile-default")
+
+        when:
+        Dockerfile.Document document = DockerfileParser.parse(dockerfileInputStream, parsedDocuments)
+
+        then:
+        DockerfileParser.parse(new ByteArrayInputStream(new byte[0]), parsedDocuments).is(document)
+    }
+
     def "parseFromToken - only image"() {
         given:
         String fromTokenString = "image"
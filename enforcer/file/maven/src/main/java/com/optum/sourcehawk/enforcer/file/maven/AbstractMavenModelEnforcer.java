@@ -7,6 +7,7 @@ import org.apache.maven.model.Model;
 
 import java.util.ArrayList;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 public abstract class AbstractMavenModelEnforcer extends AbstractFileEnforcer {
 
@@ -76,28 +77,38 @@ public abstract class AbstractMavenModelEnforcer extends AbstractFileEnforcer {
     /**
      * Enforce the model is as expected
      *
-     * @param expectedCoordinatesArray the array of expected coordinates
+     * @param expectedCoordinates the expected coordinates
      * @param model the maven model
      * @return the enforcer result
      */
-    protected EnforcerResult enforce(final String[] expectedCoordinatesArray, final Model model) {
-        val expectedGroupId = expectedCoordinatesArray[0];
-        val expectedArtifactId = expectedCoordinatesArray[1];
-        Optional<String> expectedVersionOptional = Optional.of(expectedCoordinatesArray)
-                .filter(coordinates -> coordinates.length == 3)
-                .map(coordinates -> coordinates[2]);
+    protected EnforcerResult enforce(final MavenCoordinates expectedCoordinates, final Model model) {
+        return enforce(expectedCoordinates, getGroupId(model), getArtifactId(model), getVersion(model), () -> getId(model));
+    }
+
+    /**
+     * Enforce the actual coordinates are as expected
+     *
+     * @param expectedCoordinates the expected coordinates
+     * @param actualGroupId the actual groupId
+     * @param actualArtifactId the actual artifactId
+     * @param actualVersion the actual version
+     * @param actualIdSupplier the supplier of the actual ID, only needed when the version is not as expected
+     * @return the enforcer result
+     */
+    protected EnforcerResult enforce(final MavenCoordinates expectedCoordinates, final String actualGroupId, final String actualArtifactId,
+                                     final String actualVersion, final Supplier<String> actualIdSupplier) {
+        val expectedGroupId = expectedCoordinates.getGroupId();
+        val expectedArtifactId = expectedCoordinates.getArtifactId();
+        val expectedVersion = expectedCoordinates.getVersion();
         val failedMessages = new ArrayList<String>();
-        if (!WILDCARD.equals(expectedGroupId) && !expectedGroupId.equals(getGroupId(model))) {
-            failedMessages.add(String.format(INCORRECT_GROUP_ID_ERROR, getMavenModelType(), getGroupId(model), expectedGroupId));
+        if (!WILDCARD.equals(expectedGroupId) && !expectedGroupId.equals(actualGroupId)) {
+            failedMessages.add(String.format(INCORRECT_GROUP_ID_ERROR, getMavenModelType(), actualGroupId, expectedGroupId));
         }
-        if (!WILDCARD.equals(expectedArtifactId) && !expectedArtifactId.equals(getArtifactId(model))) {
-            failedMessages.add(String.format(INCORRECT_ARTIFACT_ID_ERROR, getMavenModelType(), getArtifactId(model), expectedArtifactId));
+        if (!WILDCARD.equals(expectedArtifactId) && !expectedArtifactId.equals(actualArtifactId)) {
+            failedMessages.add(String.format(INCORRECT_ARTIFACT_ID_ERROR, getMavenModelType(), actualArtifactId, expectedArtifactId));
         }
-        if (expectedVersionOptional.isPresent()) {
-            val expectedVersion = expectedVersionOptional.get();
-            if (!WILDCARD.equals(expectedVersion) && !(expectedVersion.equals(getVersion(model)) || getVersion(model).matches(expectedVersion))) {
-                failedMessages.add(String.format(INCORRECT_VERSION_ERROR, getMavenModelType(), getId(model), getVersion(model), expectedVersionOptional.get()));
-            }
+        if (expectedVersion != null && !WILDCARD.equals(expectedVersion) && !expectedCoordinates.matchesVersion(actualVersion)) {
+            failedMessages.add(String.format(INCORRECT_VERSION_ERROR, getMavenModelType(), actualIdSupplier.get(), actualVersion, expectedVersion));
         }
         if (failedMessages.isEmpty()) {
             return EnforcerResult.passed();
@@ -3,6 +3,7 @@ package com.optum.sourcehawk.enforcer.file.maven;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.optum.sourcehawk.enforcer.EnforcerResult;
 import com.optum.sourcehawk.enforcer.file.AbstractFileEnforcer;
+import com.optum.sourcehawk.enforcer.file.ParsedDocuments;
 import com.optum.sourcehawk.enforcer.file.maven.utils.MavenPomParser;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,6 +11,7 @@ import lombok.NonNull;
 import lombok.val;
 import org.apache.maven.model.Model;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collection;
 import java.util.Collections;
@@ -41,8 +43,14 @@ public class MavenBannedProperties extends AbstractFileEnforcer {
 
     /** {@inheritDoc} */
     @Override
-    protected EnforcerResult enforceInternal(@NonNull final InputStream actualFileInputStream) {
-        return MavenPomParser.parse(actualFileInputStream)
+    protected EnforcerResult enforceInternal(@NonNull final InputStream actualFileInputStream) throws IOException {
+        return enforceInternal(actualFileInputStream, ParsedDocuments.create());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected EnforcerResult enforceInternal(@NonNull final InputStream actualFileInputStream, @NonNull final ParsedDocuments parsedDocuments) throws IOException {
+        return MavenPomParser.parse(actualFileInputStream, parsedDocuments)
                 .map(Model::getProperties)
                 .map(this::enforceBannedProperties)
                 .orElseGet(() -> EnforcerResult.failed(PARSE_ERROR));
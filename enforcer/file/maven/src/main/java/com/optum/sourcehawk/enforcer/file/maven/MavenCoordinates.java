@@ -0,0 +1,130 @@
+package com.optum.sourcehawk.enforcer.file.maven;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import lombok.val;
+
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Expected maven coordinates in the format <code>groupId:artifactId[:version]</code>, parsed once so that they can be
+ * checked against any number of declarations.  The version may be a regular expression, which is compiled up front.
+ *
+ * @author Brian Wyka
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+class MavenCoordinates {
+
+    private static final String SEPARATOR = ":";
+
+    /**
+     * The expected groupId
+     */
+    String groupId;
+
+    /**
+     * The expected artifactId
+     */
+    String artifactId;
+
+    /**
+     * The expected version, or null if the version is not checked
+     */
+    String version;
+
+    /**
+     * The compiled version pattern, or null if there is no version or it is not a valid regular expression
+     */
+    Pattern versionPattern;
+
+    /**
+     * Parse the expected coordinates
+     *
+     * @param expectedCoordinates the expected coordinates
+     * @return the coordinates, or {@link Optional#empty()} if they are improperly formatted
+     */
+    static Optional<MavenCoordinates> parse(final String expectedCoordinates) {
+        val expectedCoordinatesArray = expectedCoordinates.split(SEPARATOR);
+        if (expectedCoordinatesArray.length < 2) {
+            return Optional.empty();
+        }
+        val version = expectedCoordinatesArray.length == 3 ? expectedCoordinatesArray[2] : null;
+        return Optional.of(new MavenCoordinates(expectedCoordinatesArray[0], expectedCoordinatesArray[1], version, compileVersionPattern(version)));
+    }
+
+    /**
+     * Determine whether or not the actual version is equal to, or matches, the expected version
+     *
+     * @param actualVersion the actual version
+     * @return true if the version is equal or matches, false otherwise
+     */
+    boolean matchesVersion(final String actualVersion) {
+        if (version.equals(actualVersion)) {
+            return true;
+        }
+        if (versionPattern == null) {
+            return actualVersion.matches(version); // Not a valid pattern, fails just as the expression always has
+        }
+        return versionPattern.matcher(actualVersion).matches();
+    }
+
+    /**
+     * Get the key which the groupId and artifactId are looked up with, ignoring case
+     *
+     * @return the key
+     */
+    String getKey() {
+        return key(groupId, artifactId);
+    }
+
+    /**
+     * Get the key which the groupId and artifactId of a declaration are looked up with.  Keys are equal when both the
+     * groupId and artifactId are equal ignoring case, as determined by {@link String#equalsIgnoreCase(String)}.
+     *
+     * @param groupId the groupId
+     * @param artifactId the artifactId
+     * @return the key, or null if either the groupId or artifactId is not declared
+     */
+    static String key(final String groupId, final String artifactId) {
+        if (groupId == null || artifactId == null) {
+            return null;
+        }
+        return foldCase(groupId) + SEPARATOR + foldCase(artifactId);
+    }
+
+    /**
+     * Fold the case of each character, such that values which are equal ignoring case fold to the same value
+     *
+     * @param value the value
+     * @return the folded value
+     */
+    private static String foldCase(final String value) {
+        val characters = value.toCharArray();
+        for (int index = 0; index < characters.length; index++) {
+            characters[index] = Character.toLowerCase(Character.toUpperCase(characters[index]));
+        }
+        return new String(characters);
+    }
+
+    /**
+     * Compile the version pattern
+     *
+     * @param version the expected version, may be null
+     * @return the compiled pattern, or null if there is no version or it is not a valid regular expression
+     */
+    private static Pattern compileVersionPattern(final String version) {
+        if (version == null) {
+            return null;
+        }
+        try {
+            return Pattern.compile(version);
+        } catch (final PatternSyntaxException e) {
+            return null;
+        }
+    }
+
+}
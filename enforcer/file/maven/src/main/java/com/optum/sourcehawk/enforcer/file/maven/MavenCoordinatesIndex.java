@@ -0,0 +1,86 @@
+package com.optum.sourcehawk.enforcer.file.maven;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * An index of expected maven coordinates keyed by groupId and artifactId, so that all of the declarations of a pom.xml
+ * can be matched against all of the expected coordinates in a single pass
+ *
+ * @author Brian Wyka
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class MavenCoordinatesIndex {
+
+    /**
+     * The parsed coordinates, keyed by the expected coordinates they were parsed from
+     */
+    private final Map<String, MavenCoordinates> parsedCoordinates;
+
+    /**
+     * The distinct parsed coordinates, keyed by groupId and artifactId
+     */
+    private final Map<String, List<MavenCoordinates>> coordinatesByKey;
+
+    /**
+     * Create the index of the expected coordinates
+     *
+     * @param expectedCoordinates the expected coordinates
+     * @return the index
+     */
+    static MavenCoordinatesIndex of(final Collection<String> expectedCoordinates) {
+        val parsedCoordinates = new HashMap<String, MavenCoordinates>();
+        for (val expectedCoordinate : expectedCoordinates) {
+            MavenCoordinates.parse(expectedCoordinate).ifPresent(coordinates -> parsedCoordinates.put(expectedCoordinate, coordinates));
+        }
+        val coordinatesByKey = new HashMap<String, List<MavenCoordinates>>();
+        for (val coordinates : new HashSet<>(parsedCoordinates.values())) {
+            coordinatesByKey.computeIfAbsent(coordinates.getKey(), key -> new ArrayList<>()).add(coordinates);
+        }
+        return new MavenCoordinatesIndex(parsedCoordinates, coordinatesByKey);
+    }
+
+    /**
+     * Get the coordinates parsed from the expected coordinates
+     *
+     * @param expectedCoordinates the expected coordinates
+     * @return the parsed coordinates, or {@link Optional#empty()} if they are improperly formatted
+     */
+    Optional<MavenCoordinates> get(final String expectedCoordinates) {
+        return Optional.ofNullable(parsedCoordinates.get(expectedCoordinates));
+    }
+
+    /**
+     * Match the declarations against the expected coordinates, the first declaration with equal groupId and artifactId
+     * (ignoring case) being the match
+     *
+     * @param declarations the declarations, such as dependencies or plugins
+     * @param groupIdGetter the getter of the declared groupId
+     * @param artifactIdGetter the getter of the declared artifactId
+     * @param <T> the type of declaration
+     * @return the matching declaration, keyed by the coordinates it matches
+     */
+    <T> Map<MavenCoordinates, T> match(final Collection<T> declarations, final Function<T, String> groupIdGetter,
+            final Function<T, String> artifactIdGetter) {
+        val matches = new HashMap<MavenCoordinates, T>();
+        for (val declaration : declarations) {
+            val key = MavenCoordinates.key(groupIdGetter.apply(declaration), artifactIdGetter.apply(declaration));
+            for (val coordinates : coordinatesByKey.getOrDefault(key, Collections.emptyList())) {
+                matches.putIfAbsent(coordinates, declaration);
+            }
+        }
+        return matches;
+    }
+
+}
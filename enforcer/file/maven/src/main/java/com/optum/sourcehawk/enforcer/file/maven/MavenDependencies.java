@@ -3,17 +3,23 @@ package com.optum.sourcehawk.enforcer.file.maven;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.optum.sourcehawk.core.utils.CollectionUtils;
 import com.optum.sourcehawk.enforcer.EnforcerResult;
+import com.optum.sourcehawk.enforcer.file.ParsedDocuments;
 import com.optum.sourcehawk.enforcer.file.maven.utils.MavenPomParser;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.val;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.Model;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * An enforcer which enforces that the coordinates of the maven dependencies are as expected
@@ -37,12 +43,26 @@ public class MavenDependencies extends AbstractMavenModelEnforcer {
     @NonNull
     private final List<String> expectedCoordinates;
 
+    /**
+     * The expected coordinates, indexed once and shared by all executions
+     */
+    @Getter(value = AccessLevel.PRIVATE, lazy = true)
+    private final MavenCoordinatesIndex expectedCoordinatesIndex = MavenCoordinatesIndex.of(expectedCoordinates);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected EnforcerResult enforceInternal(@NonNull final InputStream actualFileInputStream) throws IOException {
+        return enforceInternal(actualFileInputStream, ParsedDocuments.create());
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
-    protected EnforcerResult enforceInternal(@NonNull final InputStream actualFileInputStream) {
-        return MavenPomParser.parse(actualFileInputStream)
+    protected EnforcerResult enforceInternal(@NonNull final InputStream actualFileInputStream, @NonNull final ParsedDocuments parsedDocuments) throws IOException {
+        return MavenPomParser.parse(actualFileInputStream, parsedDocuments)
                 .map(Model::getDependencies)
                 .map(this::enforceInternal)
                 .orElseGet(() -> EnforcerResult.failed(PARSE_ERROR));
@@ -61,33 +81,35 @@ public class MavenDependencies extends AbstractMavenModelEnforcer {
         if (CollectionUtils.isEmpty(dependencies)) {
             return EnforcerResult.failed(String.format(MISSING_DECLARATION_ERROR, getMavenModelType()));
         }
+        val expectedCoordinatesIndex = getExpectedCoordinatesIndex();
+        val matchedDependencies = expectedCoordinatesIndex.match(dependencies, Dependency::getGroupId, Dependency::getArtifactId);
         return expectedCoordinates.stream()
-                .map(expectedCoordinate -> enforceDependencyCoordinates(dependencies, expectedCoordinate))
+                .map(expectedCoordinate -> enforceDependencyCoordinates(matchedDependencies, expectedCoordinate, expectedCoordinatesIndex.get(expectedCoordinate)))
                 .reduce(EnforcerResult.passed(), EnforcerResult::reduce);
     }
 
     /**
      * Enforce that the expected coordinates exist amongst all the dependencies
      *
-     * @param dependencies the dependencies to check
+     * @param matchedDependencies the dependencies which match expected coordinates, keyed by the coordinates
      * @param expectedCoordinates the dependency's expected coordinates
+     * @param parsedExpectedCoordinatesOptional the dependency's parsed expected coordinates, if properly formatted
      * @return the enforcer result
      */
-    private EnforcerResult enforceDependencyCoordinates(final Collection<Dependency> dependencies, final String expectedCoordinates) {
-        val expectedCoordinatesArray = expectedCoordinates.split(":");
-        if (expectedCoordinatesArray.length < 2) {
+    private EnforcerResult enforceDependencyCoordinates(final Map<MavenCoordinates, Dependency> matchedDependencies, final String expectedCoordinates,
+                                                        final Optional<MavenCoordinates> parsedExpectedCoordinatesOptional) {
+        if (!parsedExpectedCoordinatesOptional.isPresent()) {
             return EnforcerResult.failed(EXPECTED_FORMAT_ERROR);
         }
-        return dependencies.stream()
-                .filter(dep -> dep.getArtifactId().equalsIgnoreCase(expectedCoordinatesArray[1]) && dep.getGroupId().equalsIgnoreCase(expectedCoordinatesArray[0]))
-                .findFirst()
-                .map(MavenDependencies::buildModelFromDependency)
-                .map(dependencyModel -> enforce(expectedCoordinatesArray, dependencyModel))
+        val parsedExpectedCoordinates = parsedExpectedCoordinatesOptional.get();
+        return Optional.ofNullable(matchedDependencies.get(parsedExpectedCoordinates))
+                .map(dependency -> enforce(parsedExpectedCoordinates, dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion(),
+                        () -> buildModelFromDependency(dependency).getId()))
                 .orElseGet(() -> EnforcerResult.failed(String.format(MISSING_DECLARATION_ERROR, expectedCoordinates)));
     }
 
     /**
-     * Build a {@link Model} from the provided {@link Dependency}
+     * Build a {@link Model} from the provided {@link Dependency}, to describe its ID
      *
      * @param dependency the dependency to build model for
      * @return the built model
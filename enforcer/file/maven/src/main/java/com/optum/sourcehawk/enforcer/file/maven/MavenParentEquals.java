@@ -2,14 +2,18 @@ package com.optum.sourcehawk.enforcer.file.maven;
 
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.optum.sourcehawk.enforcer.EnforcerResult;
+import com.optum.sourcehawk.enforcer.file.ParsedDocuments;
 import com.optum.sourcehawk.enforcer.file.maven.utils.MavenPomParser;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.val;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Parent;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.Optional;
 
@@ -35,33 +39,46 @@ public class MavenParentEquals extends AbstractMavenModelEnforcer {
     @NonNull
     private final String expectedCoordinates;
 
+    /**
+     * The expected coordinates, parsed once and shared by all executions
+     */
+    @Getter(value = AccessLevel.PRIVATE, lazy = true)
+    private final Optional<MavenCoordinates> parsedExpectedCoordinates = MavenCoordinates.parse(expectedCoordinates);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected EnforcerResult enforceInternal(@NonNull final InputStream actualFileInputStream) throws IOException {
+        return enforceInternal(actualFileInputStream, ParsedDocuments.create());
+    }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    protected EnforcerResult enforceInternal(@NonNull final InputStream actualFileInputStream) {
-        val expectedCoordinatesArray = expectedCoordinates.split(":");
-        if (expectedCoordinatesArray.length < 2) {
+    protected EnforcerResult enforceInternal(@NonNull final InputStream actualFileInputStream, @NonNull final ParsedDocuments parsedDocuments) throws IOException {
+        val parsedExpectedCoordinatesOptional = getParsedExpectedCoordinates();
+        if (!parsedExpectedCoordinatesOptional.isPresent()) {
             return EnforcerResult.failed(EXPECTED_FORMAT_ERROR);
         }
-        return MavenPomParser.parse(actualFileInputStream)
-                .map(model -> getEnforcerResult(expectedCoordinatesArray, model))
+        return MavenPomParser.parse(actualFileInputStream, parsedDocuments)
+                .map(model -> getEnforcerResult(parsedExpectedCoordinatesOptional.get(), model))
                 .orElseGet(() -> EnforcerResult.failed(PARSE_ERROR));
     }
 
     /**
      * Get the enforcer results and return failed if the expected coordinates are empty.
      *
-     * @param expectedCoordinatesArray coordinates to use
-     * @param model                    the maven model
+     * @param coordinates coordinates to use
+     * @param model       the maven model
      * @return Enforcer result
      */
-    private EnforcerResult getEnforcerResult(String[] expectedCoordinatesArray, Model model) {
+    private EnforcerResult getEnforcerResult(MavenCoordinates coordinates, Model model) {
         if (model.getParent() == null) {
             return EnforcerResult.failed(String.format(MISSING_DECLARATION_ERROR, getMavenModelType()));
         }
-        return enforce(expectedCoordinatesArray, model);
+        return enforce(coordinates, model);
     }
 
     /** {@inheritDoc} */
@@ -3,18 +3,23 @@ package com.optum.sourcehawk.enforcer.file.maven;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.optum.sourcehawk.core.utils.CollectionUtils;
 import com.optum.sourcehawk.enforcer.EnforcerResult;
+import com.optum.sourcehawk.enforcer.file.ParsedDocuments;
 import com.optum.sourcehawk.enforcer.file.maven.utils.MavenPomParser;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.val;
 import org.apache.maven.model.Build;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Plugin;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -39,12 +44,26 @@ public class MavenPlugins extends AbstractMavenModelEnforcer {
     @NonNull
     private final List<String> expectedCoordinates;
 
+    /**
+     * The expected coordinates, indexed once and shared by all executions
+     */
+    @Getter(value = AccessLevel.PRIVATE, lazy = true)
+    private final MavenCoordinatesIndex expectedCoordinatesIndex = MavenCoordinatesIndex.of(expectedCoordinates);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected EnforcerResult enforceInternal(@NonNull final InputStream actualFileInputStream) throws IOException {
+        return enforceInternal(actualFileInputStream, ParsedDocuments.create());
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
-    protected EnforcerResult enforceInternal(@NonNull final InputStream actualFileInputStream) {
-        return MavenPomParser.parse(actualFileInputStream)
+    protected EnforcerResult enforceInternal(@NonNull final InputStream actualFileInputStream, @NonNull final ParsedDocuments parsedDocuments) throws IOException {
+        return MavenPomParser.parse(actualFileInputStream, parsedDocuments)
                 .map(Model::getBuild)
                 .map(Build::getPlugins)
                 .map(this::enforceInternal)
@@ -64,33 +83,35 @@ public class MavenPlugins extends AbstractMavenModelEnforcer {
         if (CollectionUtils.isEmpty(plugins)) {
             return EnforcerResult.failed(String.format(MISSING_DECLARATION_ERROR, getMavenModelType()));
         }
+        val expectedCoordinatesIndex = getExpectedCoordinatesIndex();
+        val matchedPlugins = expectedCoordinatesIndex.match(plugins, Plugin::getGroupId, Plugin::getArtifactId);
         return expectedCoordinates.stream()
-                .map(expectedCoordinate -> enforcePluginCoordinates(plugins, expectedCoordinate))
+                .map(expectedCoordinate -> enforcePluginCoordinates(matchedPlugins, expectedCoordinate, expectedCoordinatesIndex.get(expectedCoordinate)))
                 .reduce(EnforcerResult.passed(), EnforcerResult::reduce);
     }
 
     /**
      * Enforce that the expected coordinates exist amongst all the plugins
      *
-     * @param plugins the plugins to check
+     * @param matchedPlugins the plugins which match expected coordinates, keyed by the coordinates
      * @param expectedCoordinates the plugin's expected coordinates
+     * @param parsedExpectedCoordinatesOptional the plugin's parsed expected coordinates, if properly formatted
      * @return the enforcer result
      */
-    private EnforcerResult enforcePluginCoordinates(final Collection<Plugin> plugins, final String expectedCoordinates) {
-        val expectedCoordinatesArray = expectedCoordinates.split(":");
-        if (expectedCoordinatesArray.length < 2) {
+    private EnforcerResult enforcePluginCoordinates(final Map<MavenCoordinates, Plugin> matchedPlugins, final String expectedCoordinates,
+                                                    final Optional<MavenCoordinates> parsedExpectedCoordinatesOptional) {
+        if (!parsedExpectedCoordinatesOptional.isPresent()) {
             return EnforcerResult.failed(EXPECTED_FORMAT_ERROR);
         }
-        return plugins.stream()
-                .filter(plugin -> plugin.getArtifactId().equalsIgnoreCase(expectedCoordinatesArray[1]) && plugin.getGroupId().equalsIgnoreCase(expectedCoordinatesArray[0]))
-                .findFirst()
-                .map(MavenPlugins::buildModelFromPlugin)
-                .map(pluginModel -> enforce(expectedCoordinatesArray, pluginModel))
+        val parsedExpectedCoordinates = parsedExpectedCoordinatesOptional.get();
+        return Optional.ofNullable(matchedPlugins.get(parsedExpectedCoordinates))
+                .map(plugin -> enforce(parsedExpectedCoordinates, plugin.getGroupId(), plugin.getArtifactId(), plugin.getVersion(),
+                        () -> buildModelFromPlugin(plugin).getId()))
                 .orElseGet(() -> EnforcerResult.failed(String.format(MISSING_DECLARATION_ERROR, expectedCoordinates)));
     }
 
     /**
-     * Build a {@link Model} from the provided {@link Plugin}
+     * Build a {@link Model} from the provided {@link Plugin}, to describe its ID
      *
      * @param plugin the plugin to build model for
      * @return the built model
@@ -1,7 +1,9 @@
 package com.optum.sourcehawk.enforcer.file.maven.utils;
 
+import com.optum.sourcehawk.enforcer.file.ParsedDocuments;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import lombok.NonNull;
 import lombok.val;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
@@ -19,22 +21,52 @@ import java.util.Optional;
 public final class MavenPomParser {
 
     /**
-     * Internal reader to read the pom.xml contents
+     * Internal reader to read the pom.xml contents, when it cannot be read selectively
      */
     private static final MavenXpp3Reader POM_READER = new MavenXpp3Reader();
 
     /**
-     * Read the maven model from the provided pom.xml {@link InputStream}
+     * The maven model format, shared by all enforcers which evaluate the pom.xml as a maven model
+     */
+    private static final ParsedDocuments.Format<Model> MODEL = ParsedDocuments.Format.of("maven-model", pomXmlInputStream -> parse(pomXmlInputStream).orElse(null));
+
+    /**
+     * Read the maven model from the provided pom.xml {@link InputStream}.  If the input stream supports being reset, such
+     * as a {@link com.optum.sourcehawk.core.repository.RepositoryFileInputStream} which is reset without buffering the
+     * pom.xml, the model is populated with only the project coordinates, parent, properties, dependencies and build
+     * plugins, see {@link StreamingPomReader}.  Otherwise, or if the pom.xml cannot be read selectively, the full model
+     * is read.
      *
      * @param pomXmlInputStream the pom.xml input stream
      * @return the model if parsed correctly, otherwise {@link Optional#empty()}
      */
     public static Optional<Model> parse(final InputStream pomXmlInputStream) {
-        try (val pomXmlInputStreamReader = new InputStreamReader(pomXmlInputStream)) {
-            return Optional.ofNullable(POM_READER.read(pomXmlInputStreamReader));
+        try (val inputStream = pomXmlInputStream) {
+            if (inputStream.markSupported()) {
+                inputStream.mark(Integer.MAX_VALUE);
+                val modelOptional = StreamingPomReader.read(inputStream);
+                if (modelOptional.isPresent()) {
+                    return modelOptional;
+                }
+                inputStream.reset(); // The pom.xml could not be read selectively, read the full model instead
+            }
+            return Optional.ofNullable(POM_READER.read(new InputStreamReader(inputStream)));
         } catch (final XmlPullParserException | IOException e) {
             return Optional.empty();
         }
     }
 
+    /**
+     * Read the maven model from the provided pom.xml {@link InputStream}, unless the model has already been parsed
+     * into the parsed documents, in which case the previously parsed model is shared
+     *
+     * @param pomXmlInputStream the pom.xml input stream
+     * @param parsedDocuments the documents parsed from the pom.xml
+     * @return the model if parsed correctly, otherwise {@link Optional#empty()}
+     * @throws IOException if any error occurs reading the pom.xml
+     */
+    public static Optional<Model> parse(final InputStream pomXmlInputStream, @NonNull final ParsedDocuments parsedDocuments) throws IOException {
+        return Optional.ofNullable(parsedDocuments.parse(MODEL, pomXmlInputStream));
+    }
+
 }
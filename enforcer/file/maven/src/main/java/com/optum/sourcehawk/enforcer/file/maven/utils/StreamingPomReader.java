@@ -0,0 +1,494 @@
+package com.optum.sourcehawk.enforcer.file.maven.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.val;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Plugin;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reads a pom.xml in a single streaming pass with StAX, extracting only the sections which the maven enforcers
+ * evaluate: the project coordinates, the parent, the properties, the dependencies and the build plugins.  Every other
+ * section is skipped over without being allocated, so the resulting {@link Model} is populated with those sections only.
+ * <p>
+ * The pom.xml is validated just as strictly as {@link org.apache.maven.model.io.xpp3.MavenXpp3Reader} validates the
+ * sections which are read, while the content of sections which are skipped over, such as the profiles, is only checked
+ * to be well formed.  Whenever the same result cannot be guaranteed, such as when the pom.xml declares a DTD,
+ * uses prefixed elements, or is not well formed, no model is produced so the caller can read the full model instead.
+ *
+ * @author Brian Wyka
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class StreamingPomReader {
+
+    private static final String PROJECT = "project";
+    private static final String GROUP_ID = "groupId";
+    private static final String ARTIFACT_ID = "artifactId";
+    private static final String VERSION = "version";
+    private static final String PACKAGING = "packaging";
+    private static final String PARENT = "parent";
+    private static final String RELATIVE_PATH = "relativePath";
+    private static final String PROPERTIES = "properties";
+    private static final String DEPENDENCIES = "dependencies";
+    private static final String DEPENDENCY = "dependency";
+    private static final String TYPE = "type";
+    private static final String CLASSIFIER = "classifier";
+    private static final String SCOPE = "scope";
+    private static final String BUILD = "build";
+    private static final String PLUGINS = "plugins";
+    private static final String PLUGIN = "plugin";
+    private static final String ORGANIZATION = "organization";
+    private static final String ORGANISATION = "organisation";
+
+    /**
+     * The elements which may be declared within each section, as recognized by the maven model reader
+     */
+    private static final Set<String> PROJECT_ELEMENTS = setOf("modelVersion", PARENT, GROUP_ID, ARTIFACT_ID, VERSION, PACKAGING,
+            "name", "description", "url", "inceptionYear", ORGANIZATION, ORGANISATION, "licenses", "developers", "contributors",
+            "mailingLists", "prerequisites", "modules", "scm", "issueManagement", "ciManagement", "distributionManagement",
+            PROPERTIES, "dependencyManagement", DEPENDENCIES, "repositories", "pluginRepositories", BUILD, "reports",
+            "reporting", "profiles");
+    private static final Set<String> PARENT_ELEMENTS = setOf(GROUP_ID, ARTIFACT_ID, VERSION, RELATIVE_PATH);
+    private static final Set<String> DEPENDENCY_ELEMENTS = setOf(GROUP_ID, ARTIFACT_ID, VERSION, TYPE, CLASSIFIER, SCOPE,
+            "systemPath", "exclusions", "optional");
+    private static final Set<String> BUILD_ELEMENTS = setOf("sourceDirectory", "scriptSourceDirectory", "testSourceDirectory",
+            "outputDirectory", "testOutputDirectory", "extensions", "defaultGoal", "resources", "testResources", "directory",
+            "finalName", "filters", "pluginManagement", PLUGINS);
+    private static final Set<String> PLUGIN_ELEMENTS = setOf(GROUP_ID, ARTIFACT_ID, VERSION, "extensions", "executions",
+            DEPENDENCIES, "goals", "inherited", "configuration");
+
+    /**
+     * The elements within each section which are not extracted, but which may contain only text
+     */
+    private static final Set<String> PROJECT_TEXT_ELEMENTS = setOf("modelVersion", "name", "description", "url", "inceptionYear");
+    private static final Set<String> DEPENDENCY_TEXT_ELEMENTS = setOf("systemPath", "optional");
+    private static final Set<String> BUILD_TEXT_ELEMENTS = setOf("sourceDirectory", "scriptSourceDirectory", "testSourceDirectory",
+            "outputDirectory", "testOutputDirectory", "defaultGoal", "directory", "finalName");
+    private static final Set<String> PLUGIN_TEXT_ELEMENTS = setOf("extensions", "inherited");
+
+    /**
+     * The attributes which may be declared on the project, as recognized by the maven model reader
+     */
+    private static final Set<String> PROJECT_ATTRIBUTES = setOf("child.project.url.inherit.append.path");
+
+    /**
+     * The input factory, confined to each thread as factories are not guaranteed to be thread safe
+     */
+    private static final ThreadLocal<XMLInputFactory> XML_INPUT_FACTORY = ThreadLocal.withInitial(StreamingPomReader::createXmlInputFactory);
+
+    /**
+     * Read the model from the pom.xml
+     *
+     * @param pomXmlInputStream the pom.xml input stream
+     * @return the model, or {@link Optional#empty()} if the full model must be read instead
+     */
+    static Optional<Model> read(final InputStream pomXmlInputStream) {
+        try {
+            val xmlStreamReader = XML_INPUT_FACTORY.get().createXMLStreamReader(pomXmlInputStream);
+            try {
+                return Optional.of(readDocument(xmlStreamReader));
+            } finally {
+                xmlStreamReader.close();
+            }
+        } catch (final XMLStreamException | UnsupportedPomException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Read the model while reading the entire document, so that it is checked to be well formed
+     *
+     * @param xmlStreamReader the XML stream reader
+     * @return the model
+     * @throws XMLStreamException if the document is not well formed
+     * @throws UnsupportedPomException if the full model must be read instead
+     */
+    private static Model readDocument(final XMLStreamReader xmlStreamReader) throws XMLStreamException, UnsupportedPomException {
+        Model model = null;
+        while (xmlStreamReader.hasNext()) {
+            switch (xmlStreamReader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    if (!isUnprefixed(xmlStreamReader.getPrefix()) || !PROJECT.equals(xmlStreamReader.getLocalName())) {
+                        throw new UnsupportedPomException();
+                    }
+                    model = readProject(xmlStreamReader);
+                    break;
+                case XMLStreamConstants.DTD:
+                case XMLStreamConstants.ENTITY_REFERENCE:
+                    throw new UnsupportedPomException();
+                default:
+                    break;
+            }
+        }
+        if (model == null) {
+            throw new UnsupportedPomException();
+        }
+        return model;
+    }
+
+    /**
+     * Read the project
+     *
+     * @param xmlStreamReader the XML stream reader, positioned at the start of the project
+     * @return the model
+     * @throws XMLStreamException if the document is not well formed
+     * @throws UnsupportedPomException if the full model must be read instead
+     */
+    private static Model readProject(final XMLStreamReader xmlStreamReader) throws XMLStreamException, UnsupportedPomException {
+        checkAttributes(xmlStreamReader, PROJECT_ATTRIBUTES);
+        val model = new Model();
+        val declaredElements = new HashSet<String>();
+        while (nextElement(xmlStreamReader, PROJECT_ELEMENTS, declaredElements)) {
+            switch (xmlStreamReader.getLocalName()) {
+                case GROUP_ID:
+                    model.setGroupId(readText(xmlStreamReader));
+                    break;
+                case ARTIFACT_ID:
+                    model.setArtifactId(readText(xmlStreamReader));
+                    break;
+                case VERSION:
+                    model.setVersion(readText(xmlStreamReader));
+                    break;
+                case PACKAGING:
+                    model.setPackaging(readText(xmlStreamReader));
+                    break;
+                case PARENT:
+                    model.setParent(readParent(xmlStreamReader));
+                    break;
+                case PROPERTIES:
+                    while (nextElement(xmlStreamReader, null, null)) {
+                        val propertyName = xmlStreamReader.getLocalName();
+                        model.addProperty(propertyName, readText(xmlStreamReader));
+                    }
+                    break;
+                case DEPENDENCIES:
+                    while (nextElement(xmlStreamReader, Collections.singleton(DEPENDENCY), null)) {
+                        model.addDependency(readDependency(xmlStreamReader));
+                    }
+                    break;
+                case BUILD:
+                    model.setBuild(readBuild(xmlStreamReader));
+                    break;
+                default:
+                    skipElement(xmlStreamReader, PROJECT_TEXT_ELEMENTS);
+                    break;
+            }
+        }
+        return model;
+    }
+
+    /**
+     * Read the parent
+     *
+     * @param xmlStreamReader the XML stream reader, positioned at the start of the parent
+     * @return the parent
+     * @throws XMLStreamException if the document is not well formed
+     * @throws UnsupportedPomException if the full model must be read instead
+     */
+    private static Parent readParent(final XMLStreamReader xmlStreamReader) throws XMLStreamException, UnsupportedPomException {
+        checkAttributes(xmlStreamReader, Collections.emptySet());
+        val parent = new Parent();
+        val declaredElements = new HashSet<String>();
+        while (nextElement(xmlStreamReader, PARENT_ELEMENTS, declaredElements)) {
+            switch (xmlStreamReader.getLocalName()) {
+                case GROUP_ID:
+                    parent.setGroupId(readText(xmlStreamReader));
+                    break;
+                case ARTIFACT_ID:
+                    parent.setArtifactId(readText(xmlStreamReader));
+                    break;
+                case VERSION:
+                    parent.setVersion(readText(xmlStreamReader));
+                    break;
+                default:
+                    parent.setRelativePath(readText(xmlStreamReader));
+                    break;
+            }
+        }
+        return parent;
+    }
+
+    /**
+     * Read a dependency
+     *
+     * @param xmlStreamReader the XML stream reader, positioned at the start of the dependency
+     * @return the dependency
+     * @throws XMLStreamException if the document is not well formed
+     * @throws UnsupportedPomException if the full model must be read instead
+     */
+    private static Dependency readDependency(final XMLStreamReader xmlStreamReader) throws XMLStreamException, UnsupportedPomException {
+        checkAttributes(xmlStreamReader, Collections.emptySet());
+        val dependency = new Dependency();
+        val declaredElements = new HashSet<String>();
+        while (nextElement(xmlStreamReader, DEPENDENCY_ELEMENTS, declaredElements)) {
+            switch (xmlStreamReader.getLocalName()) {
+                case GROUP_ID:
+                    dependency.setGroupId(readText(xmlStreamReader));
+                    break;
+                case ARTIFACT_ID:
+                    dependency.setArtifactId(readText(xmlStreamReader));
+                    break;
+                case VERSION:
+                    dependency.setVersion(readText(xmlStreamReader));
+                    break;
+                case TYPE:
+                    dependency.setType(readText(xmlStreamReader));
+                    break;
+                case CLASSIFIER:
+                    dependency.setClassifier(readText(xmlStreamReader));
+                    break;
+                case SCOPE:
+                    dependency.setScope(readText(xmlStreamReader));
+                    break;
+                default:
+                    skipElement(xmlStreamReader, DEPENDENCY_TEXT_ELEMENTS);
+                    break;
+            }
+        }
+        return dependency;
+    }
+
+    /**
+     * Read the build, of which only the plugins are extracted
+     *
+     * @param xmlStreamReader the XML stream reader, positioned at the start of the build
+     * @return the build
+     * @throws XMLStreamException if the document is not well formed
+     * @throws UnsupportedPomException if the full model must be read instead
+     */
+    private static Build readBuild(final XMLStreamReader xmlStreamReader) throws XMLStreamException, UnsupportedPomException {
+        checkAttributes(xmlStreamReader, Collections.emptySet());
+        val build = new Build();
+        val declaredElements = new HashSet<String>();
+        while (nextElement(xmlStreamReader, BUILD_ELEMENTS, declaredElements)) {
+            if (PLUGINS.equals(xmlStreamReader.getLocalName())) {
+                while (nextElement(xmlStreamReader, Collections.singleton(PLUGIN), null)) {
+                    build.addPlugin(readPlugin(xmlStreamReader));
+                }
+            } else {
+                skipElement(xmlStreamReader, BUILD_TEXT_ELEMENTS);
+            }
+        }
+        return build;
+    }
+
+    /**
+     * Read a plugin
+     *
+     * @param xmlStreamReader the XML stream reader, positioned at the start of the plugin
+     * @return the plugin
+     * @throws XMLStreamException if the document is not well formed
+     * @throws UnsupportedPomException if the full model must be read instead
+     */
+    private static Plugin readPlugin(final XMLStreamReader xmlStreamReader) throws XMLStreamException, UnsupportedPomException {
+        checkAttributes(xmlStreamReader, Collections.emptySet());
+        val plugin = new Plugin();
+        val declaredElements = new HashSet<String>();
+        while (nextElement(xmlStreamReader, PLUGIN_ELEMENTS, declaredElements)) {
+            switch (xmlStreamReader.getLocalName()) {
+                case GROUP_ID:
+                    plugin.setGroupId(readText(xmlStreamReader));
+                    break;
+                case ARTIFACT_ID:
+                    plugin.setArtifactId(readText(xmlStreamReader));
+                    break;
+                case VERSION:
+                    plugin.setVersion(readText(xmlStreamReader));
+                    break;
+                default:
+                    skipElement(xmlStreamReader, PLUGIN_TEXT_ELEMENTS);
+                    break;
+            }
+        }
+        return plugin;
+    }
+
+    /**
+     * Advance to the start of the next child element, permitting only whitespace in between
+     *
+     * @param xmlStreamReader the XML stream reader
+     * @param allowedElements the names of the elements which may be declared, or null if any may be
+     * @param declaredElements the names of the elements declared so far, or null if they may be repeated
+     * @return true if positioned at the start of a child element, false if positioned at the end of the parent element
+     * @throws XMLStreamException if the document is not well formed
+     * @throws UnsupportedPomException if the full model must be read instead
+     */
+    private static boolean nextElement(final XMLStreamReader xmlStreamReader, final Set<String> allowedElements,
+            final Set<String> declaredElements) throws XMLStreamException, UnsupportedPomException {
+        while (true) {
+            switch (xmlStreamReader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    final String elementName = xmlStreamReader.getLocalName();
+                    if (!isUnprefixed(xmlStreamReader.getPrefix()) || (allowedElements != null && !allowedElements.contains(elementName))) {
+                        throw new UnsupportedPomException();
+                    }
+                    if (declaredElements != null && !declaredElements.add(ORGANISATION.equals(elementName) ? ORGANIZATION : elementName)) {
+                        throw new UnsupportedPomException(); // Duplicated element
+                    }
+                    return true;
+                case XMLStreamConstants.END_ELEMENT:
+                    return false;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if (!xmlStreamReader.isWhiteSpace()) {
+                        throw new UnsupportedPomException();
+                    }
+                    break;
+                case XMLStreamConstants.COMMENT:
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    break;
+                default:
+                    throw new UnsupportedPomException();
+            }
+        }
+    }
+
+    /**
+     * Read the trimmed text of an element which may contain only text
+     *
+     * @param xmlStreamReader the XML stream reader, positioned at the start of the element
+     * @return the trimmed text
+     * @throws XMLStreamException if the document is not well formed
+     * @throws UnsupportedPomException if the full model must be read instead
+     */
+    private static String readText(final XMLStreamReader xmlStreamReader) throws XMLStreamException, UnsupportedPomException {
+        val text = new StringBuilder();
+        while (true) {
+            switch (xmlStreamReader.next()) {
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    text.append(xmlStreamReader.getTextCharacters(), xmlStreamReader.getTextStart(), xmlStreamReader.getTextLength());
+                    break;
+                case XMLStreamConstants.COMMENT:
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    return text.toString().trim();
+                default:
+                    throw new UnsupportedPomException();
+            }
+        }
+    }
+
+    /**
+     * Skip over the element which is not extracted.  Elements which may contain only text are checked to do so, while
+     * the content of any other element is only checked to be well formed.
+     *
+     * @param xmlStreamReader the XML stream reader, positioned at the start of the element
+     * @param textElements the names of the elements which may contain only text
+     * @throws XMLStreamException if the document is not well formed
+     * @throws UnsupportedPomException if the full model must be read instead
+     */
+    private static void skipElement(final XMLStreamReader xmlStreamReader, final Set<String> textElements) throws XMLStreamException, UnsupportedPomException {
+        if (textElements.contains(xmlStreamReader.getLocalName())) {
+            readText(xmlStreamReader);
+        } else {
+            skipElement(xmlStreamReader);
+        }
+    }
+
+    /**
+     * Skip over the element and everything it contains
+     *
+     * @param xmlStreamReader the XML stream reader, positioned at the start of the element
+     * @throws XMLStreamException if the document is not well formed
+     * @throws UnsupportedPomException if the full model must be read instead
+     */
+    private static void skipElement(final XMLStreamReader xmlStreamReader) throws XMLStreamException, UnsupportedPomException {
+        int depth = 1;
+        while (depth > 0) {
+            switch (xmlStreamReader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    break;
+                case XMLStreamConstants.ENTITY_REFERENCE:
+                    throw new UnsupportedPomException();
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Check that the element declares no unprefixed attributes other than those allowed
+     *
+     * @param xmlStreamReader the XML stream reader, positioned at the start of the element
+     * @param allowedAttributes the names of the unprefixed attributes which may be declared
+     * @throws UnsupportedPomException if the full model must be read instead
+     */
+    private static void checkAttributes(final XMLStreamReader xmlStreamReader, final Set<String> allowedAttributes) throws UnsupportedPomException {
+        for (int index = 0; index < xmlStreamReader.getAttributeCount(); index++) {
+            if (isUnprefixed(xmlStreamReader.getAttributePrefix(index)) && !allowedAttributes.contains(xmlStreamReader.getAttributeLocalName(index))) {
+                throw new UnsupportedPomException();
+            }
+        }
+    }
+
+    /**
+     * Determine whether or not the prefix is empty
+     *
+     * @param prefix the prefix, which may be null
+     * @return true if there is no prefix, false otherwise
+     */
+    private static boolean isUnprefixed(final String prefix) {
+        return prefix == null || prefix.isEmpty();
+    }
+
+    /**
+     * Create an unmodifiable set of the names
+     *
+     * @param names the names
+     * @return the set of names
+     */
+    private static Set<String> setOf(final String... names) {
+        return Collections.unmodifiableSet(new HashSet<>(Arrays.asList(names)));
+    }
+
+    /**
+     * Create the input factory, which neither resolves external entities nor processes DTDs
+     *
+     * @return the input factory
+     */
+    private static XMLInputFactory createXmlInputFactory() {
+        val xmlInputFactory = XMLInputFactory.newInstance();
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return xmlInputFactory;
+    }
+
+    /**
+     * Signals that the pom.xml cannot be read selectively, and the full model must be read instead
+     */
+    private static final class UnsupportedPomException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Create the exception, without a stack trace as it is only used for control flow
+         */
+        UnsupportedPomException() {
+            super(null, null, false, false);
+        }
+
+    }
+
+}
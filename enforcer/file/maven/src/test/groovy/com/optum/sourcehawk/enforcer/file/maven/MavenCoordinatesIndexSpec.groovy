@@ -0,0 +1,72 @@
+package com.optum.sourcehawk.enforcer.file.maven
+
+
+import org.apache.maven.model.Dependency
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class MavenCoordinatesIndexSpec extends Specification {
+
+    @Unroll
+    def "get - #expectedCoordinates"() {
+        given:
+        MavenCoordinatesIndex index = MavenCoordinatesIndex.of([expectedCoordinates])
+
+        when:
+        Optional<MavenCoordinates> coordinatesOptional = index.get(expectedCoordinates)
+
+        then:
+        coordinatesOptional.isPresent() == (groupId != null)
+        coordinatesOptional.map { it.groupId }.orElse(null) == groupId
+        coordinatesOptional.map { it.artifactId }.orElse(null) == artifactId
+        coordinatesOptional.map { it.version }.orElse(null) == version
+
+        where:
+        expectedCoordinates    | groupId       | artifactId | version
+        "com.example:foo"      | "com.example" | "foo"      | null
+        "com.example:foo:1.*"  | "com.example" | "foo"      | "1.*"
+        "com.example:foo:1:2"  | "com.example" | "foo"      | null
+        "com.example"          | null          | null       | null
+        ""                     | null          | null       | null
+    }
+
+    def "match - first declaration matched ignoring case"() {
+        given:
+        MavenCoordinatesIndex index = MavenCoordinatesIndex.of(["com.example:foo", "com.example:foo:1.0.0", "com.example:bar", "com.example"])
+        Dependency first = dependency("COM.Example", "FOO", "1.0.0")
+        Dependency second = dependency("com.example", "foo", "2.0.0")
+        Dependency unmatched = dependency(null, "bar", "1.0.0")
+
+        when:
+        Map<MavenCoordinates, Dependency> matches = index.match([unmatched, first, second], { it.groupId }, { it.artifactId })
+
+        then:
+        matches.size() == 2
+        matches[index.get("com.example:foo").get()].is(first)
+        matches[index.get("com.example:foo:1.0.0").get()].is(first)
+        !index.get("com.example").isPresent()
+    }
+
+    @Unroll
+    def "matchesVersion - #version matches #actualVersion == #matches"() {
+        expect:
+        MavenCoordinates.parse("com.example:foo:$version").get().matchesVersion(actualVersion) == matches
+
+        where:
+        version         | actualVersion || matches
+        "1.0.0"         | "1.0.0"       || true
+        "1.2.[0-9]"     | "1.2.3"       || true
+        "1.\\d{1}.\\d"  | "1.2.3"       || true
+        "1.2.[0-9]"     | "1.3.0"       || false
+        "1.0.0("        | "1.0.0("      || true
+    }
+
+    private static Dependency dependency(final String groupId, final String artifactId, final String version) {
+        Dependency dependency = new Dependency()
+        dependency.groupId = groupId
+        dependency.artifactId = artifactId
+        dependency.version = version
+        dependency
+    }
+
+}
@@ -2,6 +2,7 @@ package com.optum.sourcehawk.enforcer.file.maven
 
 
 import com.optum.sourcehawk.enforcer.EnforcerResult
+import com.optum.sourcehawk.enforcer.file.ParsedDocuments
 import org.spockframework.util.IoUtil
 import spock.lang.Specification
 import spock.lang.Unroll
@@ -139,4 +140,21 @@ class MavenDependenciesSpec extends Specification {
         enforcerResult.messages[0] == "Maven pom.xml is missing <org.acme:foo-baz:3.0.0> declaration"
     }
 
+    def "enforce - parsed model shared across enforcers"() {
+        given:
+        ParsedDocuments parsedDocuments = ParsedDocuments.create()
+        MavenParentEquals mavenParentEquals = MavenParentEquals.coordinates("com.example:hello-world")
+        MavenDependencies mavenDependencies = MavenDependencies.coordinates(["com.example:foo-bar:1.0.0"])
+
+        when:
+        EnforcerResult parentEnforcerResult = mavenParentEquals.enforce(IoUtil.getResourceAsStream("/pom.xml"), parsedDocuments)
+        EnforcerResult dependenciesEnforcerResult = mavenDependencies.enforce(new ByteArrayInputStream(new byte[0]), parsedDocuments)
+
+        then:
+        parentEnforcerResult
+        parentEnforcerResult.passed
+        dependenciesEnforcerResult
+        dependenciesEnforcerResult.passed
+    }
+
 }
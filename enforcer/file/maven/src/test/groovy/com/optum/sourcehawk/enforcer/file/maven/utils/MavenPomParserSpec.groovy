@@ -0,0 +1,66 @@
+package com.optum.sourcehawk.enforcer.file.maven.utils
+
+
+import com.optum.sourcehawk.core.repository.RepositoryFileInputStream
+import com.optum.sourcehawk.core.repository.RepositoryFileReader
+import org.apache.maven.model.Model
+import org.spockframework.util.IoUtil
+import spock.lang.Specification
+
+class MavenPomParserSpec extends Specification {
+
+    def "parse - read selectively"() {
+        when:
+        Optional<Model> modelOptional = MavenPomParser.parse(IoUtil.getResourceAsStream("/pom.xml"))
+
+        then:
+        modelOptional.isPresent()
+        modelOptional.get().parent.artifactId == "hello-world"
+        modelOptional.get().dependencies.size() == 3
+        modelOptional.get().build.plugins.size() == 3
+    }
+
+    def "parse - full model read when not readable selectively"() {
+        given:
+        String pom = '''<project>
+            <description>&copy; Example</description>
+            <parent><groupId>com.example</groupId><artifactId>hello-world</artifactId></parent>
+        </project>'''
+        InputStream pomInputStream = new SequenceInputStream(new ByteArrayInputStream(pom.bytes), new ByteArrayInputStream(new byte[0]))
+
+        when:
+        Optional<Model> modelOptional = MavenPomParser.parse(pomInputStream)
+
+        then:
+        !pomInputStream.markSupported()
+        modelOptional.isPresent()
+        modelOptional.get().description == "\u00a9 Example"
+        modelOptional.get().parent.artifactId == "hello-world"
+    }
+
+    def "parse - full model read after file opened again when not readable selectively"() {
+        given:
+        String pom = '''<project>
+            <description>&copy; Example</description>
+            <parent><groupId>com.example</groupId><artifactId>hello-world</artifactId></parent>
+        </project>'''
+        RepositoryFileReader repositoryFileReader = Mock()
+
+        when:
+        Optional<Model> modelOptional = MavenPomParser.parse(RepositoryFileInputStream.open(repositoryFileReader, "pom.xml").get())
+
+        then:
+        2 * repositoryFileReader.read("pom.xml") >> { Optional.of(new ByteArrayInputStream(pom.bytes)) }
+
+        and:
+        modelOptional.isPresent()
+        modelOptional.get().description == "\u00a9 Example"
+        modelOptional.get().parent.artifactId == "hello-world"
+    }
+
+    def "parse - parse error"() {
+        expect:
+        !MavenPomParser.parse(IoUtil.getResourceAsStream("/pom-parse-error.xml")).isPresent()
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.optum.sourcehawk.enforcer.file.maven.utils
+
+
+import org.apache.maven.model.Model
+import org.spockframework.util.IoUtil
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class StreamingPomReaderSpec extends Specification {
+
+    def "read - sections extracted"() {
+        when:
+        Optional<Model> modelOptional = StreamingPomReader.read(IoUtil.getResourceAsStream("/pom.xml"))
+
+        then:
+        modelOptional.isPresent()
+
+        when:
+        Model model = modelOptional.get()
+
+        then:
+        model.artifactId == "hello-world-core"
+        model.packaging == "jar"
+        model.parent.id == "com.example:hello-world:pom:1.0.0"
+        model.parent.relativePath == "../pom.xml"
+        model.properties.stringPropertyNames() == ["key", "foo"] as Set
+        model.properties.getProperty("key") == "value"
+        model.dependencies*.artifactId == ["foo-bar", "fizz-buzz", "foo"]
+        model.dependencies*.version == ["1.0.0", null, "1.2.3"]
+        model.dependencies*.type == ["jar", "jar", "jar"]
+        model.build.plugins*.id == ["com.plugins:foo-bar:1.0.0", "com.plugins:fizz-buzz:[unknown-version]", "com.plugins:foo:1.2.3"]
+    }
+
+    def "read - text trimmed and sections skipped"() {
+        given:
+        String pom = '''<project>
+            <name><![CDATA[ skipped ]]></name>
+            <version> 1.0<!-- comment -->.0 </version>
+            <profiles><profile><dependencies><dependency><artifactId>profiled</artifactId></dependency></dependencies></profile></profiles>
+            <build><pluginManagement><plugins><plugin><artifactId>managed</artifactId></plugin></plugins></pluginManagement></build>
+        </project>'''
+
+        when:
+        Optional<Model> modelOptional = StreamingPomReader.read(new ByteArrayInputStream(pom.bytes))
+
+        then:
+        modelOptional.isPresent()
+        modelOptional.get().version == "1.0.0"
+        !modelOptional.get().name
+        !modelOptional.get().profiles
+        !modelOptional.get().dependencies
+        !modelOptional.get().build.pluginManagement
+        !modelOptional.get().build.plugins
+    }
+
+    @Unroll
+    def "read - #scenario (full model required)"() {
+        expect:
+        !StreamingPomReader.read(new ByteArrayInputStream(pom.bytes)).isPresent()
+
+        where:
+        scenario               | pom
+        "not well formed"      | '<project><artifactId>foo</artifactId'
+        "DTD"                  | '<!DOCTYPE project><project/>'
+        "undeclared entity"    | '<project><description>&copy;</description></project>'
+        "unexpected root"      | '<projekt/>'
+        "prefixed root"        | '<m:project xmlns:m="http://maven.apache.org/POM/4.0.0"/>'
+        "unrecognized element" | '<project><dependencies><dependency><name>foo</name></dependency></dependencies></project>'
+        "unknown attribute"    | '<project><parent relativePath="../pom.xml"/></project>'
+        "duplicated element"   | '<project><artifactId>foo</artifactId><artifactId>bar</artifactId></project>'
+        "text not expected"    | '<project><dependencies>foo</dependencies></project>'
+        "element not expected" | '<project><version>1.0.0<suffix/></version></project>'
+    }
+
+}
@@ -23,10 +23,15 @@ public abstract class AbstractExecResultLogger<T> {
      */
     private static final String KEY_REPOSITORY_FILE_PATH = "repositoryFilePath";
 
+    /**
+     * The object mapper used to convert results to JSON
+     */
+    protected static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     /**
      * The JSON writer
      */
-    protected static final ObjectWriter JSON_WRITER = new ObjectMapper().writerWithDefaultPrettyPrinter();
+    protected static final ObjectWriter JSON_WRITER = OBJECT_MAPPER.writerWithDefaultPrettyPrinter();
 
     /**
      * Log the result in the specified format
@@ -40,6 +45,9 @@ public abstract class AbstractExecResultLogger<T> {
             case JSON:
                 Console.Out.log(formatJson(result));
                 break;
+            case JSONL:
+                Console.Out.log(formatJsonLines(result));
+                break;
             case MARKDOWN:
                 Console.Out.log(formatMarkdown(result, execOptions.getVerbosity()));
                 break;
@@ -113,6 +121,17 @@ public abstract class AbstractExecResultLogger<T> {
         return JSON_WRITER.writeValueAsString(result);
     }
 
+    /**
+     * Format the result for JSON lines output format, by default the entire result on a single line
+     *
+     * @param result the result
+     * @return the formatted JSON lines output
+     */
+    @SneakyThrows
+    protected String formatJsonLines(final T result) {
+        return OBJECT_MAPPER.writeValueAsString(result);
+    }
+
     /**
      * Format the result for markdown output format
      *
@@ -0,0 +1,170 @@
+package com.optum.sourcehawk.exec;
+
+import com.optum.sourcehawk.core.configuration.SourcehawkConfiguration;
+import com.optum.sourcehawk.core.protocol.file.FileProtocol;
+import com.optum.sourcehawk.enforcer.file.FileEnforcer;
+import com.optum.sourcehawk.enforcer.file.FileResolver;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An immutable, ready to run plan compiled from a {@link SourcehawkConfiguration}.  Every enforcer definition is
+ * deserialized exactly once into a {@link FileEnforcer} (with any patterns already compiled), and identical enforcer
+ * definitions shared by multiple file protocols share the same instance.
+ * <p>
+ * The same plan is used to drive scan, fix and validation of the configuration.
+ *
+ * @author Brian Wyka
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class CompiledConfiguration {
+
+    /**
+     * The configuration which was compiled
+     */
+    SourcehawkConfiguration sourcehawkConfiguration;
+
+    /**
+     * The compiled file protocols, in configuration order
+     */
+    List<CompiledFileProtocol> fileProtocols;
+
+    /**
+     * Compile the configuration into a plan
+     *
+     * @param sourcehawkConfiguration the configuration to compile
+     * @return the compiled configuration
+     */
+    public static CompiledConfiguration compile(@NonNull final SourcehawkConfiguration sourcehawkConfiguration) {
+        if (sourcehawkConfiguration.getFileProtocols() == null) {
+            return new CompiledConfiguration(sourcehawkConfiguration, Collections.emptyList());
+        }
+        val compiledFileEnforcers = new HashMap<Map<String, Object>, CompiledFileEnforcer>();
+        val compiledFileProtocols = new ArrayList<CompiledFileProtocol>(sourcehawkConfiguration.getFileProtocols().size());
+        for (val fileProtocol : sourcehawkConfiguration.getFileProtocols()) {
+            compiledFileProtocols.add(compileFileProtocol(fileProtocol, compiledFileEnforcers));
+        }
+        return new CompiledConfiguration(sourcehawkConfiguration, Collections.unmodifiableList(compiledFileProtocols));
+    }
+
+    /**
+     * Compile a single file protocol on its own
+     *
+     * @param fileProtocol the file protocol to compile
+     * @return the compiled file protocol
+     */
+    public static CompiledFileProtocol compileFileProtocol(@NonNull final FileProtocol fileProtocol) {
+        return compileFileProtocol(fileProtocol, new HashMap<>());
+    }
+
+    /**
+     * Compile the file protocol, reusing any previously compiled identical enforcer definitions
+     *
+     * @param fileProtocol the file protocol to compile
+     * @param compiledFileEnforcers the previously compiled file enforcers, keyed by definition
+     * @return the compiled file protocol
+     */
+    private static CompiledFileProtocol compileFileProtocol(final FileProtocol fileProtocol, final Map<Map<String, Object>, CompiledFileEnforcer> compiledFileEnforcers) {
+        if (fileProtocol.getEnforcers() == null) {
+            return new CompiledFileProtocol(fileProtocol, Collections.emptyList());
+        }
+        val fileEnforcers = new ArrayList<CompiledFileEnforcer>(fileProtocol.getEnforcers().size());
+        for (val enforcer : fileProtocol.getEnforcers()) {
+            fileEnforcers.add(compiledFileEnforcers.computeIfAbsent(enforcer, CompiledConfiguration::compileFileEnforcer));
+        }
+        return new CompiledFileProtocol(fileProtocol, Collections.unmodifiableList(fileEnforcers));
+    }
+
+    /**
+     * Compile the file enforcer definition, capturing any error which occurs during deserialization
+     *
+     * @param enforcer the raw enforcer definition
+     * @return the compiled file enforcer
+     */
+    private static CompiledFileEnforcer compileFileEnforcer(final Map<String, Object> enforcer) {
+        try {
+            return new CompiledFileEnforcer(enforcer, ConfigurationReader.parseFileEnforcer(enforcer), null);
+        } catch (final RuntimeException e) {
+            return new CompiledFileEnforcer(enforcer, null, e);
+        }
+    }
+
+    /**
+     * A file protocol with all of its enforcers compiled
+     *
+     * @author Brian Wyka
+     */
+    @Value
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class CompiledFileProtocol {
+
+        /**
+         * The file protocol
+         */
+        FileProtocol fileProtocol;
+
+        /**
+         * The compiled file enforcers, in declaration order
+         */
+        List<CompiledFileEnforcer> fileEnforcers;
+
+    }
+
+    /**
+     * A compiled file enforcer, holding either the ready to run enforcer or the error which prevented compilation
+     *
+     * @author Brian Wyka
+     */
+    @Value
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class CompiledFileEnforcer {
+
+        /**
+         * The raw enforcer definition
+         */
+        Map<String, Object> definition;
+
+        /**
+         * The file enforcer, null if compilation failed
+         */
+        FileEnforcer fileEnforcer;
+
+        /**
+         * The error which occurred during compilation, null if successful
+         */
+        RuntimeException error;
+
+        /**
+         * Determine if the enforcer was compiled successfully
+         *
+         * @return true if valid, false otherwise
+         */
+        public boolean isValid() {
+            return error == null;
+        }
+
+        /**
+         * Get the file enforcer as a file resolver, if it is capable of resolving
+         *
+         * @return the file resolver if supported, otherwise {@link Optional#empty()}
+         */
+        public Optional<FileResolver> getFileResolver() {
+            return Optional.ofNullable(fileEnforcer)
+                    .filter(FileResolver.class::isInstance)
+                    .map(FileResolver.class::cast);
+        }
+
+    }
+
+}
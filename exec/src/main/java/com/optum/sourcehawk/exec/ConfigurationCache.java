@@ -0,0 +1,367 @@
+package com.optum.sourcehawk.exec;
+
+import com.optum.sourcehawk.core.utils.ContentUtils;
+import com.optum.sourcehawk.core.utils.StringUtils;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * An on-disk cache of remote configuration, so that configuration which has not changed does not need to be
+ * downloaded on every run.
+ * <p>
+ * Content is stored by its SHA-256 digest under <code>objects</code>, and each URL has an entry under
+ * <code>locations</code> recording the digest of its content along with the <code>ETag</code> and
+ * <code>Last-Modified</code> response headers.  Entries younger than the time to live are used without any request.
+ * Older entries are revalidated with a conditional request, and only downloaded again if they have changed.  If
+ * revalidation fails, the stale content is used.  In offline mode, no requests are sent at all.
+ * <p>
+ * Whenever content is downloaded, entries which have not been revalidated within {@link #MAX_ENTRY_AGE} are removed,
+ * along with any content no longer recorded by an entry.
+ * <p>
+ * The cache is configured with the following environment variables:
+ * <ul>
+ *     <li><code>SOURCEHAWK_CACHE_DIR</code> - the cache directory, defaults to <code>$XDG_CACHE_HOME/sourcehawk</code>
+ *     or <code>~/.cache/sourcehawk</code></li>
+ *     <li><code>SOURCEHAWK_CONFIG_CACHE_TTL_SECONDS</code> - how long cached configuration is used without
+ *     revalidation, defaults to 600 seconds</li>
+ *     <li><code>SOURCEHAWK_OFFLINE</code> - set to <code>true</code> to only ever use cached configuration</li>
+ * </ul>
+ *
+ * @author Brian Wyka
+ */
+@Getter(AccessLevel.PACKAGE)
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+final class ConfigurationCache {
+
+    static final String ENV_CACHE_DIR = "SOURCEHAWK_CACHE_DIR";
+    static final String ENV_CONFIG_CACHE_TTL_SECONDS = "SOURCEHAWK_CONFIG_CACHE_TTL_SECONDS";
+    static final String ENV_OFFLINE = "SOURCEHAWK_OFFLINE";
+    private static final String ENV_XDG_CACHE_HOME = "XDG_CACHE_HOME";
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+
+    /**
+     * How long an entry is retained without being revalidated
+     */
+    static final Duration MAX_ENTRY_AGE = Duration.ofDays(30);
+
+    /**
+     * How long to wait for a connection to a remote configuration location
+     */
+    private static final int CONNECT_TIMEOUT_MILLIS = 10_000;
+
+    /**
+     * How long to wait for data from a remote configuration location
+     */
+    private static final int READ_TIMEOUT_MILLIS = 30_000;
+
+    private static final String OBJECTS = "objects";
+    private static final String LOCATIONS = "locations";
+    private static final String PROPERTIES_EXTENSION = ".properties";
+    private static final String PROPERTY_URL = "url";
+    private static final String PROPERTY_DIGEST = "digest";
+    private static final String PROPERTY_ETAG = "etag";
+    private static final String PROPERTY_LAST_MODIFIED = "last-modified";
+    private static final String PROPERTY_FETCHED_AT = "fetched-at";
+    private static final String HEADER_ETAG = "ETag";
+    private static final String HEADER_LAST_MODIFIED = "Last-Modified";
+    private static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+    private static final String HEADER_IF_MODIFIED_SINCE = "If-Modified-Since";
+
+    /**
+     * The directory the configuration is cached in
+     */
+    private final Path directory;
+
+    /**
+     * How long cached configuration is used without revalidation
+     */
+    private final Duration ttl;
+
+    /**
+     * Whether or not only cached configuration is used
+     */
+    private final boolean offline;
+
+    /**
+     * Create the configuration cache as configured by the environment
+     *
+     * @param environment the environment variables
+     * @return the configuration cache
+     */
+    static ConfigurationCache fromEnvironment(final Map<String, String> environment) {
+        val offline = Boolean.parseBoolean(environment.get(ENV_OFFLINE));
+        return new ConfigurationCache(resolveDirectory(environment), parseTtl(environment.get(ENV_CONFIG_CACHE_TTL_SECONDS)), offline);
+    }
+
+    /**
+     * Parse the time to live, falling back to the default if not set or invalid
+     *
+     * @param ttlSeconds the time to live in seconds
+     * @return the time to live
+     */
+    private static Duration parseTtl(final String ttlSeconds) {
+        if (StringUtils.isBlankOrEmpty(ttlSeconds)) {
+            return DEFAULT_TTL;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(ttlSeconds.trim()));
+        } catch (final NumberFormatException e) {
+            Console.Err.error("Invalid %s: %s", ENV_CONFIG_CACHE_TTL_SECONDS, ttlSeconds);
+            return DEFAULT_TTL;
+        }
+    }
+
+    /**
+     * Resolve the sourcehawk cache directory from the environment
+     *
+     * @param environment the environment variables
+     * @return the cache directory
+     */
+    static Path resolveDirectory(final Map<String, String> environment) {
+        val cacheDirectory = environment.get(ENV_CACHE_DIR);
+        if (StringUtils.isNotBlankOrEmpty(cacheDirectory)) {
+            return Paths.get(cacheDirectory);
+        }
+        val xdgCacheHome = environment.get(ENV_XDG_CACHE_HOME);
+        if (StringUtils.isNotBlankOrEmpty(xdgCacheHome)) {
+            return Paths.get(xdgCacheHome, "sourcehawk");
+        }
+        return Paths.get(System.getProperty("user.home"), ".cache", "sourcehawk");
+    }
+
+    /**
+     * Read the configuration at the URL, from the cache if possible
+     *
+     * @param url the URL of the configuration
+     * @return the configuration content
+     * @throws FileNotFoundException if the configuration does not exist
+     * @throws IOException if the configuration could not be read
+     */
+    byte[] read(final URL url) throws IOException {
+        val locationPath = directory.resolve(LOCATIONS).resolve(ContentUtils.sha256Hex(url.toString().getBytes(StandardCharsets.UTF_8)) + PROPERTIES_EXTENSION);
+        val cachedEntry = readEntry(locationPath);
+        if (offline) {
+            return cachedEntry.map(CachedEntry::getContent)
+                    .orElseThrow(() -> new IOException(String.format("Configuration %s is not cached and offline mode is enabled", url)));
+        }
+        if (cachedEntry.isPresent() && System.currentTimeMillis() - cachedEntry.get().fetchedAtMillis < ttl.toMillis()) {
+            return cachedEntry.get().content;
+        }
+        try {
+            return fetch(url, locationPath, cachedEntry.orElse(null));
+        } catch (final FileNotFoundException e) {
+            throw e;
+        } catch (final IOException e) {
+            if (cachedEntry.isPresent()) {
+                Console.Err.log("Unable to revalidate configuration %s, using cached copy: %s", url, e.getMessage());
+                return cachedEntry.get().content;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Fetch the configuration, conditionally if it is already cached, and cache the response
+     *
+     * @param url the URL of the configuration
+     * @param locationPath the path of the cache entry for the URL
+     * @param cachedEntry the cached entry, or null if not cached
+     * @return the configuration content
+     * @throws IOException if any error occurs fetching the configuration
+     */
+    private byte[] fetch(final URL url, final Path locationPath, final CachedEntry cachedEntry) throws IOException {
+        val connection = (HttpURLConnection) url.openConnection();
+        connection.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+        connection.setReadTimeout(READ_TIMEOUT_MILLIS);
+        if (cachedEntry != null && cachedEntry.etag != null) {
+            connection.setRequestProperty(HEADER_IF_NONE_MATCH, cachedEntry.etag);
+        }
+        if (cachedEntry != null && cachedEntry.lastModified != null) {
+            connection.setRequestProperty(HEADER_IF_MODIFIED_SINCE, cachedEntry.lastModified);
+        }
+        try {
+            val statusCode = connection.getResponseCode();
+            if (statusCode == HttpURLConnection.HTTP_NOT_MODIFIED && cachedEntry != null) {
+                writeEntry(locationPath, url, cachedEntry.digest, cachedEntry.etag, cachedEntry.lastModified);
+                return cachedEntry.content;
+            }
+            if (statusCode == HttpURLConnection.HTTP_NOT_FOUND || statusCode == HttpURLConnection.HTTP_GONE) {
+                throw new FileNotFoundException(url.toString());
+            }
+            if (statusCode != HttpURLConnection.HTTP_OK) {
+                throw new IOException(String.format("HTTP Request to %s returned response code %d", url, statusCode));
+            }
+            final byte[] content;
+            try (val inputStream = connection.getInputStream()) {
+                content = ContentUtils.consume(inputStream);
+            }
+            val digest = ContentUtils.sha256Hex(content);
+            writeObject(digest, content);
+            writeEntry(locationPath, url, digest, connection.getHeaderField(HEADER_ETAG), connection.getHeaderField(HEADER_LAST_MODIFIED));
+            prune();
+            return content;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * Read the cache entry, along with its content
+     *
+     * @param locationPath the path of the cache entry
+     * @return the cache entry, or {@link Optional#empty()} if not cached or unreadable
+     */
+    private Optional<CachedEntry> readEntry(final Path locationPath) {
+        try (val inputStream = Files.newInputStream(locationPath)) {
+            val properties = new Properties();
+            properties.load(inputStream);
+            val digest = properties.getProperty(PROPERTY_DIGEST);
+            val content = Files.readAllBytes(directory.resolve(OBJECTS).resolve(digest));
+            if (!digest.equals(ContentUtils.sha256Hex(content))) {
+                return Optional.empty();
+            }
+            val fetchedAtMillis = Long.parseLong(properties.getProperty(PROPERTY_FETCHED_AT));
+            return Optional.of(new CachedEntry(digest, properties.getProperty(PROPERTY_ETAG), properties.getProperty(PROPERTY_LAST_MODIFIED), fetchedAtMillis, content));
+        } catch (final NoSuchFileException e) {
+            return Optional.empty();
+        } catch (final IOException | RuntimeException e) {
+            Console.Err.log("Ignoring unreadable configuration cache entry %s: %s", locationPath, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Write the content to the cache, unless already cached.  Failure to write is ignored, as the content is still usable.
+     *
+     * @param digest the digest of the content
+     * @param content the content
+     */
+    private void writeObject(final String digest, final byte[] content) {
+        val objectPath = directory.resolve(OBJECTS).resolve(digest);
+        if (Files.exists(objectPath)) {
+            return;
+        }
+        write(objectPath, outputStream -> outputStream.write(content));
+    }
+
+    /**
+     * Write the cache entry for the URL, marked as fetched now
+     *
+     * @param locationPath the path of the cache entry
+     * @param url the URL
+     * @param digest the digest of the content
+     * @param etag the ETag of the content, may be null
+     * @param lastModified the last modified date of the content, may be null
+     */
+    private void writeEntry(final Path locationPath, final URL url, final String digest, final String etag, final String lastModified) {
+        val properties = new Properties();
+        properties.setProperty(PROPERTY_URL, url.toString());
+        properties.setProperty(PROPERTY_DIGEST, digest);
+        properties.setProperty(PROPERTY_FETCHED_AT, String.valueOf(System.currentTimeMillis()));
+        if (etag != null) {
+            properties.setProperty(PROPERTY_ETAG, etag);
+        }
+        if (lastModified != null) {
+            properties.setProperty(PROPERTY_LAST_MODIFIED, lastModified);
+        }
+        write(locationPath, outputStream -> properties.store(outputStream, null));
+    }
+
+    /**
+     * Remove the entries which have not been revalidated within {@link #MAX_ENTRY_AGE}, then the content which is not
+     * recorded by any remaining entry.  Content removed while a concurrent run is caching it is simply downloaded again
+     * by that run.  Failure to prune is reported, but otherwise ignored.
+     */
+    private void prune() {
+        try {
+            val oldestRetainedMillis = System.currentTimeMillis() - MAX_ENTRY_AGE.toMillis();
+            val retainedDigests = new HashSet<String>();
+            for (val locationPath : list(directory.resolve(LOCATIONS), PROPERTIES_EXTENSION)) {
+                if (Files.getLastModifiedTime(locationPath).toMillis() < oldestRetainedMillis) {
+                    Files.deleteIfExists(locationPath);
+                    continue;
+                }
+                try (val inputStream = Files.newInputStream(locationPath)) {
+                    val properties = new Properties();
+                    properties.load(inputStream);
+                    Optional.ofNullable(properties.getProperty(PROPERTY_DIGEST)).ifPresent(retainedDigests::add);
+                }
+            }
+            for (val objectPath : list(directory.resolve(OBJECTS), null)) {
+                if (!retainedDigests.contains(objectPath.getFileName().toString())) {
+                    Files.deleteIfExists(objectPath);
+                }
+            }
+        } catch (final IOException e) {
+            Console.Err.log("Unable to prune configuration cache %s: %s", directory, e.getMessage());
+        }
+    }
+
+    /**
+     * List the files within the cache directory, other than those still being written
+     *
+     * @param cacheDirectory the cache directory
+     * @param extension the extension of the files to list, or null to list all files
+     * @return the files
+     * @throws IOException if the files could not be listed
+     */
+    private static List<Path> list(final Path cacheDirectory, final String extension) throws IOException {
+        try (val paths = Files.list(cacheDirectory)) {
+            return paths.filter(path -> !path.getFileName().toString().endsWith(ContentUtils.TEMPORARY_EXTENSION))
+                    .filter(path -> extension == null || path.getFileName().toString().endsWith(extension))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Write the file atomically, so concurrent runs never see partially written files.  Failure to write is reported,
+     * but otherwise ignored.
+     *
+     * @param path the path of the file
+     * @param contentWriter the writer of the content of the file
+     */
+    private static void write(final Path path, final ContentUtils.ContentWriter contentWriter) {
+        try {
+            ContentUtils.writeAtomically(path, contentWriter);
+        } catch (final IOException e) {
+            Console.Err.log("Unable to write configuration cache file %s: %s", path, e.getMessage());
+        }
+    }
+
+    /**
+     * A cached configuration entry
+     *
+     * @author Brian Wyka
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static final class CachedEntry {
+
+        private final String digest;
+        private final String etag;
+        private final String lastModified;
+        private final long fetchedAtMillis;
+        private final byte[] content;
+
+    }
+
+}
@@ -0,0 +1,202 @@
+package com.optum.sourcehawk.exec;
+
+import com.optum.sourcehawk.core.configuration.SourcehawkConfiguration;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Resolves the graph of <code>config-locations</code> concurrently.  Each location is read as soon as the configuration
+ * declaring it has been read, and no location is read more than once, so shared parents and cycles are only resolved a
+ * single time.
+ * <p>
+ * The configurations are collected in depth-first order of declaration, just as if they had been read one at a time,
+ * so the merge order does not depend on which location happens to be read first.
+ *
+ * @author Brian Wyka
+ */
+@RequiredArgsConstructor
+final class ConfigurationLocationResolver {
+
+    /**
+     * The maximum number of locations which are read at the same time
+     */
+    private static final int MAX_CONCURRENT_READS = 8;
+
+    /**
+     * How long idle threads are kept alive
+     */
+    private static final long THREAD_KEEP_ALIVE_SECONDS = 5L;
+
+    /**
+     * The executor which reads locations.  The threads are daemon threads which are discarded once idle, so the
+     * executor never needs to be shutdown.
+     */
+    private static final ExecutorService EXECUTOR_SERVICE = createExecutorService();
+
+    /**
+     * Reads the configuration at a single location, without resolving any of its config locations
+     */
+    private final Function<String, Optional<SourcehawkConfiguration>> configurationReader;
+
+    /**
+     * Merges the configurations in the graph into a single configuration
+     */
+    private final Function<Set<SourcehawkConfiguration>, SourcehawkConfiguration> configurationMerger;
+
+    /**
+     * The locations which have been (or are being) read
+     */
+    private final Map<String, CompletableFuture<ResolvedLocation>> resolvedLocations = new ConcurrentHashMap<>();
+
+    /**
+     * Resolve the configuration at the root location along with all of the config locations in its graph
+     *
+     * @param rootLocation the root configuration location
+     * @return the resolution, or {@link Optional#empty()} if the root configuration could not be read
+     * @throws ConfigurationException if any of the config locations in the graph could not be read
+     */
+    Optional<ConfigurationResolution> resolve(final String rootLocation) {
+        if (!await(rootLocation).configuration.isPresent()) {
+            return Optional.empty();
+        }
+        val configurations = new LinkedHashSet<SourcehawkConfiguration>();
+        val resolutionTimes = new LinkedHashMap<String, Duration>();
+        collect(rootLocation, new HashSet<>(), configurations, resolutionTimes);
+        return Optional.of(new ConfigurationResolution(configurationMerger.apply(configurations), Collections.unmodifiableMap(resolutionTimes)));
+    }
+
+    /**
+     * Collect the configuration at the location, followed by each of its config locations in order of declaration
+     *
+     * @param location the location
+     * @param visitedLocations the locations already visited
+     * @param configurations the configurations collected so far
+     * @param resolutionTimes the resolution times collected so far
+     */
+    private void collect(final String location, final Set<String> visitedLocations, final Set<SourcehawkConfiguration> configurations,
+                         final Map<String, Duration> resolutionTimes) {
+        if (!visitedLocations.add(location)) {
+            return;
+        }
+        val resolvedLocation = await(location);
+        val configuration = resolvedLocation.configuration
+                .orElseThrow(() -> new ConfigurationException(String.format("Could not locate or deserialize file %s", location)));
+        configurations.add(configuration);
+        resolutionTimes.put(location, resolvedLocation.resolutionTime);
+        for (val configLocation : getConfigLocations(configuration)) {
+            collect(configLocation, visitedLocations, configurations, resolutionTimes);
+        }
+    }
+
+    /**
+     * Wait for the location to be resolved, starting the resolution if it has not been already
+     *
+     * @param location the location
+     * @return the resolved location
+     */
+    private ResolvedLocation await(final String location) {
+        try {
+            return submit(location).join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Submit the location to be resolved, unless it already has been
+     *
+     * @param location the location
+     * @return the future resolved location
+     */
+    private CompletableFuture<ResolvedLocation> submit(final String location) {
+        return resolvedLocations.computeIfAbsent(location, key -> CompletableFuture.supplyAsync(() -> read(key), EXECUTOR_SERVICE));
+    }
+
+    /**
+     * Read the configuration at the location, and submit each of its config locations to be resolved
+     *
+     * @param location the location
+     * @return the resolved location
+     */
+    private ResolvedLocation read(final String location) {
+        val startNanos = System.nanoTime();
+        val configuration = configurationReader.apply(location);
+        val resolutionTime = Duration.ofNanos(System.nanoTime() - startNanos);
+        configuration.ifPresent(resolvedConfiguration -> getConfigLocations(resolvedConfiguration).forEach(this::submit));
+        return new ResolvedLocation(configuration, resolutionTime);
+    }
+
+    /**
+     * Get the config locations declared by the configuration
+     *
+     * @param configuration the configuration
+     * @return the declared config locations
+     */
+    private static Set<String> getConfigLocations(final SourcehawkConfiguration configuration) {
+        val configLocations = new LinkedHashSet<String>();
+        if (configuration.getConfigLocations() != null) {
+            configuration.getConfigLocations().stream()
+                    .filter(Objects::nonNull)
+                    .forEach(configLocations::add);
+        }
+        return configLocations;
+    }
+
+    /**
+     * Create the executor service which reads locations
+     *
+     * @return the executor service
+     */
+    private static ExecutorService createExecutorService() {
+        val threadPoolExecutor = new ThreadPoolExecutor(MAX_CONCURRENT_READS, MAX_CONCURRENT_READS, THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    val thread = new Thread(runnable, "sourcehawk-config-locations");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        return threadPoolExecutor;
+    }
+
+    /**
+     * A location which has been read
+     *
+     * @author Brian Wyka
+     */
+    @RequiredArgsConstructor
+    private static final class ResolvedLocation {
+
+        /**
+         * The configuration read, or {@link Optional#empty()} if it could not be read
+         */
+        private final Optional<SourcehawkConfiguration> configuration;
+
+        /**
+         * The time taken to read the configuration
+         */
+        private final Duration resolutionTime;
+
+    }
+
+}
@@ -15,6 +15,8 @@ import com.optum.sourcehawk.enforcer.file.FileResolver;
 import lombok.experimental.UtilityClass;
 import lombok.val;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -25,9 +27,6 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -41,6 +40,11 @@ import java.util.stream.Collectors;
 @UtilityClass
 public class ConfigurationReader {
 
+    /**
+     * The cache which remote configuration is read through
+     */
+    private final ConfigurationCache CONFIGURATION_CACHE = ConfigurationCache.fromEnvironment(System.getenv());
+
     /**
      * The object mapper which is used to deserialize the configuration from file
      */
@@ -76,60 +80,44 @@ public class ConfigurationReader {
     }
 
     /**
-     * Read the configuration from the provided location
+     * Read the configuration from the provided location, merged with all of the configurations in its <code>config-locations</code>
      *
      * @param repositoryRoot the repository root
      * @param configurationFileLocation the config file location
      * @return the configuration
      */
     public Optional<SourcehawkConfiguration> readConfiguration(final Path repositoryRoot, final String configurationFileLocation) {
-        try {
-            return obtainInputStream(repositoryRoot, configurationFileLocation)
-                    .flatMap(ConfigurationReader::deserialize)
-                    .map(sourcehawkConfiguration -> readConfigurationLocations(new HashSet<>(), sourcehawkConfiguration, repositoryRoot))
-                    .map(ConfigurationReader::merge);
-        } catch (final IOException e) {
-            Console.Err.error("Error reading configuration file: %s", e.getMessage());
-            return Optional.empty();
-        }
+        return resolveConfiguration(repositoryRoot, configurationFileLocation)
+                .map(ConfigurationResolution::getConfiguration);
     }
 
     /**
-     * Will read configuration objects from reading local config and then reading recursively and remotely.
+     * Resolve the configuration from the provided location, along with all of the configurations in its
+     * <code>config-locations</code>, which are read concurrently
      *
-     * @param processedConfigLocations The remote locations processed so far to avoid dupe reads
-     * @param sourcehawkConfiguration  The config to read from
      * @param repositoryRoot the repository root
-     * @return a list of all the configs in the hierarchy
+     * @param configurationFileLocation the config file location
+     * @return the resolution, or {@link Optional#empty()} if the configuration could not be read
      */
-    private static Set<SourcehawkConfiguration> readConfigurationLocations(final Set<String> processedConfigLocations, final SourcehawkConfiguration sourcehawkConfiguration,
-                                                                           final Path repositoryRoot) {
-        val sourcehawkConfigurations = new LinkedHashSet<>(Collections.singletonList(sourcehawkConfiguration));
-        Optional.ofNullable(sourcehawkConfiguration)
-                .map(SourcehawkConfiguration::getConfigLocations)
-                .orElseGet(HashSet::new)
-                .stream()
-                .filter(configLocation -> !processedConfigLocations.contains(configLocation))
-                .forEach(configLocation -> processChildConfigurations(processedConfigLocations, repositoryRoot, sourcehawkConfigurations, configLocation));
-        return sourcehawkConfigurations;
+    public Optional<ConfigurationResolution> resolveConfiguration(final Path repositoryRoot, final String configurationFileLocation) {
+        return new ConfigurationLocationResolver(configLocation -> readSingleConfiguration(repositoryRoot, configLocation), ConfigurationReader::merge)
+                .resolve(configurationFileLocation);
     }
 
     /**
-     * Process child configurations and add to list to avoid reprocessing duplicated configs.
+     * Read the configuration from the provided location alone, without reading its <code>config-locations</code>
      *
-     * @param processedConfigLocations already processed config set
      * @param repositoryRoot the repository root
-     * @param sourcehawkConfigurations current config children
-     * @param configLocation the current config location
+     * @param configurationFileLocation the config file location
+     * @return the configuration, or {@link Optional#empty()} if it could not be read
      */
-    private static void processChildConfigurations(final Set<String> processedConfigLocations, final Path repositoryRoot,
-                                                   final Set<SourcehawkConfiguration> sourcehawkConfigurations, final String configLocation) {
-        val childConfiguration = readConfiguration(repositoryRoot, configLocation)
-                .orElseThrow(() -> new ConfigurationException(String.format("Could not locate or deserialize file %s", configLocation)));
-        processedConfigLocations.add(configLocation);
-        sourcehawkConfigurations.add(childConfiguration);
-        if (CollectionUtils.isNotEmpty(childConfiguration.getConfigLocations())) {
-            sourcehawkConfigurations.addAll(readConfigurationLocations(processedConfigLocations, childConfiguration, repositoryRoot));
+    private Optional<SourcehawkConfiguration> readSingleConfiguration(final Path repositoryRoot, final String configurationFileLocation) {
+        try {
+            return obtainInputStream(repositoryRoot, configurationFileLocation)
+                    .flatMap(ConfigurationReader::deserialize);
+        } catch (final IOException e) {
+            Console.Err.error("Error reading configuration file: %s", e.getMessage());
+            return Optional.empty();
         }
     }
 
@@ -142,9 +130,22 @@ public class ConfigurationReader {
      * @throws IOException if any error occurs obtaining input stream
      */
     private Optional<InputStream> obtainInputStream(final Path repositoryRoot, final String configFileLocation) throws IOException {
+        return obtainInputStream(repositoryRoot, configFileLocation, CONFIGURATION_CACHE);
+    }
+
+    /**
+     * Obtain the configuration input stream, reading remote configuration through the configuration cache
+     *
+     * @param repositoryRoot the repository root
+     * @param configFileLocation the config file URI
+     * @param configurationCache the cache to read remote configuration through
+     * @return the configuration
+     * @throws IOException if any error occurs obtaining input stream
+     */
+    private Optional<InputStream> obtainInputStream(final Path repositoryRoot, final String configFileLocation, final ConfigurationCache configurationCache) throws IOException {
         try {
             if (StringUtils.isUrl(configFileLocation)) {
-                return Optional.of(new URL(configFileLocation).openStream());
+                return Optional.of(new ByteArrayInputStream(configurationCache.read(new URL(configFileLocation))));
             }
             val configFilePath = Paths.get(configFileLocation);
             if (configFilePath.isAbsolute()) {
@@ -158,14 +159,18 @@ public class ConfigurationReader {
     }
 
     /**
-     * Deserialize the configuration file
+     * Deserialize the configuration file, which may be either YAML or a {@link ConfigurationSnapshot}
      *
      * @param inputStream the configuration file input stream
      * @return the deserialized configuration
      */
     private Optional<SourcehawkConfiguration> deserialize(final InputStream inputStream) {
         try {
-            return Optional.of(MAPPER.readValue(inputStream, SourcehawkConfiguration.class));
+            val bufferedInputStream = new BufferedInputStream(inputStream);
+            if (ConfigurationSnapshot.isSnapshot(bufferedInputStream)) {
+                return Optional.of(ConfigurationSnapshot.read(bufferedInputStream));
+            }
+            return Optional.of(MAPPER.readValue(bufferedInputStream, SourcehawkConfiguration.class));
         } catch (final IOException e) {
             Console.Err.error("Error parsing configuration file: %s", e.getMessage());
             return Optional.empty();
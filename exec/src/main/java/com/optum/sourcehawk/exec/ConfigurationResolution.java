@@ -0,0 +1,30 @@
+package com.optum.sourcehawk.exec;
+
+import com.optum.sourcehawk.core.configuration.SourcehawkConfiguration;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * The result of resolving a configuration along with all of its <code>config-locations</code>
+ *
+ * @author Brian Wyka
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class ConfigurationResolution {
+
+    /**
+     * The configuration merged from every location in the graph
+     */
+    SourcehawkConfiguration configuration;
+
+    /**
+     * The time taken to read and deserialize each location, in depth-first order starting with the root location
+     */
+    Map<String, Duration> resolutionTimes;
+
+}
@@ -0,0 +1,490 @@
+package com.optum.sourcehawk.exec;
+
+import com.optum.sourcehawk.core.configuration.SourcehawkConfiguration;
+import com.optum.sourcehawk.core.protocol.file.FileProtocol;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.val;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * A compact binary snapshot of a resolved configuration, which can be loaded without parsing any YAML or resolving any
+ * <code>config-locations</code>.  Snapshots are only written for configurations in which every enforcer compiles, so
+ * loading one never encounters an invalid definition.
+ * <p>
+ * The format is a magic number and version, followed by the file protocols, and finally a CRC-32 of everything
+ * preceding it.  Strings are written once and then referred to by index, so the keys repeated throughout the enforcer
+ * definitions only take up a byte or two each.
+ *
+ * @author Brian Wyka
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ConfigurationSnapshot {
+
+    /**
+     * The magic number which starts every snapshot.  The first byte can never start a YAML document.
+     */
+    private static final byte[] MAGIC = {(byte) 0x89, 'S', 'H', 'C'};
+
+    /**
+     * The version of the snapshot format
+     */
+    private static final int VERSION = 1;
+
+    private static final int CHECKSUM_LENGTH = 4;
+    private static final int TYPE_NULL = 0;
+    private static final int TYPE_STRING = 1;
+    private static final int TYPE_INTEGER = 2;
+    private static final int TYPE_LONG = 3;
+    private static final int TYPE_DOUBLE = 4;
+    private static final int TYPE_TRUE = 5;
+    private static final int TYPE_FALSE = 6;
+    private static final int TYPE_LIST = 7;
+    private static final int TYPE_MAP = 8;
+    private static final int TYPE_BIG_INTEGER = 9;
+    private static final int TYPE_BIG_DECIMAL = 10;
+
+    /**
+     * Determine whether or not the content is a snapshot
+     *
+     * @param content the content
+     * @return true if the content is a snapshot, false otherwise
+     */
+    public static boolean isSnapshot(@NonNull final byte[] content) {
+        return content.length >= MAGIC.length && Arrays.equals(Arrays.copyOf(content, MAGIC.length), MAGIC);
+    }
+
+    /**
+     * Determine whether or not the input stream is positioned at the start of a snapshot, without consuming it
+     *
+     * @param inputStream the input stream, which must support mark and reset
+     * @return true if the input stream is a snapshot, false otherwise
+     * @throws IOException if any error occurs reading the input stream
+     */
+    public static boolean isSnapshot(@NonNull final InputStream inputStream) throws IOException {
+        inputStream.mark(MAGIC.length);
+        try {
+            val magic = new byte[MAGIC.length];
+            int offset = 0;
+            int bytesRead;
+            while (offset < magic.length && (bytesRead = inputStream.read(magic, offset, magic.length - offset)) != -1) {
+                offset += bytesRead;
+            }
+            return offset == magic.length && Arrays.equals(magic, MAGIC);
+        } finally {
+            inputStream.reset();
+        }
+    }
+
+    /**
+     * Write the snapshot of the configuration
+     *
+     * @param sourcehawkConfiguration the resolved configuration
+     * @return the snapshot
+     * @throws ConfigurationException if any of the enforcers in the configuration are invalid, or contain values which
+     *                                can not be written to the snapshot
+     */
+    public static byte[] write(@NonNull final SourcehawkConfiguration sourcehawkConfiguration) {
+        validate(sourcehawkConfiguration);
+        val byteArrayOutputStream = new ByteArrayOutputStream();
+        try (val output = new SnapshotOutput(new DataOutputStream(byteArrayOutputStream))) {
+            output.dataOutputStream.write(MAGIC);
+            output.dataOutputStream.writeByte(VERSION);
+            final Collection<FileProtocol> fileProtocols = sourcehawkConfiguration.getFileProtocols() == null
+                    ? new ArrayList<>() : sourcehawkConfiguration.getFileProtocols();
+            output.writeCount(fileProtocols.size());
+            for (val fileProtocol : fileProtocols) {
+                try {
+                    writeFileProtocol(output, fileProtocol);
+                } catch (final IOException e) {
+                    throw new ConfigurationException(String.format("File protocol [%s] could not be written to snapshot: %s", fileProtocol.getName(), e.getMessage()));
+                }
+            }
+        } catch (final IOException e) {
+            throw new ConfigurationException(String.format("Configuration snapshot could not be written: %s", e.getMessage()));
+        }
+        val checksum = new CRC32();
+        checksum.update(byteArrayOutputStream.toByteArray());
+        val checksumValue = (int) checksum.getValue();
+        byteArrayOutputStream.write(checksumValue >>> 24);
+        byteArrayOutputStream.write(checksumValue >>> 16);
+        byteArrayOutputStream.write(checksumValue >>> 8);
+        byteArrayOutputStream.write(checksumValue);
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    /**
+     * Read the configuration from the snapshot
+     *
+     * @param content the snapshot content
+     * @return the configuration
+     * @throws IOException if the content is not a valid snapshot
+     */
+    public static SourcehawkConfiguration read(@NonNull final byte[] content) throws IOException {
+        if (!isSnapshot(content) || content.length < MAGIC.length + 1 + CHECKSUM_LENGTH) {
+            throw new IOException("Not a configuration snapshot");
+        }
+        val bodyLength = content.length - CHECKSUM_LENGTH;
+        val checksum = new CRC32();
+        checksum.update(content, 0, bodyLength);
+        val expectedChecksum = ((content[bodyLength] & 0xff) << 24) | ((content[bodyLength + 1] & 0xff) << 16)
+                | ((content[bodyLength + 2] & 0xff) << 8) | (content[bodyLength + 3] & 0xff);
+        if ((int) checksum.getValue() != expectedChecksum) {
+            throw new IOException("Configuration snapshot is corrupt");
+        }
+        val version = content[MAGIC.length] & 0xff;
+        if (version != VERSION) {
+            throw new IOException(String.format("Unsupported configuration snapshot version %d", version));
+        }
+        val bodyOffset = MAGIC.length + 1;
+        try (val input = new SnapshotInput(new DataInputStream(new ByteArrayInputStream(content, bodyOffset, bodyLength - bodyOffset)))) {
+            val fileProtocolCount = input.readCount();
+            val fileProtocols = new ArrayList<FileProtocol>(fileProtocolCount);
+            for (int index = 0; index < fileProtocolCount; index++) {
+                fileProtocols.add(readFileProtocol(input));
+            }
+            return SourcehawkConfiguration.of(new LinkedHashSet<>(), fileProtocols);
+        } catch (final RuntimeException e) {
+            throw new IOException("Configuration snapshot is invalid", e);
+        }
+    }
+
+    /**
+     * Read the configuration from the snapshot
+     *
+     * @param inputStream the snapshot input stream
+     * @return the configuration
+     * @throws IOException if the content is not a valid snapshot, or could not be read
+     */
+    public static SourcehawkConfiguration read(@NonNull final InputStream inputStream) throws IOException {
+        val byteArrayOutputStream = new ByteArrayOutputStream();
+        val buffer = new byte[8192];
+        int bytesRead;
+        while ((bytesRead = inputStream.read(buffer)) != -1) {
+            byteArrayOutputStream.write(buffer, 0, bytesRead);
+        }
+        return read(byteArrayOutputStream.toByteArray());
+    }
+
+    /**
+     * Validate that every enforcer in the configuration compiles
+     *
+     * @param sourcehawkConfiguration the configuration
+     * @throws ConfigurationException if any of the enforcers are invalid
+     */
+    private static void validate(final SourcehawkConfiguration sourcehawkConfiguration) {
+        for (val compiledFileProtocol : CompiledConfiguration.compile(sourcehawkConfiguration).getFileProtocols()) {
+            for (val compiledFileEnforcer : compiledFileProtocol.getFileEnforcers()) {
+                if (!compiledFileEnforcer.isValid()) {
+                    throw new ConfigurationException(String.format("File protocol [%s] has invalid enforcer: %s",
+                            compiledFileProtocol.getFileProtocol().getName(), compiledFileEnforcer.getError().getMessage()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the file protocol
+     *
+     * @param output the snapshot output
+     * @param fileProtocol the file protocol
+     * @throws IOException if any error occurs writing, or any enforcer value is of an unsupported type
+     */
+    private static void writeFileProtocol(final SnapshotOutput output, final FileProtocol fileProtocol) throws IOException {
+        output.writeString(fileProtocol.getName());
+        output.writeString(fileProtocol.getDescription());
+        output.writeString(fileProtocol.getRepositoryPath());
+        output.dataOutputStream.writeBoolean(fileProtocol.isRequired());
+        val tags = fileProtocol.getTags() == null ? new String[0] : fileProtocol.getTags();
+        output.writeCount(tags.length);
+        for (val tag : tags) {
+            output.writeString(tag);
+        }
+        output.writeString(fileProtocol.getSeverity());
+        output.writeCount(fileProtocol.getEnforcers().size());
+        for (val enforcer : fileProtocol.getEnforcers()) {
+            output.writeValue(enforcer);
+        }
+    }
+
+    /**
+     * Read the file protocol
+     *
+     * @param input the snapshot input
+     * @return the file protocol
+     * @throws IOException if any error occurs reading
+     */
+    @SuppressWarnings("unchecked")
+    private static FileProtocol readFileProtocol(final SnapshotInput input) throws IOException {
+        val fileProtocolBuilder = FileProtocol.builder()
+                .name(input.readString())
+                .description(input.readString())
+                .repositoryPath(input.readString())
+                .required(input.dataInputStream.readBoolean());
+        val tags = new String[input.readCount()];
+        for (int index = 0; index < tags.length; index++) {
+            tags[index] = input.readString();
+        }
+        fileProtocolBuilder.tags(tags)
+                .severity(input.readString());
+        val enforcerCount = input.readCount();
+        val enforcers = new ArrayList<Map<String, Object>>(enforcerCount);
+        for (int index = 0; index < enforcerCount; index++) {
+            enforcers.add((Map<String, Object>) input.readValue());
+        }
+        return fileProtocolBuilder.enforcers(enforcers)
+                .build();
+    }
+
+    /**
+     * Writes the values of a snapshot
+     *
+     * @author Brian Wyka
+     */
+    private static final class SnapshotOutput implements AutoCloseable {
+
+        private final DataOutputStream dataOutputStream;
+        private final Map<String, Integer> stringIndexes = new HashMap<>();
+
+        /**
+         * Create the snapshot output
+         *
+         * @param dataOutputStream the data output stream to write to
+         */
+        private SnapshotOutput(final DataOutputStream dataOutputStream) {
+            this.dataOutputStream = dataOutputStream;
+        }
+
+        /**
+         * Write a non-negative count as a variable length integer
+         *
+         * @param count the count
+         * @throws IOException if any error occurs writing
+         */
+        private void writeCount(final int count) throws IOException {
+            int remaining = count;
+            while ((remaining & ~0x7f) != 0) {
+                dataOutputStream.writeByte((remaining & 0x7f) | 0x80);
+                remaining >>>= 7;
+            }
+            dataOutputStream.writeByte(remaining);
+        }
+
+        /**
+         * Write a nullable string, by its index if it has been written before.  Zero is null, an index equal to the
+         * number of strings written so far is followed by a new string, and any other index refers back to one.
+         *
+         * @param string the string, may be null
+         * @throws IOException if any error occurs writing
+         */
+        private void writeString(final String string) throws IOException {
+            if (string == null) {
+                writeCount(0);
+                return;
+            }
+            val index = stringIndexes.get(string);
+            if (index != null) {
+                writeCount(index);
+                return;
+            }
+            val newIndex = stringIndexes.size() + 1;
+            stringIndexes.put(string, newIndex);
+            writeCount(newIndex);
+            val bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeCount(bytes.length);
+            dataOutputStream.write(bytes);
+        }
+
+        /**
+         * Write a value of an enforcer definition
+         *
+         * @param value the value
+         * @throws IOException if any error occurs writing, or the value is of an unsupported type
+         */
+        private void writeValue(final Object value) throws IOException {
+            if (value == null) {
+                dataOutputStream.writeByte(TYPE_NULL);
+            } else if (value instanceof String) {
+                dataOutputStream.writeByte(TYPE_STRING);
+                writeString((String) value);
+            } else if (value instanceof Integer) {
+                dataOutputStream.writeByte(TYPE_INTEGER);
+                dataOutputStream.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                dataOutputStream.writeByte(TYPE_LONG);
+                dataOutputStream.writeLong((Long) value);
+            } else if (value instanceof Double) {
+                dataOutputStream.writeByte(TYPE_DOUBLE);
+                dataOutputStream.writeDouble((Double) value);
+            } else if (value instanceof Boolean) {
+                dataOutputStream.writeByte((Boolean) value ? TYPE_TRUE : TYPE_FALSE);
+            } else if (value instanceof BigInteger) {
+                dataOutputStream.writeByte(TYPE_BIG_INTEGER);
+                writeString(value.toString());
+            } else if (value instanceof BigDecimal) {
+                dataOutputStream.writeByte(TYPE_BIG_DECIMAL);
+                writeString(value.toString());
+            } else if (value instanceof Collection) {
+                dataOutputStream.writeByte(TYPE_LIST);
+                writeCount(((Collection<?>) value).size());
+                for (val element : (Collection<?>) value) {
+                    writeValue(element);
+                }
+            } else if (value instanceof Map) {
+                dataOutputStream.writeByte(TYPE_MAP);
+                writeCount(((Map<?, ?>) value).size());
+                for (val entry : ((Map<?, ?>) value).entrySet()) {
+                    writeString(String.valueOf(entry.getKey()));
+                    writeValue(entry.getValue());
+                }
+            } else {
+                throw new IOException(String.format("Unsupported configuration value type: %s", value.getClass().getName()));
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() throws IOException {
+            dataOutputStream.close();
+        }
+
+    }
+
+    /**
+     * Reads the values of a snapshot
+     *
+     * @author Brian Wyka
+     */
+    private static final class SnapshotInput implements AutoCloseable {
+
+        private final DataInputStream dataInputStream;
+        private final List<String> strings = new ArrayList<>();
+
+        /**
+         * Create the snapshot input
+         *
+         * @param dataInputStream the data input stream to read from
+         */
+        private SnapshotInput(final DataInputStream dataInputStream) {
+            this.dataInputStream = dataInputStream;
+        }
+
+        /**
+         * Read a count written as a variable length integer
+         *
+         * @return the count
+         * @throws IOException if any error occurs reading
+         */
+        private int readCount() throws IOException {
+            int count = 0;
+            for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+                val currentByte = dataInputStream.readUnsignedByte();
+                count |= (currentByte & 0x7f) << shift;
+                if ((currentByte & 0x80) == 0) {
+                    if (count < 0) {
+                        break;
+                    }
+                    return count;
+                }
+            }
+            throw new IOException("Invalid count in configuration snapshot");
+        }
+
+        /**
+         * Read a nullable string
+         *
+         * @return the string, or null
+         * @throws IOException if any error occurs reading
+         */
+        private String readString() throws IOException {
+            val index = readCount();
+            if (index == 0) {
+                return null;
+            }
+            if (index <= strings.size()) {
+                return strings.get(index - 1);
+            }
+            if (index != strings.size() + 1) {
+                throw new IOException("Invalid string reference in configuration snapshot");
+            }
+            val bytes = new byte[readCount()];
+            dataInputStream.readFully(bytes);
+            val string = new String(bytes, StandardCharsets.UTF_8);
+            strings.add(string);
+            return string;
+        }
+
+        /**
+         * Read a value of an enforcer definition
+         *
+         * @return the value
+         * @throws IOException if any error occurs reading, or the value is of an unknown type
+         */
+        private Object readValue() throws IOException {
+            val type = dataInputStream.readUnsignedByte();
+            switch (type) {
+                case TYPE_NULL:
+                    return null;
+                case TYPE_STRING:
+                    return readString();
+                case TYPE_INTEGER:
+                    return dataInputStream.readInt();
+                case TYPE_LONG:
+                    return dataInputStream.readLong();
+                case TYPE_DOUBLE:
+                    return dataInputStream.readDouble();
+                case TYPE_TRUE:
+                    return Boolean.TRUE;
+                case TYPE_FALSE:
+                    return Boolean.FALSE;
+                case TYPE_BIG_INTEGER:
+                    return new BigInteger(readString());
+                case TYPE_BIG_DECIMAL:
+                    return new BigDecimal(readString());
+                case TYPE_LIST:
+                    final int size = readCount();
+                    final List<Object> list = new ArrayList<>(Math.min(size, 1024));
+                    for (int index = 0; index < size; index++) {
+                        list.add(readValue());
+                    }
+                    return list;
+                case TYPE_MAP:
+                    final int entryCount = readCount();
+                    final Map<String, Object> map = new LinkedHashMap<>();
+                    for (int index = 0; index < entryCount; index++) {
+                        map.put(readString(), readValue());
+                    }
+                    return map;
+                default:
+                    throw new IOException(String.format("Unknown value type %d in configuration snapshot", type));
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() throws IOException {
+            dataInputStream.close();
+        }
+
+    }
+
+}
@@ -0,0 +1,454 @@
+package com.optum.sourcehawk.exec;
+
+import com.optum.sourcehawk.core.utils.ContentUtils;
+import com.optum.sourcehawk.core.utils.StringUtils;
+import com.optum.sourcehawk.enforcer.EnforcerResult;
+import com.optum.sourcehawk.exec.CompiledConfiguration.CompiledFileEnforcer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A cache of enforcer results, keyed by the identity of the enforcer and the SHA-256 digest of the file content it was
+ * executed against.  Byte-identical files, whether within one repository, across repositories, or across runs, are
+ * only enforced once by each enforcer.
+ * <p>
+ * The identity of an enforcer is derived from its definition, the sourcehawk version, and the class files of the
+ * enforcer where they are available, so results are not reused by a different implementation of the enforcer.
+ * Enforcers with a URL anywhere in their definition, i.e. <code>ContentEquals</code> with <code>expected-url</code>,
+ * read content other than the file on every execution, so their results are never cached.
+ * <p>
+ * The cache is loaded from the file system when first used, and only written back by {@link #flush()}.  Once the
+ * estimated size of the cache exceeds its limit, the least recently used results are evicted.  The limit is configured
+ * with the <code>SOURCEHAWK_RESULT_CACHE_SIZE_MB</code> environment variable, which defaults to 32, and a limit of 0
+ * disables the cache.  The cache is stored in the same directory as remote configuration, see {@link ConfigurationCache}.
+ *
+ * @author Brian Wyka
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public final class EnforcerResultCache {
+
+    static final String ENV_RESULT_CACHE_SIZE_MB = "SOURCEHAWK_RESULT_CACHE_SIZE_MB";
+    private static final long DEFAULT_SIZE_MB = 32L;
+    private static final long BYTES_PER_MB = 1024L * 1024L;
+    private static final String FILE_NAME = "enforcer-results.bin";
+    private static final int MAGIC = 0x53484552;
+    private static final int VERSION = 1;
+    private static final String PROPERTIES_LOCATION = "sourcehawk.properties";
+    private static final String VERSION_PROPERTY = "version";
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The identity of file enforcers whose results are never cached
+     */
+    private static final String UNCACHEABLE = "";
+
+    /**
+     * The estimated size of each entry in addition to its key and messages
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    /**
+     * The version of sourcehawk, if available
+     */
+    private static final String SOURCEHAWK_VERSION = loadVersion();
+
+    /**
+     * The file the cache is stored in
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final Path path;
+
+    /**
+     * The maximum estimated size of the cache in bytes
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final long maxSizeBytes;
+
+    /**
+     * The cached enforcer results, in least recently used order
+     */
+    private final LinkedHashMap<String, EnforcerResult> enforcerResults = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The identities of the file enforcers, keyed by definition
+     */
+    private final Map<Map<String, Object>, String> enforcerIdentities = new ConcurrentHashMap<>();
+
+    /**
+     * The estimated size of the cache in bytes
+     */
+    private long sizeBytes;
+
+    /**
+     * Whether or not the cache has been loaded from the file system
+     */
+    private boolean loaded;
+
+    /**
+     * Whether or not the cache has changed since it was loaded or last flushed
+     */
+    private boolean modified;
+
+    /**
+     * Create the enforcer result cache as configured by the environment
+     *
+     * @param environment the environment variables
+     * @return the enforcer result cache
+     */
+    public static EnforcerResultCache fromEnvironment(final Map<String, String> environment) {
+        return new EnforcerResultCache(ConfigurationCache.resolveDirectory(environment).resolve(FILE_NAME),
+                parseSizeMb(environment.get(ENV_RESULT_CACHE_SIZE_MB)) * BYTES_PER_MB);
+    }
+
+    /**
+     * Parse the size limit, falling back to the default if not set or invalid
+     *
+     * @param sizeMb the size limit in megabytes
+     * @return the size limit in megabytes
+     */
+    private static long parseSizeMb(final String sizeMb) {
+        if (StringUtils.isBlankOrEmpty(sizeMb)) {
+            return DEFAULT_SIZE_MB;
+        }
+        try {
+            return Math.max(0L, Long.parseLong(sizeMb.trim()));
+        } catch (final NumberFormatException e) {
+            Console.Err.error("Invalid %s: %s", ENV_RESULT_CACHE_SIZE_MB, sizeMb);
+            return DEFAULT_SIZE_MB;
+        }
+    }
+
+    /**
+     * Get the result of the file enforcer against the file content from the cache, or execute the enforcement and
+     * cache its result.  The content buffer itself is left unchanged.
+     *
+     * @param compiledFileEnforcer the compiled file enforcer
+     * @param content the file content
+     * @param enforcement the enforcement of the file content by the file enforcer
+     * @return the enforcer result
+     * @throws IOException if any error occurs during enforcement
+     */
+    public EnforcerResult enforce(final CompiledFileEnforcer compiledFileEnforcer, final ByteBuffer content, final Enforcement enforcement) throws IOException {
+        if (maxSizeBytes <= 0) {
+            return enforcement.enforce();
+        }
+        val enforcerIdentity = identify(compiledFileEnforcer);
+        if (enforcerIdentity.equals(UNCACHEABLE)) {
+            return enforcement.enforce();
+        }
+        val key = enforcerIdentity + ':' + ContentUtils.sha256Hex(content);
+        val cachedEnforcerResult = get(key);
+        if (cachedEnforcerResult != null) {
+            return cachedEnforcerResult;
+        }
+        val enforcerResult = enforcement.enforce();
+        put(key, enforcerResult);
+        return enforcerResult;
+    }
+
+    /**
+     * Write the cache back to the file system if it has changed
+     */
+    public synchronized void flush() {
+        if (!modified) {
+            return;
+        }
+        try {
+            ContentUtils.writeAtomically(path, outputStream -> {
+                val dataOutputStream = new DataOutputStream(outputStream);
+                dataOutputStream.writeInt(MAGIC);
+                dataOutputStream.writeInt(VERSION);
+                dataOutputStream.writeInt(enforcerResults.size());
+                for (val enforcerResultEntry : enforcerResults.entrySet()) {
+                    writeString(dataOutputStream, enforcerResultEntry.getKey());
+                    dataOutputStream.writeBoolean(enforcerResultEntry.getValue().isPassed());
+                    dataOutputStream.writeInt(enforcerResultEntry.getValue().getMessages().size());
+                    for (val message : enforcerResultEntry.getValue().getMessages()) {
+                        writeString(dataOutputStream, message);
+                    }
+                }
+                dataOutputStream.flush();
+            });
+            modified = false;
+        } catch (final IOException e) {
+            Console.Err.log("Unable to write enforcer result cache file %s: %s", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Get the cached enforcer result, marking it as the most recently used
+     *
+     * @param key the key
+     * @return the enforcer result, or null if not cached
+     */
+    private synchronized EnforcerResult get(final String key) {
+        load();
+        return enforcerResults.get(key);
+    }
+
+    /**
+     * Cache the enforcer result, evicting the least recently used results if the cache has grown too large
+     *
+     * @param key the key
+     * @param enforcerResult the enforcer result
+     */
+    private synchronized void put(final String key, final EnforcerResult enforcerResult) {
+        load();
+        val replacedEnforcerResult = enforcerResults.put(key, enforcerResult);
+        if (replacedEnforcerResult != null) {
+            sizeBytes -= estimateSize(key, replacedEnforcerResult);
+        }
+        sizeBytes += estimateSize(key, enforcerResult);
+        evict();
+        modified = true;
+    }
+
+    /**
+     * Evict the least recently used results until the cache is within its size limit
+     */
+    private void evict() {
+        val iterator = enforcerResults.entrySet().iterator();
+        while (sizeBytes > maxSizeBytes && iterator.hasNext()) {
+            val enforcerResultEntry = iterator.next();
+            sizeBytes -= estimateSize(enforcerResultEntry.getKey(), enforcerResultEntry.getValue());
+            iterator.remove();
+            modified = true;
+        }
+    }
+
+    /**
+     * Load the cache from the file system, if not loaded already.  A cache which cannot be read is treated as empty.
+     */
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        try (val dataInputStream = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(path)))) {
+            if (dataInputStream.readInt() != MAGIC || dataInputStream.readInt() != VERSION) {
+                return;
+            }
+            val count = readCount(dataInputStream);
+            for (int index = 0; index < count; index++) {
+                val key = readString(dataInputStream);
+                val passed = dataInputStream.readBoolean();
+                val messageCount = readCount(dataInputStream);
+                val messages = new ArrayList<String>(messageCount);
+                for (int messageIndex = 0; messageIndex < messageCount; messageIndex++) {
+                    messages.add(readString(dataInputStream));
+                }
+                val enforcerResult = EnforcerResult.builder()
+                        .passed(passed)
+                        .messages(messages)
+                        .build();
+                enforcerResults.put(key, enforcerResult);
+                sizeBytes += estimateSize(key, enforcerResult);
+            }
+        } catch (final NoSuchFileException e) {
+            return;
+        } catch (final EOFException e) {
+            Console.Err.log("Unable to read enforcer result cache file %s: Enforcer result cache is corrupt", path);
+            enforcerResults.clear();
+            sizeBytes = 0;
+        } catch (final IOException e) {
+            Console.Err.log("Unable to read enforcer result cache file %s: %s", path, e.getMessage());
+            enforcerResults.clear();
+            sizeBytes = 0;
+        }
+        evict();
+    }
+
+    /**
+     * Derive the identity of the file enforcer
+     *
+     * @param compiledFileEnforcer the compiled file enforcer
+     * @return the identity, or {@link #UNCACHEABLE} if the file enforcer refers to a URL
+     * @throws IOException if the identity could not be derived
+     */
+    private String identify(final CompiledFileEnforcer compiledFileEnforcer) throws IOException {
+        val enforcerIdentity = enforcerIdentities.get(compiledFileEnforcer.getDefinition());
+        if (enforcerIdentity != null) {
+            return enforcerIdentity;
+        }
+        if (refersToUrl(compiledFileEnforcer.getDefinition())) {
+            enforcerIdentities.put(compiledFileEnforcer.getDefinition(), UNCACHEABLE);
+            return UNCACHEABLE;
+        }
+        val messageDigest = ContentUtils.sha256();
+        messageDigest.update(SOURCEHAWK_VERSION.getBytes(StandardCharsets.UTF_8));
+        for (Class<?> enforcerClass = compiledFileEnforcer.getFileEnforcer().getClass(); enforcerClass != null && enforcerClass != Object.class;
+             enforcerClass = enforcerClass.getSuperclass()) {
+            messageDigest.update(enforcerClass.getName().getBytes(StandardCharsets.UTF_8));
+            updateClassFile(messageDigest, enforcerClass);
+        }
+        messageDigest.update(String.valueOf(compiledFileEnforcer.getDefinition()).getBytes(StandardCharsets.UTF_8));
+        val identity = ContentUtils.toHex(messageDigest.digest());
+        enforcerIdentities.put(compiledFileEnforcer.getDefinition(), identity);
+        return identity;
+    }
+
+    /**
+     * Determine whether or not the value of an enforcer definition is, or contains, a URL
+     *
+     * @param value the value
+     * @return true if the value refers to a URL, false otherwise
+     */
+    @SuppressWarnings("squid:S1848")
+    private static boolean refersToUrl(final Object value) {
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).values().stream().anyMatch(EnforcerResultCache::refersToUrl);
+        }
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).stream().anyMatch(EnforcerResultCache::refersToUrl);
+        }
+        if (value instanceof URL) {
+            return true;
+        }
+        if (value instanceof String) {
+            try {
+                new URL((String) value);
+                return true;
+            } catch (final MalformedURLException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Update the message digest with the class file of the class, if it is available
+     *
+     * @param messageDigest the message digest
+     * @param type the class
+     * @throws IOException if any error occurs reading the class file
+     */
+    private static void updateClassFile(final MessageDigest messageDigest, final Class<?> type) throws IOException {
+        val classFileName = type.getName().substring(type.getName().lastIndexOf('.') + 1) + ".class";
+        try (InputStream classFileInputStream = type.getResourceAsStream(classFileName)) {
+            if (classFileInputStream == null) {
+                return;
+            }
+            val buffer = new byte[BUFFER_SIZE];
+            int bytesRead;
+            while ((bytesRead = classFileInputStream.read(buffer)) != -1) {
+                messageDigest.update(buffer, 0, bytesRead);
+            }
+        }
+    }
+
+    /**
+     * Estimate the size of the cache entry in bytes
+     *
+     * @param key the key
+     * @param enforcerResult the enforcer result
+     * @return the estimated size
+     */
+    private static long estimateSize(final String key, final EnforcerResult enforcerResult) {
+        long size = ENTRY_OVERHEAD_BYTES + key.length();
+        for (val message : enforcerResult.getMessages()) {
+            size += message.length();
+        }
+        return size;
+    }
+
+    /**
+     * Write a length prefixed UTF-8 string
+     *
+     * @param dataOutputStream the output stream
+     * @param string the string
+     * @throws IOException if any error occurs writing
+     */
+    private static void writeString(final DataOutputStream dataOutputStream, final String string) throws IOException {
+        val bytes = string.getBytes(StandardCharsets.UTF_8);
+        dataOutputStream.writeInt(bytes.length);
+        dataOutputStream.write(bytes);
+    }
+
+    /**
+     * Read a length prefixed UTF-8 string
+     *
+     * @param dataInputStream the input stream
+     * @return the string
+     * @throws IOException if any error occurs reading
+     */
+    private static String readString(final DataInputStream dataInputStream) throws IOException {
+        val bytes = new byte[readCount(dataInputStream)];
+        dataInputStream.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read a count of entries or bytes, which cannot exceed the number of remaining bytes
+     *
+     * @param dataInputStream the input stream
+     * @return the count
+     * @throws IOException if the count could not be read or is not possible
+     */
+    private static int readCount(final DataInputStream dataInputStream) throws IOException {
+        val count = dataInputStream.readInt();
+        if (count < 0 || count > dataInputStream.available()) {
+            throw new IOException("Enforcer result cache is corrupt");
+        }
+        return count;
+    }
+
+    /**
+     * Load the version of sourcehawk from the properties on the classpath, if present
+     *
+     * @return the version, or an empty string if not available
+     */
+    private static String loadVersion() {
+        try (val inputStream = EnforcerResultCache.class.getClassLoader().getResourceAsStream(PROPERTIES_LOCATION)) {
+            if (inputStream == null) {
+                return "";
+            }
+            val properties = new Properties();
+            properties.load(inputStream);
+            return properties.getProperty(VERSION_PROPERTY, "");
+        } catch (final IOException e) {
+            return "";
+        }
+    }
+
+    /**
+     * The enforcement of file content by a file enforcer
+     *
+     * @author Brian Wyka
+     */
+    @FunctionalInterface
+    public interface Enforcement {
+
+        /**
+         * Enforce the file content
+         *
+         * @return the enforcer result
+         * @throws IOException if any error occurs during enforcement
+         */
+        EnforcerResult enforce() throws IOException;
+
+    }
+
+}
@@ -3,10 +3,15 @@ package com.optum.sourcehawk.exec;
 import com.optum.sourcehawk.core.constants.SourcehawkConstants;
 import com.optum.sourcehawk.core.data.RemoteRef;
 import com.optum.sourcehawk.core.repository.LocalRepositoryFileReader;
+import com.optum.sourcehawk.core.repository.RepositoryFileIndex;
 import com.optum.sourcehawk.core.repository.RepositoryFileReader;
+import com.optum.sourcehawk.core.result.ScanResult;
 import com.optum.sourcehawk.core.data.OutputFormat;
 import com.optum.sourcehawk.core.data.Verbosity;
+import com.optum.sourcehawk.enforcer.file.ParsedDocumentCache;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.Value;
 
@@ -14,6 +19,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.function.Consumer;
 
 /**
  * Execution options to be evaluated
@@ -65,6 +71,12 @@ public class ExecOptions {
     @Builder.Default
     boolean failOnWarnings = false;
 
+    /**
+     * The maximum number of threads used to execute file protocols and enforcers concurrently, one results in a sequential scan
+     */
+    @Builder.Default
+    int parallelism = 1;
+
     /**
      * Repository file reader
      */
@@ -77,6 +89,44 @@ public class ExecOptions {
      */
     RemoteRef remoteRef;
 
+    /**
+     * The git revision of the local repository which file changes are determined since.  When set, only the file
+     * protocols targeting changed files are enforced, and the results of a previous scan of the revision are reused
+     * for all others.  When null, all file protocols are enforced.
+     */
+    String changedSince;
+
+    /**
+     * The sink which receives each scan message as soon as its file protocol has been enforced, instead of the message
+     * being aggregated into the scan result.  When null, all messages are aggregated.
+     */
+    @EqualsAndHashCode.Exclude
+    Consumer<ScanResult.MessageDescriptor> messageSink;
+
+    /**
+     * The cache of enforcer results, so that enforcers are not executed again against file content they have already
+     * enforced.  The cache is not flushed by the scan, see {@link EnforcerResultCache#flush()}.  When null, every
+     * enforcer is executed.
+     */
+    @EqualsAndHashCode.Exclude
+    EnforcerResultCache enforcerResultCache;
+
+    /**
+     * The index of all files within the repository root, the file tree is walked (or the repository file reader listed)
+     * at most once per exec options
+     */
+    @Getter(lazy = true)
+    @EqualsAndHashCode.Exclude
+    RepositoryFileIndex repositoryFileIndex = RepositoryFileIndex.create(repositoryRoot, repositoryFileReader);
+
+    /**
+     * The documents parsed from repository files, each file is parsed at most once per format while cached and the
+     * parsed document shared by all enforcers of the file.  The cache is bounded by a memory budget.
+     */
+    @Getter(lazy = true)
+    @EqualsAndHashCode.Exclude
+    ParsedDocumentCache parsedDocumentCache = ParsedDocumentCache.create();
+
     /**
      * Print a string representation of the exec options
      *
@@ -95,6 +145,10 @@ public class ExecOptions {
         string += "Verbosity......... " + verbosity + System.lineSeparator();
         string += "Output Format..... " + outputFormat + System.lineSeparator();
         string += "Fail on Warnings.. " + failOnWarnings + System.lineSeparator();
+        string += "Parallelism....... " + parallelism + System.lineSeparator();
+        if (changedSince != null) {
+            string += "Changed Since..... " + changedSince + System.lineSeparator();
+        }
         return string;
     }
 
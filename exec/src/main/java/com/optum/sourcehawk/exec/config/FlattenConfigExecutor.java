@@ -7,12 +7,17 @@ import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
 import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
 import com.optum.sourcehawk.core.configuration.SourcehawkConfiguration;
 import com.optum.sourcehawk.core.result.FlattenConfigResult;
+import com.optum.sourcehawk.exec.ConfigurationException;
 import com.optum.sourcehawk.exec.ConfigurationReader;
+import com.optum.sourcehawk.exec.ConfigurationResolution;
+import com.optum.sourcehawk.exec.ConfigurationSnapshot;
+import com.optum.sourcehawk.exec.Console;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
 import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.Optional;
 
 /**
  * Entry point for executing Sourcehawk flatten command
@@ -30,6 +35,11 @@ public final class FlattenConfigExecutor {
             .setPropertyNamingStrategy(PropertyNamingStrategies.KEBAB_CASE)
             .writerWithDefaultPrettyPrinter();
 
+    /**
+     * The error message when the configuration could not be resolved
+     */
+    private static final String ERROR_NOT_FOUND = "Configuration file %s not found or invalid";
+
     /**
      * Run the flatten config based on the provided configuration file location
      *
@@ -37,19 +47,56 @@ public final class FlattenConfigExecutor {
      * @return the flatten config result
      */
     public static FlattenConfigResult flatten(final String configurationFileLocation) {
-        return ConfigurationReader.readConfiguration(Paths.get("."), configurationFileLocation)
-                .map(sourcehawkConfiguration -> executeFlatten(configurationFileLocation, sourcehawkConfiguration))
-                .orElseGet(() -> FlattenConfigResult.error(String.format("Configuration file %s not found or invalid", configurationFileLocation)));
+        return resolve(configurationFileLocation)
+                .map(sourcehawkConfiguration -> flatten(configurationFileLocation, sourcehawkConfiguration))
+                .orElseGet(() -> FlattenConfigResult.error(String.format(ERROR_NOT_FOUND, configurationFileLocation)));
+    }
+
+    /**
+     * Create a binary snapshot of the configuration based on the provided configuration file location, which can be
+     * loaded in place of the configuration without parsing or resolving anything
+     *
+     * @param configurationFileLocation the sourcehawk configuration location
+     * @return the flatten config result, containing the snapshot
+     */
+    public static FlattenConfigResult snapshot(final String configurationFileLocation) {
+        return resolve(configurationFileLocation)
+                .map(sourcehawkConfiguration -> snapshot(configurationFileLocation, sourcehawkConfiguration))
+                .orElseGet(() -> FlattenConfigResult.error(String.format(ERROR_NOT_FOUND, configurationFileLocation)));
+    }
+
+    /**
+     * Resolve the configuration from the provided configuration file location, along with all of its
+     * <code>config-locations</code>, so that it can be both flattened and snapshot
+     *
+     * @param configurationFileLocation the sourcehawk configuration location
+     * @return the resolved configuration, or {@link Optional#empty()} if it was not found or invalid
+     */
+    public static Optional<SourcehawkConfiguration> resolve(final String configurationFileLocation) {
+        return ConfigurationReader.resolveConfiguration(Paths.get("."), configurationFileLocation)
+                .map(FlattenConfigExecutor::logResolutionTimes);
     }
 
     /**
-     * Execute the flatten iterating over all configuration locations and aggregate the results
+     * Log the time taken to resolve each of the configuration locations which were flattened
+     *
+     * @param configurationResolution the configuration resolution
+     * @return the resolved configuration
+     */
+    private static SourcehawkConfiguration logResolutionTimes(final ConfigurationResolution configurationResolution) {
+        configurationResolution.getResolutionTimes()
+                .forEach((location, resolutionTime) -> Console.Err.log("Resolved configuration location %s in %d ms", location, resolutionTime.toMillis()));
+        return configurationResolution.getConfiguration();
+    }
+
+    /**
+     * Flatten the already resolved configuration
      *
      * @param configurationFileLocation the configuration location
      * @param sourcehawkConfiguration   the flattened configuration object
-     * @return the aggregated flatten result
+     * @return the flatten result
      */
-    private static FlattenConfigResult executeFlatten(final String configurationFileLocation, final SourcehawkConfiguration sourcehawkConfiguration) {
+    public static FlattenConfigResult flatten(final String configurationFileLocation, final SourcehawkConfiguration sourcehawkConfiguration) {
         try {
             return FlattenConfigResult.success(YAML_WRITER.writeValueAsBytes(sourcehawkConfiguration));
         } catch (final IOException e) {
@@ -57,6 +104,24 @@ public final class FlattenConfigExecutor {
         }
     }
 
+    /**
+     * Create a binary snapshot of the already resolved configuration, which is only created if every enforcer is valid
+     *
+     * @param configurationFileLocation the configuration location
+     * @param sourcehawkConfiguration   the flattened configuration object
+     * @return the snapshot result
+     */
+    public static FlattenConfigResult snapshot(final String configurationFileLocation, final SourcehawkConfiguration sourcehawkConfiguration) {
+        try {
+            return FlattenConfigResult.builder()
+                    .content(ConfigurationSnapshot.write(sourcehawkConfiguration))
+                    .message("Snapshot successful")
+                    .build();
+        } catch (final ConfigurationException e) {
+            return FlattenConfigResult.error(String.format("Error creating snapshot of sourcehawk configuration at %s with error: %s", configurationFileLocation, e.getMessage()));
+        }
+    }
+
     /**
      * Handle exceptions from Serialization
      *
@@ -4,6 +4,7 @@ import com.optum.sourcehawk.core.repository.LocalRepositoryFileWriter;
 import com.optum.sourcehawk.core.result.FlattenConfigResult;
 import com.optum.sourcehawk.core.utils.StringUtils;
 import com.optum.sourcehawk.exec.Console;
+import lombok.NonNull;
 import lombok.experimental.UtilityClass;
 import lombok.val;
 
@@ -39,6 +40,22 @@ public class FlattenConfigResultLogger {
         }
     }
 
+    /**
+     * Write the snapshot of the flattened configuration to the file system
+     *
+     * @param snapshotResult the flatten config result containing the snapshot
+     * @param output         the output location of the snapshot
+     */
+    public void logSnapshot(final FlattenConfigResult snapshotResult, @NonNull final Path output) {
+        try {
+            LocalRepositoryFileWriter.writer().write(output.toString(), snapshotResult.getContent());
+            Console.Err.log(snapshotResult.getMessage());
+            Console.Err.log("Configuration snapshot output to %s", output);
+        } catch (final Exception e) {
+            Console.Err.error("Error writing configuration snapshot to file: %s", e.getMessage());
+        }
+    }
+
     /**
      * Log the result of the flatten to the file system
      *
@@ -1,11 +1,13 @@
 package com.optum.sourcehawk.exec.fix;
 
-import com.optum.sourcehawk.core.configuration.SourcehawkConfiguration;
 import com.optum.sourcehawk.core.protocol.file.FileProtocol;
 import com.optum.sourcehawk.core.result.FixResult;
+import com.optum.sourcehawk.core.result.FixResultAccumulator;
 import com.optum.sourcehawk.core.utils.FileUtils;
 import com.optum.sourcehawk.enforcer.EnforcerConstants;
 import com.optum.sourcehawk.enforcer.file.FileResolver;
+import com.optum.sourcehawk.exec.CompiledConfiguration;
+import com.optum.sourcehawk.exec.CompiledConfiguration.CompiledFileEnforcer;
 import com.optum.sourcehawk.exec.ConfigurationReader;
 import com.optum.sourcehawk.exec.ExecOptions;
 import lombok.AccessLevel;
@@ -17,8 +19,6 @@ import java.io.IOException;
 import java.io.StringWriter;
 import java.nio.file.Path;
 import java.util.Arrays;
-import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -40,7 +40,8 @@ public final class FixExecutor {
      */
     public static FixResult fix(final ExecOptions execOptions, final boolean dryRun) {
         return ConfigurationReader.readConfiguration(execOptions.getRepositoryRoot(), execOptions.getConfigurationFileLocation())
-                .map(sourcehawkConfiguration -> executeFix(execOptions, sourcehawkConfiguration, dryRun))
+                .map(CompiledConfiguration::compile)
+                .map(compiledConfiguration -> executeFix(execOptions, compiledConfiguration, dryRun))
                 .orElseGet(() -> FixResultFactory.error(execOptions.getConfigurationFileLocation(), "Configuration file not found"));
     }
 
@@ -48,20 +49,23 @@ public final class FixExecutor {
      * Execute the scan.  Iterate over all file protocols, and each enforcer within the file protocol and aggregate the results
      *
      * @param execOptions the scan options
-     * @param sourcehawkConfiguration the configuration
+     * @param compiledConfiguration the compiled configuration
      * @param dryRun whether or not this is a dry run
      * @return the aggregated scan result
      */
-    private static FixResult executeFix(final ExecOptions execOptions, final SourcehawkConfiguration sourcehawkConfiguration, final boolean dryRun) {
-        if (sourcehawkConfiguration == null) {
+    private static FixResult executeFix(final ExecOptions execOptions, final CompiledConfiguration compiledConfiguration, final boolean dryRun) {
+        if (compiledConfiguration == null) {
             return FixResultFactory.error(execOptions.getConfigurationFileLocation(), "Scan configuration file not found or remote configuration read issue");
         }
-        return sourcehawkConfiguration.getFileProtocols().stream()
-                .filter(FileProtocol::isRequired)
-                .filter(fileProtocol -> execOptions.getTags().isEmpty() || Arrays.stream(fileProtocol.getTags()).anyMatch(execOptions.getTags()::contains))
-                .flatMap(fileProtocol -> fileProtocol.getEnforcers().stream()
-                        .flatMap(enforcer -> fixBasedOnEnforcer(execOptions, fileProtocol, dryRun, enforcer)))
-                .reduce(FixResult.builder().build(), FixResult::reduce);
+        val fixResultAccumulator = FixResultAccumulator.create();
+        compiledConfiguration.getFileProtocols().stream()
+                .filter(compiledFileProtocol -> compiledFileProtocol.getFileProtocol().isRequired())
+                .filter(compiledFileProtocol -> execOptions.getTags().isEmpty()
+                        || Arrays.stream(compiledFileProtocol.getFileProtocol().getTags()).anyMatch(execOptions.getTags()::contains))
+                .flatMap(compiledFileProtocol -> compiledFileProtocol.getFileEnforcers().stream()
+                        .flatMap(compiledFileEnforcer -> fixBasedOnEnforcer(execOptions, compiledFileProtocol.getFileProtocol(), dryRun, compiledFileEnforcer)))
+                .forEachOrdered(fixResultAccumulator::accumulate);
+        return fixResultAccumulator.freeze();
     }
 
     /**
@@ -70,22 +74,24 @@ public final class FixExecutor {
      * @param execOptions the exec options
      * @param fileProtocol the file protocol
      * @param dryRun whether or not this is a dry run
-     * @param enforcer the raw enforcer object map
+     * @param compiledFileEnforcer the compiled file enforcer
      * @return the scan result
      */
-    private static Stream<FixResult> fixBasedOnEnforcer(final ExecOptions execOptions, final FileProtocol fileProtocol, final boolean dryRun, final Map<String, Object> enforcer) {
-        final Optional<FileResolver> fileResolverOptional;
-        try {
-            fileResolverOptional = ConfigurationReader.convertFileEnforcerToFileResolver(enforcer);
-        } catch (final IllegalArgumentException e) {
-            return Stream.of(FixResultFactory.error(fileProtocol.getRepositoryPath(), String.format("File enforcer invalid: %s", e.getMessage())));
+    private static Stream<FixResult> fixBasedOnEnforcer(final ExecOptions execOptions, final FileProtocol fileProtocol, final boolean dryRun,
+                                                        final CompiledFileEnforcer compiledFileEnforcer) {
+        if (compiledFileEnforcer.getError() instanceof IllegalArgumentException) {
+            return Stream.of(FixResultFactory.error(fileProtocol.getRepositoryPath(), String.format("File enforcer invalid: %s", compiledFileEnforcer.getError().getMessage())));
+        } else if (!compiledFileEnforcer.isValid()) {
+            throw compiledFileEnforcer.getError();
         }
+        val fileResolverOptional = compiledFileEnforcer.getFileResolver();
         if (!fileResolverOptional.isPresent()) {
-            return Stream.of(FixResultFactory.noResolver(fileProtocol.getRepositoryPath(), String.valueOf(enforcer.get(EnforcerConstants.DESERIALIZATION_TYPE_KEY))));
+            val enforcerType = String.valueOf(compiledFileEnforcer.getDefinition().get(EnforcerConstants.DESERIALIZATION_TYPE_KEY));
+            return Stream.of(FixResultFactory.noResolver(fileProtocol.getRepositoryPath(), enforcerType));
         }
         final Set<Path> repositoryPaths;
         try {
-            repositoryPaths = FileUtils.find(execOptions.getRepositoryRoot().toString(), fileProtocol.getRepositoryPath())
+            repositoryPaths = execOptions.getRepositoryFileIndex().find(fileProtocol.getRepositoryPath())
                     .map(Path::toAbsolutePath)
                     .collect(Collectors.toSet());
         } catch (final IOException e) {
@@ -0,0 +1,202 @@
+package com.optum.sourcehawk.exec.scan;
+
+import com.optum.sourcehawk.core.utils.ContentUtils;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A git working tree on the local file system, queried with the <code>git</code> executable.  The working tree is
+ * opened at a directory, which may be a subdirectory of the repository, in which case only the paths within that
+ * directory are considered.  All paths are relative to the directory.
+ *
+ * @author Brian Wyka
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class GitWorkingTree {
+
+    private static final String GIT = "git";
+    private static final String NUL = "\0";
+
+    /**
+     * The maximum number of seconds to wait for a git command to complete
+     */
+    private static final long TIMEOUT_SECONDS = 60;
+
+    /**
+     * The directory the working tree was opened at
+     */
+    private final Path directory;
+
+    /**
+     * Open the working tree containing the directory
+     *
+     * @param directory the directory
+     * @return the working tree
+     */
+    static GitWorkingTree open(final Path directory) {
+        return new GitWorkingTree(directory);
+    }
+
+    /**
+     * Resolve the revision to the full name of the commit it refers to
+     *
+     * @param revision the revision, i.e. <code>HEAD~1</code>, <code>main</code>, or a commit
+     * @return the commit
+     * @throws IOException if the revision does not refer to a commit
+     */
+    String resolveCommit(final String revision) throws IOException {
+        if (revision.startsWith("-")) {
+            throw new IOException(String.format("Invalid revision: %s", revision));
+        }
+        return git("rev-parse", "--verify", revision + "^{commit}").trim();
+    }
+
+    /**
+     * Find the paths which have changed in the working tree since the commit, including uncommitted, deleted, and
+     * untracked paths.  Renamed paths are included under both their old and new names.  Paths ignored by git are not
+     * considered.
+     *
+     * @param commit the commit
+     * @return the changed paths, relative to the directory
+     * @throws IOException if the changes could not be determined
+     */
+    Set<String> findChangedPaths(final String commit) throws IOException {
+        val changedPaths = new TreeSet<String>();
+        changedPaths.addAll(split(git("diff", "--name-only", "--no-renames", "--relative", "-z", commit, "--")));
+        changedPaths.addAll(split(git("ls-files", "--others", "--exclude-standard", "-z")));
+        return changedPaths;
+    }
+
+    /**
+     * Determine if the working tree has no uncommitted or untracked changes within the directory
+     *
+     * @return true if there are no changes, false otherwise
+     * @throws IOException if the status could not be determined
+     */
+    boolean isClean() throws IOException {
+        return git("status", "--porcelain", "-z", "--untracked-files=normal", "--", ".").isEmpty();
+    }
+
+    /**
+     * Get the git directory of the repository, i.e. <code>.git</code>
+     *
+     * @return the git directory
+     * @throws IOException if the directory is not within a git repository
+     */
+    Path getGitDirectory() throws IOException {
+        return directory.resolve(git("rev-parse", "--git-dir").trim());
+    }
+
+    /**
+     * Get the path of the directory relative to the top level of the working tree, empty at the top level
+     *
+     * @return the path prefix of the directory
+     * @throws IOException if the directory is not within a git repository
+     */
+    String getPrefix() throws IOException {
+        return git("rev-parse", "--show-prefix").trim();
+    }
+
+    /**
+     * Split the NUL terminated output of a git command
+     *
+     * @param output the output
+     * @return the output entries
+     */
+    private static Set<String> split(final String output) {
+        val entries = new TreeSet<String>(Arrays.asList(output.split(NUL)));
+        entries.remove("");
+        return entries;
+    }
+
+    /**
+     * Execute the git command within the directory.  Standard output and standard error are each consumed on their own
+     * thread, so that the command never blocks on a full pipe, and the command is terminated if it does not complete
+     * within {@link #TIMEOUT_SECONDS}.
+     *
+     * @param arguments the command arguments
+     * @return the standard output of the command
+     * @throws IOException if the command could not be executed, was unsuccessful, or did not complete in time
+     */
+    private String git(final String... arguments) throws IOException {
+        val command = new ArrayList<String>(arguments.length + 1);
+        command.add(GIT);
+        command.addAll(Arrays.asList(arguments));
+        val process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .start();
+        process.getOutputStream().close();
+        val output = consumeInBackground(process.getInputStream(), arguments[0]);
+        val error = consumeInBackground(process.getErrorStream(), arguments[0]);
+        try {
+            if (!process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IOException(String.format("git %s did not complete within %d seconds", arguments[0], TIMEOUT_SECONDS));
+            }
+            if (process.exitValue() != 0) {
+                throw new IOException(String.format("git %s failed: %s", arguments[0], new String(obtain(error), StandardCharsets.UTF_8).trim()));
+            }
+            return new String(obtain(output), StandardCharsets.UTF_8);
+        } catch (final InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(String.format("Interrupted executing git %s", arguments[0]));
+        }
+    }
+
+    /**
+     * Fully consume the input stream on a background thread, closing it once consumed
+     *
+     * @param inputStream the input stream
+     * @param name the name of the git command, used to name the thread
+     * @return the task which consumes the input stream
+     */
+    private static FutureTask<byte[]> consumeInBackground(final InputStream inputStream, final String name) {
+        val consumer = new FutureTask<byte[]>(() -> {
+            try (val closeableInputStream = inputStream) {
+                return ContentUtils.consume(closeableInputStream);
+            }
+        });
+        val thread = new Thread(consumer, "sourcehawk-git-" + name);
+        thread.setDaemon(true);
+        thread.start();
+        return consumer;
+    }
+
+    /**
+     * Obtain the bytes consumed by the task, once the process it consumes has exited
+     *
+     * @param consumer the task which consumes the input stream
+     * @return the bytes consumed
+     * @throws IOException if any error occurs reading the input stream, or it is not closed in time
+     * @throws InterruptedException if interrupted while waiting for the input stream to be consumed
+     */
+    private static byte[] obtain(final FutureTask<byte[]> consumer) throws IOException, InterruptedException {
+        try {
+            return consumer.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (final TimeoutException e) {
+            throw new IOException("git output was not closed after the command completed", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+}
@@ -0,0 +1,165 @@
+package com.optum.sourcehawk.exec.scan;
+
+import com.optum.sourcehawk.core.protocol.file.FileProtocol;
+import com.optum.sourcehawk.core.result.ScanResult;
+import com.optum.sourcehawk.core.utils.ContentUtils;
+import com.optum.sourcehawk.core.utils.FileUtils;
+import com.optum.sourcehawk.exec.Console;
+import com.optum.sourcehawk.exec.ExecOptions;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Limits a scan of a local git repository to the file protocols targeting files which have changed since a revision,
+ * as requested by {@link ExecOptions#getChangedSince()}.  The scan results of every other file protocol are reused from
+ * a previous scan of the revision.
+ * <p>
+ * Scans of a working tree without any uncommitted or untracked changes are stored under the <code>HEAD</code> commit
+ * within the git directory, so that they can be reused by later scans.  Scan results are keyed by the complete
+ * definition of the file protocol, so any change to a file protocol causes it to be enforced again.  If there is no
+ * stored scan of the revision, or the changes cannot be determined, every file protocol is enforced.
+ * <p>
+ * Files ignored by git are never considered to have changed.
+ *
+ * @author Brian Wyka
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class IncrementalScan {
+
+    private static final String STORE_DIRECTORY = "sourcehawk/scan-results";
+
+    /**
+     * An incremental scan which enforces every file protocol and stores nothing
+     */
+    private static final IncrementalScan DISABLED = new IncrementalScan(null, null, null, Collections.emptySet(), Collections.emptyMap(), null, false);
+
+    /**
+     * The revision changes are determined since
+     */
+    private final String revision;
+
+    /**
+     * The root the changed paths are relative to
+     */
+    private final String repositoryRoot;
+
+    /**
+     * The store of scan results
+     */
+    private final ScanResultStore scanResultStore;
+
+    /**
+     * The paths which have changed since the revision
+     */
+    private final Set<String> changedPaths;
+
+    /**
+     * The stored scan results of the revision, keyed by file protocol
+     */
+    private final Map<String, ScanResult> previousScanResults;
+
+    /**
+     * The key to store the scan results under, or null if they should not be stored
+     */
+    private final String storeKey;
+
+    /**
+     * Whether or not warnings fail the scan, which determines the scan results
+     */
+    private final boolean failOnWarnings;
+
+    /**
+     * The scan results of this scan, keyed by file protocol
+     */
+    private final Map<String, ScanResult> scanResults = new ConcurrentHashMap<>();
+
+    /**
+     * The number of file protocols which have been enforced
+     */
+    private final AtomicInteger enforcedCount = new AtomicInteger();
+
+    /**
+     * Create the incremental scan for the exec options.  If the exec options do not request changes since a revision,
+     * the incremental scan enforces every file protocol.
+     *
+     * @param execOptions the exec options
+     * @return the incremental scan
+     */
+    static IncrementalScan create(final ExecOptions execOptions) {
+        val revision = execOptions.getChangedSince();
+        if (revision == null) {
+            return DISABLED;
+        }
+        if (execOptions.getRemoteRef() != null) {
+            Console.Err.error("Changes since %s can only be determined for local repositories, enforcing all file protocols", revision);
+            return DISABLED;
+        }
+        try {
+            val gitWorkingTree = GitWorkingTree.open(execOptions.getRepositoryRoot());
+            val scanResultStore = new ScanResultStore(gitWorkingTree.getGitDirectory().resolve(STORE_DIRECTORY));
+            val prefixDigest = ContentUtils.sha256Hex(gitWorkingTree.getPrefix().getBytes(StandardCharsets.UTF_8));
+            val commit = gitWorkingTree.resolveCommit(revision);
+            final String storeKey = gitWorkingTree.isClean() ? gitWorkingTree.resolveCommit("HEAD") + "-" + prefixDigest : null;
+            return new IncrementalScan(revision, execOptions.getRepositoryRoot().toString(), scanResultStore, gitWorkingTree.findChangedPaths(commit),
+                    scanResultStore.load(commit + "-" + prefixDigest), storeKey, execOptions.isFailOnWarnings());
+        } catch (final IOException e) {
+            Console.Err.error("Unable to determine changes since %s, enforcing all file protocols: %s", revision, e.getMessage());
+            return DISABLED;
+        }
+    }
+
+    /**
+     * Enforce the file protocol, unless none of the files it targets have changed and it has a stored scan result
+     *
+     * @param fileProtocol the file protocol
+     * @param enforcer the enforcer of the file protocol
+     * @return the scan result
+     */
+    ScanResult enforce(final FileProtocol fileProtocol, final Supplier<ScanResult> enforcer) {
+        if (this == DISABLED) {
+            return enforcer.get();
+        }
+        val key = key(fileProtocol);
+        ScanResult scanResult = previousScanResults.get(key);
+        if (scanResult == null || FileUtils.anyMatch(repositoryRoot, fileProtocol.getRepositoryPath(), changedPaths)) {
+            scanResult = enforcer.get();
+            enforcedCount.incrementAndGet();
+        }
+        scanResults.put(key, scanResult);
+        return scanResult;
+    }
+
+    /**
+     * Complete the incremental scan, storing the scan results if the working tree has no changes
+     */
+    void complete() {
+        if (this == DISABLED) {
+            return;
+        }
+        Console.Err.log("Enforced %d of %d file protocols with changes since %s", enforcedCount.get(), scanResults.size(), revision);
+        if (storeKey != null) {
+            scanResultStore.save(storeKey, scanResults);
+        }
+    }
+
+    /**
+     * Derive the key of the file protocol from its complete definition
+     *
+     * @param fileProtocol the file protocol
+     * @return the key
+     */
+    private String key(final FileProtocol fileProtocol) {
+        return fileProtocol + ", failOnWarnings=" + failOnWarnings;
+    }
+
+}
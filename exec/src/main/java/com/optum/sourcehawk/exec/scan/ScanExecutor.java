@@ -1,21 +1,37 @@
 package com.optum.sourcehawk.exec.scan;
 
-import com.optum.sourcehawk.core.configuration.SourcehawkConfiguration;
 import com.optum.sourcehawk.core.data.Severity;
 import com.optum.sourcehawk.core.protocol.file.FileProtocol;
+import com.optum.sourcehawk.core.repository.ArchiveRepositoryFileReader;
+import com.optum.sourcehawk.core.repository.ByteBufferInputStream;
+import com.optum.sourcehawk.core.repository.CachingRepositoryFileReader;
+import com.optum.sourcehawk.core.repository.RepositoryFileInputStream;
 import com.optum.sourcehawk.core.result.ScanResult;
+import com.optum.sourcehawk.core.result.ScanResultAccumulator;
 import com.optum.sourcehawk.core.utils.CollectionUtils;
 import com.optum.sourcehawk.core.utils.FileUtils;
 import com.optum.sourcehawk.core.utils.Try;
+import com.optum.sourcehawk.enforcer.EnforcerResult;
 import com.optum.sourcehawk.enforcer.file.FileEnforcer;
+import com.optum.sourcehawk.enforcer.file.common.LineMatchingEngine;
+import com.optum.sourcehawk.exec.CompiledConfiguration;
+import com.optum.sourcehawk.exec.CompiledConfiguration.CompiledFileEnforcer;
+import com.optum.sourcehawk.exec.CompiledConfiguration.CompiledFileProtocol;
 import com.optum.sourcehawk.exec.ConfigurationReader;
 import com.optum.sourcehawk.exec.ExecOptions;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.stream.Collectors;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
@@ -37,34 +53,147 @@ public final class ScanExecutor {
      */
     public static ScanResult scan(final ExecOptions execOptions) {
         return ConfigurationReader.readConfiguration(execOptions.getRepositoryRoot(), execOptions.getConfigurationFileLocation())
-                .map(sourcehawkConfiguration -> processRequiredFileProtocols(execOptions, sourcehawkConfiguration))
+                .map(CompiledConfiguration::compile)
+                .map(compiledConfiguration -> scan(execOptions, compiledConfiguration))
                 .orElseGet(() -> ScanResultFactory.error(execOptions.getConfigurationFileLocation(), "Configuration file not found"));
     }
 
     /**
-     * Process all the required file protocols.  Iterate over all file protocols, and enforcers and aggregate the results
+     * Run the scan based on the provided options with an already compiled configuration.  The configuration file location
+     * within the options is ignored, which allows many repositories to be scanned with a configuration resolved only once.
      *
-     * @param execOptions             the scan options
-     * @param sourcehawkConfiguration the configuration
+     * @param execOptions the scan options
+     * @param compiledConfiguration the compiled configuration
+     * @return the scan result
+     */
+    public static ScanResult scan(final ExecOptions execOptions, final CompiledConfiguration compiledConfiguration) {
+        return processRequiredFileProtocols(withCachingRepositoryFileReader(execOptions), compiledConfiguration);
+    }
+
+    /**
+     * Decorate the repository file reader with a per-scan content cache, so that each repository file is read at most once
+     * no matter how many protocols or enforcers target it.  Archive readers already hold every file in memory, so
+     * are not decorated.
+     *
+     * @param execOptions the scan options
+     * @return the scan options with the caching repository file reader
+     */
+    private static ExecOptions withCachingRepositoryFileReader(final ExecOptions execOptions) {
+        if (execOptions.getRepositoryFileReader() instanceof CachingRepositoryFileReader
+                || execOptions.getRepositoryFileReader() instanceof ArchiveRepositoryFileReader) {
+            return execOptions;
+        }
+        return execOptions.toBuilder()
+                .repositoryFileReader(CachingRepositoryFileReader.create(execOptions.getRepositoryFileReader()))
+                .build();
+    }
+
+    /**
+     * Process all the required file protocols.  Iterate over all file protocols, and enforcers and aggregate the results.
+     * <p>
+     * When {@link ExecOptions#getParallelism()} is greater than one, the file protocols are processed within a bounded
+     * {@link ForkJoinPool} of their own, but the results are always aggregated in declaration order so that the output
+     * is identical to that of a sequential scan.
+     *
+     * @param execOptions           the scan options
+     * @param compiledConfiguration the compiled configuration
      * @return the aggregated scan result
      */
-    private static ScanResult processRequiredFileProtocols(final ExecOptions execOptions, final SourcehawkConfiguration sourcehawkConfiguration) {
-        return sourcehawkConfiguration.getFileProtocols().stream()
-                .filter(FileProtocol::isRequired)
-                .filter(fileProtocol -> execOptions.getTags().isEmpty() || Arrays.stream(fileProtocol.getTags()).anyMatch(execOptions.getTags()::contains))
-                .map(fileProtocol -> processFileProtocol(execOptions, fileProtocol))
-                .reduce(ScanResult.passed(), ScanResult::reduce);
+    private static ScanResult processRequiredFileProtocols(final ExecOptions execOptions, final CompiledConfiguration compiledConfiguration) {
+        val fileProtocols = compiledConfiguration.getFileProtocols().stream()
+                .filter(compiledFileProtocol -> compiledFileProtocol.getFileProtocol().isRequired())
+                .filter(compiledFileProtocol -> execOptions.getTags().isEmpty()
+                        || Arrays.stream(compiledFileProtocol.getFileProtocol().getTags()).anyMatch(execOptions.getTags()::contains))
+                .collect(Collectors.toList());
+        prefetchRepositoryFiles(execOptions, fileProtocols);
+        val incrementalScan = IncrementalScan.create(execOptions);
+        final ScanResult scanResult;
+        if (execOptions.getParallelism() <= 1) {
+            scanResult = processFileProtocols(execOptions, incrementalScan, fileProtocols);
+        } else {
+            val forkJoinPool = ScanTask.newPool(execOptions.getParallelism());
+            try {
+                scanResult = forkJoinPool.invoke(ForkJoinTask.adapt(() -> processFileProtocols(execOptions, incrementalScan, fileProtocols)));
+            } finally {
+                forkJoinPool.shutdownNow();
+            }
+        }
+        incrementalScan.complete();
+        return scanResult;
+    }
+
+    /**
+     * Hint to the repository file reader which files are about to be enforced, so that remote files can be fetched
+     * concurrently ahead of time.  Glob patterns are excluded, as are file protocols which only check for existence.
+     *
+     * @param execOptions   the scan options
+     * @param fileProtocols the file protocols which will be processed
+     */
+    private static void prefetchRepositoryFiles(final ExecOptions execOptions, final Collection<CompiledFileProtocol> fileProtocols) {
+        val repositoryPaths = fileProtocols.stream()
+                .filter(compiledFileProtocol -> CollectionUtils.isNotEmpty(compiledFileProtocol.getFileEnforcers()))
+                .map(compiledFileProtocol -> compiledFileProtocol.getFileProtocol().getRepositoryPath())
+                .filter(repositoryPath -> !FileUtils.isGlobPattern(repositoryPath))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        try {
+            execOptions.getRepositoryFileReader().prefetch(repositoryPaths);
+        } catch (final IOException ignored) {
+            // Prefetching is only an optimization, the files will be read on demand instead
+        }
+    }
+
+    /**
+     * Process the file protocols and aggregate the results in order.  If the exec options provide a message sink, the
+     * messages of each file protocol are published to it as soon as the file protocol has been enforced, and only the
+     * counts are aggregated.
+     *
+     * @param execOptions     the scan options
+     * @param incrementalScan the incremental scan, which determines whether each file protocol is enforced
+     * @param fileProtocols   the file protocols to process
+     * @return the aggregated scan result
+     */
+    private static ScanResult processFileProtocols(final ExecOptions execOptions, final IncrementalScan incrementalScan,
+                                                   final Collection<CompiledFileProtocol> fileProtocols) {
+        val scanResultAccumulator = ScanResultAccumulator.create();
+        val fileProtocolTasks = ScanTask.forkAll(fileProtocols,
+                fileProtocol -> incrementalScan.enforce(fileProtocol.getFileProtocol(), () -> processFileProtocol(execOptions, fileProtocol)));
+        for (val fileProtocolTask : fileProtocolTasks) {
+            val fileProtocolScanResult = Try.attemptOrDefault(fileProtocolTask::obtain, ScanResultFactory::globalError);
+            scanResultAccumulator.accumulate(publishMessages(execOptions, fileProtocolScanResult));
+        }
+        return scanResultAccumulator.freeze();
+    }
+
+    /**
+     * Publish the messages of the scan result to the message sink, if one is provided
+     *
+     * @param execOptions the scan options
+     * @param scanResult  the scan result
+     * @return the scan result with only its counts if the messages were published, otherwise the scan result as is
+     */
+    private static ScanResult publishMessages(final ExecOptions execOptions, final ScanResult scanResult) {
+        val messageSink = execOptions.getMessageSink();
+        if (messageSink == null) {
+            return scanResult;
+        }
+        scanResult.getMessages().values().forEach(messageDescriptors -> messageDescriptors.forEach(messageSink));
+        return ScanResult.builder()
+                .passed(scanResult.isPassed())
+                .errorCount(scanResult.getErrorCount())
+                .warningCount(scanResult.getWarningCount())
+                .build();
     }
 
     /**
      * Process the file protocol based on the exec options with the file produced by the repository file reader
      *
      * @param execOptions          the exec options
-     * @param fileProtocol         the file protocol
+     * @param compiledFileProtocol the compiled file protocol
      * @return the scan result
      */
-    private static ScanResult processFileProtocol(final ExecOptions execOptions, final FileProtocol fileProtocol) {
-        if (CollectionUtils.isEmpty(fileProtocol.getEnforcers())) {
+    private static ScanResult processFileProtocol(final ExecOptions execOptions, final CompiledFileProtocol compiledFileProtocol) {
+        val fileProtocol = compiledFileProtocol.getFileProtocol();
+        if (CollectionUtils.isEmpty(compiledFileProtocol.getFileEnforcers())) {
             if (FileUtils.isGlobPattern(fileProtocol.getRepositoryPath())) {
                 val message = "Error enforcing file protocol: glob patterns can only be used when there is at least one enforcer";
                 return ScanResultFactory.error(fileProtocol.getRepositoryPath(), message);
@@ -72,7 +201,7 @@ public final class ScanExecutor {
             return enforceFileExists(execOptions, fileProtocol);
         }
         return Try.attemptOrDefault(
-                () -> enforceFileProtocol(execOptions, fileProtocol),
+                () -> enforceFileProtocol(execOptions, compiledFileProtocol),
                 e -> ScanResultFactory.error(fileProtocol.getRepositoryPath(), String.format("Error enforcing file protocol: %s", e.getMessage()))
         );
     }
@@ -96,83 +225,285 @@ public final class ScanExecutor {
     }
 
     /**
-     * Enforce the file protocol and aggregate the results
+     * Enforce the file protocol and aggregate the results.  The line oriented enforcers of the file protocol are grouped
+     * together and evaluated in a single pass over each file by the {@link LineMatchingEngine}, but the results are
+     * still aggregated in declaration order.  Enforcement stops at the first enforcer which does not find the file,
+     * unless the repository path is a glob pattern.
      *
      * @param execOptions          the exec options
-     * @param fileProtocol         the file protocol
+     * @param compiledFileProtocol the compiled file protocol
      * @return the scan result
      * @throws IOException if any error occurs during file processing
      */
-    private static ScanResult enforceFileProtocol(final ExecOptions execOptions, final FileProtocol fileProtocol) throws IOException {
-        val fileProtocolScanResults = new ArrayList<ScanResult>(fileProtocol.getEnforcers().size());
-        for (val enforcer : fileProtocol.getEnforcers()) {
-            final FileEnforcer fileEnforcer;
-            try {
-                fileEnforcer = ConfigurationReader.parseFileEnforcer(enforcer);
-            } catch (final IllegalArgumentException e) {
-                fileProtocolScanResults.add(ScanResultFactory.error(fileProtocol.getRepositoryPath(), String.format("File enforcer invalid: %s", e.getMessage())));
-                continue;
+    private static ScanResult enforceFileProtocol(final ExecOptions execOptions, final CompiledFileProtocol compiledFileProtocol) throws IOException {
+        val fileProtocol = compiledFileProtocol.getFileProtocol();
+        val fileEnforcers = compiledFileProtocol.getFileEnforcers();
+        val fileProtocolScanResultAccumulator = ScanResultAccumulator.create();
+        val globPattern = FileUtils.isGlobPattern(fileProtocol.getRepositoryPath()) && execOptions.getRepositoryFileReader().supportsGlobPatterns();
+        val fileEnforcerGroups = groupFileEnforcers(fileEnforcers);
+        val fileEnforcerGroupTasks = ScanTask.forkAll(fileEnforcerGroups, fileEnforcerGroup -> enforceFileEnforcerGroup(execOptions, fileProtocol, fileEnforcers, fileEnforcerGroup));
+        val groupIndexes = new int[fileEnforcers.size()];
+        val memberIndexes = new int[fileEnforcers.size()];
+        for (int groupIndex = 0; groupIndex < fileEnforcerGroups.size(); groupIndex++) {
+            val fileEnforcerGroup = fileEnforcerGroups.get(groupIndex);
+            for (int memberIndex = 0; memberIndex < fileEnforcerGroup.size(); memberIndex++) {
+                groupIndexes[fileEnforcerGroup.get(memberIndex)] = groupIndex;
+                memberIndexes[fileEnforcerGroup.get(memberIndex)] = memberIndex;
             }
-            if (execOptions.getRepositoryFileReader().supportsGlobPatterns() && FileUtils.isGlobPattern(fileProtocol.getRepositoryPath())) {
-                fileProtocolScanResults.addAll(executeFileEnforcerOnGlob(execOptions, fileProtocol, fileEnforcer));
-            } else {
-                val scanResult = executeFileEnforcer(execOptions, fileProtocol.getRepositoryPath(), fileProtocol, fileEnforcer);
-                fileProtocolScanResults.add(scanResult);
-                if (isScanResultFileNotFound(scanResult)) {
-                    break;
+        }
+        final List<List<Collection<ScanResult>>> fileEnforcerGroupScanResults = new ArrayList<>(Collections.nCopies(fileEnforcerGroups.size(), null));
+        for (int enforcerIndex = 0; enforcerIndex < fileEnforcers.size(); enforcerIndex++) {
+            val groupIndex = groupIndexes[enforcerIndex];
+            if (fileEnforcerGroupScanResults.get(groupIndex) == null) {
+                try {
+                    fileEnforcerGroupScanResults.set(groupIndex, fileEnforcerGroupTasks.get(groupIndex).obtain());
+                } catch (final IOException | RuntimeException e) {
+                    ScanTask.cancelAll(fileEnforcerGroupTasks);
+                    throw e;
+                }
+            }
+            val enforcerScanResults = fileEnforcerGroupScanResults.get(groupIndex).get(memberIndexes[enforcerIndex]);
+            enforcerScanResults.forEach(fileProtocolScanResultAccumulator::accumulate);
+            if (!globPattern && enforcerScanResults.size() == 1 && isScanResultFileNotFound(enforcerScanResults.iterator().next())) {
+                ScanTask.cancelAll(fileEnforcerGroupTasks);
+                break;
+            }
+        }
+        return fileProtocolScanResultAccumulator.freeze();
+    }
+
+    /**
+     * Group the file enforcers by index, in declaration order.  All valid file enforcers supported by the
+     * {@link LineMatchingEngine} form a single group, positioned at the first of them, every other file enforcer is in
+     * a group of its own.
+     *
+     * @param fileEnforcers the compiled file enforcers
+     * @return the groups of file enforcer indexes
+     */
+    private static List<List<Integer>> groupFileEnforcers(final List<CompiledFileEnforcer> fileEnforcers) {
+        val fileEnforcerGroups = new ArrayList<List<Integer>>(fileEnforcers.size());
+        List<Integer> lineMatchingGroup = null;
+        for (int enforcerIndex = 0; enforcerIndex < fileEnforcers.size(); enforcerIndex++) {
+            val compiledFileEnforcer = fileEnforcers.get(enforcerIndex);
+            if (compiledFileEnforcer.isValid() && LineMatchingEngine.supports(compiledFileEnforcer.getFileEnforcer())) {
+                if (lineMatchingGroup == null) {
+                    lineMatchingGroup = new ArrayList<>();
+                    fileEnforcerGroups.add(lineMatchingGroup);
                 }
+                lineMatchingGroup.add(enforcerIndex);
+            } else {
+                fileEnforcerGroups.add(Collections.singletonList(enforcerIndex));
+            }
+        }
+        return fileEnforcerGroups;
+    }
+
+    /**
+     * Execute the group of compiled file enforcers against the file(s) targeted by the file protocol
+     *
+     * @param execOptions       the exec options
+     * @param fileProtocol      the file protocol
+     * @param fileEnforcers     the compiled file enforcers of the file protocol
+     * @param fileEnforcerGroup the indexes of the file enforcers within the group
+     * @return the collection of scan results of each file enforcer, in group order
+     * @throws IOException if any error occurs during file processing
+     */
+    private static List<Collection<ScanResult>> enforceFileEnforcerGroup(final ExecOptions execOptions, final FileProtocol fileProtocol,
+                                                                        final List<CompiledFileEnforcer> fileEnforcers, final List<Integer> fileEnforcerGroup) throws IOException {
+        if (fileEnforcerGroup.size() == 1) {
+            return Collections.singletonList(enforceFileEnforcer(execOptions, fileProtocol, fileEnforcers.get(fileEnforcerGroup.get(0))));
+        }
+        val lineMatchingEngine = LineMatchingEngine.compile(fileEnforcerGroup.stream()
+                .map(enforcerIndex -> fileEnforcers.get(enforcerIndex).getFileEnforcer())
+                .collect(Collectors.toList()));
+        final Collection<String> repositoryPaths;
+        if (execOptions.getRepositoryFileReader().supportsGlobPatterns() && FileUtils.isGlobPattern(fileProtocol.getRepositoryPath())) {
+            repositoryPaths = findRepositoryPaths(execOptions, fileProtocol);
+            if (repositoryPaths.isEmpty()) {
+                return Collections.nCopies(fileEnforcerGroup.size(), Collections.singleton(ScanResultFactory.fileNotFound(execOptions, fileProtocol)));
+            }
+        } else {
+            repositoryPaths = Collections.singleton(fileProtocol.getRepositoryPath());
+        }
+        val enforcerScanResults = new ArrayList<Collection<ScanResult>>(fileEnforcerGroup.size());
+        for (int memberIndex = 0; memberIndex < fileEnforcerGroup.size(); memberIndex++) {
+            enforcerScanResults.add(new ArrayList<>(repositoryPaths.size()));
+        }
+        for (val lineMatchingTask : ScanTask.forkAll(repositoryPaths, repositoryPath -> executeLineMatchingEngine(execOptions, repositoryPath, fileProtocol, lineMatchingEngine, fileEnforcerGroup.size()))) {
+            val repositoryPathScanResults = lineMatchingTask.obtain();
+            for (int memberIndex = 0; memberIndex < repositoryPathScanResults.size(); memberIndex++) {
+                enforcerScanResults.get(memberIndex).add(repositoryPathScanResults.get(memberIndex));
             }
         }
-        return fileProtocolScanResults.stream()
-                .reduce(ScanResult.passed(), ScanResult::reduce);
+        return enforcerScanResults;
+    }
+
+    /**
+     * Execute the compiled file enforcer against the file(s) targeted by the file protocol
+     *
+     * @param execOptions          the exec options
+     * @param fileProtocol         the file protocol
+     * @param compiledFileEnforcer the compiled file enforcer
+     * @return the collection of scan results
+     * @throws IOException if any error occurs during file processing
+     */
+    private static Collection<ScanResult> enforceFileEnforcer(final ExecOptions execOptions, final FileProtocol fileProtocol,
+                                                              final CompiledFileEnforcer compiledFileEnforcer) throws IOException {
+        if (compiledFileEnforcer.getError() instanceof IllegalArgumentException) {
+            val message = String.format("File enforcer invalid: %s", compiledFileEnforcer.getError().getMessage());
+            return Collections.singleton(ScanResultFactory.error(fileProtocol.getRepositoryPath(), message));
+        } else if (!compiledFileEnforcer.isValid()) {
+            throw compiledFileEnforcer.getError();
+        }
+        if (execOptions.getRepositoryFileReader().supportsGlobPatterns() && FileUtils.isGlobPattern(fileProtocol.getRepositoryPath())) {
+            return executeFileEnforcerOnGlob(execOptions, fileProtocol, compiledFileEnforcer);
+        }
+        return Collections.singleton(executeFileEnforcer(execOptions, fileProtocol.getRepositoryPath(), fileProtocol, compiledFileEnforcer));
     }
 
     /**
-     * Execute the file enforcer on all files matched by the glob pattern provided by the file protocol repository path
+     * Execute the file enforcer on all files matched by the glob pattern provided by the file protocol repository path.
+     * The matching is evaluated against the repository file index, which is shared by all protocols in the scan.
      *
      * @param execOptions the exec options
      * @param fileProtocol the file protocol containing the repository file path glob pattern and severity
-     * @param fileEnforcer the file enforcer
+     * @param compiledFileEnforcer the compiled file enforcer
      * @return the collection of scan results
      * @throws IOException if any error occurs enforcing the file protocol
      */
     private static Collection<ScanResult> executeFileEnforcerOnGlob(final ExecOptions execOptions, final FileProtocol fileProtocol,
-                                                                    final FileEnforcer fileEnforcer) throws IOException {
-        val repositoryPaths = FileUtils.find(execOptions.getRepositoryRoot().toString(), fileProtocol.getRepositoryPath())
-                .map(Path::toAbsolutePath)
-                .map(Path::toString)
-                .map(absoluteRepositoryFilePath -> FileUtils.deriveRelativePath(execOptions.getRepositoryRoot().toString(), absoluteRepositoryFilePath))
-                .collect(Collectors.toSet());
+                                                                    final CompiledFileEnforcer compiledFileEnforcer) throws IOException {
+        val repositoryPaths = findRepositoryPaths(execOptions, fileProtocol);
         if (repositoryPaths.isEmpty()) {
             return Collections.singleton(ScanResultFactory.fileNotFound(execOptions, fileProtocol));
         }
         val fileEnforcerScanResults = new ArrayList<ScanResult>(repositoryPaths.size());
-        for (val repositoryPath : repositoryPaths) {
-            fileEnforcerScanResults.add(executeFileEnforcer(execOptions, repositoryPath, fileProtocol, fileEnforcer));
+        for (val fileEnforcerTask : ScanTask.forkAll(repositoryPaths, repositoryPath -> executeFileEnforcer(execOptions, repositoryPath, fileProtocol, compiledFileEnforcer))) {
+            fileEnforcerScanResults.add(fileEnforcerTask.obtain());
         }
         return fileEnforcerScanResults;
     }
 
     /**
-     * Execute the file enforcer to produce the scan result
+     * Find the repository paths matched by the glob pattern provided by the file protocol repository path.  The matching
+     * is evaluated against the repository file index, which is shared by all protocols in the scan.  The matched paths
+     * are relative to the repository root, regardless of whether the index lists files relative to it or absolutely.
+     *
+     * @param execOptions the exec options
+     * @param fileProtocol the file protocol containing the repository file path glob pattern
+     * @return the matched repository paths
+     * @throws IOException if any error occurs building the repository file index
+     */
+    private static Collection<String> findRepositoryPaths(final ExecOptions execOptions, final FileProtocol fileProtocol) throws IOException {
+        val repositoryRoot = execOptions.getRepositoryRoot().toAbsolutePath().normalize();
+        return execOptions.getRepositoryFileIndex().find(fileProtocol.getRepositoryPath())
+                .map(repositoryFilePath -> repositoryRoot.relativize(repositoryFilePath.toAbsolutePath().normalize()))
+                .map(Path::toString)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Execute the line matching engine to produce the scan result of each of its file enforcers
      *
      * @param execOptions the exec options
      * @param repositoryPath the repository path
      * @param fileProtocol the file protocol
-     * @param fileEnforcer the file enforcer to execute
+     * @param lineMatchingEngine the line matching engine to execute
+     * @param fileEnforcerCount the number of file enforcers evaluated by the engine
+     * @return the scan results, in the same order as the file enforcers of the engine
+     * @throws IOException if any error occurs accessing the file or executing the engine
+     */
+    private static List<ScanResult> executeLineMatchingEngine(final ExecOptions execOptions, final String repositoryPath, final FileProtocol fileProtocol,
+            final LineMatchingEngine lineMatchingEngine, final int fileEnforcerCount) throws IOException {
+        val fileInputStreamOptional = readRepositoryFile(execOptions, repositoryPath);
+        if (!fileInputStreamOptional.isPresent()) {
+            return Collections.nCopies(fileEnforcerCount, ScanResultFactory.fileNotFound(execOptions, repositoryPath, fileProtocol.getSeverity()));
+        }
+        val severity = Severity.parse(fileProtocol.getSeverity());
+        try (val fileInputStream = fileInputStreamOptional.get()) {
+            return lineMatchingEngine.enforce(fileInputStream).stream()
+                    .map(enforcerResult -> ScanResultFactory.enforcerResult(execOptions, repositoryPath, severity, enforcerResult))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Execute the file enforcer to produce the scan result.  If the exec options provide an enforcer result cache, and
+     * the file enforcer has already been executed against identical file content, the cached result is used instead.
+     * <p>
+     * The file is only read as a buffer when the repository file reader has one available, or the enforcer result
+     * cache needs the whole content, otherwise the file is streamed to the enforcer.  The stream is reset by opening
+     * the file again, so enforcers which fall back from a partial read of the file do not buffer it.
+     *
+     * @param execOptions the exec options
+     * @param repositoryPath the repository path
+     * @param fileProtocol the file protocol
+     * @param compiledFileEnforcer the compiled file enforcer to execute
      * @return the scan result
      * @throws IOException if any error occurs accessing the file or executing enforcer
      */
     private static ScanResult executeFileEnforcer(final ExecOptions execOptions, final String repositoryPath, final FileProtocol fileProtocol,
-            final FileEnforcer fileEnforcer) throws IOException {
-        val fileInputStreamOptional = execOptions.getRepositoryFileReader().read(repositoryPath);
-        if (!fileInputStreamOptional.isPresent()) {
-            return ScanResultFactory.fileNotFound(execOptions, repositoryPath, fileProtocol.getSeverity());
+            final CompiledFileEnforcer compiledFileEnforcer) throws IOException {
+        val repositoryFileReader = execOptions.getRepositoryFileReader();
+        final EnforcerResult enforcerResult;
+        if (execOptions.getEnforcerResultCache() == null && !repositoryFileReader.isBufferAvailable(repositoryPath)) {
+            val fileInputStreamOptional = RepositoryFileInputStream.open(repositoryFileReader, repositoryPath);
+            if (!fileInputStreamOptional.isPresent()) {
+                return ScanResultFactory.fileNotFound(execOptions, repositoryPath, fileProtocol.getSeverity());
+            }
+            try (val fileInputStream = fileInputStreamOptional.get()) {
+                enforcerResult = compiledFileEnforcer.getFileEnforcer().enforce(fileInputStream);
+            }
+        } else {
+            val fileBufferOptional = repositoryFileReader.readBuffer(repositoryPath);
+            if (!fileBufferOptional.isPresent()) {
+                return ScanResultFactory.fileNotFound(execOptions, repositoryPath, fileProtocol.getSeverity());
+            }
+            val fileBuffer = fileBufferOptional.get();
+            if (execOptions.getEnforcerResultCache() == null) {
+                enforcerResult = executeFileEnforcer(execOptions, repositoryPath, compiledFileEnforcer.getFileEnforcer(), fileBuffer);
+            } else {
+                enforcerResult = execOptions.getEnforcerResultCache().enforce(compiledFileEnforcer, fileBuffer,
+                        () -> executeFileEnforcer(execOptions, repositoryPath, compiledFileEnforcer.getFileEnforcer(), fileBuffer));
+            }
         }
-        try (val fileInputStream = fileInputStreamOptional.get()) {
-            val enforcerResult = fileEnforcer.enforce(fileInputStream);
-            return ScanResultFactory.enforcerResult(execOptions, repositoryPath, Severity.parse(fileProtocol.getSeverity()), enforcerResult);
+        return ScanResultFactory.enforcerResult(execOptions, repositoryPath, Severity.parse(fileProtocol.getSeverity()), enforcerResult);
+    }
+
+    /**
+     * Execute the file enforcer against a view of the buffered file content
+     *
+     * @param execOptions the exec options
+     * @param repositoryPath the repository path
+     * @param fileEnforcer the file enforcer to execute
+     * @param fileBuffer the buffered file content
+     * @return the enforcer result
+     * @throws IOException if any error occurs executing the enforcer
+     */
+    private static EnforcerResult executeFileEnforcer(final ExecOptions execOptions, final String repositoryPath, final FileEnforcer fileEnforcer,
+            final ByteBuffer fileBuffer) throws IOException {
+        try (val fileInputStream = new ByteBufferInputStream(fileBuffer.duplicate())) {
+            return fileEnforcer.enforce(fileInputStream, execOptions.getParsedDocumentCache().get(repositoryPath, fileBuffer.remaining()));
+        }
+    }
+
+    /**
+     * Read the repository file as a view of its buffered content if the repository file reader has a buffer available,
+     * so that enforcers able to work on bytes directly can do so without the content being copied through a stream.
+     * Otherwise, the file is streamed.
+     *
+     * @param execOptions the exec options
+     * @param repositoryPath the repository path
+     * @return the input stream if the file exists, otherwise {@link Optional#empty()}
+     * @throws IOException if any error occurs reading the file
+     */
+    private static Optional<InputStream> readRepositoryFile(final ExecOptions execOptions, final String repositoryPath) throws IOException {
+        val repositoryFileReader = execOptions.getRepositoryFileReader();
+        if (repositoryFileReader.isBufferAvailable(repositoryPath)) {
+            return repositoryFileReader.readBuffer(repositoryPath)
+                    .map(ByteBufferInputStream::new);
         }
+        return repositoryFileReader.read(repositoryPath);
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.optum.sourcehawk.exec.scan;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.optum.sourcehawk.core.constants.SourcehawkConstants;
 import com.optum.sourcehawk.core.data.OutputFormat;
 import com.optum.sourcehawk.core.data.Pair;
@@ -7,6 +8,8 @@ import com.optum.sourcehawk.core.data.Severity;
 import com.optum.sourcehawk.core.data.Verbosity;
 import com.optum.sourcehawk.core.result.ScanResult;
 import com.optum.sourcehawk.exec.AbstractExecResultLogger;
+import com.optum.sourcehawk.exec.Console;
+import com.optum.sourcehawk.exec.ExecOptions;
 import lombok.NoArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.val;
@@ -28,6 +31,100 @@ public class ScanResultLogger extends AbstractExecResultLogger<ScanResult> {
     private static final String MESSAGE_PASSED = "Scan passed without any errors";
     private static final String MESSAGE_PASSED_WITH_WARNINGS = "Scan passed. Errors: 0, Warning(s): %d";
     private static final String MESSAGE_FAILED = "Scan resulted in failure. Error(s): %d, Warning(s): %d";
+    private static final String KEY_REPOSITORY = "repository";
+    private static final String KEY_PASSED = "passed";
+    private static final String KEY_ERROR_COUNT = "errorCount";
+    private static final String KEY_WARNING_COUNT = "warningCount";
+
+    /**
+     * Log the scan result of one of the repositories of a batch scan in the specified format.  Both JSON and JSON lines
+     * output produce a single line of JSON per repository which includes the repository, so that the output of a batch
+     * remains one JSON object per line.  Other formats are preceded by a heading naming the repository.
+     *
+     * @param repository the repository which was scanned
+     * @param scanResult the scan result
+     * @param execOptions the exec options
+     */
+    @SneakyThrows
+    public void log(final String repository, final ScanResult scanResult, final ExecOptions execOptions) {
+        switch (execOptions.getOutputFormat()) {
+            case JSON:
+            case JSONL:
+                Console.Out.log(formatJsonLine(repository, scanResult));
+                break;
+            case MARKDOWN:
+                Console.Out.log(String.format("# %s%n", repository));
+                log(scanResult, execOptions);
+                break;
+            case TEXT:
+            default:
+                Console.Out.log(String.format("Repository: %s", repository));
+                log(scanResult, execOptions);
+                break;
+        }
+    }
+
+    /**
+     * Format the scan result of a single repository as one line of JSON, used to stream the results of batch scans
+     *
+     * @param repository the repository which was scanned
+     * @param scanResult the scan result
+     * @return the formatted JSON line
+     */
+    @SneakyThrows
+    public String formatJsonLine(final String repository, final ScanResult scanResult) {
+        return OBJECT_MAPPER.writeValueAsString(withRepository(repository, scanResult));
+    }
+
+    /**
+     * Format a single scan message as one line of JSON, used to stream messages as soon as they are produced
+     *
+     * @param messageDescriptor the scan message
+     * @return the formatted JSON line
+     */
+    @SneakyThrows
+    public String formatJsonLine(final ScanResult.MessageDescriptor messageDescriptor) {
+        return OBJECT_MAPPER.writeValueAsString(messageDescriptor);
+    }
+
+    /**
+     * Format any messages retained by the scan result, one per line, followed by a line summarizing the counts.  When
+     * the messages have already been streamed, only the summary line is produced.
+     *
+     * @param scanResult the scan result
+     * @return the formatted JSON lines output
+     */
+    @Override
+    @SneakyThrows
+    protected String formatJsonLines(final ScanResult scanResult) {
+        val jsonLinesBuilder = new StringBuilder();
+        for (val messageDescriptors : scanResult.getMessages().values()) {
+            for (val messageDescriptor : messageDescriptors) {
+                jsonLinesBuilder.append(formatJsonLine(messageDescriptor))
+                        .append(System.lineSeparator());
+            }
+        }
+        val summary = OBJECT_MAPPER.createObjectNode()
+                .put(KEY_PASSED, scanResult.isPassed())
+                .put(KEY_ERROR_COUNT, scanResult.getErrorCount())
+                .put(KEY_WARNING_COUNT, scanResult.getWarningCount());
+        return jsonLinesBuilder.append(OBJECT_MAPPER.writeValueAsString(summary))
+                .toString();
+    }
+
+    /**
+     * Convert the scan result to a JSON object which includes the repository
+     *
+     * @param repository the repository which was scanned
+     * @param scanResult the scan result
+     * @return the JSON object
+     */
+    private static ObjectNode withRepository(final String repository, final ScanResult scanResult) {
+        val jsonObject = OBJECT_MAPPER.createObjectNode()
+                .put(KEY_REPOSITORY, repository);
+        jsonObject.setAll((ObjectNode) OBJECT_MAPPER.valueToTree(scanResult));
+        return jsonObject;
+    }
 
     /** {@inheritDoc} */
     @Override
@@ -0,0 +1,236 @@
+package com.optum.sourcehawk.exec.scan;
+
+import com.optum.sourcehawk.core.result.ScanResult;
+import com.optum.sourcehawk.core.utils.ContentUtils;
+import com.optum.sourcehawk.exec.Console;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * A store of the scan results of each file protocol, persisted on the file system so that they can be reused by later
+ * scans.  The scan results of a scan are stored together under a key, and only the most recently stored scans are
+ * retained.
+ *
+ * @author Brian Wyka
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+final class ScanResultStore {
+
+    private static final int MAGIC = 0x53485352;
+    private static final int VERSION = 1;
+    private static final String EXTENSION = ".results";
+
+    /**
+     * The number of scans which are retained
+     */
+    static final int MAX_STORED_SCANS = 32;
+
+    /**
+     * The directory the scan results are stored in
+     */
+    private final Path directory;
+
+    /**
+     * Load the scan results stored under the key
+     *
+     * @param key the key
+     * @return the scan results, keyed by file protocol, or an empty map if none are stored or they cannot be read
+     */
+    Map<String, ScanResult> load(final String key) {
+        try (val dataInputStream = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(directory.resolve(key + EXTENSION))))) {
+            if (dataInputStream.readInt() != MAGIC || dataInputStream.readInt() != VERSION) {
+                return Collections.emptyMap();
+            }
+            val count = readCount(dataInputStream);
+            val scanResults = new LinkedHashMap<String, ScanResult>(count);
+            for (int index = 0; index < count; index++) {
+                scanResults.put(readString(dataInputStream), readScanResult(dataInputStream));
+            }
+            return scanResults;
+        } catch (final NoSuchFileException e) {
+            return Collections.emptyMap();
+        } catch (final EOFException e) {
+            Console.Err.log("Unable to read stored scan results %s: Stored scan results are corrupt", key);
+            return Collections.emptyMap();
+        } catch (final IOException e) {
+            Console.Err.log("Unable to read stored scan results %s: %s", key, e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Store the scan results under the key, replacing any already stored.  The least recently stored scans beyond
+     * {@link #MAX_STORED_SCANS} are removed.
+     *
+     * @param key the key
+     * @param scanResults the scan results, keyed by file protocol
+     */
+    void save(final String key, final Map<String, ScanResult> scanResults) {
+        try {
+            ContentUtils.writeAtomically(directory.resolve(key + EXTENSION), outputStream -> {
+                val dataOutputStream = new DataOutputStream(outputStream);
+                dataOutputStream.writeInt(MAGIC);
+                dataOutputStream.writeInt(VERSION);
+                dataOutputStream.writeInt(scanResults.size());
+                for (val scanResultEntry : scanResults.entrySet()) {
+                    writeString(dataOutputStream, scanResultEntry.getKey());
+                    writeScanResult(dataOutputStream, scanResultEntry.getValue());
+                }
+                dataOutputStream.flush();
+            });
+            prune();
+        } catch (final IOException e) {
+            Console.Err.log("Unable to store scan results %s: %s", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Remove the least recently stored scans beyond {@link #MAX_STORED_SCANS}
+     *
+     * @throws IOException if the stored scans could not be listed or removed
+     */
+    private void prune() throws IOException {
+        final List<Path> storedPaths;
+        try (val paths = Files.list(directory)) {
+            storedPaths = paths.filter(path -> path.getFileName().toString().endsWith(EXTENSION))
+                    .collect(Collectors.toList());
+        }
+        if (storedPaths.size() <= MAX_STORED_SCANS) {
+            return;
+        }
+        val lastModifiedTimes = new LinkedHashMap<Path, FileTime>();
+        for (val storedPath : storedPaths) {
+            lastModifiedTimes.put(storedPath, Files.getLastModifiedTime(storedPath));
+        }
+        storedPaths.sort(Comparator.comparing(lastModifiedTimes::get, Comparator.reverseOrder()));
+        for (val storedPath : storedPaths.subList(MAX_STORED_SCANS, storedPaths.size())) {
+            Files.deleteIfExists(storedPath);
+        }
+    }
+
+    /**
+     * Write the scan result
+     *
+     * @param dataOutputStream the output stream
+     * @param scanResult the scan result
+     * @throws IOException if any error occurs writing
+     */
+    private static void writeScanResult(final DataOutputStream dataOutputStream, final ScanResult scanResult) throws IOException {
+        dataOutputStream.writeBoolean(scanResult.isPassed());
+        dataOutputStream.writeInt(scanResult.getErrorCount());
+        dataOutputStream.writeInt(scanResult.getWarningCount());
+        dataOutputStream.writeInt(scanResult.getMessages().size());
+        for (val messagesEntry : scanResult.getMessages().entrySet()) {
+            writeString(dataOutputStream, messagesEntry.getKey());
+            dataOutputStream.writeInt(messagesEntry.getValue().size());
+            for (val messageDescriptor : messagesEntry.getValue()) {
+                writeString(dataOutputStream, messageDescriptor.getSeverity());
+                writeString(dataOutputStream, messageDescriptor.getRepositoryPath());
+                writeString(dataOutputStream, messageDescriptor.getMessage());
+            }
+        }
+        dataOutputStream.writeInt(scanResult.getFormattedMessages().size());
+        for (val formattedMessage : scanResult.getFormattedMessages()) {
+            writeString(dataOutputStream, formattedMessage);
+        }
+    }
+
+    /**
+     * Read a scan result
+     *
+     * @param dataInputStream the input stream
+     * @return the scan result
+     * @throws IOException if any error occurs reading
+     */
+    private static ScanResult readScanResult(final DataInputStream dataInputStream) throws IOException {
+        val scanResultBuilder = ScanResult.builder()
+                .passed(dataInputStream.readBoolean())
+                .errorCount(dataInputStream.readInt())
+                .warningCount(dataInputStream.readInt());
+        val messageCount = readCount(dataInputStream);
+        val messages = new LinkedHashMap<String, Collection<ScanResult.MessageDescriptor>>(messageCount);
+        for (int messageIndex = 0; messageIndex < messageCount; messageIndex++) {
+            val repositoryPath = readString(dataInputStream);
+            val messageDescriptorCount = readCount(dataInputStream);
+            val messageDescriptors = new ArrayList<ScanResult.MessageDescriptor>(messageDescriptorCount);
+            for (int messageDescriptorIndex = 0; messageDescriptorIndex < messageDescriptorCount; messageDescriptorIndex++) {
+                messageDescriptors.add(ScanResult.MessageDescriptor.builder()
+                        .severity(readString(dataInputStream))
+                        .repositoryPath(readString(dataInputStream))
+                        .message(readString(dataInputStream))
+                        .build());
+            }
+            messages.put(repositoryPath, messageDescriptors);
+        }
+        val formattedMessageCount = readCount(dataInputStream);
+        val formattedMessages = new ArrayList<String>(formattedMessageCount);
+        for (int formattedMessageIndex = 0; formattedMessageIndex < formattedMessageCount; formattedMessageIndex++) {
+            formattedMessages.add(readString(dataInputStream));
+        }
+        return scanResultBuilder.messages(messages)
+                .formattedMessages(formattedMessages)
+                .build();
+    }
+
+    /**
+     * Write a length prefixed UTF-8 string, which unlike {@link DataOutputStream#writeUTF(String)} is not limited in length
+     *
+     * @param dataOutputStream the output stream
+     * @param string the string
+     * @throws IOException if any error occurs writing
+     */
+    private static void writeString(final DataOutputStream dataOutputStream, final String string) throws IOException {
+        val bytes = string.getBytes(StandardCharsets.UTF_8);
+        dataOutputStream.writeInt(bytes.length);
+        dataOutputStream.write(bytes);
+    }
+
+    /**
+     * Read a count of entries or bytes, each of which occupies at least one of the remaining bytes
+     *
+     * @param dataInputStream the input stream
+     * @return the count
+     * @throws IOException if the count could not be read or is not possible
+     */
+    private static int readCount(final DataInputStream dataInputStream) throws IOException {
+        val count = dataInputStream.readInt();
+        if (count < 0 || count > dataInputStream.available()) {
+            throw new IOException("Stored scan results are corrupt");
+        }
+        return count;
+    }
+
+    /**
+     * Read a length prefixed UTF-8 string
+     *
+     * @param dataInputStream the input stream
+     * @return the string
+     * @throws IOException if any error occurs reading
+     */
+    private static String readString(final DataInputStream dataInputStream) throws IOException {
+        val bytes = new byte[readCount(dataInputStream)];
+        dataInputStream.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,189 @@
+package com.optum.sourcehawk.exec.scan;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A unit of scan work.  When created from within a pool obtained from {@link #newPool(int)} the task is forked
+ * immediately, otherwise it is evaluated lazily on the calling thread when {@link #obtain()} is invoked.  Tasks are
+ * never forked into any other pool the caller happens to run in, such as {@link ForkJoinPool#commonPool()}.
+ * <p>
+ * Any failure is captured and rethrown as-is from {@link #obtain()} so that callers which consume tasks in
+ * order observe exactly the same results and errors as a sequential scan would.
+ *
+ * @param <T> the type of the task result
+ * @author Brian Wyka
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class ScanTask<T> extends RecursiveAction {
+
+    private static final long serialVersionUID = -2281536290584817265L;
+
+    /**
+     * The work to be performed
+     */
+    private final transient Work<T> work;
+
+    /**
+     * The result of the work, if successful
+     */
+    private transient T result;
+
+    /**
+     * The failure of the work, if unsuccessful
+     */
+    private transient Throwable failure;
+
+    /**
+     * Whether or not the task was forked into a pool
+     */
+    private boolean forked;
+
+    /**
+     * Create a pool for scan tasks to be forked into
+     *
+     * @param parallelism the parallelism level of the pool
+     * @return the pool
+     */
+    static ForkJoinPool newPool(final int parallelism) {
+        return new ScanPool(parallelism);
+    }
+
+    /**
+     * Create a task for each subject in order, forking them if running within a scan pool
+     *
+     * @param subjects the subjects to create tasks for
+     * @param workFunction the function producing the work for each subject
+     * @param <S> the type of the subjects
+     * @param <T> the type of the task result
+     * @return the tasks, in the same order as the subjects
+     */
+    static <S, T> List<ScanTask<T>> forkAll(final Collection<S> subjects, final WorkFunction<S, T> workFunction) {
+        final List<ScanTask<T>> scanTasks = new ArrayList<>(subjects.size());
+        for (final S subject : subjects) {
+            scanTasks.add(fork(() -> workFunction.apply(subject)));
+        }
+        return scanTasks;
+    }
+
+    /**
+     * Create the task, forking it if running within a scan pool
+     *
+     * @param work the work to perform
+     * @param <T> the type of the task result
+     * @return the task
+     */
+    static <T> ScanTask<T> fork(final Work<T> work) {
+        final ScanTask<T> scanTask = new ScanTask<>(work);
+        if (ForkJoinTask.getPool() instanceof ScanPool) {
+            scanTask.forked = true;
+            scanTask.fork();
+        }
+        return scanTask;
+    }
+
+    /**
+     * Cancel all the tasks which have not yet started
+     *
+     * @param scanTasks the tasks to cancel
+     */
+    static void cancelAll(final Collection<? extends ScanTask<?>> scanTasks) {
+        scanTasks.forEach(scanTask -> scanTask.cancel(false));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("squid:S1181")
+    protected void compute() {
+        try {
+            result = work.perform();
+        } catch (final IOException | RuntimeException | Error e) {
+            failure = e;
+        }
+    }
+
+    /**
+     * Wait for the task to complete (or perform it on the calling thread) and obtain the result
+     *
+     * @return the result
+     * @throws IOException if the work resulted in an I/O error
+     */
+    T obtain() throws IOException {
+        if (forked) {
+            join();
+        } else {
+            invoke();
+        }
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        } else if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        return result;
+    }
+
+    /**
+     * The pool which scan tasks are forked into
+     */
+    private static final class ScanPool extends ForkJoinPool {
+
+        /**
+         * Create the pool with the provided parallelism
+         *
+         * @param parallelism the parallelism level
+         */
+        private ScanPool(final int parallelism) {
+            super(parallelism);
+        }
+
+    }
+
+    /**
+     * The work performed by a task
+     *
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    interface Work<T> {
+
+        /**
+         * Perform the work
+         *
+         * @return the result
+         * @throws IOException if any I/O error occurs
+         */
+        T perform() throws IOException;
+
+    }
+
+    /**
+     * A function which performs work for a subject
+     *
+     * @param <S> the type of the subject
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    interface WorkFunction<S, T> {
+
+        /**
+         * Perform the work on the subject
+         *
+         * @param subject the subject
+         * @return the result
+         * @throws IOException if any I/O error occurs
+         */
+        T apply(S subject) throws IOException;
+
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.optum.sourcehawk.exec
+
+import com.optum.sourcehawk.core.configuration.SourcehawkConfiguration
+import com.optum.sourcehawk.core.protocol.file.FileProtocol
+import com.optum.sourcehawk.enforcer.file.FileResolver
+
+class CompiledConfigurationSpec extends FileBaseSpecification {
+
+    def "compile - NPE"() {
+        when:
+        CompiledConfiguration.compile(null)
+
+        then:
+        thrown(NullPointerException)
+    }
+
+    def "compile - empty"() {
+        when:
+        CompiledConfiguration compiledConfiguration = CompiledConfiguration.compile(SourcehawkConfiguration.of(null, null))
+
+        then:
+        compiledConfiguration.fileProtocols.isEmpty()
+    }
+
+    def "compile - identical enforcers share a single instance"() {
+        given:
+        SourcehawkConfiguration sourcehawkConfiguration = ConfigurationReader.parseConfiguration(testResourcesRoot.resolve("sourcehawk-simple.yml"))
+
+        when:
+        CompiledConfiguration compiledConfiguration = CompiledConfiguration.compile(sourcehawkConfiguration)
+
+        then:
+        compiledConfiguration.sourcehawkConfiguration == sourcehawkConfiguration
+        compiledConfiguration.fileProtocols.size() == 4
+        compiledConfiguration.fileProtocols[0].fileEnforcers.isEmpty()
+        compiledConfiguration.fileProtocols[1].fileEnforcers.size() == 2
+        compiledConfiguration.fileProtocols[1].fileEnforcers.every { it.valid && it.fileEnforcer }
+        compiledConfiguration.fileProtocols[1].fileEnforcers[0].is(compiledConfiguration.fileProtocols[2].fileEnforcers[0])
+        compiledConfiguration.fileProtocols[1].fileEnforcers[1].is(compiledConfiguration.fileProtocols[3].fileEnforcers[1])
+        compiledConfiguration.fileProtocols[1].fileEnforcers[0].fileResolver.get() instanceof FileResolver
+    }
+
+    def "compileFileProtocol - invalid enforcer"() {
+        given:
+        FileProtocol fileProtocol = FileProtocol.builder()
+                .name("test")
+                .repositoryPath("file.txt")
+                .enforcers([["bad": "enforcer"]])
+                .build()
+
+        when:
+        CompiledConfiguration.CompiledFileProtocol compiledFileProtocol = CompiledConfiguration.compileFileProtocol(fileProtocol)
+
+        then:
+        compiledFileProtocol.fileProtocol == fileProtocol
+        compiledFileProtocol.fileEnforcers.size() == 1
+        !compiledFileProtocol.fileEnforcers[0].valid
+        !compiledFileProtocol.fileEnforcers[0].fileEnforcer
+        !compiledFileProtocol.fileEnforcers[0].fileResolver.isPresent()
+        compiledFileProtocol.fileEnforcers[0].error instanceof IllegalArgumentException
+        compiledFileProtocol.fileEnforcers[0].definition == ["bad": "enforcer"]
+    }
+
+}
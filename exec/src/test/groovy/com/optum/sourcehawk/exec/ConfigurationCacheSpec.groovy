@@ -0,0 +1,200 @@
+package com.optum.sourcehawk.exec
+
+import com.sun.net.httpserver.HttpExchange
+import com.sun.net.httpserver.HttpServer
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.time.Duration
+
+class ConfigurationCacheSpec extends Specification {
+
+    @Rule
+    TemporaryFolder temporaryFolder = new TemporaryFolder()
+
+    HttpServer server
+    List<Map<String, String>> requests = []
+    String content = "file-protocols: []"
+    int statusCode = 200
+
+    def setup() {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.loopbackAddress, 0), 0)
+        server.createContext("/config.yml", { HttpExchange exchange ->
+            requests << [
+                    ifNoneMatch: exchange.requestHeaders.getFirst("If-None-Match"),
+                    ifModifiedSince: exchange.requestHeaders.getFirst("If-Modified-Since")
+            ]
+            String etag = "\"${content.hashCode()}\""
+            if (statusCode != 200) {
+                exchange.sendResponseHeaders(statusCode, -1)
+            } else if (etag == exchange.requestHeaders.getFirst("If-None-Match")) {
+                exchange.sendResponseHeaders(304, -1)
+            } else {
+                byte[] body = content.bytes
+                exchange.responseHeaders.add("ETag", etag)
+                exchange.responseHeaders.add("Last-Modified", "Wed, 21 Oct 2015 07:28:00 GMT")
+                exchange.sendResponseHeaders(200, body.length)
+                exchange.responseBody.write(body)
+            }
+            exchange.close()
+        })
+        server.start()
+    }
+
+    def cleanup() {
+        server.stop(0)
+    }
+
+    def "fromEnvironment"() {
+        when:
+        ConfigurationCache configurationCache = ConfigurationCache.fromEnvironment([
+                SOURCEHAWK_CACHE_DIR: "/tmp/sourcehawk-cache",
+                SOURCEHAWK_CONFIG_CACHE_TTL_SECONDS: "60",
+                SOURCEHAWK_OFFLINE: "true"
+        ])
+
+        then:
+        configurationCache.directory == Paths.get("/tmp/sourcehawk-cache")
+        configurationCache.ttl == Duration.ofSeconds(60)
+        configurationCache.offline
+    }
+
+    def "fromEnvironment - defaults"() {
+        when:
+        ConfigurationCache configurationCache = ConfigurationCache.fromEnvironment([SOURCEHAWK_CONFIG_CACHE_TTL_SECONDS: "invalid"])
+
+        then:
+        configurationCache.directory == Paths.get(System.getProperty("user.home"), ".cache", "sourcehawk")
+        configurationCache.ttl == Duration.ofMinutes(10)
+        !configurationCache.offline
+    }
+
+    def "resolveDirectory - XDG cache home"() {
+        expect:
+        ConfigurationCache.resolveDirectory([XDG_CACHE_HOME: "/tmp/xdg"]) == Paths.get("/tmp/xdg", "sourcehawk")
+    }
+
+    def "read - cached within time to live"() {
+        given:
+        ConfigurationCache configurationCache = new ConfigurationCache(cacheDirectory(), Duration.ofMinutes(10), false)
+
+        when:
+        String first = new String(configurationCache.read(url("/config.yml")))
+        String second = new String(configurationCache.read(url("/config.yml")))
+
+        then:
+        first == content
+        second == content
+        requests.size() == 1
+    }
+
+    def "read - revalidated once expired"() {
+        given:
+        ConfigurationCache configurationCache = new ConfigurationCache(cacheDirectory(), Duration.ZERO, false)
+        configurationCache.read(url("/config.yml"))
+
+        when:
+        String revalidated = new String(configurationCache.read(url("/config.yml")))
+
+        then:
+        revalidated == "file-protocols: []"
+        requests.size() == 2
+        requests[1].ifNoneMatch == "\"${content.hashCode()}\""
+        requests[1].ifModifiedSince == "Wed, 21 Oct 2015 07:28:00 GMT"
+
+        when:
+        content = "file-protocols: [{}]"
+        String changed = new String(configurationCache.read(url("/config.yml")))
+
+        then:
+        changed == "file-protocols: [{}]"
+        requests.size() == 3
+    }
+
+    def "read - stale content used when revalidation fails"() {
+        given:
+        ConfigurationCache configurationCache = new ConfigurationCache(cacheDirectory(), Duration.ZERO, false)
+        configurationCache.read(url("/config.yml"))
+        statusCode = 500
+
+        expect:
+        new String(configurationCache.read(url("/config.yml"))) == content
+    }
+
+    def "read - offline"() {
+        given:
+        Path cacheDirectory = cacheDirectory()
+        new ConfigurationCache(cacheDirectory, Duration.ZERO, false).read(url("/config.yml"))
+        ConfigurationCache configurationCache = new ConfigurationCache(cacheDirectory, Duration.ZERO, true)
+
+        when:
+        String cached = new String(configurationCache.read(url("/config.yml")))
+
+        then:
+        cached == content
+        requests.size() == 1
+
+        when:
+        configurationCache.read(url("/other.yml"))
+
+        then:
+        IOException e = thrown(IOException)
+        e.message.endsWith("/other.yml is not cached and offline mode is enabled")
+    }
+
+    def "read - not found"() {
+        given:
+        ConfigurationCache configurationCache = new ConfigurationCache(cacheDirectory(), Duration.ZERO, false)
+
+        when:
+        configurationCache.read(url("/does-not-exist.yml"))
+
+        then:
+        thrown(FileNotFoundException)
+    }
+
+    def "read - error and not cached"() {
+        given:
+        ConfigurationCache configurationCache = new ConfigurationCache(cacheDirectory(), Duration.ZERO, false)
+        statusCode = 503
+
+        when:
+        configurationCache.read(url("/config.yml"))
+
+        then:
+        IOException e = thrown(IOException)
+        e.message.endsWith("/config.yml returned response code 503")
+    }
+
+    def "read - expired entries and unrecorded content pruned"() {
+        given:
+        Path cacheDirectory = cacheDirectory()
+        ConfigurationCache configurationCache = new ConfigurationCache(cacheDirectory, Duration.ZERO, false)
+        configurationCache.read(url("/config.yml"))
+        File expiredEntry = cacheDirectory.resolve("locations").resolve("expired.properties").toFile()
+        expiredEntry.text = "digest=expired\n"
+        expiredEntry.lastModified = System.currentTimeMillis() - ConfigurationCache.MAX_ENTRY_AGE.toMillis() - 60_000
+        cacheDirectory.resolve("objects").resolve("expired").toFile().text = "expired"
+
+        when:
+        content = "file-protocols: [{}]"
+        configurationCache.read(url("/config.yml"))
+
+        then:
+        !expiredEntry.exists()
+        cacheDirectory.resolve("locations").toFile().list().length == 1
+        cacheDirectory.resolve("objects").toFile().listFiles()*.text == [content]
+    }
+
+    private Path cacheDirectory() {
+        temporaryFolder.root.toPath().resolve("cache")
+    }
+
+    private URL url(final String path) {
+        new URL("http://${server.address.hostString}:${server.address.port}${path}")
+    }
+
+}
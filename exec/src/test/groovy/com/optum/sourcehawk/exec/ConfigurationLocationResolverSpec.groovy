@@ -0,0 +1,95 @@
+package com.optum.sourcehawk.exec
+
+import com.optum.sourcehawk.core.configuration.SourcehawkConfiguration
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Function
+
+class ConfigurationLocationResolverSpec extends Specification {
+
+    Map<String, AtomicInteger> reads = new ConcurrentHashMap<>()
+
+    def "resolve - depth-first order, each location read once"() {
+        given:
+        Map<String, List<String>> graph = [
+                root: ["a", "b", "c"],
+                a: ["shared", "root"],
+                b: ["shared", "d"],
+                c: ["a"],
+                d: ["b"],
+                shared: []
+        ]
+        ConfigurationLocationResolver resolver = new ConfigurationLocationResolver(reader(graph), { SourcehawkConfiguration.empty() } as Function)
+
+        when:
+        Optional<ConfigurationResolution> resolutionOptional = resolver.resolve("root")
+
+        then:
+        resolutionOptional.isPresent()
+        resolutionOptional.get().resolutionTimes.keySet() as List == ["root", "a", "shared", "b", "d", "c"]
+        reads.keySet() == graph.keySet()
+        reads.values().every { it.get() == 1 }
+    }
+
+    def "resolve - configurations merged in depth-first order"() {
+        given:
+        Map<String, List<String>> graph = [root: ["b", "a"], a: [], b: ["c"], c: ["a"]]
+        List<Set<SourcehawkConfiguration>> merged = []
+        ConfigurationLocationResolver resolver = new ConfigurationLocationResolver(reader(graph), { merged << it; SourcehawkConfiguration.empty() } as Function)
+
+        when:
+        resolver.resolve("root")
+
+        then:
+        merged.size() == 1
+        merged[0]*.configLocations == [["b", "a"], ["c"], ["a"], []]
+    }
+
+    def "resolve - root not found"() {
+        given:
+        ConfigurationLocationResolver resolver = new ConfigurationLocationResolver(reader([:]), { SourcehawkConfiguration.empty() } as Function)
+
+        expect:
+        !resolver.resolve("root").isPresent()
+    }
+
+    def "resolve - config location not found"() {
+        given:
+        ConfigurationLocationResolver resolver = new ConfigurationLocationResolver(reader([root: ["a", "missing"], a: []]), { SourcehawkConfiguration.empty() } as Function)
+
+        when:
+        resolver.resolve("root")
+
+        then:
+        ConfigurationException e = thrown(ConfigurationException)
+        e.message == "Could not locate or deserialize file missing"
+    }
+
+    def "resolve - error reading config location"() {
+        given:
+        Function<String, Optional<SourcehawkConfiguration>> reader = { String location ->
+            if (location == "a") {
+                throw new IllegalStateException("error")
+            }
+            Optional.of(SourcehawkConfiguration.of(["a"], []))
+        } as Function
+        ConfigurationLocationResolver resolver = new ConfigurationLocationResolver(reader, { SourcehawkConfiguration.empty() } as Function)
+
+        when:
+        resolver.resolve("root")
+
+        then:
+        IllegalStateException e = thrown(IllegalStateException)
+        e.message == "error"
+    }
+
+    private Function<String, Optional<SourcehawkConfiguration>> reader(final Map<String, List<String>> graph) {
+        return { String location ->
+            reads.computeIfAbsent(location, { new AtomicInteger() }).incrementAndGet()
+            Optional.ofNullable(graph[location]).map { SourcehawkConfiguration.of(it, []) }
+        } as Function
+    }
+
+}
@@ -1,10 +1,19 @@
 package com.optum.sourcehawk.exec
 
 import com.optum.sourcehawk.core.configuration.SourcehawkConfiguration
+import com.sun.net.httpserver.HttpExchange
+import com.sun.net.httpserver.HttpServer
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
 import org.spockframework.util.IoUtil
 
+import java.time.Duration
+
 class ConfigurationReaderSpec extends FileBaseSpecification {
 
+    @Rule
+    TemporaryFolder temporaryFolder = new TemporaryFolder()
+
     def "readConfiguration - found"() {
         given:
         String configurationFileLocation = "sourcehawk.yml"
@@ -17,16 +26,39 @@ class ConfigurationReaderSpec extends FileBaseSpecification {
         sourcehawkConfigurationOptional.isPresent()
     }
 
+    def "resolveConfiguration - config locations"() {
+        when:
+        Optional<ConfigurationResolution> configurationResolutionOptional = ConfigurationReader.resolveConfiguration(testResourcesRoot, "sourcehawk-simple3.yml")
+
+        then:
+        configurationResolutionOptional.isPresent()
+        configurationResolutionOptional.get().resolutionTimes.keySet() as List == ["sourcehawk-simple3.yml", "sourcehawk-simple.yml", "sourcehawk-simple2.yml"]
+        configurationResolutionOptional.get().configuration.fileProtocols.size() == 4
+    }
+
     def "obtainInputStream - URL configuration file"() {
         given:
-        String configurationFileLocation = "https://raw.githubusercontent.com/optum/sourcehawk-parent/main/.sourcehawk/config.yml"
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.loopbackAddress, 0), 0)
+        server.createContext("/config.yml", { HttpExchange exchange ->
+            byte[] body = "file-protocols: []".bytes
+            exchange.sendResponseHeaders(200, body.length)
+            exchange.responseBody.write(body)
+            exchange.close()
+        })
+        server.start()
+        String configurationFileLocation = "http://${server.address.hostString}:${server.address.port}/config.yml"
+        ConfigurationCache configurationCache = new ConfigurationCache(temporaryFolder.root.toPath(), Duration.ZERO, false)
 
         when:
-        InputStream inputStream = ConfigurationReader.obtainInputStream(repositoryRoot, configurationFileLocation).get()
+        InputStream inputStream = ConfigurationReader.obtainInputStream(repositoryRoot, configurationFileLocation, configurationCache).get()
 
         then:
         inputStream
-        inputStream.class.simpleName == "HttpInputStream"
+        inputStream.class.simpleName == "ByteArrayInputStream"
+        inputStream.text == "file-protocols: []"
+
+        cleanup:
+        server.stop(0)
     }
 
     def "obtainInputStream - absolute file"() {
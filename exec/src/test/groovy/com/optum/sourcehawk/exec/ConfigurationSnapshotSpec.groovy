@@ -0,0 +1,138 @@
+package com.optum.sourcehawk.exec
+
+import com.optum.sourcehawk.core.configuration.SourcehawkConfiguration
+import com.optum.sourcehawk.core.protocol.file.FileProtocol
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class ConfigurationSnapshotSpec extends FileBaseSpecification {
+
+    @Rule
+    TemporaryFolder temporaryFolder = new TemporaryFolder()
+
+    def "write / read - round trip"() {
+        given:
+        SourcehawkConfiguration configuration = ConfigurationReader.parseConfiguration(testResourcesRoot.resolve("sourcehawk-flattened-base.yml"))
+
+        when:
+        byte[] snapshot = ConfigurationSnapshot.write(configuration)
+        SourcehawkConfiguration snapshotConfiguration = ConfigurationSnapshot.read(snapshot)
+
+        then:
+        ConfigurationSnapshot.isSnapshot(snapshot)
+        snapshot.length < Files.size(testResourcesRoot.resolve("sourcehawk-flattened-base.yml"))
+        !snapshotConfiguration.configLocations
+        snapshotConfiguration.fileProtocols.size() == configuration.fileProtocols.size()
+        [snapshotConfiguration.fileProtocols, configuration.fileProtocols].transpose().every { FileProtocol actual, FileProtocol expected ->
+            actual.name == expected.name &&
+                    actual.description == expected.description &&
+                    actual.repositoryPath == expected.repositoryPath &&
+                    actual.required == expected.required &&
+                    actual.tags == expected.tags &&
+                    actual.severity == expected.severity &&
+                    actual.enforcers as List == expected.enforcers as List
+        }
+    }
+
+    def "write - value types"() {
+        given:
+        Map<String, Object> enforcer = [
+                enforcer: ".json.JsonValueEquals",
+                expectations: [
+                        "/null": null,
+                        "/boolean": true,
+                        "/integer": 1,
+                        "/long": 10_000_000_000L,
+                        "/double": 1.5d,
+                        "/bigInteger": 12345678901234567890G,
+                        "/bigDecimal": 1.25G,
+                        "/list": [false, [nested: "\u00e9"]]
+                ]
+        ]
+        SourcehawkConfiguration configuration = SourcehawkConfiguration.of([], [FileProtocol.builder().name("name").repositoryPath("file").enforcers([enforcer]).build()])
+
+        when:
+        SourcehawkConfiguration snapshotConfiguration = ConfigurationSnapshot.read(ConfigurationSnapshot.write(configuration))
+
+        then:
+        (snapshotConfiguration.fileProtocols[0].enforcers as List)[0] == enforcer
+    }
+
+    def "write - invalid enforcer"() {
+        given:
+        SourcehawkConfiguration configuration = SourcehawkConfiguration.of([], [
+                FileProtocol.builder().name("Invalid").repositoryPath("file").enforcers([[enforcer: ".common.DoesNotExist"]]).build()
+        ])
+
+        when:
+        ConfigurationSnapshot.write(configuration)
+
+        then:
+        ConfigurationException e = thrown(ConfigurationException)
+        e.message.startsWith("File protocol [Invalid] has invalid enforcer")
+    }
+
+    def "write - unsupported value type"() {
+        given:
+        SourcehawkConfiguration configuration = SourcehawkConfiguration.of([], [
+                FileProtocol.builder().name("Unsupported").repositoryPath("file").enforcers([[enforcer: ".json.JsonValueEquals", expectations: ["/character": 'c' as Character]]]).build()
+        ])
+
+        when:
+        ConfigurationSnapshot.write(configuration)
+
+        then:
+        ConfigurationException e = thrown(ConfigurationException)
+        e.message == "File protocol [Unsupported] could not be written to snapshot: Unsupported configuration value type: java.lang.Character"
+    }
+
+    def "read - corrupt"() {
+        given:
+        byte[] snapshot = ConfigurationSnapshot.write(ConfigurationReader.parseConfiguration(testResourcesRoot.resolve("sourcehawk-simple.yml")))
+        int corruptIndex = snapshot.length.intdiv(2)
+        snapshot[corruptIndex] = (byte) (snapshot[corruptIndex] ^ 1)
+
+        when:
+        ConfigurationSnapshot.read(snapshot)
+
+        then:
+        IOException e = thrown(IOException)
+        e.message == "Configuration snapshot is corrupt"
+    }
+
+    def "read - not a snapshot"() {
+        when:
+        ConfigurationSnapshot.read("file-protocols: []".bytes)
+
+        then:
+        IOException e = thrown(IOException)
+        e.message == "Not a configuration snapshot"
+    }
+
+    def "isSnapshot - input stream not consumed"() {
+        given:
+        InputStream inputStream = new BufferedInputStream(new ByteArrayInputStream("file-protocols: []".bytes))
+
+        expect:
+        !ConfigurationSnapshot.isSnapshot(inputStream)
+        inputStream.text == "file-protocols: []"
+        !ConfigurationSnapshot.isSnapshot(new BufferedInputStream(new ByteArrayInputStream(new byte[0])))
+    }
+
+    def "readConfiguration - snapshot"() {
+        given:
+        Path snapshotPath = temporaryFolder.root.toPath().resolve("sourcehawk.snapshot")
+        Files.write(snapshotPath, ConfigurationSnapshot.write(ConfigurationReader.readConfiguration(testResourcesRoot, "sourcehawk-simple3.yml").get()))
+
+        when:
+        Optional<SourcehawkConfiguration> configurationOptional = ConfigurationReader.readConfiguration(testResourcesRoot, snapshotPath.toString())
+
+        then:
+        configurationOptional.isPresent()
+        configurationOptional.get().fileProtocols.size() == 4
+    }
+
+}
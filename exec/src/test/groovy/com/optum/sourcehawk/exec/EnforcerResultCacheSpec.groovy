@@ -0,0 +1,190 @@
+package com.optum.sourcehawk.exec
+
+import com.optum.sourcehawk.core.protocol.file.FileProtocol
+import com.optum.sourcehawk.core.repository.LocalRepositoryFileReader
+import com.optum.sourcehawk.core.result.ScanResult
+import com.optum.sourcehawk.enforcer.EnforcerResult
+import com.optum.sourcehawk.exec.CompiledConfiguration.CompiledFileEnforcer
+import com.optum.sourcehawk.exec.scan.ScanExecutor
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+
+import java.nio.ByteBuffer
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+
+class EnforcerResultCacheSpec extends FileBaseSpecification {
+
+    @Rule
+    TemporaryFolder temporaryFolder = new TemporaryFolder()
+
+    CompiledFileEnforcer compiledFileEnforcer = compileFileEnforcer("expected")
+
+    int enforcements = 0
+
+    EnforcerResultCache.Enforcement enforcement = {
+        enforcements++
+        EnforcerResult.failed("Failure ${enforcements}")
+    }
+
+    def "fromEnvironment"() {
+        when:
+        EnforcerResultCache enforcerResultCache = EnforcerResultCache.fromEnvironment([
+                SOURCEHAWK_CACHE_DIR: "/tmp/sourcehawk-cache",
+                SOURCEHAWK_RESULT_CACHE_SIZE_MB: "1"
+        ])
+
+        then:
+        enforcerResultCache.path == Paths.get("/tmp/sourcehawk-cache", "enforcer-results.bin")
+        enforcerResultCache.maxSizeBytes == 1024 * 1024
+    }
+
+    def "fromEnvironment - invalid size"() {
+        expect:
+        EnforcerResultCache.fromEnvironment([SOURCEHAWK_RESULT_CACHE_SIZE_MB: "invalid"]).maxSizeBytes == 32 * 1024 * 1024
+    }
+
+    def "enforce - identical content enforced once"() {
+        given:
+        EnforcerResultCache enforcerResultCache = new EnforcerResultCache(cachePath(), 1024 * 1024)
+        ByteBuffer content = buffer("key=value")
+
+        when:
+        EnforcerResult first = enforcerResultCache.enforce(compiledFileEnforcer, content, enforcement)
+        EnforcerResult second = enforcerResultCache.enforce(compiledFileEnforcer, buffer("key=value"), enforcement)
+
+        then:
+        first.messages == ["Failure 1"] as Set
+        second.is(first)
+        enforcements == 1
+        content.position() == 0
+
+        when:
+        enforcerResultCache.enforce(compiledFileEnforcer, buffer("key=other"), enforcement)
+        enforcerResultCache.enforce(compileFileEnforcer("different"), content, enforcement)
+
+        then:
+        enforcements == 3
+    }
+
+    def "flush - persisted between runs"() {
+        given:
+        EnforcerResultCache enforcerResultCache = new EnforcerResultCache(cachePath(), 1024 * 1024)
+        enforcerResultCache.enforce(compiledFileEnforcer, buffer("key=value"), enforcement)
+
+        when:
+        enforcerResultCache.flush()
+        EnforcerResult enforcerResult = new EnforcerResultCache(cachePath(), 1024 * 1024)
+                .enforce(compiledFileEnforcer, buffer("key=value"), enforcement)
+
+        then:
+        Files.exists(cachePath())
+        !enforcerResult.passed
+        enforcerResult.messages as List == ["Failure 1"]
+        enforcements == 1
+    }
+
+    def "enforce - least recently used results evicted"() {
+        given:
+        EnforcerResultCache enforcerResultCache = new EnforcerResultCache(cachePath(), 600)
+
+        when:
+        (0..<4).each { enforcerResultCache.enforce(compiledFileEnforcer, buffer("key=${it}"), enforcement) }
+        enforcerResultCache.enforce(compiledFileEnforcer, buffer("key=3"), enforcement)
+
+        then:
+        enforcements == 4
+
+        when:
+        enforcerResultCache.enforce(compiledFileEnforcer, buffer("key=0"), enforcement)
+
+        then:
+        enforcements == 5
+    }
+
+    def "enforce - disabled"() {
+        given:
+        EnforcerResultCache enforcerResultCache = new EnforcerResultCache(cachePath(), 0)
+
+        when:
+        enforcerResultCache.enforce(compiledFileEnforcer, buffer("key=value"), enforcement)
+        enforcerResultCache.enforce(compiledFileEnforcer, buffer("key=value"), enforcement)
+        enforcerResultCache.flush()
+
+        then:
+        enforcements == 2
+        !Files.exists(cachePath())
+    }
+
+    def "enforce - enforcers referring to a URL not cached"() {
+        given:
+        EnforcerResultCache enforcerResultCache = new EnforcerResultCache(cachePath(), 1024 * 1024)
+        CompiledFileEnforcer urlFileEnforcer = CompiledConfiguration.compileFileProtocol(FileProtocol.builder()
+                .name("name")
+                .repositoryPath("file.properties")
+                .enforcers([[enforcer: ".common.ContentEquals", "expected-url": "https://example.com/file.properties"]])
+                .build()).fileEnforcers[0]
+
+        when:
+        enforcerResultCache.enforce(urlFileEnforcer, buffer("key=value"), enforcement)
+        enforcerResultCache.enforce(urlFileEnforcer, buffer("key=value"), enforcement)
+        enforcerResultCache.flush()
+
+        then:
+        urlFileEnforcer.valid
+        enforcements == 2
+        !Files.exists(cachePath())
+    }
+
+    def "enforce - corrupt cache file ignored"() {
+        given:
+        Files.write(cachePath(), [0x53, 0x48, 0x45, 0x52, 0, 0, 0, 1, 0, 0] as byte[])
+        EnforcerResultCache enforcerResultCache = new EnforcerResultCache(cachePath(), 1024 * 1024)
+
+        when:
+        EnforcerResult enforcerResult = enforcerResultCache.enforce(compiledFileEnforcer, buffer("key=value"), enforcement)
+
+        then:
+        enforcerResult.messages == ["Failure 1"] as Set
+        enforcements == 1
+    }
+
+    def "scan - enforcer results cached"() {
+        given:
+        EnforcerResultCache enforcerResultCache = new EnforcerResultCache(cachePath(), 1024 * 1024)
+        ExecOptions execOptions = ExecOptions.builder()
+                .repositoryRoot(repositoryRoot)
+                .repositoryFileReader(LocalRepositoryFileReader.create(repositoryRoot))
+                .enforcerResultCache(enforcerResultCache)
+                .build()
+
+        when:
+        ScanResult scanResult = ScanExecutor.scan(execOptions)
+        enforcerResultCache.flush()
+        ScanResult cachedScanResult = ScanExecutor.scan(execOptions.toBuilder().enforcerResultCache(new EnforcerResultCache(cachePath(), 1024 * 1024)).build())
+
+        then:
+        scanResult.passed
+        Files.size(cachePath()) > 0
+        cachedScanResult == scanResult
+    }
+
+    private Path cachePath() {
+        temporaryFolder.root.toPath().resolve("enforcer-results.bin")
+    }
+
+    private static ByteBuffer buffer(final String content) {
+        ByteBuffer.wrap(content.bytes).asReadOnlyBuffer()
+    }
+
+    private static CompiledFileEnforcer compileFileEnforcer(final String expectedPropertyValue) {
+        FileProtocol fileProtocol = FileProtocol.builder()
+                .name("name")
+                .repositoryPath("file.properties")
+                .enforcers([[enforcer: ".common.StringPropertyEquals", "property-name": "key", "expected-property-value": expectedPropertyValue]])
+                .build()
+        CompiledConfiguration.compileFileProtocol(fileProtocol).fileEnforcers[0]
+    }
+
+}
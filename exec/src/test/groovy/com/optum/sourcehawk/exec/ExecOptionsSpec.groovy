@@ -25,6 +25,8 @@ class ExecOptionsSpec extends Specification {
         execOptions.verbosity == Verbosity.HIGH
         !execOptions.tags
         !execOptions.failOnWarnings
+        execOptions.parallelism == 1
+        !execOptions.changedSince
         execOptions.repositoryFileReader instanceof LocalRepositoryFileReader
         !execOptions.remoteRef
 
@@ -40,6 +42,8 @@ class ExecOptionsSpec extends Specification {
                 .verbosity(Verbosity.ZERO)
                 .tags(["foo", "bar"])
                 .failOnWarnings(true)
+                .parallelism(8)
+                .changedSince("HEAD~1")
 
         when:
         ExecOptions execOptions = builder.build()
@@ -51,8 +55,11 @@ class ExecOptionsSpec extends Specification {
         execOptions.verbosity == Verbosity.ZERO
         execOptions.tags == ["foo", "bar"]
         execOptions.failOnWarnings
+        execOptions.parallelism == 8
+        execOptions.changedSince == "HEAD~1"
         execOptions.repositoryFileReader instanceof LocalRepositoryFileReader
         !execOptions.remoteRef
+        execOptions.toString().contains("Changed Since..... HEAD~1")
     }
 
     def "builder - remote"() {
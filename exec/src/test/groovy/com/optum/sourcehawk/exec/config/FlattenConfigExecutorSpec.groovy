@@ -1,6 +1,7 @@
 package com.optum.sourcehawk.exec.config
 
 import com.optum.sourcehawk.core.result.FlattenConfigResult
+import com.optum.sourcehawk.exec.ConfigurationSnapshot
 import com.optum.sourcehawk.exec.FileBaseSpecification
 import org.spockframework.util.IoUtil
 
@@ -25,6 +26,26 @@ class FlattenConfigExecutorSpec extends FileBaseSpecification {
         new String(flattenConfigResult.content).trim() == IoUtil.getResourceAsStream("/sourcehawk-flattened-base.yml").text.trim()
     }
 
+    def "snapshot"() {
+        when:
+        FlattenConfigResult flattenConfigResult = FlattenConfigExecutor.snapshot(repositoryRoot.toString() + "/sourcehawk.yml")
+
+        then:
+        !flattenConfigResult.error
+        flattenConfigResult.message == "Snapshot successful"
+        ConfigurationSnapshot.isSnapshot(flattenConfigResult.content)
+        ConfigurationSnapshot.read(flattenConfigResult.content).fileProtocols
+    }
+
+    def "snapshot - config file not found"() {
+        when:
+        FlattenConfigResult flattenConfigResult = FlattenConfigExecutor.snapshot("sourcehawk-does-not-exist.yml")
+
+        then:
+        flattenConfigResult.error
+        flattenConfigResult.message == "Configuration file sourcehawk-does-not-exist.yml not found or invalid"
+    }
+
     def "flatten - config file not found"() {
         when:
         FlattenConfigResult flattenConfigResult = FlattenConfigExecutor.flatten("sourcehawk-does-not-exist.yml")
@@ -0,0 +1,153 @@
+package com.optum.sourcehawk.exec.scan
+
+import com.optum.sourcehawk.core.repository.LocalRepositoryFileReader
+import com.optum.sourcehawk.core.result.ScanResult
+import com.optum.sourcehawk.exec.ExecOptions
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class IncrementalScanSpec extends Specification {
+
+    @Rule
+    TemporaryFolder temporaryFolder = new TemporaryFolder()
+
+    Path repository
+    PrintStream standardError = System.err
+    ByteArrayOutputStream stdErr = new ByteArrayOutputStream()
+
+    def setup() {
+        repository = temporaryFolder.root.toPath()
+        write("sourcehawk.yml", """\
+            file-protocols:
+              - name: Alpha
+                repository-path: alpha.properties
+                enforcers:
+                  - enforcer: .common.StringPropertyEquals
+                    property-name: key
+                    expected-property-value: value
+              - name: Nested
+                repository-path: "**/nested/*.properties"
+                enforcers:
+                  - enforcer: .common.StringPropertyEquals
+                    property-name: key
+                    expected-property-value: value
+            """.stripIndent())
+        write("alpha.properties", "key=value")
+        write("nested/beta.properties", "key=value")
+        git("init", "-q")
+        git("add", ".")
+        git("commit", "-q", "-m", "initial")
+        System.err = new PrintStream(stdErr)
+    }
+
+    def cleanup() {
+        System.err = standardError
+    }
+
+    def "scan - not changed since"() {
+        expect:
+        ScanExecutor.scan(execOptions(null)).passed
+        !stdErr.toString().contains("file protocols")
+    }
+
+    def "scan - changed since - stored scan of revision reused"() {
+        when:
+        ScanResult initialScanResult = ScanExecutor.scan(execOptions("HEAD"))
+
+        then:
+        initialScanResult.passed
+        stdErr.toString().contains("Enforced 2 of 2 file protocols with changes since HEAD")
+
+        when:
+        stdErr.reset()
+        write("nested/beta.properties", "key=changed")
+        ScanResult changedScanResult = ScanExecutor.scan(execOptions("HEAD"))
+
+        then:
+        !changedScanResult.passed
+        changedScanResult.errorCount == 1
+        changedScanResult.formattedMessages.every { it.contains("nested/beta.properties") }
+        stdErr.toString().contains("Enforced 1 of 2 file protocols with changes since HEAD")
+
+        when:
+        stdErr.reset()
+        git("commit", "-q", "-a", "-m", "changed")
+        ScanResult committedScanResult = ScanExecutor.scan(execOptions("HEAD~1"))
+
+        then:
+        !committedScanResult.passed
+        committedScanResult.errorCount == 1
+        stdErr.toString().contains("Enforced 1 of 2 file protocols with changes since HEAD~1")
+
+        when:
+        stdErr.reset()
+        ScanResult storedScanResult = ScanExecutor.scan(execOptions("HEAD"))
+
+        then:
+        storedScanResult.formattedMessages == committedScanResult.formattedMessages
+        stdErr.toString().contains("Enforced 0 of 2 file protocols with changes since HEAD")
+    }
+
+    def "scan - changed since - untracked file matched by glob pattern"() {
+        given:
+        ScanExecutor.scan(execOptions("HEAD"))
+        stdErr.reset()
+        write("nested/gamma.properties", "key=other")
+
+        when:
+        ScanResult scanResult = ScanExecutor.scan(execOptions("HEAD"))
+
+        then:
+        !scanResult.passed
+        stdErr.toString().contains("Enforced 1 of 2 file protocols with changes since HEAD")
+    }
+
+    def "scan - changed since - file protocol definition changed"() {
+        given:
+        ScanExecutor.scan(execOptions("HEAD"))
+        stdErr.reset()
+
+        when:
+        ScanResult scanResult = ScanExecutor.scan(execOptions("HEAD").toBuilder().failOnWarnings(true).build())
+
+        then:
+        scanResult.passed
+        stdErr.toString().contains("Enforced 2 of 2 file protocols with changes since HEAD")
+    }
+
+    def "scan - changed since - unknown revision"() {
+        when:
+        ScanResult scanResult = ScanExecutor.scan(execOptions("does-not-exist"))
+
+        then:
+        scanResult.passed
+        stdErr.toString().contains("Unable to determine changes since does-not-exist, enforcing all file protocols")
+    }
+
+    private ExecOptions execOptions(final String changedSince) {
+        ExecOptions.builder()
+                .repositoryRoot(repository)
+                .repositoryFileReader(LocalRepositoryFileReader.create(repository))
+                .configurationFileLocation(repository.resolve("sourcehawk.yml").toString())
+                .changedSince(changedSince)
+                .build()
+    }
+
+    private void write(final String path, final String content) {
+        Path filePath = repository.resolve(path)
+        Files.createDirectories(filePath.parent)
+        filePath.text = content
+    }
+
+    private void git(final String... arguments) {
+        Process process = (["git", "-c", "user.name=Sourcehawk", "-c", "user.email=sourcehawk@example.com", "-c", "commit.gpgsign=false"] + arguments.toList())
+                .execute(null, repository.toFile())
+        process.waitForProcessOutput(new StringBuilder(), new StringBuilder())
+        assert process.exitValue() == 0
+    }
+
+}
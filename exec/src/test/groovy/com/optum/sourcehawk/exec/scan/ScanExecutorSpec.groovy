@@ -1,17 +1,29 @@
 package com.optum.sourcehawk.exec.scan
 
 import com.optum.sourcehawk.core.protocol.file.FileProtocol
+import com.optum.sourcehawk.core.repository.ArchiveRepositoryFileReader
 import com.optum.sourcehawk.core.repository.LocalRepositoryFileReader
 import com.optum.sourcehawk.core.repository.RepositoryFileReader
 import com.optum.sourcehawk.core.result.ScanResult
+import com.optum.sourcehawk.exec.CompiledConfiguration
 import com.optum.sourcehawk.exec.ConfigurationException
 import com.optum.sourcehawk.exec.ExecOptions
 import com.optum.sourcehawk.exec.FileBaseSpecification
 import com.optum.sourcehawk.exec.scan.ScanExecutor
+import com.sun.net.httpserver.HttpExchange
+import com.sun.net.httpserver.HttpServer
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
 import spock.lang.Unroll
 
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
 class ScanExecutorSpec extends FileBaseSpecification {
 
+    @Rule
+    TemporaryFolder temporaryFolder = new TemporaryFolder()
+
     def "scan - defaults"() {
         given:
         ExecOptions execOptions = ExecOptions.builder()
@@ -117,6 +129,61 @@ class ScanExecutorSpec extends FileBaseSpecification {
         !scanResult.passed
     }
 
+    @Unroll
+    def "scan - parallel matches sequential (#configurationFile)"() {
+        given:
+        ExecOptions sequentialExecOptions = ExecOptions.builder()
+                .repositoryRoot(repositoryRoot)
+                .configurationFileLocation(repositoryRoot.resolve(configurationFile).toString())
+                .repositoryFileReader(LocalRepositoryFileReader.create(repositoryRoot))
+                .build()
+        ExecOptions parallelExecOptions = sequentialExecOptions.toBuilder()
+                .parallelism(4)
+                .build()
+
+        when:
+        ScanResult sequentialScanResult = ScanExecutor.scan(sequentialExecOptions)
+        ScanResult parallelScanResult = ScanExecutor.scan(parallelExecOptions)
+
+        then:
+        parallelScanResult == sequentialScanResult
+        parallelScanResult.formattedMessages as List == sequentialScanResult.formattedMessages as List
+
+        where:
+        configurationFile << [".test/override.yml", ".test/tags.yml", ".test/glob-example.yml", "exec/src/test/resources/sourcehawk-file-not-found-enforcers.yml"]
+    }
+
+    @Unroll
+    def "scan - message sink receives all messages (#configurationFile)"() {
+        given:
+        ExecOptions execOptions = ExecOptions.builder()
+                .repositoryRoot(repositoryRoot)
+                .configurationFileLocation(repositoryRoot.resolve(configurationFile).toString())
+                .repositoryFileReader(LocalRepositoryFileReader.create(repositoryRoot))
+                .build()
+        Collection<ScanResult.MessageDescriptor> streamedMessages = []
+        ExecOptions streamingExecOptions = execOptions.toBuilder()
+                .messageSink({ streamedMessages.add(it) })
+                .build()
+
+        when:
+        ScanResult scanResult = ScanExecutor.scan(execOptions)
+        ScanResult streamedScanResult = ScanExecutor.scan(streamingExecOptions)
+
+        then:
+        streamedScanResult.passed == scanResult.passed
+        streamedScanResult.errorCount == scanResult.errorCount
+        streamedScanResult.warningCount == scanResult.warningCount
+        streamedScanResult.messages.isEmpty()
+        streamedScanResult.formattedMessages.isEmpty()
+
+        and:
+        streamedMessages as Set == scanResult.messages.values().flatten() as Set
+
+        where:
+        configurationFile << [".test/override.yml", ".test/glob-example.yml", "exec/src/test/resources/sourcehawk-file-not-found-enforcers.yml"]
+    }
+
     def "scan - bad url"() {
         given:
         ExecOptions execOptions = ExecOptions.builder()
@@ -358,7 +425,7 @@ class ScanExecutorSpec extends FileBaseSpecification {
                 .build()
 
         when:
-        ScanResult scanResult = ScanExecutor.enforceFileProtocol(execOptions, fileProtocol)
+        ScanResult scanResult = ScanExecutor.enforceFileProtocol(execOptions, CompiledConfiguration.compileFileProtocol(fileProtocol))
 
         then:
         0 * _
@@ -368,6 +435,111 @@ class ScanExecutorSpec extends FileBaseSpecification {
         !scanResult.passed
     }
 
+    def "enforceFileProtocol - line enforcers evaluated in single read"() {
+        given:
+        RepositoryFileReader mockRepositoryFileReader = Mock()
+        ExecOptions execOptions = ExecOptions.builder()
+                .repositoryRoot(repositoryRoot)
+                .repositoryFileReader(mockRepositoryFileReader)
+                .build()
+        FileProtocol fileProtocol = FileProtocol.builder()
+                .name("lombok")
+                .repositoryPath("lombok.config")
+                .severity("ERROR")
+                .enforcers([
+                        ["enforcer": ".common.ContainsLine", "expected-line": "config.stopBubbling = true"],
+                        ["enforcer": ".common.Contains", "expected-substring": "stopBubbling = false"],
+                        ["enforcer": ".common.ContainsLineMatching", "expected-line-pattern": "lombok\\..* = true"],
+                        ["enforcer": ".common.ContainsLineAt", "expected-line": "config.stopBubbling = true", "expected-line-number": 1]
+                ])
+                .build()
+
+        when:
+        ScanResult scanResult = ScanExecutor.enforceFileProtocol(execOptions, CompiledConfiguration.compileFileProtocol(fileProtocol))
+
+        then:
+        _ * mockRepositoryFileReader.isBufferAvailable("lombok.config") >> false
+        1 * mockRepositoryFileReader.read("lombok.config") >> Optional.of(new ByteArrayInputStream("# Lombok\n\nconfig.stopBubbling = true\nlombok.addLombokGeneratedAnnotation = true\n".bytes))
+        0 * mockRepositoryFileReader.readBuffer(_)
+
+        and:
+        scanResult
+        !scanResult.passed
+        scanResult.errorCount == 2
+        scanResult.messages["lombok.config"]*.message == [
+                "File does not contain the sub string [stopBubbling = false]",
+                "File does not contain the line [config.stopBubbling = true] at line number [1]"
+        ]
+    }
+
+    def "enforceFileProtocol - glob pattern without matches - every enforcer reports file not found"() {
+        given:
+        ExecOptions execOptions = ExecOptions.builder()
+                .repositoryRoot(repositoryRoot)
+                .repositoryFileReader(LocalRepositoryFileReader.create(repositoryRoot))
+                .build()
+        FileProtocol fileProtocol = FileProtocol.builder()
+                .name("test")
+                .repositoryPath("**/*.does-not-exist")
+                .enforcers([
+                        ["enforcer": ".common.StringPropertyEquals", "property-name": "one", "expected-property-value": "1"],
+                        ["enforcer": ".common.StringPropertyEquals", "property-name": "two", "expected-property-value": "2"]
+                ])
+                .build()
+
+        when:
+        ScanResult scanResult = ScanExecutor.enforceFileProtocol(execOptions, CompiledConfiguration.compileFileProtocol(fileProtocol))
+
+        then:
+        scanResult
+        !scanResult.passed
+        scanResult.errorCount == 2
+    }
+
+    def "scan - glob pattern - archive repository file reader"() {
+        given:
+        ByteArrayOutputStream archive = new ByteArrayOutputStream()
+        new ZipOutputStream(archive).withCloseable { ZipOutputStream zipOutputStream ->
+            ["README.md": "# Repository\n", "docs/one.md": "# One\n", "docs/two.md": "# Two\n"].each { path, content ->
+                zipOutputStream.putNextEntry(new ZipEntry("owner-repo-abc123/$path"))
+                zipOutputStream.write(content.bytes)
+                zipOutputStream.closeEntry()
+            }
+        }
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.loopbackAddress, 0), 0)
+        server.createContext("/archive.zip", { HttpExchange exchange ->
+            exchange.sendResponseHeaders(200, archive.size())
+            exchange.responseBody.write(archive.toByteArray())
+            exchange.close()
+        })
+        server.start()
+        File configurationFile = temporaryFolder.newFile("sourcehawk.yml")
+        configurationFile.text = """\
+            file-protocols:
+              - name: Markdown
+                repository-path: "**/*.md"
+                enforcers:
+                  - enforcer: .common.Contains
+                    expected-substring: "# "
+            """.stripIndent()
+        String baseUrl = "http://${server.address.hostString}:${server.address.port}"
+        ExecOptions execOptions = ExecOptions.builder()
+                .configurationFileLocation(configurationFile.absolutePath)
+                .repositoryFileReader(new ArchiveRepositoryFileReader(new URL("$baseUrl/archive.zip"), "$baseUrl/raw/%s", Collections.emptyMap()))
+                .build()
+
+        when:
+        ScanResult scanResult = ScanExecutor.scan(execOptions)
+
+        then:
+        scanResult
+        scanResult.passed
+        scanResult.errorCount == 0
+
+        cleanup:
+        server.stop(0)
+    }
+
     def "processFileProtocol - glob pattern no enforcers"() {
         given:
         ExecOptions execOptions = ExecOptions.builder()
@@ -380,7 +552,7 @@ class ScanExecutorSpec extends FileBaseSpecification {
                 .build()
 
         when:
-        ScanResult scanResult = ScanExecutor.processFileProtocol(execOptions, fileProtocol)
+        ScanResult scanResult = ScanExecutor.processFileProtocol(execOptions, CompiledConfiguration.compileFileProtocol(fileProtocol))
 
         then:
         scanResult
@@ -57,6 +57,98 @@ class ScanResultLoggerSpec extends Specification {
         format << OutputFormat.values()
     }
 
+    @Unroll
+    def "log - repository - #format"(OutputFormat format) {
+        given:
+        ExecOptions execOptions = ExecOptions.builder()
+                .outputFormat(format)
+                .build()
+
+        when:
+        ScanResultLogger.create().log("owner/repo", ScanResult.passed(), execOptions)
+
+        then:
+        noExceptionThrown()
+
+        where:
+        format << OutputFormat.values()
+    }
+
+    @Unroll
+    def "log - repository - #format - one line of JSON"(OutputFormat format) {
+        given:
+        ExecOptions execOptions = ExecOptions.builder()
+                .outputFormat(format)
+                .build()
+        PrintStream defaultOut = System.out
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream()
+        System.setOut(new PrintStream(outputStream, true))
+
+        when:
+        ScanResultLogger.create().log("owner/repo", ScanResult.passed(), execOptions)
+
+        then:
+        String output = outputStream.toString().trim()
+        !output.contains("\n")
+        output.startsWith('{"repository":"owner/repo",')
+
+        cleanup:
+        System.setOut(defaultOut)
+
+        where:
+        format << [OutputFormat.JSON, OutputFormat.JSONL]
+    }
+
+    def "formatJsonLines - messages followed by summary"() {
+        given:
+        ScanResult.MessageDescriptor messageDescriptor = ScanResult.MessageDescriptor.builder()
+                .severity(Severity.ERROR.name())
+                .repositoryPath("file.ext")
+                .message("WRONG!")
+                .build()
+        ScanResult scanResult = ScanResult.builder()
+                .passed(false)
+                .errorCount(1)
+                .messages(["file.ext": [messageDescriptor]])
+                .formattedMessages(["[ERROR] file.ext :: WRONG!"])
+                .build()
+
+        when:
+        String jsonLines = ScanResultLogger.create().formatJsonLines(scanResult)
+
+        then:
+        jsonLines.readLines() == [
+                '{"severity":"ERROR","repositoryPath":"file.ext","message":"WRONG!"}',
+                '{"passed":false,"errorCount":1,"warningCount":0}'
+        ]
+    }
+
+    def "formatJsonLines - messages already streamed"() {
+        given:
+        ScanResult scanResult = ScanResult.builder()
+                .passed(true)
+                .warningCount(2)
+                .build()
+
+        when:
+        String jsonLines = ScanResultLogger.create().formatJsonLines(scanResult)
+
+        then:
+        jsonLines == '{"passed":true,"errorCount":0,"warningCount":2}'
+    }
+
+    def "formatJsonLine - message"() {
+        given:
+        ScanResult.MessageDescriptor messageDescriptor = ScanResult.MessageDescriptor.builder()
+                .severity(Severity.WARNING.name())
+                .repositoryPath("file.ext")
+                .message("Hmm")
+                .build()
+
+        expect:
+        ScanResultLogger.create().formatJsonLine(messageDescriptor) == '{"severity":"WARNING","repositoryPath":"file.ext","message":"Hmm"}'
+    }
+
     def "formatJson"() {
         expect:
         ScanResultLogger.create().formatJson(null)
@@ -0,0 +1,79 @@
+package com.optum.sourcehawk.exec.scan
+
+import com.optum.sourcehawk.core.result.ScanResult
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.attribute.FileTime
+
+class ScanResultStoreSpec extends Specification {
+
+    @Rule
+    TemporaryFolder temporaryFolder = new TemporaryFolder()
+
+    def "save / load - round trip"() {
+        given:
+        ScanResultStore scanResultStore = new ScanResultStore(temporaryFolder.root.toPath().resolve("scan-results"))
+        ScanResult.MessageDescriptor messageDescriptor = ScanResult.MessageDescriptor.builder()
+                .severity("ERROR")
+                .repositoryPath("file.properties")
+                .message("Property [key] is missing é")
+                .build()
+        Map<String, ScanResult> scanResults = [
+                passed: ScanResult.passed(),
+                failed: ScanResult.builder()
+                        .errorCount(1)
+                        .messages(["file.properties": [messageDescriptor]])
+                        .formattedMessages([messageDescriptor.toString()])
+                        .build()
+        ]
+
+        when:
+        scanResultStore.save("key", scanResults)
+        Map<String, ScanResult> loadedScanResults = scanResultStore.load("key")
+
+        then:
+        loadedScanResults == scanResults
+    }
+
+    def "load - not stored"() {
+        expect:
+        new ScanResultStore(temporaryFolder.root.toPath()).load("key").isEmpty()
+    }
+
+    def "load - corrupt"() {
+        given:
+        Path directory = temporaryFolder.root.toPath()
+        ScanResultStore scanResultStore = new ScanResultStore(directory)
+        scanResultStore.save("key", [passed: ScanResult.passed()])
+        Path path = directory.resolve("key.results")
+        byte[] bytes = Files.readAllBytes(path)
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 4))
+
+        expect:
+        scanResultStore.load("key").isEmpty()
+    }
+
+    def "save - least recently stored scans removed"() {
+        given:
+        Path directory = temporaryFolder.root.toPath()
+        ScanResultStore scanResultStore = new ScanResultStore(directory)
+        (0..<ScanResultStore.MAX_STORED_SCANS).each { index ->
+            scanResultStore.save("key-${index}", [passed: ScanResult.passed()])
+            Files.setLastModifiedTime(directory.resolve("key-${index}.results"), FileTime.fromMillis(index * 1000L))
+        }
+
+        when:
+        scanResultStore.save("latest", [passed: ScanResult.passed()])
+
+        then:
+        Files.list(directory).count() == ScanResultStore.MAX_STORED_SCANS
+        scanResultStore.load("key-0").isEmpty()
+        scanResultStore.load("key-1")
+        scanResultStore.load("latest")
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.optum.sourcehawk.exec.scan
+
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.ForkJoinTask
+
+class ScanTaskSpec extends Specification {
+
+    def "fork - outside of a pool - performed on calling thread"() {
+        when:
+        ScanTask<Thread> scanTask = ScanTask.fork({ Thread.currentThread() } as ScanTask.Work<Thread>)
+
+        then:
+        !scanTask.forked
+        scanTask.obtain() == Thread.currentThread()
+    }
+
+    def "fork - within the common pool - not forked"() {
+        when:
+        ScanTask<String> scanTask = ForkJoinPool.commonPool().invoke(ForkJoinTask.adapt({
+            ScanTask.fork({ "result" } as ScanTask.Work<String>)
+        } as Callable<ScanTask<String>>))
+
+        then:
+        !scanTask.forked
+        scanTask.obtain() == "result"
+    }
+
+    def "fork - within a scan pool - forked"() {
+        given:
+        ForkJoinPool forkJoinPool = ScanTask.newPool(2)
+
+        when:
+        String result = forkJoinPool.invoke(ForkJoinTask.adapt({
+            ScanTask<String> scanTask = ScanTask.fork({ "result" } as ScanTask.Work<String>)
+            assert scanTask.forked
+            scanTask.obtain()
+        } as Callable<String>))
+
+        then:
+        result == "result"
+
+        cleanup:
+        forkJoinPool.shutdownNow()
+    }
+
+    def "obtain - failure - rethrown"() {
+        given:
+        ScanTask<String> scanTask = ScanTask.fork({ throw new IOException("BOOM") } as ScanTask.Work<String>)
+
+        when:
+        scanTask.obtain()
+
+        then:
+        def exception = thrown(IOException)
+        exception.message == "BOOM"
+    }
+
+}